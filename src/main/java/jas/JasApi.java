@@ -3,41 +3,75 @@ package jas;
 import jas.arith.JasBigInteger;
 import jas.poly.GenPolynomial;
 import jas.poly.GenPolynomialRing;
+import jas.poly.PolyUtil;
 import jas.ufd.FactorInteger;
+import jas.ufd.GreatestCommonDivisorModular;
 
 import java.math.BigInteger;
 import java.util.*;
 
-import static mho.wheels.iterables.IterableUtils.replicate;
-import static mho.wheels.iterables.IterableUtils.toList;
-
 public class JasApi {
+    /**
+     * Shared factorization engine; it holds no per-call state.
+     */
+    private static final FactorInteger ENGINE = new FactorInteger();
+
+    /**
+     * Shared gcd engine; it holds no per-call state.
+     */
+    private static final GreatestCommonDivisorModular GCD_ENGINE = new GreatestCommonDivisorModular();
+
+    /**
+     * Univariate polynomials over the integers.
+     */
+    private static final GenPolynomialRing<JasBigInteger> INTEGER_RING = new GenPolynomialRing<>(new JasBigInteger());
+
+    /**
+     * Factors a squarefree, primitive polynomial given by its coefficients, from lowest to highest degree. The
+     * factors are returned the same way, each with a nonzero last element.
+     */
     public static List<List<BigInteger>> factorSquareFree(List<BigInteger> xs) {
-        GenPolynomial<JasBigInteger> tmp = toPolynomial(xs);
-        FactorInteger engine = new FactorInteger();
-        List<GenPolynomial<JasBigInteger>> factors = engine.baseFactorsSquarefree(tmp);
-        List<List<BigInteger>> fs = new ArrayList<>();
-        for (GenPolynomial<JasBigInteger> factor : factors) {
-            fs.add(fromPolynomial(factor));
-        }
-        return fs;
+        return ENGINE.baseFactorsSquarefree(xs);
     }
 
-    private static List<BigInteger> fromPolynomial(GenPolynomial<JasBigInteger> p) {
-        List<BigInteger> cs = toList(replicate((int) p.degree() + 1, BigInteger.ZERO));
-        for (Map.Entry<Long, JasBigInteger> e2 : p.val.entrySet()) {
-            cs.set(e2.getKey().intValue(), e2.getValue().getVal());
-        }
-        return cs;
+    /**
+     * Determines whether a squarefree, primitive polynomial given by its coefficients, from lowest to highest degree,
+     * is irreducible.
+     */
+    public static boolean isIrreducible(List<BigInteger> xs) {
+        return ENGINE.isIrreducible(xs);
+    }
+
+    /**
+     * Returns the primitive GCD with positive leading coefficient of two polynomials given by their coefficients, from
+     * lowest to highest degree, at least one of which is nonzero. The GCD is returned the same way, with a nonzero last
+     * element.
+     */
+    public static List<BigInteger> gcd(List<BigInteger> xs, List<BigInteger> ys) {
+        return PolyUtil.toDenseCoefficients(
+                GCD_ENGINE.basePrimitivePart(
+                        GCD_ENGINE.gcd(
+                                PolyUtil.fromDenseCoefficients(INTEGER_RING, xs),
+                                PolyUtil.fromDenseCoefficients(INTEGER_RING, ys)
+                        )
+                ).abs()
+        );
     }
 
-    private static GenPolynomial<JasBigInteger> toPolynomial(List<BigInteger> xs) {
-        SortedMap<Long, JasBigInteger> z = new TreeMap<>();
-        for (int i = 0; i < xs.size(); i++) {
-            if (!xs.get(i).equals(BigInteger.ZERO)) {
-                z.put((long) i, new JasBigInteger(xs.get(i)));
-            }
+    /**
+     * Returns [g, u, v] with u*xs+v*ys=g, where g is a positive integer multiple of the GCD of two polynomials given by
+     * their coefficients, from lowest to highest degree, at least one of which is nonzero. u and v have the degrees of
+     * the cofactors of the Euclidean algorithm, and g, u and v have no common content. All three are returned the same
+     * way; a zero polynomial is an empty list.
+     */
+    public static List<List<BigInteger>> extendedGcd(List<BigInteger> xs, List<BigInteger> ys) {
+        List<List<BigInteger>> result = new ArrayList<>();
+        for (GenPolynomial<JasBigInteger> p : GCD_ENGINE.baseExtendedGcd(
+                PolyUtil.fromDenseCoefficients(INTEGER_RING, xs),
+                PolyUtil.fromDenseCoefficients(INTEGER_RING, ys)
+        )) {
+            result.add(PolyUtil.toDenseCoefficients(p));
         }
-        return new GenPolynomial<>(new GenPolynomialRing<>(new JasBigInteger()), z);
+        return result;
     }
 }
@@ -0,0 +1,538 @@
+package jas.arith;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Table of word-size primes for modular algorithms. The primes of a table
+ * have a fixed bit length, may be restricted to p = 1 mod 2<sup>s</sup>, and
+ * are listed in decreasing order, starting with the largest one. Each prime comes with its Montgomery constants for R =
+ * 2<sup>64</sup> and its least primitive root. The table is extended lazily
+ * and without locks; a reader always sees a complete snapshot, so the table
+ * can be shared across threads. The first primes are read from a bundled
+ * resource if one is present.
+ */
+public final class PrimeTable {
+    /**
+     * The primes less than 2<sup>16</sup>, in increasing order.
+     */
+    private static final int[] SMALL_PRIMES = sieve(1 << 16);
+
+    /**
+     * Number of primes listed at once when the table is first used or
+     * extended.
+     */
+    private static final int INITIAL_SIZE = 64;
+
+    /**
+     * Primes between 2<sup>30</sup> and 2<sup>31</sup>. Residues modulo these
+     * can be multiplied without overflowing a long.
+     */
+    public static final PrimeTable INT = new PrimeTable(31, 1, "primes31.txt");
+
+    /**
+     * Primes between 2<sup>61</sup> and 2<sup>62</sup>, for Montgomery
+     * arithmetic.
+     */
+    public static final PrimeTable LONG = new PrimeTable(62, 1, "primes62.txt");
+
+    /**
+     * Primes p = 1 mod 2<sup>32</sup> between 2<sup>61</sup> and
+     * 2<sup>62</sup>, for number theoretic transforms of length up to
+     * 2<sup>32</sup>.
+     */
+    public static final PrimeTable NTT = new PrimeTable(62, 32, null);
+
+    /**
+     * Primes p = 1 mod 2<sup>20</sup> between 2<sup>30</sup> and
+     * 2<sup>31</sup>, for number theoretic transforms of length up to
+     * 2<sup>20</sup> whose residues can be multiplied without overflowing a
+     * long.
+     */
+    public static final PrimeTable INT_NTT = new PrimeTable(31, 20, null);
+
+    /**
+     * Immutable snapshot of a table.
+     */
+    private static final class Block {
+        final int size;
+
+        final long[] primes;
+
+        /**
+         * -p<sup>-1</sup> mod 2<sup>64</sup>.
+         */
+        final long[] inverses;
+
+        /**
+         * 2<sup>128</sup> mod p.
+         */
+        final long[] squares;
+
+        final long[] roots;
+
+        Block(int size, long[] primes, long[] inverses, long[] squares, long[] roots) {
+            this.size = size;
+            this.primes = primes;
+            this.inverses = inverses;
+            this.squares = squares;
+            this.roots = roots;
+        }
+    }
+
+    /**
+     * Bit length of the primes.
+     */
+    public final int bits;
+
+    /**
+     * Every prime p of this table satisfies p = 1 mod 2<sup>twoAdicity</sup>.
+     */
+    public final int twoAdicity;
+
+    /**
+     * Name of a resource with the first primes, one per line.
+     */
+    private final String resource;
+
+    private final AtomicReference<Block> block;
+
+    /**
+     * The primes listed in the resource, read on first use. Threads may race
+     * to read them, but they all read the same primes.
+     */
+    private volatile long[] listed;
+
+    /**
+     * Constructor for PrimeTable. Nothing is computed until the first prime
+     * is requested.
+     *
+     * @param bits       bit length of the primes, at most 62.
+     * @param twoAdicity s with p = 1 mod 2<sup>s</sup>, at least 1.
+     * @param resource   name of a resource with the first primes, or null.
+     */
+    private PrimeTable(int bits, int twoAdicity, String resource) {
+        this.bits = bits;
+        this.twoAdicity = twoAdicity;
+        this.resource = resource;
+        block = new AtomicReference<>(new Block(0, new long[0], new long[0], new long[0], new long[0]));
+    }
+
+    /**
+     * The i-th prime of this table.
+     *
+     * @param i index.
+     * @return the i-th largest prime of the given bit length.
+     */
+    public long prime(int i) {
+        return get(i).primes[i];
+    }
+
+    /**
+     * Montgomery constant -p<sup>-1</sup> mod 2<sup>64</sup> of the i-th
+     * prime.
+     *
+     * @param i index.
+     * @return -prime(i)<sup>-1</sup> mod 2<sup>64</sup>.
+     */
+    public long montgomeryInverse(int i) {
+        return get(i).inverses[i];
+    }
+
+    /**
+     * Montgomery constant R<sup>2</sup> mod p of the i-th prime, used to
+     * convert residues into Montgomery form.
+     *
+     * @param i index.
+     * @return 2<sup>128</sup> mod prime(i).
+     */
+    public long montgomerySquare(int i) {
+        return get(i).squares[i];
+    }
+
+    /**
+     * Least primitive root of the i-th prime.
+     *
+     * @param i index.
+     * @return the least generator of the multiplicative group mod prime(i).
+     */
+    public long primitiveRoot(int i) {
+        return get(i).roots[i];
+    }
+
+    /**
+     * Iterator over the primes of this table. nextLong does not allocate.
+     *
+     * @return iterator, starting with the largest prime.
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            int index = 0;
+
+            public boolean hasNext() {
+                return true;
+            }
+
+            public long nextLong() {
+                return prime(index++);
+            }
+        };
+    }
+
+    /**
+     * The i-th prime less than 2<sup>16</sup>.
+     *
+     * @param i index, less than smallPrimeCount().
+     * @return the i-th smallest prime, so that smallPrime(0) == 2.
+     */
+    public static int smallPrime(int i) {
+        if (i >= SMALL_PRIMES.length) {
+            throw new NoSuchElementException("only " + SMALL_PRIMES.length + " small primes");
+        }
+        return SMALL_PRIMES[i];
+    }
+
+    /**
+     * Number of primes less than 2<sup>16</sup>.
+     *
+     * @return the number of small primes.
+     */
+    public static int smallPrimeCount() {
+        return SMALL_PRIMES.length;
+    }
+
+    /**
+     * Montgomery product a b R<sup>-1</sup> mod p with R = 2<sup>64</sup>.
+     *
+     * @param a       residue, 0 &le; a &lt; p.
+     * @param b       residue, 0 &le; b &lt; p.
+     * @param p       odd module less than 2<sup>62</sup>.
+     * @param inverse -p<sup>-1</sup> mod 2<sup>64</sup>.
+     * @return a b 2<sup>-64</sup> mod p, in [0, p).
+     */
+    public static long montgomeryMultiply(long a, long b, long p, long inverse) {
+        long lo = a * b;
+        long hi = unsignedMultiplyHigh(a, b);
+        long m = lo * inverse;
+        // the low words of a b and m p cancel, with a carry unless both are zero
+        long t = hi + unsignedMultiplyHigh(m, p) + (lo != 0 ? 1 : 0);
+        return t >= p ? t - p : t;
+    }
+
+    /**
+     * High word of the unsigned 128-bit product of x and y.
+     *
+     * @param x unsigned long.
+     * @param y unsigned long.
+     * @return floor(x y / 2<sup>64</sup>).
+     */
+    public static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long w0 = x0 * y0;
+        long t = x1 * y0 + (w0 >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+
+    /**
+     * Snapshot containing index i, extending the table if necessary.
+     *
+     * @param i index.
+     * @return a block with more than i primes.
+     */
+    private Block get(int i) {
+        Block b = block.get();
+        while (i >= b.size) {
+            Block c = extend(b, Math.max(b.size == 0 ? INITIAL_SIZE : 2 * b.size, i + 1), listed());
+            if (block.compareAndSet(b, c)) {
+                b = c;
+            } else { // another thread extended the table first
+                b = block.get();
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Extended copy of a snapshot.
+     *
+     * @param b      snapshot.
+     * @param size   size of the new snapshot.
+     * @param known  the first primes of this table; the primes of b and
+     *               any further ones.
+     * @return a block with the primes of b followed by the next ones.
+     */
+    private Block extend(Block b, int size, long[] known) {
+        long[] primes = Arrays.copyOf(b.primes, size);
+        long[] inverses = Arrays.copyOf(b.inverses, size);
+        long[] squares = Arrays.copyOf(b.squares, size);
+        long[] roots = Arrays.copyOf(b.roots, size);
+        long lower = 1L << (bits - 1);
+        long step = 1L << twoAdicity;
+        long c = b.size == 0 ? ((1L << bits) - 1 & -step) + 1 : b.primes[b.size - 1] - step;
+        for (int i = b.size; i < size; i++) {
+            long p;
+            if (i < known.length) {
+                p = known[i];
+            } else {
+                while (c > lower && !BigInteger.valueOf(c).isProbablePrime(64)) {
+                    c -= step;
+                }
+                p = c;
+            }
+            if (p <= lower) {
+                throw new NoSuchElementException("no more primes with " + bits + " bits");
+            }
+            c = p - step;
+            primes[i] = p;
+            long inverse = p; // correct mod 2^3
+            for (int j = 0; j < 5; j++) {
+                inverse *= 2 - p * inverse;
+            }
+            inverses[i] = -inverse;
+            squares[i] = BigInteger.ONE.shiftLeft(128).mod(BigInteger.valueOf(p)).longValue();
+            roots[i] = primitiveRoot(p, inverses[i], squares[i]);
+        }
+        return new Block(size, primes, inverses, squares, roots);
+    }
+
+    /**
+     * Least primitive root of p.
+     *
+     * @param p       odd prime less than 2<sup>62</sup>.
+     * @param inverse -p<sup>-1</sup> mod 2<sup>64</sup>.
+     * @param square  2<sup>128</sup> mod p.
+     * @return the least generator of the multiplicative group mod p.
+     */
+    private static long primitiveRoot(long p, long inverse, long square) {
+        long[] factors = new long[64];
+        int k = primeFactors(p - 1, factors);
+        long one = montgomeryMultiply(1, square, p, inverse);
+        for (long g = 2; ; g++) {
+            long gm = montgomeryMultiply(g, square, p, inverse);
+            boolean generator = true;
+            for (int i = 0; i < k && generator; i++) {
+                generator = power(gm, (p - 1) / factors[i], one, p, inverse) != one;
+            }
+            if (generator) {
+                return g;
+            }
+        }
+    }
+
+    /**
+     * Montgomery power.
+     *
+     * @param a       base in Montgomery form.
+     * @param e       nonnegative exponent.
+     * @param one     R mod p.
+     * @param p       odd module less than 2<sup>62</sup>.
+     * @param inverse -p<sup>-1</sup> mod 2<sup>64</sup>.
+     * @return a<sup>e</sup> in Montgomery form.
+     */
+    public static long power(long a, long e, long one, long p, long inverse) {
+        long r = one;
+        while (e != 0) {
+            if ((e & 1) != 0) {
+                r = montgomeryMultiply(r, a, p, inverse);
+            }
+            a = montgomeryMultiply(a, a, p, inverse);
+            e >>>= 1;
+        }
+        return r;
+    }
+
+    /**
+     * Distinct prime factors of n, by trial division with the small primes
+     * and Pollard-Brent rho for the remaining cofactor.
+     *
+     * @param n       positive integer less than 2<sup>62</sup>.
+     * @param factors array receiving the factors.
+     * @return the number of distinct prime factors.
+     */
+    private static int primeFactors(long n, long[] factors) {
+        int k = 0;
+        for (int q : SMALL_PRIMES) {
+            if ((long) q * q > n) {
+                break;
+            }
+            if (n % q == 0) {
+                factors[k++] = q;
+                do {
+                    n /= q;
+                } while (n % q == 0);
+            }
+        }
+        if (n == 1) {
+            return k;
+        }
+        // n has no factor below 2^16, so it has at most 3 prime factors
+        long[] stack = new long[4];
+        int top = 0;
+        stack[top++] = n;
+        while (top > 0) {
+            long m = stack[--top];
+            if (BigInteger.valueOf(m).isProbablePrime(64)) {
+                boolean found = false;
+                for (int i = 0; i < k; i++) {
+                    found |= factors[i] == m;
+                }
+                if (!found) {
+                    factors[k++] = m;
+                }
+            } else {
+                long d = rho(m);
+                stack[top++] = d;
+                stack[top++] = m / d;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Pollard-Brent rho.
+     *
+     * @param n odd composite less than 2<sup>62</sup>.
+     * @return a nontrivial divisor of n.
+     */
+    private static long rho(long n) {
+        long inverse = n;
+        for (int j = 0; j < 5; j++) {
+            inverse *= 2 - n * inverse;
+        }
+        inverse = -inverse;
+        for (long c = 1; ; c++) {
+            long y = 2;
+            long x = y;
+            long q = 1;
+            long g = 1;
+            long ys = y;
+            for (int r = 1; g == 1; r <<= 1) {
+                x = y;
+                for (int i = 0; i < r; i++) {
+                    y = addMod(montgomeryMultiply(y, y, n, inverse), c, n);
+                }
+                for (int i = 0; i < r && g == 1; i += 128) {
+                    ys = y;
+                    for (int j = 0; j < Math.min(128, r - i); j++) {
+                        y = addMod(montgomeryMultiply(y, y, n, inverse), c, n);
+                        q = montgomeryMultiply(q, Math.abs(x - y), n, inverse);
+                    }
+                    g = gcd(q, n);
+                }
+            }
+            if (g == n) { // backtrack one step at a time
+                do {
+                    ys = addMod(montgomeryMultiply(ys, ys, n, inverse), c, n);
+                    g = gcd(Math.abs(x - ys), n);
+                } while (g == 1);
+            }
+            if (g != n) {
+                return g;
+            }
+        }
+    }
+
+    private static long addMod(long a, long b, long n) {
+        long s = a + b;
+        return s >= n ? s - n : s;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Sieve of Eratosthenes.
+     *
+     * @param n bound.
+     * @return the primes less than n.
+     */
+    private static int[] sieve(int n) {
+        boolean[] composite = new boolean[n];
+        int[] primes = new int[n];
+        int k = 0;
+        for (int i = 2; i < n; i++) {
+            if (!composite[i]) {
+                primes[k++] = i;
+                for (long j = (long) i * i; j < n; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(primes, k);
+    }
+
+    /**
+     * The primes listed in the resource, reading it if necessary.
+     *
+     * @return the first primes of this table, or an empty array if there is
+     *         no resource.
+     */
+    private long[] listed() {
+        long[] primes = listed;
+        if (primes == null) {
+            primes = load();
+            listed = primes;
+        }
+        return primes;
+    }
+
+    /**
+     * The numbers listed in the resource, one per line. The listing ends at
+     * the first line that is not a number, that is not less than the
+     * previous number, that is out of the range of this table, or that is
+     * not 1 mod 2<sup>twoAdicity</sup>. The numbers are not tested for
+     * primality; the resource must list the first primes of this table.
+     *
+     * @return the listed numbers, or an empty array if there is no such
+     *         resource.
+     */
+    private long[] load() {
+        InputStream in = resource == null ? null : PrimeTable.class.getResourceAsStream(resource);
+        if (in == null) {
+            return new long[0];
+        }
+        long[] primes = new long[INITIAL_SIZE];
+        int k = 0;
+        long last = 1L << bits;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long p;
+                try {
+                    p = Long.parseLong(line.trim());
+                } catch (NumberFormatException e) {
+                    break;
+                }
+                if (p >= last || p <= 1L << (bits - 1) || (p - 1 & (1L << twoAdicity) - 1) != 0) {
+                    break;
+                }
+                if (k == primes.length) {
+                    primes = Arrays.copyOf(primes, 2 * k);
+                }
+                primes[k++] = p;
+                last = p;
+            }
+        } catch (IOException e) {
+            return new long[0];
+        }
+        return Arrays.copyOf(primes, k);
+    }
+}
@@ -0,0 +1,1016 @@
+package jas.poly;
+
+import jas.arith.JasBigInteger;
+import jas.arith.ModLong;
+import jas.arith.ModLongRing;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Dense univariate polynomials over Z_p, for moduli p of a ModLongRing (so
+ * p &lt; 2<sup>31</sup>). The coefficients are stored in ascending order in a
+ * long array, which is reused and only grown when necessary; unlike
+ * GenPolynomial, objects of this class are mutable, and every arithmetic
+ * method overwrites this with its result. Products of two coefficients fit in
+ * a long, so they are reduced with a precomputed floating-point reciprocal of
+ * p (Barrett reduction) instead of a hardware division, and sums of products
+ * are accumulated lazily and reduced once. Large products use Karatsuba
+ * multiplication or number theoretic transforms, and greatest common divisors
+ * of large polynomials use the half-gcd algorithm of Knuth and Schoenhage.
+ */
+public final class DenseModLongPolynomial {
+    /**
+     * Lazily accumulated sums of products are kept below this bound.
+     */
+    private static final long ACCUMULATOR_BOUND = 1L << 62;
+
+    /**
+     * Factors with fewer coefficients than this are multiplied classically.
+     */
+    private static final int KARATSUBA_THRESHOLD = 32;
+
+    /**
+     * Factors with at least this many coefficients are multiplied by number
+     * theoretic transforms.
+     */
+    private static final int NTT_THRESHOLD = 384;
+
+    /**
+     * Remainder sequences of polynomials of at least this degree are
+     * shortened by half-gcd steps. Each step costs a few dozen products, so
+     * it only beats classical division steps for large degrees.
+     */
+    private static final int HALF_GCD_THRESHOLD = 16384;
+
+    /**
+     * Like HALF_GCD_THRESHOLD, for remainder sequences whose cofactors are
+     * tracked. Classical division steps then also update the cofactors, so
+     * half-gcd steps pay off much earlier.
+     */
+    private static final int EXTENDED_HALF_GCD_THRESHOLD = 2048;
+
+    /**
+     * Half-gcd matrices of polynomials below this degree are computed by
+     * classical division steps.
+     */
+    private static final int HALF_GCD_BASE = 128;
+
+    /**
+     * A default random sequence generator.
+     */
+    private static final Random random = new Random();
+
+    /**
+     * The module p.
+     */
+    public final long modul;
+
+    /**
+     * 1/p, used for Barrett reduction.
+     */
+    private final double inverseModul;
+
+    /**
+     * p<sup>2</sup>.
+     */
+    private final long squaredModul;
+
+    /**
+     * The coefficients, in ascending order; only the first size are used.
+     */
+    private long[] coefficients;
+
+    /**
+     * The number of coefficients, or degree + 1; 0 for the zero polynomial.
+     */
+    private int size;
+
+    /**
+     * Constructor for a zero polynomial with room for capacity coefficients.
+     *
+     * @param modul    the module p, 1 &lt; p &lt; 2<sup>31</sup>.
+     * @param capacity initial length of the coefficient array.
+     */
+    public DenseModLongPolynomial(long modul, int capacity) {
+        if (modul <= 1 || modul > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("modul must be between 2 and 2^31 - 1, modul = " + modul);
+        }
+        this.modul = modul;
+        inverseModul = 1.0 / modul;
+        squaredModul = modul * modul;
+        coefficients = new long[Math.max(capacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param a polynomial to copy.
+     */
+    public DenseModLongPolynomial(DenseModLongPolynomial a) {
+        this(a.modul, a.size);
+        set(a);
+    }
+
+    /**
+     * Dense copy of a GenPolynomial over a ModLongRing.
+     *
+     * @param A univariate polynomial with ModLong coefficients.
+     * @return A as a DenseModLongPolynomial.
+     */
+    public static DenseModLongPolynomial fromGenPolynomial(GenPolynomial<ModLong> A) {
+        ModLongRing ring = (ModLongRing) A.ring.coFac;
+        DenseModLongPolynomial a = new DenseModLongPolynomial(ring.modul, (int) A.degree() + 1);
+        a.size = A.isZERO() ? 0 : (int) A.degree() + 1;
+        for (Map.Entry<Long, ModLong> e : A.val.entrySet()) {
+            a.coefficients[e.getKey().intValue()] = e.getValue().val;
+        }
+        return a;
+    }
+
+    /**
+     * Dense image of an integer polynomial modulo p.
+     *
+     * @param modul the module p.
+     * @param A     univariate polynomial with JasBigInteger coefficients.
+     * @return A mod p as a DenseModLongPolynomial.
+     */
+    public static DenseModLongPolynomial fromIntegerCoefficients(long modul, GenPolynomial<JasBigInteger> A) {
+        DenseModLongPolynomial a = new DenseModLongPolynomial(modul, (int) A.degree() + 1);
+        BigInteger m = BigInteger.valueOf(modul);
+        a.size = A.isZERO() ? 0 : (int) A.degree() + 1;
+        for (Map.Entry<Long, JasBigInteger> e : A.val.entrySet()) {
+            a.coefficients[e.getKey().intValue()] = e.getValue().getVal().mod(m).longValue();
+        }
+        a.trim();
+        return a;
+    }
+
+    /**
+     * Conversion to a GenPolynomial.
+     *
+     * @param fac polynomial ring over a ModLongRing with module p.
+     * @return this as a GenPolynomial.
+     */
+    public GenPolynomial<ModLong> toGenPolynomial(GenPolynomialRing<ModLong> fac) {
+        ModLongRing ring = (ModLongRing) fac.coFac;
+        GenPolynomial<ModLong> A = new GenPolynomial<>(fac);
+        for (int i = 0; i < size; i++) {
+            if (coefficients[i] != 0) {
+                A.doPutToMap((long) i, new ModLong(ring, coefficients[i]));
+            }
+        }
+        return A;
+    }
+
+    /**
+     * Conversion to an integer polynomial, with coefficients symmetric to 0.
+     *
+     * @param fac polynomial ring over JasBigInteger.
+     * @return this with coefficients in (-p/2, p/2].
+     */
+    public GenPolynomial<JasBigInteger> toSymmetricIntegerPolynomial(GenPolynomialRing<JasBigInteger> fac) {
+        GenPolynomial<JasBigInteger> A = new GenPolynomial<>(fac);
+        long half = modul / 2;
+        for (int i = 0; i < size; i++) {
+            long c = coefficients[i];
+            if (c != 0) {
+                A.doPutToMap((long) i, new JasBigInteger(c > half ? c - modul : c));
+            }
+        }
+        return A;
+    }
+
+    /**
+     * Degree of this.
+     *
+     * @return the degree, or -1 for the zero polynomial.
+     */
+    public int degree() {
+        return size - 1;
+    }
+
+    /**
+     * Is this zero.
+     *
+     * @return true if this is 0, else false.
+     */
+    public boolean isZERO() {
+        return size == 0;
+    }
+
+    /**
+     * Is this one.
+     *
+     * @return true if this is 1, else false.
+     */
+    public boolean isONE() {
+        return size == 1 && coefficients[0] == 1;
+    }
+
+    /**
+     * Coefficient of x<sup>i</sup>.
+     *
+     * @param i exponent.
+     * @return the coefficient of x<sup>i</sup>, 0 if i is out of range.
+     */
+    public long coefficient(int i) {
+        return i < size ? coefficients[i] : 0;
+    }
+
+    /**
+     * Leading coefficient.
+     *
+     * @return the leading coefficient, 0 for the zero polynomial.
+     */
+    public long leadingCoefficient() {
+        return size == 0 ? 0 : coefficients[size - 1];
+    }
+
+    /**
+     * Set this to a copy of a.
+     *
+     * @param a polynomial with the same module.
+     */
+    public void set(DenseModLongPolynomial a) {
+        if (a == this) {
+            return;
+        }
+        ensureCapacity(a.size);
+        System.arraycopy(a.coefficients, 0, coefficients, 0, a.size);
+        size = a.size;
+    }
+
+    /**
+     * Set this to c x<sup>e</sup>.
+     *
+     * @param c coefficient, 0 &le; c &lt; p.
+     * @param e exponent.
+     */
+    public void setMonomial(long c, int e) {
+        if (c == 0) {
+            size = 0;
+            return;
+        }
+        ensureCapacity(e + 1);
+        for (int i = 0; i < e; i++) {
+            coefficients[i] = 0;
+        }
+        coefficients[e] = c;
+        size = e + 1;
+    }
+
+    /**
+     * Set this to a random polynomial of degree less than n.
+     *
+     * @param n bound on the degree.
+     */
+    public void setRandom(int n) {
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            coefficients[i] = Math.floorMod(random.nextLong(), modul);
+        }
+        size = n;
+        trim();
+    }
+
+    /**
+     * In place summation, this = this + c x<sup>e</sup>.
+     *
+     * @param c coefficient, 0 &le; c &lt; p.
+     * @param e exponent.
+     */
+    public void add(long c, int e) {
+        if (e >= size) {
+            ensureCapacity(e + 1);
+            for (int i = size; i <= e; i++) {
+                coefficients[i] = 0;
+            }
+            size = e + 1;
+        }
+        long s = coefficients[e] + c;
+        coefficients[e] = s >= modul ? s - modul : s;
+        trim();
+    }
+
+    /**
+     * In place summation, this = this + a.
+     *
+     * @param a polynomial with the same module.
+     */
+    public void add(DenseModLongPolynomial a) {
+        ensureCapacity(a.size);
+        for (int i = size; i < a.size; i++) {
+            coefficients[i] = 0;
+        }
+        for (int i = 0; i < a.size; i++) {
+            long s = coefficients[i] + a.coefficients[i];
+            coefficients[i] = s >= modul ? s - modul : s;
+        }
+        size = Math.max(size, a.size);
+        trim();
+    }
+
+    /**
+     * In place subtraction, this = this - a.
+     *
+     * @param a polynomial with the same module.
+     */
+    public void subtract(DenseModLongPolynomial a) {
+        ensureCapacity(a.size);
+        for (int i = size; i < a.size; i++) {
+            coefficients[i] = 0;
+        }
+        for (int i = 0; i < a.size; i++) {
+            long s = coefficients[i] - a.coefficients[i];
+            coefficients[i] = s < 0 ? s + modul : s;
+        }
+        size = Math.max(size, a.size);
+        trim();
+    }
+
+    /**
+     * In place scalar multiplication, this = c this.
+     *
+     * @param c coefficient, 0 &le; c &lt; p.
+     */
+    public void multiply(long c) {
+        if (c == 0) {
+            size = 0;
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            coefficients[i] = reduce(coefficients[i] * c);
+        }
+        trim();
+    }
+
+    /**
+     * In place multiplication, this = a b. Sums of products are accumulated
+     * lazily, so only one reduction is needed per coefficient of the result.
+     *
+     * @param a polynomial with the same module, must not be this.
+     * @param b polynomial with the same module, must not be this.
+     */
+    public void multiply(DenseModLongPolynomial a, DenseModLongPolynomial b) {
+        if (a == this || b == this) {
+            throw new IllegalArgumentException("the product cannot overwrite a factor");
+        }
+        if (a.size == 0 || b.size == 0) {
+            size = 0;
+            return;
+        }
+        int resultSize = a.size + b.size - 1;
+        ensureCapacity(resultSize);
+        if (Math.min(a.size, b.size) >= NTT_THRESHOLD) {
+            NttUtil.multiplyMod(a.coefficients, a.size, b.coefficients, b.size, modul, coefficients);
+            size = resultSize;
+            trim();
+            return;
+        }
+        if (Math.min(a.size, b.size) >= KARATSUBA_THRESHOLD) {
+            karatsuba(a.coefficients, 0, a.size, b.coefficients, 0, b.size, coefficients, 0);
+            size = resultSize;
+            trim();
+            return;
+        }
+        long[] ac = a.coefficients;
+        long[] bc = b.coefficients;
+        for (int k = 0; k < resultSize; k++) {
+            int iMin = Math.max(0, k - b.size + 1);
+            int iMax = Math.min(k, a.size - 1);
+            long sum = 0;
+            for (int i = iMin; i <= iMax; i++) {
+                sum += ac[i] * bc[k - i];
+                if (sum >= ACCUMULATOR_BOUND) {
+                    sum -= squaredModul;
+                }
+            }
+            coefficients[k] = sum % modul;
+        }
+        size = resultSize;
+        trim();
+    }
+
+    /**
+     * In place squaring, this = a<sup>2</sup>. Uses the symmetry of the
+     * product to halve the number of coefficient multiplications, or Karatsuba
+     * multiplication for large a.
+     *
+     * @param a polynomial with the same module, must not be this.
+     */
+    public void square(DenseModLongPolynomial a) {
+        if (a == this) {
+            throw new IllegalArgumentException("the square cannot overwrite its base");
+        }
+        if (a.size == 0) {
+            size = 0;
+            return;
+        }
+        if (a.size >= KARATSUBA_THRESHOLD) {
+            multiply(a, a);
+            return;
+        }
+        int resultSize = 2 * a.size - 1;
+        ensureCapacity(resultSize);
+        long[] ac = a.coefficients;
+        for (int k = 0; k < resultSize; k++) {
+            int iMin = Math.max(0, k - a.size + 1);
+            int iMax = (k - 1) >> 1;
+            long sum = 0;
+            for (int i = iMin; i <= iMax; i++) {
+                sum += ac[i] * ac[k - i];
+                if (sum >= ACCUMULATOR_BOUND) {
+                    sum -= squaredModul;
+                }
+            }
+            sum = (sum % modul) * 2;
+            if ((k & 1) == 0) {
+                sum += reduce(ac[k / 2] * ac[k / 2]);
+            }
+            coefficients[k] = sum % modul;
+        }
+        size = resultSize;
+        trim();
+    }
+
+    /**
+     * In place remainder, this = this mod f.
+     *
+     * @param f nonzero polynomial with the same module, must not be this.
+     */
+    public void remainder(DenseModLongPolynomial f) {
+        divideInPlace(f, null);
+    }
+
+    /**
+     * In place division with remainder: this = this mod f, and quotient = this
+     * div f.
+     *
+     * @param f        nonzero polynomial with the same module, must not be this.
+     * @param quotient receives the quotient, must not be this or f.
+     */
+    public void quotientRemainder(DenseModLongPolynomial f, DenseModLongPolynomial quotient) {
+        divideInPlace(f, quotient);
+    }
+
+    /**
+     * In place exact division, this = this / f. Assumes f divides this.
+     *
+     * @param f       nonzero polynomial with the same module, must not be this.
+     * @param scratch working space, must not be this or f.
+     */
+    public void divide(DenseModLongPolynomial f, DenseModLongPolynomial scratch) {
+        divideInPlace(f, scratch);
+        set(scratch);
+    }
+
+    /**
+     * In place monic, this = this / ldcf(this).
+     */
+    public void monic() {
+        long lc = leadingCoefficient();
+        if (lc == 0 || lc == 1) {
+            return;
+        }
+        multiply(inverse(lc));
+    }
+
+    /**
+     * In place greatest common divisor, this = gcd(this, b), made monic. The
+     * Euclidean remainder sequence is computed alternately in this and b, so b
+     * is destroyed. While the degrees are large, the remainder sequence is
+     * skipped over by half-gcd steps, so that only a few of its elements are
+     * ever computed.
+     *
+     * @param b polynomial with the same module, must not be this; is
+     *          overwritten.
+     */
+    public void gcd(DenseModLongPolynomial b) {
+        if (Math.min(degree(), b.degree()) >= HALF_GCD_THRESHOLD) {
+            euclid(b, false);
+            monic();
+            return;
+        }
+        DenseModLongPolynomial x = this;
+        DenseModLongPolynomial y = b;
+        while (!y.isZERO()) {
+            x.remainder(y);
+            DenseModLongPolynomial t = x;
+            x = y;
+            y = t;
+        }
+        set(x);
+        monic();
+    }
+
+    /**
+     * In place extended greatest common divisor, this = gcd(this, b), made
+     * monic, together with cofactors s and t such that s this + t b = gcd(this,
+     * b). Only the final cofactors are computed, not those of the elements of
+     * the remainder sequence, and large remainder sequences are skipped over by
+     * half-gcd steps. The cofactors are those of the Euclidean algorithm, so
+     * deg(s) &lt; deg(b) - deg(gcd) and deg(t) &lt; deg(this) - deg(gcd)
+     * unless one polynomial divides the other. If this and b are both zero,
+     * this stays zero, s = 1 and t = 0.
+     *
+     * @param b polynomial with the same module, must not be this; is
+     *          overwritten.
+     * @param s receives the cofactor of this, must not be this or b.
+     * @param t receives the cofactor of b, must not be this, b or s.
+     */
+    public void extendedGcd(DenseModLongPolynomial b, DenseModLongPolynomial s, DenseModLongPolynomial t) {
+        DenseModLongPolynomial[] M = euclid(b, true);
+        s.set(M[0]);
+        t.set(M[1]);
+        long lc = leadingCoefficient();
+        if (lc != 0 && lc != 1) {
+            long lcInverse = inverse(lc);
+            multiply(lcInverse);
+            s.multiply(lcInverse);
+            t.multiply(lcInverse);
+        }
+    }
+
+    /**
+     * In place modular multiplication, this = a b mod f.
+     *
+     * @param a       polynomial with the same module.
+     * @param b       polynomial with the same module.
+     * @param f       nonzero polynomial with the same module.
+     * @param scratch working space; none of a, b, f and this may be scratch.
+     */
+    public void multiplyMod(
+            DenseModLongPolynomial a,
+            DenseModLongPolynomial b,
+            DenseModLongPolynomial f,
+            DenseModLongPolynomial scratch
+    ) {
+        if (a == b) {
+            scratch.square(a);
+        } else {
+            scratch.multiply(a, b);
+        }
+        scratch.remainder(f);
+        set(scratch);
+    }
+
+    /**
+     * In place modular exponentiation, this = a<sup>e</sup> mod f, by
+     * left-to-right binary powering. Needs two working polynomials, which are
+     * allocated once.
+     *
+     * @param a base polynomial with the same module.
+     * @param e nonnegative exponent.
+     * @param f nonzero polynomial with the same module, must not be this.
+     */
+    public void powerMod(DenseModLongPolynomial a, BigInteger e, DenseModLongPolynomial f) {
+        int capacity = 2 * f.size;
+        DenseModLongPolynomial base = new DenseModLongPolynomial(modul, capacity);
+        base.set(a);
+        base.remainder(f);
+        DenseModLongPolynomial scratch = new DenseModLongPolynomial(modul, capacity);
+        setMonomial(1, 0);
+        remainder(f);
+        for (int i = e.bitLength() - 1; i >= 0; i--) {
+            multiplyMod(this, this, f, scratch);
+            if (e.testBit(i)) {
+                multiplyMod(this, base, f, scratch);
+            }
+        }
+    }
+
+    /**
+     * Euclidean algorithm on this and b, taking half-gcd steps while the
+     * remainders are large. this receives a (not necessarily monic) gcd.
+     *
+     * @param b         polynomial with the same module, must not be this; is
+     *                  overwritten.
+     * @param cofactors whether to compute the transformation matrix.
+     * @return the matrix M with (gcd, 0) = M (this, b), as { m00, m01, m10,
+     * m11 }, or null if cofactors is false.
+     */
+    private DenseModLongPolynomial[] euclid(DenseModLongPolynomial b, boolean cofactors) {
+        DenseModLongPolynomial x = new DenseModLongPolynomial(this);
+        DenseModLongPolynomial y = b;
+        DenseModLongPolynomial[] M = cofactors ? identityMatrix() : null;
+        int threshold = cofactors ? EXTENDED_HALF_GCD_THRESHOLD : HALF_GCD_THRESHOLD;
+        if (x.degree() < y.degree()) {
+            DenseModLongPolynomial u = x;
+            x = y;
+            y = u;
+            if (cofactors) {
+                M = new DenseModLongPolynomial[] { M[2], M[3], M[0], M[1] };
+            }
+        }
+        DenseModLongPolynomial q = new DenseModLongPolynomial(modul, Math.max(x.size - y.size + 1, 1));
+        while (!y.isZERO()) {
+            if (y.degree() >= threshold && x.degree() > y.degree()) {
+                DenseModLongPolynomial[] H = halfGcd(x, y);
+                DenseModLongPolynomial u = combination(H[0], x, H[1], y);
+                y = combination(H[2], x, H[3], y);
+                x = u;
+                if (cofactors) {
+                    M = matrixProduct(H, M);
+                }
+                if (y.isZERO()) {
+                    break;
+                }
+            }
+            x.quotientRemainder(y, q);
+            DenseModLongPolynomial u = x;
+            x = y;
+            y = u;
+            if (cofactors) {
+                M = divisionStep(M, q);
+            }
+        }
+        set(x);
+        return M;
+    }
+
+    /**
+     * Half-gcd. For deg(a) = n &gt; deg(b), computes the matrix M of the
+     * division steps of the remainder sequence of a and b that end with the
+     * consecutive remainders (c, d) = M (a, b) with deg(c) &ge; ceil(n/2) &gt;
+     * deg(d). The quotients of these steps have degrees adding up to at most
+     * n/2, so they depend only on the upper half of the coefficients of a and
+     * b, which is why M can be computed from two recursive calls on
+     * polynomials of half the degree.
+     *
+     * @param a polynomial with the same module.
+     * @param b polynomial with the same module, deg(b) &lt; deg(a).
+     * @return the matrix M, as { m00, m01, m10, m11 }.
+     */
+    DenseModLongPolynomial[] halfGcd(DenseModLongPolynomial a, DenseModLongPolynomial b) {
+        int m = (a.degree() + 1) / 2;
+        if (b.degree() < m) {
+            return identityMatrix();
+        }
+        DenseModLongPolynomial q = new DenseModLongPolynomial(modul, a.size - b.size + 1);
+        if (a.degree() < HALF_GCD_BASE) {
+            DenseModLongPolynomial[] M = identityMatrix();
+            DenseModLongPolynomial c = new DenseModLongPolynomial(a);
+            DenseModLongPolynomial d = new DenseModLongPolynomial(b);
+            while (d.degree() >= m) {
+                c.quotientRemainder(d, q);
+                DenseModLongPolynomial u = c;
+                c = d;
+                d = u;
+                M = divisionStep(M, q);
+            }
+            return M;
+        }
+        // the quotients of the upper halves are the first quotients of a and b
+        DenseModLongPolynomial[] R = halfGcd(a.shiftDown(m), b.shiftDown(m));
+        DenseModLongPolynomial c = combination(R[0], a, R[1], b);
+        DenseModLongPolynomial d = combination(R[2], a, R[3], b);
+        if (d.degree() < m) {
+            return R;
+        }
+        c.quotientRemainder(d, q);
+        R = divisionStep(R, q);
+        if (c.degree() < m) {
+            return R;
+        }
+        // deg(d) < 2m, and the remaining quotients depend on the upper 2(deg(d) - m) coefficients of d
+        int k = 2 * m - d.degree();
+        DenseModLongPolynomial[] S = halfGcd(d.shiftDown(k), c.shiftDown(k));
+        return matrixProduct(S, R);
+    }
+
+    /**
+     * The identity matrix.
+     *
+     * @return { 1, 0, 0, 1 }.
+     */
+    private DenseModLongPolynomial[] identityMatrix() {
+        DenseModLongPolynomial one = new DenseModLongPolynomial(modul, 1);
+        one.setMonomial(1, 0);
+        return new DenseModLongPolynomial[] {
+                one,
+                new DenseModLongPolynomial(modul, 1),
+                new DenseModLongPolynomial(modul, 1),
+                new DenseModLongPolynomial(one)
+        };
+    }
+
+    /**
+     * Matrix of one more division step, [0, 1; 1, -q] M.
+     *
+     * @param M matrix of the previous division steps.
+     * @param q quotient of the division step.
+     * @return { m10, m11, m00 - q m10, m01 - q m11 }.
+     */
+    private DenseModLongPolynomial[] divisionStep(DenseModLongPolynomial[] M, DenseModLongPolynomial q) {
+        DenseModLongPolynomial u = new DenseModLongPolynomial(modul, M[2].size + q.size);
+        DenseModLongPolynomial v = new DenseModLongPolynomial(modul, M[3].size + q.size);
+        u.multiply(q, M[2]);
+        v.multiply(q, M[3]);
+        u.negate();
+        v.negate();
+        u.add(M[0]);
+        v.add(M[1]);
+        return new DenseModLongPolynomial[] { M[2], M[3], u, v };
+    }
+
+    /**
+     * Product of two matrices of polynomials.
+     *
+     * @param S left factor, as { s00, s01, s10, s11 }.
+     * @param R right factor, as { r00, r01, r10, r11 }.
+     * @return S R.
+     */
+    private static DenseModLongPolynomial[] matrixProduct(DenseModLongPolynomial[] S, DenseModLongPolynomial[] R) {
+        return new DenseModLongPolynomial[] {
+                combination(S[0], R[0], S[1], R[2]),
+                combination(S[0], R[1], S[1], R[3]),
+                combination(S[2], R[0], S[3], R[2]),
+                combination(S[2], R[1], S[3], R[3])
+        };
+    }
+
+    /**
+     * Linear combination with polynomial coefficients.
+     *
+     * @param u polynomial with the same module.
+     * @param a polynomial with the same module.
+     * @param v polynomial with the same module.
+     * @param b polynomial with the same module.
+     * @return u a + v b, as a new polynomial.
+     */
+    private static DenseModLongPolynomial combination(
+            DenseModLongPolynomial u,
+            DenseModLongPolynomial a,
+            DenseModLongPolynomial v,
+            DenseModLongPolynomial b
+    ) {
+        DenseModLongPolynomial ua = new DenseModLongPolynomial(a.modul, u.size + a.size);
+        DenseModLongPolynomial vb = new DenseModLongPolynomial(a.modul, v.size + b.size);
+        ua.multiply(u, a);
+        vb.multiply(v, b);
+        ua.add(vb);
+        return ua;
+    }
+
+    /**
+     * Quotient by a power of x.
+     *
+     * @param k nonnegative exponent.
+     * @return this div x<sup>k</sup>, as a new polynomial.
+     */
+    private DenseModLongPolynomial shiftDown(int k) {
+        DenseModLongPolynomial a = new DenseModLongPolynomial(modul, size - k);
+        if (size > k) {
+            System.arraycopy(coefficients, k, a.coefficients, 0, size - k);
+            a.size = size - k;
+        }
+        return a;
+    }
+
+    /**
+     * In place negation, this = -this.
+     */
+    private void negate() {
+        for (int i = 0; i < size; i++) {
+            if (coefficients[i] != 0) {
+                coefficients[i] = modul - coefficients[i];
+            }
+        }
+    }
+
+    /**
+     * Karatsuba multiplication of coefficient ranges, r[ro, ro + an + bn - 1)
+     * = a[ao, ao + an) b[bo, bo + bn). Short ranges are multiplied
+     * classically, and a range much longer than the other is split into
+     * pieces.
+     *
+     * @param a  coefficients of the first factor, reduced mod p.
+     * @param ao offset of the first factor.
+     * @param an length of the first factor, positive.
+     * @param b  coefficients of the second factor, reduced mod p.
+     * @param bo offset of the second factor.
+     * @param bn length of the second factor, positive.
+     * @param r  receives the reduced coefficients of the product; must not
+     *           overlap a or b.
+     * @param ro offset of the product.
+     */
+    private void karatsuba(long[] a, int ao, int an, long[] b, int bo, int bn, long[] r, int ro) {
+        if (an < bn) {
+            karatsuba(b, bo, bn, a, ao, an, r, ro);
+            return;
+        }
+        if (bn < KARATSUBA_THRESHOLD) {
+            for (int k = 0; k < an + bn - 1; k++) {
+                int iMin = Math.max(0, k - bn + 1);
+                int iMax = Math.min(k, an - 1);
+                long sum = 0;
+                for (int i = iMin; i <= iMax; i++) {
+                    sum += a[ao + i] * b[bo + k - i];
+                    if (sum >= ACCUMULATOR_BOUND) {
+                        sum -= squaredModul;
+                    }
+                }
+                r[ro + k] = sum % modul;
+            }
+            return;
+        }
+        int h = (an + 1) >> 1;
+        if (bn <= h) {
+            karatsuba(a, ao, h, b, bo, bn, r, ro);
+            long[] high = new long[an - h + bn - 1];
+            karatsuba(a, ao + h, an - h, b, bo, bn, high, 0);
+            for (int i = h + bn - 1; i < an + bn - 1; i++) {
+                r[ro + i] = 0;
+            }
+            addInto(high, 0, high.length, r, ro + h);
+            return;
+        }
+        long[] low = new long[2 * h - 1];
+        long[] high = new long[an + bn - 2 * h - 1];
+        karatsuba(a, ao, h, b, bo, h, low, 0);
+        karatsuba(a, ao + h, an - h, b, bo + h, bn - h, high, 0);
+        long[] aSum = new long[h];
+        long[] bSum = new long[h];
+        for (int i = 0; i < h; i++) {
+            aSum[i] = a[ao + i];
+            bSum[i] = b[bo + i];
+        }
+        addInto(a, ao + h, an - h, aSum, 0);
+        addInto(b, bo + h, bn - h, bSum, 0);
+        long[] middle = new long[2 * h - 1];
+        karatsuba(aSum, 0, h, bSum, 0, h, middle, 0);
+        for (int i = 0; i < middle.length; i++) {
+            long c = middle[i] - low[i];
+            if (c < 0) {
+                c += modul;
+            }
+            if (i < high.length) {
+                c -= high[i];
+                if (c < 0) {
+                    c += modul;
+                }
+            }
+            middle[i] = c;
+        }
+        System.arraycopy(low, 0, r, ro, low.length);
+        for (int i = low.length; i < an + bn - 1; i++) {
+            r[ro + i] = 0;
+        }
+        addInto(middle, 0, middle.length, r, ro + h);
+        addInto(high, 0, high.length, r, ro + 2 * h);
+    }
+
+    /**
+     * Adds a coefficient range into a range of another array, mod p.
+     *
+     * @param x  summand.
+     * @param xo offset of the summand.
+     * @param xn length of the summand.
+     * @param r  coefficients that x is added to.
+     * @param ro offset in r at which x is added.
+     */
+    private void addInto(long[] x, int xo, int xn, long[] r, int ro) {
+        for (int i = 0; i < xn; i++) {
+            long c = r[ro + i] + x[xo + i];
+            r[ro + i] = c >= modul ? c - modul : c;
+        }
+    }
+
+    /**
+     * Reduces x modulo p, using the precomputed reciprocal of p. The quotient
+     * estimate is off by at most one, which is corrected afterwards.
+     *
+     * @param x 0 &le; x &lt; p<sup>2</sup> + p.
+     * @return x mod p.
+     */
+    private long reduce(long x) {
+        long r = x - (long) (x * inverseModul) * modul;
+        if (r < 0) {
+            return r + modul;
+        }
+        return r >= modul ? r - modul : r;
+    }
+
+    /**
+     * Inverse of c modulo p.
+     *
+     * @param c 0 &lt; c &lt; p.
+     * @return 1/c mod p.
+     */
+    private long inverse(long c) {
+        long a = c;
+        long b = modul;
+        long x = 1;
+        long y = 0;
+        while (b != 0) {
+            long q = a / b;
+            long t = a - q * b;
+            a = b;
+            b = t;
+            t = x - q * y;
+            x = y;
+            y = t;
+        }
+        if (a != 1) {
+            throw new ArithmeticException("not invertible: " + c + " mod " + modul);
+        }
+        return x < 0 ? x + modul : x;
+    }
+
+    /**
+     * Classical division by f, in place. this is replaced by the remainder and,
+     * if quotient is not null, the quotient is stored in it.
+     *
+     * @param f        nonzero polynomial with the same module.
+     * @param quotient receives the quotient, or null.
+     */
+    private void divideInPlace(DenseModLongPolynomial f, DenseModLongPolynomial quotient) {
+        if (f.size == 0) {
+            throw new ArithmeticException("division by zero");
+        }
+        if (f == this) {
+            throw new IllegalArgumentException("the divisor cannot be overwritten");
+        }
+        int n = f.size - 1;
+        if (quotient != null) {
+            quotient.size = 0;
+        }
+        if (size <= n) {
+            return;
+        }
+        if (quotient != null) {
+            quotient.ensureCapacity(size - n);
+            quotient.size = size - n;
+        }
+        long[] fc = f.coefficients;
+        long lcInverse = inverse(fc[n]);
+        for (int i = size - 1; i >= n; i--) {
+            long c = coefficients[i];
+            if (c != 0 && lcInverse != 1) {
+                c = reduce(c * lcInverse);
+            }
+            if (quotient != null) {
+                quotient.coefficients[i - n] = c;
+            }
+            if (c == 0) {
+                continue;
+            }
+            long negC = modul - c;
+            int offset = i - n;
+            for (int j = 0; j < n; j++) {
+                if (fc[j] != 0) {
+                    coefficients[offset + j] = reduce(coefficients[offset + j] + negC * fc[j]);
+                }
+            }
+            coefficients[i] = 0;
+        }
+        size = n;
+        trim();
+        if (quotient != null) {
+            quotient.trim();
+        }
+    }
+
+    /**
+     * Grows the coefficient array so that it holds at least n coefficients,
+     * preserving the current ones.
+     *
+     * @param n the required capacity.
+     */
+    private void ensureCapacity(int n) {
+        if (coefficients.length < n) {
+            long[] larger = new long[Math.max(n, 2 * coefficients.length)];
+            System.arraycopy(coefficients, 0, larger, 0, size);
+            coefficients = larger;
+        }
+    }
+
+    /**
+     * Removes leading zero coefficients.
+     */
+    private void trim() {
+        while (size > 0 && coefficients[size - 1] == 0) {
+            size--;
+        }
+    }
+
+    /**
+     * Get a string representation, in ascending order of exponents.
+     *
+     * @return String.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(coefficients[i]);
+        }
+        return sb.append("] mod ").append(modul).toString();
+    }
+}
@@ -0,0 +1,538 @@
+package jas.poly;
+
+import jas.arith.PrimeTable;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Multiplication of dense integer polynomials by number theoretic
+ * transforms. The factors are reduced modulo enough primes of
+ * {@link PrimeTable#NTT} for the product coefficients to be determined by
+ * their residues, multiplied by a cyclic convolution modulo each prime, and
+ * the coefficients are recovered with Garner's form of the Chinese remainder
+ * theorem. Residues are kept below 2<sup>62</sup> and multiplied with
+ * Montgomery's method. Polynomials over Z_p for word-size p are multiplied
+ * the same way, with two transform primes.
+ */
+public class NttUtil {
+    /**
+     * Products where the shorter factor has fewer coefficients than this are
+     * left to classical multiplication.
+     */
+    public static final int MIN_LENGTH = 64;
+
+    /**
+     * Products where the largest coefficient has more bits than this many
+     * per coefficient of the shorter factor are left to classical
+     * multiplication; they need too many primes.
+     */
+    public static final int MAX_BITS_PER_LENGTH = 3;
+
+    /**
+     * Whether a product should be computed by transforms.
+     *
+     * @param m     number of coefficients of one factor.
+     * @param n     number of coefficients of the other factor.
+     * @param mbits bit length of the largest coefficient of the first factor.
+     * @param nbits bit length of the largest coefficient of the other factor.
+     * @return true if multiply is expected to beat classical multiplication.
+     */
+    public static boolean isPreferred(int m, int n, int mbits, int nbits) {
+        int l = Math.min(m, n);
+        return l >= MIN_LENGTH && Math.max(mbits, nbits) <= (long) MAX_BITS_PER_LENGTH * l;
+    }
+
+    /**
+     * Bit length of the largest coefficient.
+     *
+     * @param A dense coefficients.
+     * @return max bitLength(a) for a in A.
+     */
+    public static int maxBitLength(BigInteger[] A) {
+        int b = 0;
+        for (BigInteger a : A) {
+            b = Math.max(b, a.bitLength());
+        }
+        return b;
+    }
+
+    /**
+     * Product of two integer polynomials.
+     *
+     * @param A nonempty dense coefficients, lowest degree first.
+     * @param B nonempty dense coefficients, lowest degree first.
+     * @return the coefficients of A B, lowest degree first.
+     */
+    public static BigInteger[] multiply(BigInteger[] A, BigInteger[] B) {
+        int n = A.length + B.length - 1;
+        int logLength = 32 - Integer.numberOfLeadingZeros(n - 1);
+        PrimeTable table = PrimeTable.NTT;
+        if (logLength > table.twoAdicity) {
+            throw new IllegalArgumentException("product too long for transforms: " + n);
+        }
+        int length = 1 << logLength;
+        // |c| <= min(m, n) max|a| max|b| < M / 2 for the product M of the primes, all greater than 2^61;
+        // bitLength is one short for negative powers of 2
+        int bound = maxBitLength(A) + maxBitLength(B) + 2
+                + 32 - Integer.numberOfLeadingZeros(Math.min(A.length, B.length));
+        int k = (bound + 1 + 60) / 61;
+        long[][] words = new long[A.length + B.length][];
+        for (int j = 0; j < A.length; j++) {
+            words[j] = words(A[j]);
+        }
+        for (int j = 0; j < B.length; j++) {
+            words[A.length + j] = words(B[j]);
+        }
+        long[][] residues = new long[k][];
+        for (int i = 0; i < k; i++) {
+            long p = table.prime(i);
+            long inverse = table.montgomeryInverse(i);
+            long square = table.montgomerySquare(i);
+            long[] a = new long[length];
+            long[] b = new long[length];
+            for (int j = 0; j < A.length; j++) {
+                a[j] = residue(A[j], words[j], p, inverse, square);
+            }
+            for (int j = 0; j < B.length; j++) {
+                b[j] = residue(B[j], words[A.length + j], p, inverse, square);
+            }
+            convolve(table, i, logLength, a, b, n);
+            residues[i] = a;
+        }
+        return reconstruct(table, residues, n);
+    }
+
+    /**
+     * Product of two polynomials over Z_m. The product over the integers has
+     * coefficients less than min(an, bn) m<sup>2</sup> &lt; 2<sup>82</sup>,
+     * which is less than the product of the first three primes of
+     * {@link PrimeTable#INT_NTT}, so it is computed modulo those three and
+     * reduced modulo m. Residues modulo these primes are less than
+     * 2<sup>31</sup>, so they are multiplied directly and reduced with a
+     * floating-point reciprocal instead of Montgomery's method.
+     *
+     * @param a  coefficients of the first factor, in [0, m).
+     * @param an number of coefficients of the first factor, positive.
+     * @param b  coefficients of the second factor, in [0, m).
+     * @param bn number of coefficients of the second factor, positive.
+     * @param m  module, less than 2<sup>31</sup>.
+     * @param c  receives the an + bn - 1 coefficients of the product, in [0,
+     *           m); may be a or b.
+     */
+    public static void multiplyMod(long[] a, int an, long[] b, int bn, long m, long[] c) {
+        int n = an + bn - 1;
+        int logLength = 32 - Integer.numberOfLeadingZeros(n - 1);
+        PrimeTable table = PrimeTable.INT_NTT;
+        if (logLength > table.twoAdicity) {
+            throw new IllegalArgumentException("product too long for transforms: " + n);
+        }
+        int length = 1 << logLength;
+        long[] primes = new long[3];
+        long[][] residues = new long[3][];
+        for (int i = 0; i < 3; i++) {
+            long p = table.prime(i);
+            primes[i] = p;
+            double inverse = 1.0 / p;
+            long[] x = new long[length];
+            long[] y = new long[length];
+            for (int j = 0; j < an; j++) {
+                x[j] = reduce(a[j], p);
+            }
+            for (int j = 0; j < bn; j++) {
+                y[j] = reduce(b[j], p);
+            }
+            long w = power(table.primitiveRoot(i), (p - 1) >>> logLength, p, inverse);
+            long[] roots = new long[Math.max(1, length / 2)];
+            roots[0] = 1;
+            for (int j = 1; j < roots.length; j++) {
+                roots[j] = multiply(roots[j - 1], w, p, inverse);
+            }
+            transform(x, roots, p, inverse);
+            transform(y, roots, p, inverse);
+            for (int j = 0; j < length; j++) {
+                x[j] = multiply(x[j], y[j], p, inverse);
+            }
+            transform(x, roots, p, inverse);
+            long scale = power(length, p - 2, p, inverse);
+            x[0] = multiply(x[0], scale, p, inverse);
+            for (int j = 1; j < n; j++) {
+                // the inverse transform is the forward one with the outputs 1, ..., length-1 reversed
+                y[j] = multiply(x[length - j], scale, p, inverse);
+            }
+            y[0] = x[0];
+            residues[i] = y;
+        }
+        // c = v_0 + v_1 p_0 + v_2 p_0 p_1
+        double inverse1 = 1.0 / primes[1];
+        double inverse2 = 1.0 / primes[2];
+        long inverse01 = BigInteger.valueOf(primes[0]).modInverse(BigInteger.valueOf(primes[1])).longValue();
+        long inverse02 = BigInteger.valueOf(primes[0] * primes[1] % primes[2])
+                .modInverse(BigInteger.valueOf(primes[2])).longValue();
+        long p0ModM = primes[0] % m;
+        long p01ModM = (primes[0] % m) * (primes[1] % m) % m;
+        for (int j = 0; j < n; j++) {
+            long v0 = residues[0][j];
+            long d1 = residues[1][j] - v0 % primes[1];
+            long v1 = multiply(d1 < 0 ? d1 + primes[1] : d1, inverse01, primes[1], inverse1);
+            long d2 = (residues[2][j] - v0 % primes[2] - multiply(v1 % primes[2], primes[0] % primes[2], primes[2],
+                    inverse2)) % primes[2];
+            d2 = d2 < 0 ? d2 + primes[2] : d2;
+            long v2 = multiply(d2, inverse02, primes[2], inverse2);
+            c[j] = (v0 % m + (v1 % m) * p0ModM % m + (v2 % m) * p01ModM % m) % m;
+        }
+    }
+
+    /**
+     * In place iterative radix-2 transform modulo a prime less than
+     * 2<sup>31</sup>.
+     *
+     * @param a       residues in [0, p), of length a power of 2.
+     * @param roots   powers of a root of unity of order a.length.
+     * @param p       prime.
+     * @param inverse 1/p.
+     */
+    private static void transform(long[] a, long[] roots, long p, double inverse) {
+        int length = a.length;
+        for (int i = 1, j = 0; i < length; i++) {
+            int bit = length >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                long t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        }
+        for (int half = 1; half < length; half <<= 1) {
+            int step = length / (2 * half);
+            for (int i = 0; i < length; i += 2 * half) {
+                for (int j = 0; j < half; j++) {
+                    long u = a[i + j];
+                    long v = multiply(a[i + j + half], roots[j * step], p, inverse);
+                    long s = u + v;
+                    a[i + j] = s >= p ? s - p : s;
+                    long d = u - v;
+                    a[i + j + half] = d < 0 ? d + p : d;
+                }
+            }
+        }
+    }
+
+    /**
+     * Product modulo a prime less than 2<sup>31</sup>, reduced with a
+     * floating-point reciprocal; the quotient estimate is off by at most one.
+     *
+     * @param a       factor in [0, p).
+     * @param b       factor in [0, p).
+     * @param p       prime.
+     * @param inverse 1/p.
+     * @return a b mod p.
+     */
+    private static long multiply(long a, long b, long p, double inverse) {
+        long x = a * b;
+        long r = x - (long) (x * inverse) * p;
+        if (r < 0) {
+            return r + p;
+        }
+        return r >= p ? r - p : r;
+    }
+
+    /**
+     * Power modulo a prime less than 2<sup>31</sup>.
+     *
+     * @param a       base in [0, p).
+     * @param e       nonnegative exponent.
+     * @param p       prime.
+     * @param inverse 1/p.
+     * @return a<sup>e</sup> mod p.
+     */
+    private static long power(long a, long e, long p, double inverse) {
+        long r = 1;
+        for (; e > 0; e >>= 1) {
+            if ((e & 1) != 0) {
+                r = multiply(r, a, p, inverse);
+            }
+            a = multiply(a, a, p, inverse);
+        }
+        return r;
+    }
+
+    /**
+     * Cyclic convolution modulo a transform prime, in place.
+     *
+     * @param table     prime table.
+     * @param i         index of the prime.
+     * @param logLength log<sub>2</sub> of the transform length.
+     * @param a         residues of the first factor, of the transform length;
+     *                  receives the residues of the product.
+     * @param b         residues of the second factor, of the transform
+     *                  length; is overwritten.
+     * @param n         number of coefficients of the product that are needed.
+     */
+    private static void convolve(PrimeTable table, int i, int logLength, long[] a, long[] b, int n) {
+        int length = 1 << logLength;
+        long p = table.prime(i);
+        long inverse = table.montgomeryInverse(i);
+        long square = table.montgomerySquare(i);
+        long[] roots = roots(table, i, logLength);
+        transform(a, roots, p, inverse);
+        transform(b, roots, p, inverse);
+        for (int j = 0; j < length; j++) {
+            a[j] = PrimeTable.montgomeryMultiply(a[j], b[j], p, inverse);
+        }
+        transform(a, roots, p, inverse);
+        // the inverse transform is the forward one with the outputs 1, ..., length-1 reversed
+        for (int j = 1, l = length - 1; j < l; j++, l--) {
+            long t = a[j];
+            a[j] = a[l];
+            a[l] = t;
+        }
+        // a[j] = length c_j R^-1; scale by length^-1 R^2
+        long one = PrimeTable.montgomeryMultiply(1, square, p, inverse);
+        long scale = PrimeTable.power(
+                PrimeTable.montgomeryMultiply(length, square, p, inverse),
+                p - 2,
+                one,
+                p,
+                inverse
+        );
+        scale = PrimeTable.montgomeryMultiply(scale, square, p, inverse);
+        for (int j = 0; j < n; j++) {
+            a[j] = PrimeTable.montgomeryMultiply(a[j], scale, p, inverse);
+        }
+    }
+
+    /**
+     * Powers of a primitive root of unity.
+     *
+     * @param table     prime table.
+     * @param i         index of the prime.
+     * @param logLength log<sub>2</sub> of the transform length.
+     * @return w<sup>j</sup> R mod p for j = 0, ..., length/2 - 1, with w of
+     * order length.
+     */
+    private static long[] roots(PrimeTable table, int i, int logLength) {
+        long p = table.prime(i);
+        long inverse = table.montgomeryInverse(i);
+        long square = table.montgomerySquare(i);
+        long one = PrimeTable.montgomeryMultiply(1, square, p, inverse);
+        long g = PrimeTable.montgomeryMultiply(table.primitiveRoot(i), square, p, inverse);
+        long w = PrimeTable.power(g, (p - 1) >>> logLength, one, p, inverse);
+        long[] roots = new long[Math.max(1, (1 << logLength) / 2)];
+        roots[0] = one;
+        for (int j = 1; j < roots.length; j++) {
+            roots[j] = PrimeTable.montgomeryMultiply(roots[j - 1], w, p, inverse);
+        }
+        return roots;
+    }
+
+    /**
+     * In place iterative radix-2 transform.
+     *
+     * @param a       residues in [0, p), of length a power of 2.
+     * @param roots   powers of a root of unity of order a.length, in
+     *                Montgomery form.
+     * @param p       prime.
+     * @param inverse -p<sup>-1</sup> mod 2<sup>64</sup>.
+     */
+    private static void transform(long[] a, long[] roots, long p, long inverse) {
+        int length = a.length;
+        for (int i = 1, j = 0; i < length; i++) {
+            int bit = length >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                long t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        }
+        for (int half = 1; half < length; half <<= 1) {
+            int step = length / (2 * half);
+            for (int i = 0; i < length; i += 2 * half) {
+                for (int j = 0; j < half; j++) {
+                    long u = a[i + j];
+                    long v = PrimeTable.montgomeryMultiply(a[i + j + half], roots[j * step], p, inverse);
+                    long s = u + v;
+                    a[i + j] = s >= p ? s - p : s;
+                    long d = u - v;
+                    a[i + j + half] = d < 0 ? d + p : d;
+                }
+            }
+        }
+    }
+
+    /**
+     * 64-bit words of |c|, most significant first.
+     *
+     * @param c integer.
+     * @return the words, or null if |c| fits in 62 bits.
+     */
+    private static long[] words(BigInteger c) {
+        if (c.bitLength() < 63) {
+            return null;
+        }
+        byte[] bytes = c.abs().toByteArray();
+        int n = (bytes.length + 7) / 8;
+        long[] w = new long[n];
+        for (int i = 0; i < bytes.length; i++) {
+            int j = bytes.length - 1 - i; // i-th byte from the least significant end
+            w[n - 1 - i / 8] |= (bytes[j] & 0xFFL) << (8 * (i % 8));
+        }
+        return w;
+    }
+
+    /**
+     * Residue of an integer.
+     *
+     * @param c       integer.
+     * @param w       words of |c| (see words), or null if |c| fits in 62 bits.
+     * @param p       prime.
+     * @param inverse -p<sup>-1</sup> mod 2<sup>64</sup>.
+     * @param square  2<sup>128</sup> mod p.
+     * @return c mod p in [0, p).
+     */
+    private static long residue(BigInteger c, long[] w, long p, long inverse, long square) {
+        if (w == null) {
+            return Math.floorMod(c.longValue(), p);
+        }
+        long r = 0;
+        for (long x : w) {
+            // r 2^64 + x mod p
+            r = PrimeTable.montgomeryMultiply(r, square, p, inverse) + Long.remainderUnsigned(x, p);
+            if (r >= p) {
+                r -= p;
+            }
+        }
+        return c.signum() < 0 && r != 0 ? p - r : r;
+    }
+
+    /**
+     * Chinese remainder reconstruction with symmetric residues.
+     *
+     * @param table    prime table.
+     * @param residues residues[i][j] = c_j mod prime(i).
+     * @param n        number of coefficients.
+     * @return [c_0, ..., c_{n-1}] with |c_j| &lt; prod prime(i) / 2.
+     */
+    private static BigInteger[] reconstruct(PrimeTable table, long[][] residues, int n) {
+        int k = residues.length;
+        long[] primes = new long[k];
+        long[] inverses = new long[k];
+        BigInteger[] bigPrimes = new BigInteger[k];
+        for (int i = 0; i < k; i++) {
+            primes[i] = table.prime(i);
+            inverses[i] = table.montgomeryInverse(i);
+            bigPrimes[i] = BigInteger.valueOf(primes[i]);
+        }
+        // moduli[i][j] = p_j R mod p_i, and factors[i] = (p_0 ... p_{i-1})^-1 R mod p_i
+        long[][] moduli = new long[k][];
+        long[] factors = new long[k];
+        BigInteger modulus = BigInteger.ONE;
+        for (int i = 0; i < k; i++) {
+            long p = primes[i];
+            long square = table.montgomerySquare(i);
+            moduli[i] = new long[i];
+            for (int j = 0; j < i; j++) {
+                moduli[i][j] = PrimeTable.montgomeryMultiply(reduce(primes[j], p), square, p, inverses[i]);
+            }
+            long product = modulus.mod(bigPrimes[i]).modInverse(bigPrimes[i]).longValue();
+            factors[i] = PrimeTable.montgomeryMultiply(product, square, p, inverses[i]);
+            modulus = modulus.multiply(bigPrimes[i]);
+        }
+        BigInteger half = modulus.shiftRight(1);
+        BigInteger[] C = new BigInteger[n];
+        long[] v = new long[k];
+        int[] limbs = new int[2 * k + 1];
+        byte[] bytes = new byte[8 * k + 5];
+        for (int j = 0; j < n; j++) {
+            // mixed radix digits: c = v_0 + v_1 p_0 + v_2 p_0 p_1 + ...
+            v[0] = residues[0][j];
+            for (int i = 1; i < k; i++) {
+                long p = primes[i];
+                long inverse = inverses[i];
+                long t = reduce(v[i - 1], p);
+                for (int l = i - 2; l >= 0; l--) {
+                    t = PrimeTable.montgomeryMultiply(t, moduli[i][l], p, inverse) + reduce(v[l], p);
+                    if (t >= p) {
+                        t -= p;
+                    }
+                }
+                long d = residues[i][j] - t;
+                v[i] = PrimeTable.montgomeryMultiply(d < 0 ? d + p : d, factors[i], p, inverse);
+            }
+            Arrays.fill(limbs, 0);
+            int size = 0;
+            for (int i = k - 1; i >= 0; i--) {
+                size = multiplyAdd(limbs, size, i == k - 1 ? 0 : primes[i], v[i]);
+            }
+            BigInteger c = toBigInteger(limbs, size, bytes);
+            C[j] = c.compareTo(half) > 0 ? c.subtract(modulus) : c;
+        }
+        return C;
+    }
+
+    /**
+     * Replaces x by x p + v.
+     *
+     * @param x    little endian 32-bit limbs, with room for two more.
+     * @param size number of limbs of x in use.
+     * @param p    factor less than 2<sup>62</sup>.
+     * @param v    summand less than 2<sup>62</sup>.
+     * @return the number of limbs of x p + v in use.
+     */
+    private static int multiplyAdd(int[] x, int size, long p, long v) {
+        long low = p & 0xFFFFFFFFL;
+        long high = p >>> 32;
+        long lowCarry = v & 0xFFFFFFFFL;
+        long highCarry = (v >>> 32) << 32; // enters at limb 1
+        long previous = 0;
+        int j = 0;
+        for (; j < size || lowCarry != 0 || highCarry != 0 || previous != 0; j++) {
+            long xj = j < size ? x[j] & 0xFFFFFFFFL : 0;
+            long t = xj * low + lowCarry;
+            lowCarry = t >>> 32;
+            long u = previous * high + highCarry + (t & 0xFFFFFFFFL);
+            highCarry = u >>> 32;
+            x[j] = (int) u;
+            previous = xj;
+        }
+        while (j > 0 && x[j - 1] == 0) {
+            j--;
+        }
+        return j;
+    }
+
+    /**
+     * Nonnegative integer from limbs.
+     *
+     * @param x     little endian 32-bit limbs.
+     * @param size  number of limbs in use.
+     * @param bytes scratch space of at least 4 size + 1 bytes.
+     * @return the value of x.
+     */
+    private static BigInteger toBigInteger(int[] x, int size, byte[] bytes) {
+        int n = 4 * size + 1;
+        bytes[0] = 0;
+        for (int i = 0; i < size; i++) {
+            int limb = x[size - 1 - i];
+            bytes[4 * i + 1] = (byte) (limb >>> 24);
+            bytes[4 * i + 2] = (byte) (limb >>> 16);
+            bytes[4 * i + 3] = (byte) (limb >>> 8);
+            bytes[4 * i + 4] = (byte) limb;
+        }
+        return new BigInteger(1, Arrays.copyOf(bytes, n));
+    }
+
+    /**
+     * x mod p for x &lt; 2 p.
+     */
+    private static long reduce(long x, long p) {
+        return x >= p ? x - p : x;
+    }
+}
@@ -9,6 +9,8 @@ import jas.structure.RingFactory;
 import mho.wheels.iterables.IterableUtils;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
@@ -88,6 +90,47 @@ public class PolyUtil {
         return IterableUtils.toList(IterableUtils.map(new FromIntegerPoly<>(fac), L));
     }
 
+    /**
+     * From a dense coefficient list. The coefficients are put into the
+     * polynomial directly, without an intermediate map.
+     *
+     * @param fac result polynomial factory.
+     * @param cs  coefficients, from lowest to highest degree.
+     * @return polynomial with JasBigInteger coefficients cs.
+     */
+    public static GenPolynomial<JasBigInteger> fromDenseCoefficients(
+            GenPolynomialRing<JasBigInteger> fac,
+            List<BigInteger> cs
+    ) {
+        GenPolynomial<JasBigInteger> A = new GenPolynomial<>(fac);
+        for (int i = 0; i < cs.size(); i++) {
+            BigInteger c = cs.get(i);
+            if (c.signum() != 0) {
+                A.doPutToMap((long) i, new JasBigInteger(c));
+            }
+        }
+        return A;
+    }
+
+    /**
+     * To a dense coefficient list.
+     *
+     * @param A polynomial with JasBigInteger coefficients.
+     * @return coefficients of A, from lowest to highest degree, with a nonzero
+     * last element.
+     */
+    public static List<BigInteger> toDenseCoefficients(GenPolynomial<JasBigInteger> A) {
+        if (A.isZERO()) {
+            return Collections.emptyList();
+        }
+        BigInteger[] cs = new BigInteger[(int) A.degree() + 1];
+        Arrays.fill(cs, BigInteger.ZERO);
+        for (Map.Entry<Long, JasBigInteger> e : A.val.entrySet()) {
+            cs[e.getKey().intValue()] = e.getValue().getVal();
+        }
+        return Arrays.asList(cs);
+    }
+
     /**
      * Polynomial list monic.
      *
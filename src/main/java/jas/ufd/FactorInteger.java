@@ -4,17 +4,51 @@ import jas.arith.*;
 import jas.poly.GenPolynomial;
 import jas.poly.GenPolynomialRing;
 import jas.poly.PolyUtil;
+import jas.poly.PolyUtil_ModLong;
 import jas.structure.Power;
 import jas.util.KsubSet;
-import mho.wheels.math.MathUtils;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.BitSet;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class FactorInteger {
+    /**
+     * Number of lucky primes modulo which the polynomial is factored before
+     * the shortest factor list is chosen.
+     */
+    private static final int TT = 5; // 7
+
+    /**
+     * Number of candidate primes whose trials are run concurrently.
+     */
+    private static final int PARALLEL_PRIMES = 8;
+
+    /**
+     * Polynomials of smaller degree are factored modulo one prime at a time
+     * in the calling thread, since their trials are too cheap to hand off.
+     */
+    private static final int PARALLEL_DEGREE_THRESHOLD = 24;
+
+    /**
+     * Lifted factor lists longer than this are recombined by lattice reduction
+     * instead of an exhaustive subset search.
+     */
+    private static final int VAN_HOEIJ_THRESHOLD = 8;
+
+    /**
+     * Polynomial factory for dense coefficient lists.
+     */
+    private static final GenPolynomialRing<JasBigInteger> INTEGER_RING = new GenPolynomialRing<>(new JasBigInteger());
+
+    /**
+     * Polynomial factories modulo the candidate primes. The primes are tried
+     * in a fixed order, so only the first few dozen ever get an entry.
+     */
+    private static final ConcurrentMap<Long, GenPolynomialRing<ModLong>> MODULAR_RINGS =
+            new ConcurrentHashMap<>();
+
     final GreatestCommonDivisorModular engine;
 
     /**
@@ -27,141 +61,317 @@ public class FactorInteger {
      */
     private final GreatestCommonDivisorAbstract<ModLong> mengine;
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Executor for the modular trials.
+     */
+    private final Executor executor;
+
+    /**
+     * Constructor, runs the modular trials on the common fork-join pool.
+     */
     public FactorInteger() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor executor for the modular trials.
+     */
+    @SuppressWarnings("unchecked")
+    public FactorInteger(Executor executor) {
         engine = new GreatestCommonDivisorModular();
         mfactor = new FactorModular(new ModLongRing(13));
         mengine = new GreatestCommonDivisorModEval<>();
+        this.executor = executor;
+    }
+
+    /**
+     * Dense base factorization of a squarefree polynomial. Linear polynomials
+     * are returned as they are, without conversion.
+     *
+     * @param cs squarefree and primitive! coefficients, from lowest to highest
+     *           degree, with a nonzero last element.
+     * @return the coefficients of [p_1, ..., p_k] with P = prod_{i=1, ..., k}
+     * p_i.
+     */
+    public List<List<BigInteger>> baseFactorsSquarefree(List<BigInteger> cs) {
+        List<List<BigInteger>> factors = new ArrayList<>();
+        if (cs.size() <= 2) { // linear is irreducible
+            factors.add(cs);
+            return factors;
+        }
+        for (GenPolynomial<JasBigInteger> f : baseFactorsSquarefree(PolyUtil.fromDenseCoefficients(INTEGER_RING, cs))) {
+            factors.add(PolyUtil.toDenseCoefficients(f));
+        }
+        return factors;
     }
 
     /**
-     * GenPolynomial base factorization of a squarefree polynomial.
+     * GenPolynomial base factorization of a squarefree polynomial. P is
+     * factored modulo several primes (see modularFactors), and the shortest
+     * modular factor list is lifted.
      *
      * @param P squarefree and primitive! GenPolynomial.
      * @return [p_1, ..., p_k] with P = prod_{i=1, ..., k} p_i.
      */
-    @SuppressWarnings("unchecked")
     public List<GenPolynomial<JasBigInteger>> baseFactorsSquarefree(GenPolynomial<JasBigInteger> P) {
         List<GenPolynomial<JasBigInteger>> factors = new ArrayList<>();
         if (P.degree() <= 1L) { // linear is irreducible
             factors.add(P);
             return factors;
         }
+        BitSet AD = allDegrees(P);
+        List<GenPolynomial<ModLong>> mlist = modularFactors(P, P.leadingBaseCoefficient(), P.degreeVector(), AD);
+        if (mlist == null) {
+            factors.add(P);
+            return factors;
+        }
+        return searchFactors(P, mlist, AD);
+    }
+
+    /**
+     * Dense irreducibility test of a squarefree polynomial.
+     *
+     * @param cs squarefree and primitive! coefficients, from lowest to highest
+     *           degree, with a nonzero last element.
+     * @return true if the polynomial is irreducible, else false.
+     */
+    public boolean isIrreducible(List<BigInteger> cs) {
+        return cs.size() <= 2 || isIrreducible(PolyUtil.fromDenseCoefficients(INTEGER_RING, cs));
+    }
+
+    /**
+     * GenPolynomial irreducibility test of a squarefree polynomial. Most
+     * irreducible polynomials are recognized by their modular factorizations
+     * alone, since one of them is trivial or the possible factor degrees
+     * leave no proper factor. Otherwise the modular factors are lifted as in
+     * baseFactorsSquarefree.
+     *
+     * @param P squarefree and primitive! GenPolynomial.
+     * @return true if P is irreducible, else false.
+     */
+    public boolean isIrreducible(GenPolynomial<JasBigInteger> P) {
+        if (P.degree() <= 1L) { // linear is irreducible
+            return true;
+        }
+        BitSet AD = allDegrees(P);
+        List<GenPolynomial<ModLong>> mlist = modularFactors(P, P.leadingBaseCoefficient(), P.degreeVector(), AD);
+        return mlist == null || searchFactors(P, mlist, AD).size() == 1;
+    }
+
+    /**
+     * Bit set of all degrees from 0 to deg(P).
+     *
+     * @param P univariate GenPolynomial.
+     * @return {0, ..., deg(P)}.
+     */
+    private static BitSet allDegrees(GenPolynomial<JasBigInteger> P) {
+        int degi = (int) P.degree();
+        BitSet AD = new BitSet(degi + 1);
+        AD.set(0, degi + 1);
+        return AD;
+    }
+
+    /**
+     * Lifts modular factors of P and recombines them into the factors of P.
+     *
+     * @param P     squarefree and primitive GenPolynomial.
+     * @param mlist factors of P modulo a lucky prime.
+     * @param AD    bit set of possible factor degrees.
+     * @return [p_1, ..., p_k] with P = prod_{i=1, ..., k} p_i.
+     */
+    private List<GenPolynomial<JasBigInteger>> searchFactors(
+            GenPolynomial<JasBigInteger> P,
+            List<GenPolynomial<ModLong>> mlist,
+            BitSet AD
+    ) {
         // compute norm
         JasBigInteger an = P.maxNorm();
         JasBigInteger ac = P.leadingBaseCoefficient();
         //compute factor coefficient bounds
         long degv = P.degreeVector();
-        int degi = (int) P.degree();
         JasBigInteger M = an.multiply(PolyUtil.factorBound(degv));
         M = M.multiply(ac.abs().multiply(ac.fromInteger(8)));
-        //initialize prime list and degree vector
-        PrimeList primes;
-        ModularRingFactory<ModLong> cofac;
-        GenPolynomial<ModLong> am = null;
-        GenPolynomialRing<ModLong> mfac = null;
-        final int TT = 5; // 7
-        List<GenPolynomial<ModLong>>[] modfac = new List[TT];
-        List<GenPolynomial<ModLong>> mlist = null;
-        Iterator<BigInteger> pit = MathUtils.PRIMES.iterator();
-        pit.next(); // skip p = 2
-        pit.next(); // skip p = 3
-        ModLong nf = null;
-        for (int k = 0; k < TT; k++) {
-            if (k == TT - 1) { // -2
-                primes = new PrimeList();
-                pit = primes.iterator();
+        List<GenPolynomial<JasBigInteger>> factors;
+        if (ac.isONE()) {
+            try {
+                mlist = PolyUtil.monic(mlist);
+                factors = searchFactorsMonic(P, M, mlist, AD); // does now work in all cases
+            } catch (RuntimeException e) {
+                factors = searchFactorsNonMonic(P, M, mlist, AD);
             }
-            while (true) {
-                BigInteger p = pit.next();
-                if (ModLongRing.MAX_LONG.compareTo(p) > 0) {
-                    cofac = (ModularRingFactory) new ModLongRing(p);
-                } else {
-                    cofac = (ModularRingFactory) new ModIntegerRing(p);
-                }
+        } else {
+            factors = searchFactorsNonMonic(P, M, mlist, AD);
+        }
+        return normalizeFactorization(factors);
+    }
 
-                nf = cofac.fromInteger(ac.getVal());
-                if (nf.isZERO()) {
-                    //System.out.println("unlucky prime (nf) = " + p);
-                    continue;
-                }
-                // initialize polynomial factory and map polynomial
-                mfac = new GenPolynomialRing<>(cofac);
-                am = PolyUtil.fromIntegerCoefficients(mfac, P);
-                if (am.degreeVector() != degv) {
-                    //System.out.println("unlucky prime (deg) = " + p);
-                    continue;
-                }
-                GenPolynomial<ModLong> ap = PolyUtil.baseDeriviative(am);
-                if (ap.isZERO()) {
-                    //System.out.println("unlucky prime (a')= " + p);
-                    continue;
+    /**
+     * Modular factorizations of a squarefree polynomial. P is factored modulo
+     * TT lucky primes; the trials are independent, so for large degrees a
+     * batch of PARALLEL_PRIMES candidates is run concurrently. The possible
+     * factor degrees are intersected into AD as the results arrive. As soon as
+     * one factorization is trivial or AD leaves a single factor, P is known to
+     * be irreducible and the search stops; trials that have not finished yet
+     * are cancelled. A caller running in a fork-join pool forks the trials
+     * into that pool and joins them in order rather than blocking on the
+     * executor, since a blocked worker would not be replaced.
+     *
+     * @param P    squarefree and primitive GenPolynomial of degree at least 2.
+     * @param ac   leading coefficient of P.
+     * @param degv degree of P.
+     * @param AD   bit set of possible factor degrees, narrowed in place.
+     * @return the shortest modular factor list (ties going to the earlier
+     * candidate), or null if P is irreducible.
+     */
+    private List<GenPolynomial<ModLong>> modularFactors(
+            GenPolynomial<JasBigInteger> P,
+            JasBigInteger ac,
+            long degv,
+            BitSet AD
+    ) {
+        int degi = (int) degv;
+        //initialize prime indices
+        int small = 2; // skip p = 2, 3
+        int big = 0;
+        boolean parallel = degi >= PARALLEL_DEGREE_THRESHOLD;
+        boolean forked = parallel && ForkJoinTask.inForkJoinPool();
+        int window = parallel ? PARALLEL_PRIMES : 1;
+        CompletionService<List<GenPolynomial<ModLong>>> trials = new ExecutorCompletionService<>(
+                parallel ? executor : Runnable::run
+        );
+        // in submission order, so that forked trials can be joined oldest first
+        Map<Future<List<GenPolynomial<ModLong>>>, Integer> indices = new LinkedHashMap<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<GenPolynomial<ModLong>> mlist = null;
+        int mlistIndex = -1;
+        int candidates = 0;
+        int lucky = 0;
+        try {
+            while (lucky < TT) {
+                // next batch of candidates; as in the sequential search, every TT-th one is a big prime
+                for (int i = 0; i < window; i++) {
+                    long p;
+                    if ((candidates + 1) % TT == 0 || small == PrimeTable.smallPrimeCount()) {
+                        p = PrimeTable.INT.prime(big++);
+                    } else {
+                        p = PrimeTable.smallPrime(small++);
+                    }
+                    Callable<List<GenPolynomial<ModLong>>> task = () -> factorModPrime(P, p, ac, degv, stopped);
+                    indices.put(forked ? ForkJoinTask.adapt(task).fork() : trials.submit(task), candidates++);
                 }
-                GenPolynomial<ModLong> g = mengine.baseGcd(am, ap);
-                if (g.isONE()) {
-                    //System.out.println("**lucky prime = " + p);
-                    break;
+                while (!indices.isEmpty()) {
+                    Future<List<GenPolynomial<ModLong>>> future = forked ?
+                            indices.keySet().iterator().next() :
+                            trials.take();
+                    int index = indices.remove(future);
+                    List<GenPolynomial<ModLong>> trial = future.get();
+                    if (trial == null) { // unlucky prime
+                        continue;
+                    }
+                    lucky++;
+                    if (trial.size() <= 1) {
+                        return null;
+                    }
+                    AD.and(factorDegrees(PolyUtil.leadingExpVector(trial), degi));
+                    if (AD.cardinality() <= 2) { // only one possible factor
+                        return null;
+                    }
+                    int s = trial.size();
+                    //System.out.println("mod s = " + s);
+                    if (mlist == null || s < mlist.size() || s == mlist.size() && index < mlistIndex) {
+                        mlist = trial;
+                        mlistIndex = index;
+                    }
                 }
             }
-            // now am is squarefree mod p, make monic and factor mod p
-            if (!nf.isONE()) {
-                //System.out.println("nf = " + nf);
-                am = am.divide(nf); // make monic
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-            mlist = mfactor.baseFactorsSquarefree(am);
-            if (mlist.size() <= 1) {
-                factors.add(P);
-                return factors;
-            }
-            if (!nf.isONE()) {
-                GenPolynomial<ModLong> mp = mfac.getONE(); //mlist.get(0);
-                //System.out.println("mp = " + mp);
-                mp = mp.multiply(nf);
-                //System.out.println("mp = " + mp);
-                mlist.add(0, mp); // set(0,mp);
-            }
-            modfac[k] = mlist;
-        }
-
-        // search shortest factor list
-        int min = Integer.MAX_VALUE;
-        BitSet AD = null;
-        for (int k = 0; k < TT; k++) {
-            List<Long> ev = PolyUtil.leadingExpVector(modfac[k]);
-            BitSet D = factorDegrees(ev, degi);
-            if (AD == null) {
-                AD = D;
-            } else {
-                AD.and(D);
-            }
-            int s = modfac[k].size();
-
-            //System.out.println("mod s = " + s);
-            if (s < min) {
-                min = s;
-                mlist = modfac[k];
+            throw new RuntimeException(cause);
+        } finally {
+            stopped.set(true);
+            for (Future<List<GenPolynomial<ModLong>>> future : indices.keySet()) {
+                future.cancel(true);
             }
         }
 
-        if (mlist.size() <= 1) {
-            factors.add(P);
-            return factors;
+        return mlist;
+    }
+
+    /**
+     * Factorization of P modulo one prime. If P mod p has a lower degree or is
+     * not squarefree, p is unlucky and null is returned. Otherwise the result
+     * is the list of monic irreducible factors of P mod p, preceded by the
+     * leading coefficient of P mod p if that is not 1.
+     *
+     * @param P       squarefree and primitive GenPolynomial.
+     * @param p       prime.
+     * @param ac      leading coefficient of P.
+     * @param degv    degree of P.
+     * @param stopped set once the result is no longer needed.
+     * @return factors of P mod p, or null if p is unlucky or the search has
+     * stopped.
+     */
+    @SuppressWarnings("unchecked")
+    private List<GenPolynomial<ModLong>> factorModPrime(
+            GenPolynomial<JasBigInteger> P,
+            long p,
+            JasBigInteger ac,
+            long degv,
+            AtomicBoolean stopped
+    ) {
+        if (stopped.get()) {
+            return null;
         }
-        if (AD.cardinality() <= 2) { // only one possible factor
-            factors.add(P);
-            return factors;
+        GenPolynomialRing<ModLong> mfac = MODULAR_RINGS.computeIfAbsent(
+                p,
+                q -> new GenPolynomialRing<>(new ModLongRing(q))
+        );
+        ModLong nf = mfac.coFac.fromInteger(ac.getVal());
+        if (nf.isZERO()) {
+            //System.out.println("unlucky prime (nf) = " + p);
+            return null;
         }
-        if (P.leadingBaseCoefficient().isONE()) {
-            try {
-                mlist = PolyUtil.monic(mlist);
-                factors = searchFactorsMonic(P, M, mlist, AD); // does now work in all cases
-            } catch (RuntimeException e) {
-                factors = searchFactorsNonMonic(P, M, mlist, AD);
-            }
-        } else {
-            factors = searchFactorsNonMonic(P, M, mlist, AD);
+        // map polynomial
+        GenPolynomial<ModLong> am = PolyUtil.fromIntegerCoefficients(mfac, P);
+        if (am.degreeVector() != degv) {
+            //System.out.println("unlucky prime (deg) = " + p);
+            return null;
         }
-        return normalizeFactorization(factors);
+        GenPolynomial<ModLong> ap = PolyUtil.baseDeriviative(am);
+        if (ap.isZERO()) {
+            //System.out.println("unlucky prime (a')= " + p);
+            return null;
+        }
+        GenPolynomial<ModLong> g = mengine.baseGcd(am, ap);
+        if (!g.isONE()) {
+            return null;
+        }
+        //System.out.println("**lucky prime = " + p);
+        // now am is squarefree mod p, make monic and factor mod p
+        if (!nf.isONE()) {
+            //System.out.println("nf = " + nf);
+            am = am.divide(nf); // make monic
+        }
+        if (stopped.get() || Thread.currentThread().isInterrupted()) {
+            return null;
+        }
+        List<GenPolynomial<ModLong>> mlist = mfactor.baseFactorsSquarefree(am);
+        if (mlist.size() > 1 && !nf.isONE()) {
+            GenPolynomial<ModLong> mp = mfac.getONE(); //mlist.get(0);
+            //System.out.println("mp = " + mp);
+            mp = mp.multiply(nf);
+            //System.out.println("mp = " + mp);
+            mlist.add(0, mp); // set(0,mp);
+        }
+        return mlist;
     }
 
     /**
@@ -174,7 +384,9 @@ public class FactorInteger {
      * @param F = [f_0,...,f_{n-1}] List&lt;GenPolynomial&gt;.
      * @param D bit set of possible factor degrees.
      * @return [g_0, ..., g_{n-1}] = lift(C,F), with C = prod_{0,...,n-1} g_i mod
-     * p**e. <b>Note:</b> does not work in all cases.
+     * p**e. <b>Note:</b> does not work in all cases. More than
+     * VAN_HOEIJ_THRESHOLD lifted factors are recombined with
+     * {@link VanHoeijUtil#recombine}.
      */
     List<GenPolynomial<JasBigInteger>> searchFactorsMonic(
             GenPolynomial<JasBigInteger> C,
@@ -204,14 +416,15 @@ public class FactorInteger {
         //System.out.println("modlist  = " + mlist); // includes not ldcf
         ModularRingFactory<ModLong> mcfac = (ModularRingFactory<ModLong>) ct.ring.coFac;
         JasBigInteger m = mcfac.getIntegerModul();
-        long k = 1;
-        JasBigInteger pi = m;
-        while (pi.compareTo(M) < 0) {
-            k++;
-            pi = pi.multiply(m);
-        }
+        long k = liftExponent(m, M);
 
         lift = HenselUtil.liftHenselMonic(C, F, k);
+        if (lift.size() > VAN_HOEIJ_THRESHOLD) {
+            List<GenPolynomial<JasBigInteger>> vfactors = VanHoeijUtil.recombine(C, lift, m.getVal(), k, D);
+            if (vfactors != null) {
+                return normalizeFactorization(vfactors);
+            }
+        }
         GenPolynomialRing<ModLong> mpfac = lift.get(0).ring;
         int dl = (lift.size() + 1) / 2;
         GenPolynomial<JasBigInteger> u = C;
@@ -244,6 +457,23 @@ public class FactorInteger {
         return normalizeFactorization(factors);
     }
 
+    /**
+     * Approximation exponent for Hensel lifting.
+     *
+     * @param m prime.
+     * @param M bound on the coefficients of the factors.
+     * @return the least k with m^k &ge; M.
+     */
+    private static long liftExponent(JasBigInteger m, JasBigInteger M) {
+        long k = 1;
+        JasBigInteger pi = m;
+        while (pi.compareTo(M) < 0) {
+            k++;
+            pi = pi.multiply(m);
+        }
+        return k;
+    }
+
     static <T> List<T> removeOnce(List<T> a, List<T> b) {
         List<T> res = new ArrayList<>();
         res.addAll(a);
@@ -281,8 +511,10 @@ public class FactorInteger {
      * @param F = [f_0,...,f_{n-1}] List&lt;GenPolynomial&gt;.
      * @param D bit set of possible factor degrees.
      * @return [g_0, ..., g_{n-1}] = lift(C,F), with C = prod_{0,...,n-1} g_i mod
-     * p**e.
+     * p**e. More than VAN_HOEIJ_THRESHOLD lifted factors are recombined with
+     * {@link VanHoeijUtil#recombine}.
      */
+    @SuppressWarnings("unchecked")
     List<GenPolynomial<JasBigInteger>> searchFactorsNonMonic(
             GenPolynomial<JasBigInteger> C,
             JasBigInteger M,
@@ -294,52 +526,61 @@ public class FactorInteger {
         }
         List<GenPolynomial<JasBigInteger>> factors = new ArrayList<>(F.size());
         List<GenPolynomial<ModLong>> mlist = F;
-        ModLong nf;
         GenPolynomial<ModLong> ct = mlist.get(0);
         if (ct.isConstant()) {
-            nf = ct.leadingBaseCoefficient();
             mlist.remove(ct);
             if (mlist.size() <= 1) {
                 factors.add(C);
                 return factors;
             }
+        }
+        // lift the factors of the monic C / ldcf(C) mod p^k, all at once
+        ModularRingFactory<ModLong> mcfac = (ModularRingFactory<ModLong>) ct.ring.coFac;
+        JasBigInteger m = mcfac.getIntegerModul();
+        long k = liftExponent(m, M);
+        JasBigInteger pk = Power.positivePower(m, k);
+        ModularRingFactory<ModLong> kcfac;
+        if (ModLongRing.MAX_LONG.compareTo(pk.getVal()) > 0) {
+            kcfac = (ModularRingFactory) new ModLongRing(pk.getVal());
         } else {
-            nf = ct.ring.coFac.getONE();
-        }
-        GenPolynomialRing<ModLong> mfac = ct.ring;
-        GenPolynomial<ModLong> Pm = PolyUtil.fromIntegerCoefficients(mfac, C);
-        GenPolynomial<JasBigInteger> PP = C;
-        int dl = (mlist.size() + 1) / 2;
-        GenPolynomial<JasBigInteger> u = PP;
-        GenPolynomial<ModLong> um = Pm;
-        HenselApprox ilist;
+            kcfac = (ModularRingFactory) new ModIntegerRing(pk.getVal());
+        }
+        GenPolynomialRing<ModLong> mpfac = new GenPolynomialRing<>(kcfac);
+        GenPolynomialRing<JasBigInteger> pfac = C.ring;
+        GenPolynomial<JasBigInteger> Cm = PolyUtil_ModLong.integerFromModularCoefficients(
+                pfac,
+                PolyUtil.fromIntegerCoefficients(mpfac, C).monic()
+        );
+        List<GenPolynomial<ModLong>> lift = HenselUtil.liftHenselMonic(Cm, mlist, k);
+        if (lift.size() > VAN_HOEIJ_THRESHOLD) {
+            List<GenPolynomial<JasBigInteger>> vfactors = VanHoeijUtil.recombine(C, lift, m.getVal(), k, D);
+            if (vfactors != null) {
+                return normalizeFactorization(vfactors);
+            }
+        }
+        int dl = (lift.size() + 1) / 2;
+        GenPolynomial<JasBigInteger> u = C;
         for (int j = 1; j <= dl; j++) {
-            KsubSet<GenPolynomial<ModLong>> ps = new KsubSet<>(mlist, j);
+            KsubSet<GenPolynomial<ModLong>> ps = new KsubSet<>(lift, j);
             for (List<GenPolynomial<ModLong>> flist : ps) {
                 if (!D.get((int) degreeSum(flist))) {
                     continue;
                 }
-                GenPolynomial<ModLong> trial = mfac.getONE().multiply(nf);
-                for (GenPolynomial<ModLong> fk : flist) {
-                    trial = trial.multiply(fk);
-                }
-                trial.degree();
-                GenPolynomial<ModLong> cofactor = um.divide(trial);
-                try {
-                    ilist = HenselUtil.liftHenselQuadratic(PP, M, trial, cofactor);
-                } catch (RuntimeException e) {
-                    continue;
-                }
-                GenPolynomial<JasBigInteger> itrial = ilist.A;
-                GenPolynomial<JasBigInteger> icofactor = ilist.B;
-                itrial = engine.basePrimitivePart(itrial);
-                if (PolyUtil.baseSparsePseudoRemainder(u, itrial).isZERO()) {
-                    factors.add(itrial);
-                    u = icofactor;
-                    PP = u; // fixed finally on 2009-05-03
-                    um = cofactor;
-                    mlist = removeOnce(mlist, flist);
-                    dl = (mlist.size() + 1) / 2;
+                // the leading coefficient of every factor of u divides ldcf(u)
+                GenPolynomial<JasBigInteger> trial = PolyUtil_ModLong.integerFromModularCoefficients(
+                        pfac,
+                        Power.multiply(mpfac, flist)
+                ).multiply(u.leadingBaseCoefficient());
+                trial = PolyUtil_ModLong.integerFromModularCoefficients(
+                        pfac,
+                        PolyUtil.fromIntegerCoefficients(mpfac, trial)
+                );
+                trial = engine.basePrimitivePart(trial);
+                if (PolyUtil.baseSparsePseudoRemainder(u, trial).isZERO()) {
+                    factors.add(trial);
+                    u = PolyUtil.basePseudoDivide(u, trial);
+                    lift = removeOnce(lift, flist);
+                    dl = (lift.size() + 1) / 2;
                     j = 0; // since j++
                     break;
                 }
@@ -349,7 +590,7 @@ public class FactorInteger {
             factors.add(u);
         }
         if (factors.size() == 0) {
-            factors.add(PP);
+            factors.add(C);
         }
         return normalizeFactorization(factors);
     }
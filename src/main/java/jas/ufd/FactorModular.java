@@ -1,8 +1,11 @@
 package jas.ufd;
 
 import jas.arith.JasBigInteger;
+import jas.arith.ModLong;
+import jas.arith.ModLongRing;
 import jas.arith.Modular;
 import jas.arith.ModularRingFactory;
+import jas.poly.DenseModLongPolynomial;
 import jas.poly.GenPolynomial;
 import jas.poly.GenPolynomialRing;
 import jas.poly.PolyUtil;
@@ -119,6 +122,109 @@ public class FactorModular<MOD extends RingElem<MOD> & Modular> {
         return facs;
     }
 
+    /**
+     * Distinct degree factorization of a monic squarefree polynomial over a
+     * ModLongRing, on dense coefficient arrays.
+     *
+     * @param P monic squarefree polynomial.
+     * @return [e_1 -&gt; p_1, ..., e_k -&gt; p_k] with P = prod p_i and p_i the
+     * product of the irreducible factors of P of degree e_i.
+     */
+    SortedMap<Long, DenseModLongPolynomial> denseDistinctDegreeFactors(DenseModLongPolynomial P) {
+        SortedMap<Long, DenseModLongPolynomial> facs = new TreeMap<>();
+        if (P.isZERO()) {
+            return facs;
+        }
+        long p = P.modul;
+        BigInteger m = BigInteger.valueOf(p);
+        int capacity = 2 * P.degree() + 1;
+        DenseModLongPolynomial f = new DenseModLongPolynomial(P);
+        DenseModLongPolynomial h = new DenseModLongPolynomial(p, capacity);
+        DenseModLongPolynomial g = new DenseModLongPolynomial(p, capacity);
+        DenseModLongPolynomial scratch = new DenseModLongPolynomial(p, capacity);
+        h.setMonomial(1, 1);
+        long d = 0;
+        while (d + 1 <= f.degree() / 2) {
+            d++;
+            h.powerMod(h, m, f);
+            g.set(h);
+            g.add(p - 1, 1); // h - x
+            scratch.set(f);
+            g.gcd(scratch);
+            if (!g.isONE()) {
+                facs.put(d, new DenseModLongPolynomial(g));
+                f.divide(g, scratch);
+            }
+        }
+        if (!f.isONE()) {
+            facs.put((long) f.degree(), f);
+        }
+        return facs;
+    }
+
+    /**
+     * Equal degree factorization of a monic squarefree polynomial over a
+     * ModLongRing, on dense coefficient arrays (Cantor-Zassenhaus).
+     *
+     * @param P   monic squarefree polynomial whose irreducible factors all have
+     *            degree deg.
+     * @param deg degree of the irreducible factors.
+     * @return [p_1, ..., p_k] with P = prod p_i and deg(p_i) = deg.
+     */
+    List<DenseModLongPolynomial> denseEqualDegreeFactors(DenseModLongPolynomial P, int deg) {
+        List<DenseModLongPolynomial> facs = new ArrayList<>();
+        if (P.isZERO()) {
+            return facs;
+        }
+        if (P.degree() == deg) {
+            facs.add(P);
+            return facs;
+        }
+        long p = P.modul;
+        int capacity = 2 * P.degree() + 1;
+        DenseModLongPolynomial f = P;
+        DenseModLongPolynomial g = new DenseModLongPolynomial(p, capacity);
+        DenseModLongPolynomial h = new DenseModLongPolynomial(p, capacity);
+        DenseModLongPolynomial scratch = new DenseModLongPolynomial(p, capacity);
+        if (p == 2) {
+            DenseModLongPolynomial t = new DenseModLongPolynomial(p, capacity);
+            t.setMonomial(1, 1);
+            DenseModLongPolynomial x2 = new DenseModLongPolynomial(p, 3);
+            x2.setMonomial(1, 2);
+            do {
+                h.set(t);
+                for (int i = 1; i < deg; i++) {
+                    h.multiplyMod(h, h, f, scratch);
+                    h.add(t);
+                }
+                t.multiplyMod(t, x2, f, scratch);
+                scratch.set(f);
+                g.set(h);
+                g.gcd(scratch);
+            } while (g.degree() == 0 || g.degree() == f.degree());
+        } else {
+            BigInteger d = BigInteger.valueOf(p).pow(deg).shiftRight(1); // (p^deg - 1) / 2
+            DenseModLongPolynomial r = new DenseModLongPolynomial(p, capacity);
+            do {
+                r.setRandom(f.degree());
+                if (r.degree() < 1) {
+                    continue;
+                }
+                h.powerMod(r, d, f);
+                h.add(p - 1, 0); // h - 1
+                scratch.set(f);
+                g.set(h);
+                g.gcd(scratch);
+            } while (g.degree() <= 0 || g.degree() == f.degree());
+        }
+        DenseModLongPolynomial cofactor = new DenseModLongPolynomial(f);
+        cofactor.divide(g, scratch);
+        facs.addAll(denseEqualDegreeFactors(cofactor, deg));
+        facs.addAll(denseEqualDegreeFactors(new DenseModLongPolynomial(g), deg));
+        return facs;
+    }
+
+    @SuppressWarnings("unchecked")
     public List<GenPolynomial<MOD>> baseFactorsSquarefree(GenPolynomial<MOD> P) {
         if (P == null) {
             throw new IllegalArgumentException(this.getClass().getName() + " P == null");
@@ -134,12 +240,26 @@ public class FactorModular<MOD extends RingElem<MOD> & Modular> {
         if (!P.leadingBaseCoefficient().isONE()) {
             throw new IllegalArgumentException("ldcf(P) != 1: " + P);
         }
-        SortedMap<Long, GenPolynomial<MOD>> dfacs = baseDistinctDegreeFactors(P);
-        for (Map.Entry<Long, GenPolynomial<MOD>> me : dfacs.entrySet()) {
-            Long e = me.getKey();
-            GenPolynomial<MOD> f = me.getValue(); // dfacs.get(e);
-            List<GenPolynomial<MOD>> efacs = baseEqualDegreeFactors(f, e);
-            factors.addAll(efacs);
+        if (P.ring.coFac instanceof ModLongRing) {
+            // dense arithmetic on long arrays, no GenPolynomials until the end
+            GenPolynomialRing<ModLong> pfac = (GenPolynomialRing<ModLong>) (GenPolynomialRing) P.ring;
+            DenseModLongPolynomial dP = DenseModLongPolynomial.fromGenPolynomial(
+                    (GenPolynomial<ModLong>) (GenPolynomial) P
+            );
+            SortedMap<Long, DenseModLongPolynomial> dfacs = denseDistinctDegreeFactors(dP);
+            for (Map.Entry<Long, DenseModLongPolynomial> me : dfacs.entrySet()) {
+                for (DenseModLongPolynomial f : denseEqualDegreeFactors(me.getValue(), me.getKey().intValue())) {
+                    factors.add((GenPolynomial<MOD>) (GenPolynomial) f.toGenPolynomial(pfac));
+                }
+            }
+        } else {
+            SortedMap<Long, GenPolynomial<MOD>> dfacs = baseDistinctDegreeFactors(P);
+            for (Map.Entry<Long, GenPolynomial<MOD>> me : dfacs.entrySet()) {
+                Long e = me.getKey();
+                GenPolynomial<MOD> f = me.getValue(); // dfacs.get(e);
+                List<GenPolynomial<MOD>> efacs = baseEqualDegreeFactors(f, e);
+                factors.addAll(efacs);
+            }
         }
         //System.out.println("factors  = " + factors);
         factors = PolyUtil.monic(factors);
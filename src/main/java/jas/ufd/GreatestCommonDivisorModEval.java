@@ -1,7 +1,11 @@
 package jas.ufd;
 
+import jas.arith.ModLong;
+import jas.arith.ModLongRing;
 import jas.arith.Modular;
+import jas.poly.DenseModLongPolynomial;
 import jas.poly.GenPolynomial;
+import jas.poly.GenPolynomialRing;
 import jas.poly.PolyUtil;
 import jas.structure.RingElem;
 
@@ -21,6 +25,7 @@ public class GreatestCommonDivisorModEval<MOD extends RingElem<MOD> & Modular>
      * @return gcd(P, S).
      */
     @Override
+    @SuppressWarnings("unchecked")
     public GenPolynomial<MOD> baseGcd(GenPolynomial<MOD> P, GenPolynomial<MOD> S) {
         if (S == null || S.isZERO()) {
             return P;
@@ -28,6 +33,15 @@ public class GreatestCommonDivisorModEval<MOD extends RingElem<MOD> & Modular>
         if (P == null || P.isZERO()) {
             return S;
         }
+        if (P.ring.coFac instanceof ModLongRing) {
+            // Euclidean algorithm in place on dense long arrays
+            GenPolynomialRing<ModLong> pfac = (GenPolynomialRing<ModLong>) (GenPolynomialRing) P.ring;
+            DenseModLongPolynomial p = DenseModLongPolynomial.fromGenPolynomial(
+                    (GenPolynomial<ModLong>) (GenPolynomial) P
+            );
+            p.gcd(DenseModLongPolynomial.fromGenPolynomial((GenPolynomial<ModLong>) (GenPolynomial) S));
+            return (GenPolynomial<MOD>) (GenPolynomial) p.toGenPolynomial(pfac);
+        }
         boolean field = P.ring.coFac.isField();
         long e = P.degree();
         long f = S.degree();
@@ -1,7 +1,13 @@
 package jas.ufd;
 
 import jas.arith.JasBigInteger;
+import jas.arith.PrimeTable;
+import jas.poly.DenseModLongPolynomial;
 import jas.poly.GenPolynomial;
+import jas.poly.PolyUtil;
+
+import java.math.BigInteger;
+import java.util.Arrays;
 
 /**
  * Greatest common divisor algorithms with modular computation and chinese
@@ -10,11 +16,245 @@ import jas.poly.GenPolynomial;
  * @author Heinz Kredel
  */
 public class GreatestCommonDivisorModular extends GreatestCommonDivisorAbstract<JasBigInteger> {
+    /**
+     * Gcds of polynomials below this degree are computed from subresultants.
+     */
+    private static final int MODULAR_THRESHOLD = 8;
+
     private final GreatestCommonDivisorAbstract<JasBigInteger> iufd = new GreatestCommonDivisorSubres<>();
 
+    /**
+     * Univariate GenPolynomial greatest common divisor. The gcd is computed
+     * modulo word-size primes, where the remainder sequences have no
+     * coefficient growth, and lifted by chinese remaindering (Brown's
+     * algorithm). Images modulo primes dividing a leading coefficient are not
+     * used, images of too large degree are discarded, and an image of smaller
+     * degree restarts the lifting. The lifted coefficients are kept symmetric
+     * to 0; once they no longer change, the lifted gcd is checked by trial
+     * division.
+     *
+     * @param P univariate GenPolynomial.
+     * @param S univariate GenPolynomial.
+     * @return gcd(P, S).
+     */
     @Override
     public GenPolynomial<JasBigInteger> baseGcd(GenPolynomial<JasBigInteger> P, GenPolynomial<JasBigInteger> S) {
-        return iufd.baseGcd(P, S);
+        if (S == null || S.isZERO()) {
+            return P;
+        }
+        if (P == null || P.isZERO()) {
+            return S;
+        }
+        if (Math.min(P.degree(), S.degree()) < MODULAR_THRESHOLD) {
+            return iufd.baseGcd(P, S);
+        }
+        JasBigInteger a = baseContent(P);
+        JasBigInteger b = baseContent(S);
+        JasBigInteger c = gcd(a, b); // indirection
+        P = divide(P, a); // indirection
+        S = divide(S, b); // indirection
+        BigInteger lp = P.leadingBaseCoefficient().getVal();
+        BigInteger ls = S.leadingBaseCoefficient().getVal();
+        BigInteger g = lp.gcd(ls);
+        long degree = Math.min(P.degree(), S.degree());
+        BigInteger modulus = null;
+        BigInteger[] H = null;
+        PrimeTable primes = PrimeTable.INT;
+        for (int i = 0; ; i++) {
+            long p = primes.prime(i);
+            BigInteger bp = BigInteger.valueOf(p);
+            if (lp.mod(bp).signum() == 0 || ls.mod(bp).signum() == 0) {
+                continue;
+            }
+            DenseModLongPolynomial x = DenseModLongPolynomial.fromIntegerCoefficients(p, P);
+            x.gcd(DenseModLongPolynomial.fromIntegerCoefficients(p, S));
+            int d = x.degree();
+            if (d == 0) {
+                return P.ring.getONE().multiply(c);
+            }
+            if (d > degree) { // unlucky prime
+                continue;
+            }
+            x.multiply(g.mod(bp).longValue());
+            if (d < degree || H == null) {
+                degree = d;
+                modulus = bp;
+                H = new BigInteger[d + 1];
+                for (int j = 0; j <= d; j++) {
+                    long h = x.coefficient(j);
+                    H[j] = BigInteger.valueOf(h > p / 2 ? h - p : h);
+                }
+                continue;
+            }
+            BigInteger inverse = modulus.mod(bp).modInverse(bp);
+            BigInteger product = modulus.multiply(bp);
+            BigInteger half = product.shiftRight(1);
+            boolean changed = false;
+            for (int j = 0; j <= d; j++) {
+                long t = Math.floorMod(x.coefficient(j) - H[j].mod(bp).longValue(), p);
+                if (t != 0) {
+                    BigInteger h = H[j].add(modulus.multiply(BigInteger.valueOf(t).multiply(inverse).mod(bp)));
+                    H[j] = h.compareTo(half) > 0 ? h.subtract(product) : h;
+                    changed = true;
+                }
+            }
+            modulus = product;
+            if (!changed) {
+                GenPolynomial<JasBigInteger> G = new GenPolynomial<>(P.ring);
+                for (int j = 0; j <= d; j++) {
+                    if (H[j].signum() != 0) {
+                        G.doPutToMap((long) j, new JasBigInteger(H[j]));
+                    }
+                }
+                G = basePrimitivePart(G).abs();
+                if (PolyUtil.baseSparsePseudoRemainder(P, G).isZERO()
+                        && PolyUtil.baseSparsePseudoRemainder(S, G).isZERO()) {
+                    return G.multiply(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Univariate GenPolynomial extended greatest common divisor. The gcd
+     * itself comes from baseGcd; the cofactors are computed modulo word-size
+     * primes, where the extended gcd takes half-gcd steps and only the final
+     * cofactors are kept, and lifted by chinese remaindering and rational
+     * reconstruction. Images modulo primes dividing a leading coefficient or
+     * with a gcd of the wrong degree are not used. Whenever the number of
+     * primes used is a power of two the coefficients are reconstructed, and
+     * the result is checked exactly.
+     *
+     * @param P univariate GenPolynomial.
+     * @param S univariate GenPolynomial.
+     * @return [ W, U, V ] with U P + V S = W, where W is a positive integer
+     *         multiple of the monic gcd(P, S), deg(U) &lt; deg(S) - deg(W) and
+     *         deg(V) &lt; deg(P) - deg(W) unless one of P and S divides the
+     *         other, and W, U and V have no common content.
+     */
+    @SuppressWarnings("unchecked")
+    public GenPolynomial<JasBigInteger>[] baseExtendedGcd(
+            GenPolynomial<JasBigInteger> P,
+            GenPolynomial<JasBigInteger> S
+    ) {
+        GenPolynomial<JasBigInteger>[] ret = new GenPolynomial[3];
+        if (S == null || S.isZERO()) {
+            ret[0] = P.abs();
+            ret[1] = P.ring.getONE().multiply(new JasBigInteger(P.signum()));
+            ret[2] = P.ring.getZERO();
+            return ret;
+        }
+        if (P == null || P.isZERO()) {
+            ret[0] = S.abs();
+            ret[1] = S.ring.getZERO();
+            ret[2] = S.ring.getONE().multiply(new JasBigInteger(S.signum()));
+            return ret;
+        }
+        GenPolynomial<JasBigInteger> G = basePrimitivePart(baseGcd(P, S)).abs();
+        int d = (int) G.degree();
+        int sLength = Math.max((int) S.degree() - d, 1);
+        int tLength = Math.max((int) P.degree() - d, 1);
+        BigInteger lp = P.leadingBaseCoefficient().getVal();
+        BigInteger ls = S.leadingBaseCoefficient().getVal();
+        BigInteger lg = G.leadingBaseCoefficient().getVal();
+        BigInteger modulus = BigInteger.ONE;
+        BigInteger[] H = new BigInteger[sLength + tLength];
+        Arrays.fill(H, BigInteger.ZERO);
+        PrimeTable primes = PrimeTable.INT;
+        int images = 0;
+        for (int i = 0; ; i++) {
+            long p = primes.prime(i);
+            BigInteger bp = BigInteger.valueOf(p);
+            if (lp.mod(bp).signum() == 0 || ls.mod(bp).signum() == 0) {
+                continue;
+            }
+            DenseModLongPolynomial x = DenseModLongPolynomial.fromIntegerCoefficients(p, P);
+            DenseModLongPolynomial s = new DenseModLongPolynomial(p, sLength);
+            DenseModLongPolynomial t = new DenseModLongPolynomial(p, tLength);
+            x.extendedGcd(DenseModLongPolynomial.fromIntegerCoefficients(p, S), s, t);
+            if (x.degree() != d || s.degree() >= sLength || t.degree() >= tLength) { // unlucky prime
+                continue;
+            }
+            BigInteger inverse = modulus.mod(bp).modInverse(bp);
+            for (int j = 0; j < H.length; j++) {
+                long c = j < sLength ? s.coefficient(j) : t.coefficient(j - sLength);
+                long e = Math.floorMod(c - H[j].mod(bp).longValue(), p);
+                if (e != 0) {
+                    H[j] = H[j].add(modulus.multiply(BigInteger.valueOf(e).multiply(inverse).mod(bp)));
+                }
+            }
+            modulus = modulus.multiply(bp);
+            images++;
+            if ((images & (images - 1)) != 0) {
+                continue;
+            }
+            BigInteger bound = BigInteger.ONE.shiftLeft((modulus.bitLength() - 2) / 2);
+            BigInteger[][] fractions = new BigInteger[H.length][];
+            BigInteger denominator = lg;
+            boolean reconstructed = true;
+            for (int j = 0; j < H.length; j++) {
+                fractions[j] = rationalReconstruction(H[j], modulus, bound);
+                if (fractions[j] == null) {
+                    reconstructed = false;
+                    break;
+                }
+                BigInteger den = fractions[j][1];
+                denominator = denominator.divide(denominator.gcd(den)).multiply(den);
+            }
+            if (!reconstructed) {
+                continue;
+            }
+            GenPolynomial<JasBigInteger> U = new GenPolynomial<>(P.ring);
+            GenPolynomial<JasBigInteger> V = new GenPolynomial<>(P.ring);
+            for (int j = 0; j < H.length; j++) {
+                if (fractions[j][0].signum() != 0) {
+                    JasBigInteger c = new JasBigInteger(denominator.divide(fractions[j][1]).multiply(fractions[j][0]));
+                    if (j < sLength) {
+                        U.doPutToMap((long) j, c);
+                    } else {
+                        V.doPutToMap((long) (j - sLength), c);
+                    }
+                }
+            }
+            GenPolynomial<JasBigInteger> W = G.multiply(new JasBigInteger(denominator.divide(lg)));
+            if (U.multiply(P).sum(V.multiply(S)).equals(W)) {
+                JasBigInteger c = gcd(gcd(baseContent(W), baseContent(U)), baseContent(V));
+                ret[0] = divide(W, c);
+                ret[1] = divide(U, c);
+                ret[2] = divide(V, c);
+                return ret;
+            }
+        }
+    }
+
+    /**
+     * Rational number reconstruction by the half-extended Euclidean
+     * algorithm.
+     *
+     * @param r     residue, 0 &le; r &lt; m.
+     * @param m     modulus.
+     * @param bound bound for the absolute values of numerator and denominator,
+     *              2 bound<sup>2</sup> &lt; m.
+     * @return [ a, b ] with a = b r mod m, |a| &le; bound, 0 &lt; b &le; bound
+     *         and gcd(a, b) = 1, or null if there is no such fraction.
+     */
+    private static BigInteger[] rationalReconstruction(BigInteger r, BigInteger m, BigInteger bound) {
+        BigInteger r0 = m;
+        BigInteger r1 = r;
+        BigInteger t0 = BigInteger.ZERO;
+        BigInteger t1 = BigInteger.ONE;
+        while (r1.compareTo(bound) > 0) {
+            BigInteger[] qr = r0.divideAndRemainder(r1);
+            r0 = r1;
+            r1 = qr[1];
+            BigInteger t = t0.subtract(qr[0].multiply(t1));
+            t0 = t1;
+            t1 = t;
+        }
+        if (t1.abs().compareTo(bound) > 0 || !r1.gcd(t1).equals(BigInteger.ONE)) {
+            return null;
+        }
+        return t1.signum() < 0 ? new BigInteger[]{r1.negate(), t1.negate()} : new BigInteger[]{r1, t1};
     }
 
     @Override
@@ -3,20 +3,64 @@ package jas.ufd;
 import jas.arith.*;
 import jas.poly.GenPolynomial;
 import jas.poly.GenPolynomialRing;
+import jas.poly.NttUtil;
 import jas.poly.PolyUtil;
 import jas.poly.PolyUtil_ModLong;
-import jas.structure.Power;
-import jas.structure.RingFactory;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.SortedMap;
 
 public class HenselUtil {
+    /**
+     * Products of polynomials with at most this many coefficients are computed
+     * coefficient by coefficient; longer factors are packed into single
+     * BigIntegers (Kronecker substitution), so that BigInteger's Karatsuba and
+     * Toom-Cook multiplication applies.
+     */
+    private static final int KRONECKER_THRESHOLD = 16;
+
+    /**
+     * Products of polynomials with at least this many coefficients are
+     * computed by number theoretic transforms.
+     */
+    private static final int NTT_THRESHOLD = 256;
+
+    private static final BigInteger[] ZERO = new BigInteger[0];
+
+    private static final BigInteger[] ONE = new BigInteger[]{BigInteger.ONE};
+
+    /**
+     * Node of a factor tree. The polynomial of an inner node is the product of
+     * the polynomials of its children g = left.f and h = right.f, and s g + t h
+     * == 1 with deg(s) &lt; deg(h) and deg(t) &lt; deg(g). All polynomials are
+     * dense coefficient arrays, constant term first, and are valid modulo the
+     * current approximation p^e.
+     */
+    private static class Node {
+        BigInteger[] f;
+
+        Node left;
+
+        Node right;
+
+        BigInteger[] s;
+
+        BigInteger[] t;
+    }
+
     /**
      * Modular Hensel lifting algorithm on coefficients. Let p =
      * f_i.ring.coFac.modul() and assume C == prod_{0,...,n-1} f_i mod p with
-     * gcd(f_i,f_j) == 1 mod p for i != j
+     * gcd(f_i,f_j) == 1 mod p for i != j. The factors are arranged in a
+     * balanced binary tree, and every inner node is lifted from p^e to p^{2e}
+     * by one quadratic Hensel step, which also lifts the node's Bezout
+     * coefficients for the next step (von zur Gathen and Gerhard, algorithms
+     * 15.10 and 15.17). So all factors are lifted simultaneously in O(log k)
+     * steps, and the extended Euclidean relations are computed only once, mod
+     * p.
      *
      * @param C monic integer polynomial
      * @param F = [f_0,...,f_{n-1}] list of monic modular polynomials.
@@ -33,651 +77,376 @@ public class HenselUtil {
             throw new IllegalArgumentException("C must be nonzero and F must be nonempty");
         }
         GenPolynomialRing<JasBigInteger> fac = C.ring;
-        List<GenPolynomial<ModLong>> lift = new ArrayList<>(F.size());
         GenPolynomialRing<ModLong> pfac = F.get(0).ring;
-        RingFactory<ModLong> pcfac = pfac.coFac;
-        ModularRingFactory<ModLong> PF = (ModularRingFactory<ModLong>) pcfac;
-        JasBigInteger P = PF.getIntegerModul();
+        BigInteger p = ((ModularRingFactory<ModLong>) pfac.coFac).getIntegerModul().getVal();
+        BigInteger pk = p.pow((int) k);
+        ModularRingFactory<ModLong> mcfac;
+        if (ModLongRing.MAX_LONG.compareTo(pk) > 0) {
+            mcfac = (ModularRingFactory) new ModLongRing(pk);
+        } else {
+            mcfac = (ModularRingFactory) new ModIntegerRing(pk);
+        }
+        GenPolynomialRing<ModLong> mfac = new GenPolynomialRing<>(mcfac);
+        BigInteger[] c = toDense(C);
+        List<GenPolynomial<ModLong>> lift = new ArrayList<>(F.size());
         int n = F.size();
-        if (n == 1) { // lift F_0, this case will probably never be used
-            GenPolynomial<ModLong> f = F.get(0);
-            ModularRingFactory<ModLong> mcfac;
-            if (ModLongRing.MAX_LONG.compareTo(P.getVal()) > 0) {
-                mcfac = (ModularRingFactory) new ModLongRing(P.getVal());
-            } else {
-                mcfac = (ModularRingFactory) new ModIntegerRing(P.getVal());
-            }
-            GenPolynomialRing<ModLong> mfac = new GenPolynomialRing<>(mcfac);
-            f = PolyUtil.fromIntegerCoefficients(mfac, PolyUtil_ModLong.integerFromModularCoefficients(fac, f));
-            lift.add(f);
+        if (n == 1) {
+            lift.add(fromDense(mfac, fac, reduce(c, pk)));
             return lift;
         }
-
-        GenPolynomialRing<JasBigInteger> ifac = new GenPolynomialRing<>(new JasBigInteger());
-        List<GenPolynomial<JasBigInteger>> Fi = PolyUtil_ModLong.integerFromModularCoefficients(ifac, F);
-
-        List<GenPolynomial<ModLong>> S = liftExtendedEuclidean(F, k + 1); // lift works for any k, TODO: use this
-        // adjust coefficients
-        List<GenPolynomial<ModLong>> Sx = PolyUtil.fromIntegerCoefficients(pfac, PolyUtil
-                .integerFromModularCoefficients(ifac, S));
-        try {
-            isExtendedEuclideanLift(F, Sx);
-        } catch (RuntimeException e) {
-            e.printStackTrace();
+        List<BigInteger[]> leaves = new ArrayList<>(n);
+        for (GenPolynomial<ModLong> f : F) {
+            leaves.add(reduce(toDense(PolyUtil_ModLong.integerFromModularCoefficients(fac, f)), p));
         }
-        List<GenPolynomial<JasBigInteger>> Si = PolyUtil_ModLong.integerFromModularCoefficients(ifac, S);
-
-        // approximate mod p^i
-        ModularRingFactory<ModLong> mcfac = PF;
-        JasBigInteger p = mcfac.getIntegerModul();
-        JasBigInteger modul = p;
-        GenPolynomialRing<ModLong> mfac = new GenPolynomialRing<>(mcfac);
-        List<GenPolynomial<ModLong>> Sp = PolyUtil.fromIntegerCoefficients(mfac, Si);
-        //System.out.println("Sp = " + Sp);
-        for (int i = 1; i < k; i++) {
-            //System.out.println("i = " + i);
-            GenPolynomial<JasBigInteger> e = fac.getONE();
-            for (GenPolynomial<JasBigInteger> fi : Fi) {
-                e = e.multiply(fi);
-            }
-            e = C.subtract(e);
-            //System.out.println("\ne = " + e);
-            if (e.isZERO()) {
-                break;
-            }
-            try {
-                e = e.divide(modul);
-            } catch (RuntimeException ex) {
-                ex.printStackTrace();
-                throw ex;
-            }
-            //System.out.println("e = " + e);
-            // move to in Z_p[x]
-            GenPolynomial<ModLong> c = PolyUtil.fromIntegerCoefficients(mfac, e);
-            //System.out.println("c = " + c + ": " + c.ring.coFac);
-
-            List<GenPolynomial<ModLong>> s = new ArrayList<>(S.size());
-            int j = 0;
-            for (GenPolynomial<ModLong> f : Sp) {
-                f = f.multiply(c);
-                //System.out.println("f = " + f + " : " + f.ring.coFac);
-                //System.out.println("F,i = " + F.get(j) + " : " + F.get(j).ring.coFac);
-                f = f.remainder(F.get(j++));
-                //System.out.println("f = " + f + " : " + f.ring.coFac);
-                s.add(f);
-            }
-            //System.out.println("s = " + s);
-            List<GenPolynomial<JasBigInteger>> si = PolyUtil_ModLong.integerFromModularCoefficients(ifac, s);
-            //System.out.println("si = " + si);
-
-            List<GenPolynomial<JasBigInteger>> Fii = new ArrayList<>(F.size());
-            j = 0;
-            for (GenPolynomial<JasBigInteger> f : Fi) {
-                f = f.sum(si.get(j++).multiply(modul));
-                Fii.add(f);
-            }
-            //System.out.println("Fii = " + Fii);
-            Fi = Fii;
-            modul = modul.multiply(p);
+        Node root = factorTree(leaves, 0, n, p);
+        // p -> p^{e_1} -> ... -> p^k, every exponent at most twice the previous one
+        int steps = 0;
+        for (long e = k; e > 1; e = (e + 1) / 2) {
+            steps++;
         }
-        // setup ring mod p^k
-        modul = Power.positivePower(p, k);
-        if (ModLongRing.MAX_LONG.compareTo(modul.getVal()) > 0) {
-            mcfac = (ModularRingFactory) new ModLongRing(modul.getVal());
-        } else {
-            mcfac = (ModularRingFactory) new ModIntegerRing(modul.getVal());
+        long[] exponents = new long[steps + 1];
+        exponents[steps] = k;
+        for (int i = steps; i > 0; i--) {
+            exponents[i - 1] = (exponents[i] + 1) / 2;
+        }
+        for (int i = 1; i <= steps; i++) {
+            BigInteger modul = p.pow((int) exponents[i]);
+            root.f = reduce(c.clone(), modul);
+            henselStep(root, modul, i < steps);
         }
-        mfac = new GenPolynomialRing<>(mcfac);
-        lift = PolyUtil.fromIntegerCoefficients(mfac, Fi);
+        collectLeaves(root, mfac, fac, lift);
         return lift;
     }
 
     /**
-     * Constructing and lifting algorithm for extended Euclidean relation. Let p
-     * = A_i.ring.coFac.modul() and assume gcd(A_i,A_j) == 1 mod p, i != j.
+     * Builds a balanced factor tree with the Bezout coefficients of every inner
+     * node mod p.
      *
-     * @param A list of modular GenPolynomials
-     * @param k desired approximation exponent p^k.
-     * @return [s_0, ..., s_n-1] with sum_i s_i * B_i = 1 mod p^k, with B_i =
-     * prod_{i!=j} A_j.
+     * @param F    monic factors, mod p.
+     * @param from index of the first factor of the subtree.
+     * @param to   index after the last factor of the subtree.
+     * @param p    prime modul.
+     * @return the root of the tree of F_from, ..., F_{to-1}.
      */
-    private static List<GenPolynomial<ModLong>> liftExtendedEuclidean(List<GenPolynomial<ModLong>> A, long k) {
-        if (A == null || A.size() == 0) {
-            throw new IllegalArgumentException("A must be non null and non empty");
-        }
-        GenPolynomialRing<ModLong> fac = A.get(0).ring;
-        GenPolynomial<ModLong> zero = fac.getZERO();
-        int r = A.size();
-        List<GenPolynomial<ModLong>> Q = new ArrayList<>(r);
-        for (GenPolynomial<ModLong> aA1 : A) {
-            Q.add(zero);
-        }
-        //System.out.println("A = " + A);
-        Q.set(r - 2, A.get(r - 1));
-        for (int j = r - 3; j >= 0; j--) {
-            GenPolynomial<ModLong> q = A.get(j + 1).multiply(Q.get(j + 1));
-            Q.set(j, q);
-        }
-        //System.out.println("Q = " + Q);
-        List<GenPolynomial<ModLong>> B = new ArrayList<>(r + 1);
-        List<GenPolynomial<ModLong>> lift = new ArrayList<>(r);
-        for (GenPolynomial<ModLong> aA : A) {
-            B.add(zero);
-            lift.add(zero);
-        }
-        GenPolynomial<ModLong> one = fac.getONE();
-        GenPolynomialRing<JasBigInteger> ifac = new GenPolynomialRing<>(new JasBigInteger());
-        B.add(0, one);
-        //System.out.println("B(0) = " + B.get(0));
-        GenPolynomial<ModLong> b = one;
-        for (int j = 0; j < r - 1; j++) {
-            //System.out.println("Q("+(j)+") = " + Q.get(j));
-            //System.out.println("A("+(j)+") = " + A.get(j));
-            //System.out.println("B("+(j)+") = " + B.get(j));
-            List<GenPolynomial<ModLong>> S = liftDiophant(Q.get(j), A.get(j), B.get(j), k);
-            //System.out.println("\nSb = " + S);
-            b = S.get(0);
-            GenPolynomial<ModLong> bb = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong
-                    .integerFromModularCoefficients(ifac, b));
-            B.set(j + 1, bb);
-            lift.set(j, S.get(1));
-            //System.out.println("B("+(j+1)+") = " + B.get(j+1));
-        }
-        //System.out.println("liftb = " + lift);
-        lift.set(r - 1, b);
-        //System.out.println("B("+(r-1)+") = " + B.get(r-1) + " : " +  B.get(r-1).ring.coFac + ", b = " +  b + " : " +
-        // b.ring.coFac);
-        //System.out.println("B = " + B);
-        //System.out.println("liftb = " + lift);
-        return lift;
+    private static Node factorTree(List<BigInteger[]> F, int from, int to, BigInteger p) {
+        Node node = new Node();
+        if (to - from == 1) {
+            node.f = F.get(from);
+            return node;
+        }
+        int middle = (from + to) / 2;
+        node.left = factorTree(F, from, middle, p);
+        node.right = factorTree(F, middle, to, p);
+        node.f = multiply(node.left.f, node.right.f, p);
+        BigInteger[][] st = extendedGcd(node.left.f, node.right.f, p);
+        node.s = st[0];
+        node.t = st[1];
+        return node;
     }
 
     /**
-     * Constructing and lifting algorithm for extended Euclidean relation. Let p
-     * = A.ring.coFac.modul() and assume gcd(A,B) == 1 mod p.
+     * Quadratic Hensel step on a subtree (von zur Gathen and Gerhard,
+     * algorithm 15.10). Let node.f == g h and s g + t h == 1 mod m, where m
+     * divides modul and modul divides m^2. Then the children are replaced by g
+     * and h with node.f == g h mod modul, and, if requested, s and t by their
+     * lifts with s g + t h == 1 mod modul. The subtrees of the children are
+     * lifted recursively.
      *
-     * @param A modular GenPolynomial
-     * @param B modular GenPolynomial
-     * @param k desired approximation exponent p^k.
-     * @return [s, t] with s A + t B = 1 mod p^k.
+     * @param node       root of the subtree; node.f must be valid mod modul.
+     * @param modul      new modul.
+     * @param liftBezout whether the Bezout coefficients are lifted as well.
      */
-    @SuppressWarnings("unchecked")
-    private static GenPolynomial<ModLong>[] liftExtendedEuclidean(
-            GenPolynomial<ModLong> A, GenPolynomial<ModLong> B, long k) {
-        if (A == null || A.isZERO() || B == null || B.isZERO()) {
-            throw new IllegalArgumentException("A and B must be nonzero, A = " + A + ", B = " + B);
-        }
-        GenPolynomialRing<ModLong> fac = A.ring;
-        // start with extended Euclidean relation mod p
-        GenPolynomial<ModLong>[] gst;
-        try {
-            gst = A.egcd(B);
-            if (!gst[0].isONE()) {
-                throw new RuntimeException("A and B not coprime, gcd = " + gst[0] + ", A = " + A + ", B = " + B);
-            }
-        } catch (ArithmeticException e) {
-            throw new RuntimeException("coefficient error " + e);
-        }
-        GenPolynomial<ModLong> S = gst[1];
-        GenPolynomial<ModLong> T = gst[2];
+    private static void henselStep(Node node, BigInteger modul, boolean liftBezout) {
+        if (node.left == null) {
+            return;
+        }
+        BigInteger[] g = node.left.f;
+        BigInteger[] h = node.right.f;
+        BigInteger[] s = node.s;
+        BigInteger[] t = node.t;
+        BigInteger[] e = subtract(node.f, multiply(g, h, modul), modul);
+        BigInteger[][] qr = divideMonic(multiply(s, e, modul), h, modul);
+        BigInteger[] g1 = add(g, add(multiply(t, e, modul), multiply(qr[0], g, modul), modul), modul);
+        BigInteger[] h1 = add(h, qr[1], modul);
+        if (liftBezout) {
+            BigInteger[] b = subtract(add(multiply(s, g1, modul), multiply(t, h1, modul), modul), ONE, modul);
+            BigInteger[][] cd = divideMonic(multiply(s, b, modul), h1, modul);
+            node.s = subtract(s, cd[1], modul);
+            node.t = subtract(t, add(multiply(t, b, modul), multiply(cd[0], g1, modul), modul), modul);
+        }
+        node.left.f = g1;
+        node.right.f = h1;
+        henselStep(node.left, modul, liftBezout);
+        henselStep(node.right, modul, liftBezout);
+    }
 
-        // setup integer polynomial ring
-        GenPolynomialRing<JasBigInteger> ifac = new GenPolynomialRing<>(new JasBigInteger());
-        GenPolynomial<JasBigInteger> one = ifac.getONE();
-        GenPolynomial<JasBigInteger> Ai = PolyUtil_ModLong.integerFromModularCoefficients(ifac, A);
-        GenPolynomial<JasBigInteger> Bi = PolyUtil_ModLong.integerFromModularCoefficients(ifac, B);
-        GenPolynomial<JasBigInteger> Si = PolyUtil_ModLong.integerFromModularCoefficients(ifac, S);
-        GenPolynomial<JasBigInteger> Ti = PolyUtil_ModLong.integerFromModularCoefficients(ifac, T);
-        //System.out.println("Ai = " + Ai);
-        //System.out.println("Bi = " + Bi);
-        //System.out.println("Si = " + Si);
-        //System.out.println("Ti = " + Ti);
+    /**
+     * Appends the leaves of a factor tree, from left to right.
+     *
+     * @param node root of the tree.
+     * @param mfac result polynomial factory.
+     * @param fac  integer polynomial factory.
+     * @param L    list to which the leaves are appended.
+     */
+    private static void collectLeaves(
+            Node node,
+            GenPolynomialRing<ModLong> mfac,
+            GenPolynomialRing<JasBigInteger> fac,
+            List<GenPolynomial<ModLong>> L
+    ) {
+        if (node.left == null) {
+            L.add(fromDense(mfac, fac, node.f));
+            return;
+        }
+        collectLeaves(node.left, mfac, fac, L);
+        collectLeaves(node.right, mfac, fac, L);
+    }
 
-        // approximate mod p^i
-        ModularRingFactory<ModLong> mcfac = (ModularRingFactory<ModLong>) fac.coFac;
-        JasBigInteger p = mcfac.getIntegerModul();
-        JasBigInteger modul = p;
-        GenPolynomialRing<ModLong> mfac; // = new GenPolynomialRing<MOD>(mcfac, fac);
-        for (int i = 1; i < k; i++) {
-            // e = 1 - s a - t b in Z[x]
-            GenPolynomial<JasBigInteger> e = one.subtract(Si.multiply(Ai)).subtract(Ti.multiply(Bi));
-            //System.out.println("\ne = " + e);
-            if (e.isZERO()) {
-                break;
-            }
-            e = e.divide(modul);
-            // move to Z_p[x] and compute next approximation
-            GenPolynomial<ModLong> c = PolyUtil.fromIntegerCoefficients(fac, e);
-            //System.out.println("c = " + c + ": " + c.ring.coFac);
-            GenPolynomial<ModLong> s = S.multiply(c);
-            GenPolynomial<ModLong> t = T.multiply(c);
-            //System.out.println("s = " + s + ": " + s.ring.coFac);
-            //System.out.println("t = " + t + ": " + t.ring.coFac);
+    /**
+     * Extended Euclidean algorithm mod p.
+     *
+     * @param A nonconstant dense polynomial, mod p.
+     * @param B nonconstant dense polynomial, mod p.
+     * @param p prime modul.
+     * @return [s, t] with s A + t B == 1 mod p, deg(s) &lt; deg(B) and deg(t)
+     * &lt; deg(A).
+     */
+    private static BigInteger[][] extendedGcd(BigInteger[] A, BigInteger[] B, BigInteger p) {
+        BigInteger[] r0 = A;
+        BigInteger[] r1 = B;
+        BigInteger[] s0 = ONE;
+        BigInteger[] s1 = ZERO;
+        BigInteger[] t0 = ZERO;
+        BigInteger[] t1 = ONE;
+        while (r1.length != 0) {
+            BigInteger[][] qr = divide(r0, r1, p);
+            BigInteger[] s = subtract(s0, multiply(qr[0], s1, p), p);
+            BigInteger[] t = subtract(t0, multiply(qr[0], t1, p), p);
+            r0 = r1;
+            r1 = qr[1];
+            s0 = s1;
+            s1 = s;
+            t0 = t1;
+            t1 = t;
+        }
+        if (r0.length != 1) {
+            throw new RuntimeException("A and B not coprime, gcd degree = " + (r0.length - 1));
+        }
+        BigInteger[] inverse = new BigInteger[]{r0[0].modInverse(p)};
+        return new BigInteger[][]{multiply(s0, inverse, p), multiply(t0, inverse, p)};
+    }
 
-            GenPolynomial<ModLong>[] QR = s.quotientRemainder(B); // watch for ordering
-            GenPolynomial<ModLong> q = QR[0];
-            s = QR[1];
-            t = t.sum(q.multiply(A));
-            //System.out.println("s = " + s + ": " + s.ring.coFac);
-            //System.out.println("t = " + t + ": " + t.ring.coFac);
+    /**
+     * Division with remainder by a monic polynomial.
+     *
+     * @param A     dense polynomial, mod modul.
+     * @param B     monic dense polynomial, mod modul.
+     * @param modul modul.
+     * @return [q, r] with A == q B + r mod modul and deg(r) &lt; deg(B).
+     */
+    private static BigInteger[][] divideMonic(BigInteger[] A, BigInteger[] B, BigInteger modul) {
+        return divide(A, B, modul, BigInteger.ONE);
+    }
 
-            GenPolynomial<JasBigInteger> si = PolyUtil_ModLong.integerFromModularCoefficients(ifac, s);
-            GenPolynomial<JasBigInteger> ti = PolyUtil_ModLong.integerFromModularCoefficients(ifac, t);
-            //System.out.println("si = " + si);
-            //System.out.println("ti = " + si);
-            // add approximation to solution
-            Si = Si.sum(si.multiply(modul));
-            Ti = Ti.sum(ti.multiply(modul));
-            //System.out.println("Si = " + Si);
-            //System.out.println("Ti = " + Ti);
-            modul = modul.multiply(p);
-            //System.out.println("modul = " + modul + ", " + p + "^" + k + ", p^k = " +
-            // Power.power(new JasBigInteger(),p,k));
-        }
-        //System.out.println("Si = " + Si + ", Ti = " + Ti);
-        // setup ring mod p^i
-        if (ModLongRing.MAX_LONG.compareTo(modul.getVal()) > 0) {
-            mcfac = (ModularRingFactory) new ModLongRing(modul.getVal());
-        } else {
-            mcfac = (ModularRingFactory) new ModIntegerRing(modul.getVal());
-        }
-        mfac = new GenPolynomialRing<>(mcfac);
-        S = PolyUtil.fromIntegerCoefficients(mfac, Si);
-        T = PolyUtil.fromIntegerCoefficients(mfac, Ti);
-        List<GenPolynomial<ModLong>> AP = new ArrayList<>();
-        AP.add(B);
-        AP.add(A);
-        List<GenPolynomial<ModLong>> SP = new ArrayList<>();
-        SP.add(S);
-        SP.add(T);
-        if (!isExtendedEuclideanLift(AP, SP)) {
-            System.out.println("isExtendedEuclideanLift: false");
-        }
-        GenPolynomial<ModLong>[] rel = (GenPolynomial<ModLong>[]) new GenPolynomial[2];
-        rel[0] = S;
-        rel[1] = T;
-        return rel;
+    /**
+     * Division with remainder mod a prime.
+     *
+     * @param A dense polynomial, mod p.
+     * @param B nonzero dense polynomial, mod p.
+     * @param p prime modul.
+     * @return [q, r] with A == q B + r mod p and deg(r) &lt; deg(B).
+     */
+    private static BigInteger[][] divide(BigInteger[] A, BigInteger[] B, BigInteger p) {
+        return divide(A, B, p, B[B.length - 1].modInverse(p));
     }
 
     /**
-     * Modular diophantine equation solution and lifting algorithm. Let p =
-     * A_i.ring.coFac.modul() and assume gcd(A,B) == 1 mod p.
+     * Division with remainder.
      *
-     * @param A modular GenPolynomial, mod p^k
-     * @param B modular GenPolynomial, mod p^k
-     * @param C modular GenPolynomial, mod p^k
-     * @param k desired approximation exponent p^k.
-     * @return [s, t] with s A' + t B' = C mod p^k, with A' = B, B' = A.
+     * @param A       dense polynomial, mod modul.
+     * @param B       nonzero dense polynomial, mod modul.
+     * @param modul   modul.
+     * @param inverse inverse of ldcf(B) mod modul.
+     * @return [q, r] with A == q B + r mod modul and deg(r) &lt; deg(B).
      */
-    private static List<GenPolynomial<ModLong>> liftDiophant(
-            GenPolynomial<ModLong> A, GenPolynomial<ModLong> B, GenPolynomial<ModLong> C, long k) {
-        if (A == null || A.isZERO() || B == null || B.isZERO()) {
-            throw new IllegalArgumentException("A and B must be nonzero, A = " + A + ", B = " + B + ", C = " + C);
-        }
-        List<GenPolynomial<ModLong>> sol = new ArrayList<>();
-        GenPolynomialRing<ModLong> fac = C.ring;
-        //System.out.println("C = " + C);
-        GenPolynomial<ModLong> zero = fac.getZERO();
-        for (int i = 0; i < 2; i++) {
-            sol.add(zero);
-        }
-        GenPolynomialRing<JasBigInteger> ifac = new GenPolynomialRing<>(new JasBigInteger());
-        for (SortedMap.Entry<Long, ModLong> m : C) {
-            long e = m.getKey();
-            List<GenPolynomial<ModLong>> S = liftDiophant(A, B, e, k);
-            ModLong a = m.getValue();
-            a = fac.coFac.fromInteger(a.getSymmetricInteger().getVal());
-            int i = 0;
-            for (GenPolynomial<ModLong> d : S) {
-                d = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, d));
-                d = d.multiply(a);
-                d = sol.get(i).sum(d);
-                sol.set(i++, d);
+    private static BigInteger[][] divide(BigInteger[] A, BigInteger[] B, BigInteger modul, BigInteger inverse) {
+        int lb = B.length;
+        if (A.length < lb) {
+            return new BigInteger[][]{ZERO, A};
+        }
+        BigInteger[] r = A.clone();
+        BigInteger[] q = new BigInteger[A.length - lb + 1];
+        boolean monic = inverse.equals(BigInteger.ONE);
+        for (int i = q.length - 1; i >= 0; i--) {
+            BigInteger a = r[i + lb - 1].mod(modul);
+            if (!monic) {
+                a = a.multiply(inverse).mod(modul);
+            }
+            q[i] = a;
+            if (a.signum() == 0) {
+                continue;
+            }
+            for (int j = 0; j < lb - 1; j++) {
+                if (B[j].signum() != 0) {
+                    r[i + j] = r[i + j].subtract(a.multiply(B[j])); // reduced when read
+                }
             }
         }
-        A = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, A));
-        B = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, B));
-        C = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, C));
-        GenPolynomial<ModLong> y = B.multiply(sol.get(0)).sum(A.multiply(sol.get(1)));
-        if (!y.equals(C)) {
-            System.out.println("A = " + A + ", B = " + B);
-            System.out.println("s1 = " + sol.get(0) + ", s2 = " + sol.get(1));
-            System.out.println("Error: A*r1 + B*r2 = " + y + " : " + fac.coFac);
-        }
-        return sol;
+        return new BigInteger[][]{trim(q), reduce(Arrays.copyOf(r, lb - 1), modul)};
     }
 
     /**
-     * Modular diophantine equation solution and lifting algorithm. Let p =
-     * A_i.ring.coFac.modul() and assume gcd(A,B) == 1 mod p.
+     * Product mod modul.
      *
-     * @param A modular GenPolynomial
-     * @param B modular GenPolynomial
-     * @param e exponent for x^e
-     * @param k desired approximation exponent p^k.
-     * @return [s, t] with s A' + t B' = x^e mod p^k, with A' = B, B' = A.
+     * @param A     dense polynomial with coefficients in [0, modul).
+     * @param B     dense polynomial with coefficients in [0, modul).
+     * @param modul modul.
+     * @return A B mod modul.
      */
-    private static List<GenPolynomial<ModLong>> liftDiophant(
-            GenPolynomial<ModLong> A, GenPolynomial<ModLong> B, long e, long k) {
-        if (A == null || A.isZERO() || B == null || B.isZERO()) {
-            throw new IllegalArgumentException("A and B must be nonzero, A = " + A + ", B = " + B);
-        }
-        List<GenPolynomial<ModLong>> sol = new ArrayList<>();
-        // lift EE relation to p^k
-        GenPolynomial<ModLong>[] lee = liftExtendedEuclidean(B, A, k);
-        GenPolynomial<ModLong> s1 = lee[0];
-        GenPolynomial<ModLong> s2 = lee[1];
-        if (e == 0L) {
-            sol.add(s1);
-            sol.add(s2);
-            //System.out.println("sol@0 = " + sol);
-            return sol;
-        }
-        GenPolynomialRing<ModLong> fac = s1.ring;
-        GenPolynomialRing<JasBigInteger> ifac = new GenPolynomialRing<>(new JasBigInteger());
-        A = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, A));
-        B = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, B));
-
-        GenPolynomial<ModLong> xe = fac.univariateB(0, e);
-        GenPolynomial<ModLong> q = s1.multiply(xe);
-        GenPolynomial<ModLong>[] QR = q.quotientRemainder(A);
-        q = QR[0];
-        //System.out.println("ee coeff qr = " + Arrays.toString(QR));
-        GenPolynomial<ModLong> r1 = QR[1];
-        GenPolynomial<ModLong> r2 = s2.multiply(xe).sum(q.multiply(B));
-        //System.out.println("r1 = " + r1 + ", r2 = " + r2);
-        sol.add(r1);
-        sol.add(r2);
-        //System.out.println("sol@"+ e + " = " + sol);
-        GenPolynomial<ModLong> y = B.multiply(r1).sum(A.multiply(r2));
-        if (!y.equals(xe)) {
-            System.out.println("A = " + A + ", B = " + B);
-            System.out.println("r1 = " + r1 + ", r2 = " + r2);
-            System.out.println("Error: A*r1 + B*r2 = " + y);
+    private static BigInteger[] multiply(BigInteger[] A, BigInteger[] B, BigInteger modul) {
+        if (A.length == 0 || B.length == 0) {
+            return ZERO;
+        }
+        int length = A.length + B.length - 1;
+        int shorter = Math.min(A.length, B.length);
+        if (shorter <= KRONECKER_THRESHOLD) {
+            BigInteger[] c = new BigInteger[length];
+            Arrays.fill(c, BigInteger.ZERO);
+            for (int i = 0; i < A.length; i++) {
+                if (A[i].signum() == 0) {
+                    continue;
+                }
+                for (int j = 0; j < B.length; j++) {
+                    if (B[j].signum() != 0) {
+                        c[i + j] = c[i + j].add(A[i].multiply(B[j]));
+                    }
+                }
+            }
+            return reduce(c, modul);
+        }
+        if (shorter >= NTT_THRESHOLD) {
+            return reduce(NttUtil.multiply(A, B), modul);
+        }
+        // Kronecker substitution; every coefficient of the product is less than shorter * modul^2
+        int slotBits = 2 * modul.bitLength() + 32 - Integer.numberOfLeadingZeros(shorter);
+        int slotBytes = slotBits / 8 + 1;
+        BigInteger a = pack(A, slotBytes);
+        BigInteger b = A == B ? a : pack(B, slotBytes);
+        byte[] bytes = a.multiply(b).toByteArray();
+        BigInteger[] c = new BigInteger[length];
+        for (int i = 0; i < length; i++) {
+            int end = bytes.length - i * slotBytes;
+            if (end <= 0) {
+                c[i] = BigInteger.ZERO;
+            } else {
+                c[i] = new BigInteger(1, Arrays.copyOfRange(bytes, Math.max(0, end - slotBytes), end)).mod(modul);
+            }
         }
-        return sol;
+        return trim(c);
     }
 
     /**
-     * Modular quadratic Hensel lifting algorithm on coefficients. Let p =
-     * A.ring.coFac.modul() = B.ring.coFac.modul() and assume C == A*B mod p
-     * with gcd(A,B) == 1 mod p and S A + T B == 1 mod p. See algorithm 6.1. in
-     * Geddes et.al. and algorithms 3.5.{5,6} in Cohen. Quadratic version, as it
-     * also lifts S A + T B == 1 mod p^{e+1}.
+     * Packs nonnegative coefficients into one integer.
      *
-     * @param C GenPolynomial
-     * @param A GenPolynomial
-     * @param B other GenPolynomial
-     * @param S GenPolynomial
-     * @param T GenPolynomial
-     * @param M bound on the coefficients of A1 and B1 as factors of C.
-     * @return [A1, B1] = lift(C,A,B), with C = A1 * B1.
+     * @param A         dense polynomial with nonnegative coefficients less than
+     *                  2^{8 slotBytes}.
+     * @param slotBytes number of bytes per coefficient.
+     * @return A(2^{8 slotBytes}).
      */
-    @SuppressWarnings("unchecked")
-    private static HenselApprox liftHenselQuadratic(
-            GenPolynomial<JasBigInteger> C, JasBigInteger M, GenPolynomial<ModLong> A, GenPolynomial<ModLong> B,
-            GenPolynomial<ModLong> S, GenPolynomial<ModLong> T) {
-        if (C == null || C.isZERO()) {
-            return new HenselApprox(C, C, A, B);
-        }
-        if (A == null || A.isZERO() || B == null || B.isZERO()) {
-            throw new IllegalArgumentException("A and B must be nonzero");
-        }
-        GenPolynomialRing<JasBigInteger> fac = C.ring;
-        // setup factories
-        GenPolynomialRing<ModLong> pfac = A.ring;
-        RingFactory<ModLong> p = pfac.coFac;
-        ModularRingFactory<ModLong> P = (ModularRingFactory<ModLong>) p;
-        ModularRingFactory<ModLong> Q = (ModularRingFactory<ModLong>) p;
-        JasBigInteger Qi = Q.getIntegerModul();
-        JasBigInteger M2 = M.multiply(M.fromInteger(2));
-        JasBigInteger Mq = Qi;
-        GenPolynomialRing<ModLong> qfac;
-        qfac = new GenPolynomialRing<>(Q);
+    private static BigInteger pack(BigInteger[] A, int slotBytes) {
+        byte[] bytes = new byte[A.length * slotBytes];
+        for (int i = 0; i < A.length; i++) {
+            byte[] a = A[i].toByteArray();
+            int end = bytes.length - i * slotBytes;
+            int length = Math.min(a.length, slotBytes);
+            System.arraycopy(a, a.length - length, bytes, end - length, length);
+        }
+        return new BigInteger(1, bytes);
+    }
 
-        // normalize c and a, b factors, assert p is prime
-        GenPolynomial<JasBigInteger> Ai;
-        GenPolynomial<JasBigInteger> Bi;
-        JasBigInteger c = C.leadingBaseCoefficient();
-        C = C.multiply(c); // sic
-        ModLong a = A.leadingBaseCoefficient();
-        if (!a.isONE()) { // A = A.monic();
-            A = A.divide(a);
-            S = S.multiply(a);
+    private static BigInteger[] add(BigInteger[] A, BigInteger[] B, BigInteger modul) {
+        if (A.length < B.length) {
+            return add(B, A, modul);
         }
-        ModLong b = B.leadingBaseCoefficient();
-        if (!b.isONE()) { // B = B.monic();
-            B = B.divide(b);
-            T = T.multiply(b);
-        }
-        ModLong cm = P.fromInteger(c.getVal());
-        A = A.multiply(cm);
-        B = B.multiply(cm);
-        T = T.divide(cm);
-        S = S.divide(cm);
-        Ai = PolyUtil.integerFromModularCoefficients(fac, A);
-        Bi = PolyUtil.integerFromModularCoefficients(fac, B);
-        // replace leading base coefficients
-        Long ea = Ai.leadingExpVector();
-        Long eb = Bi.leadingExpVector();
-        Ai.doPutToMap(ea, c);
-        Bi.doPutToMap(eb, c);
-
-        // polynomials mod p
-        GenPolynomial<ModLong> Ap;
-        GenPolynomial<ModLong> Bp;
-        GenPolynomial<ModLong> A1p = A;
-        GenPolynomial<ModLong> B1p = B;
-        GenPolynomial<ModLong> Ep;
-        GenPolynomial<ModLong> Sp = S;
-        GenPolynomial<ModLong> Tp = T;
-
-        // polynomials mod q
-        GenPolynomial<ModLong> Aq;
-        GenPolynomial<ModLong> Bq;
-
-        // polynomials over the integers
-        GenPolynomial<JasBigInteger> E;
-        GenPolynomial<JasBigInteger> Ea;
-        GenPolynomial<JasBigInteger> Eb;
-        GenPolynomial<JasBigInteger> Ea1;
-        GenPolynomial<JasBigInteger> Eb1;
-        GenPolynomial<JasBigInteger> Si;
-        GenPolynomial<JasBigInteger> Ti;
-
-        Si = PolyUtil.integerFromModularCoefficients(fac, S);
-        Ti = PolyUtil.integerFromModularCoefficients(fac, T);
-
-        Aq = PolyUtil.fromIntegerCoefficients(qfac, Ai);
-        Bq = PolyUtil.fromIntegerCoefficients(qfac, Bi);
-
-        while (Mq.compareTo(M2) < 0) {
-            // compute E=(C-AB)/q over the integers
-            E = C.subtract(Ai.multiply(Bi));
-            if (E.isZERO()) {
-                break;
-            }
-            E = E.divide(Qi);
-            // E mod p
-            Ep = PolyUtil.fromIntegerCoefficients(qfac, E);
-            //
-            //if (Ep.isZERO()) {
-            //System.out.println("leaving on zero error");
-            //??
-            //??break;
-            //}
-
-            // construct approximation mod p
-            Ap = Sp.multiply(Ep); // S,T ++ T,S
-            Bp = Tp.multiply(Ep);
-            GenPolynomial<ModLong>[] QR;
-            //
-            QR = Ap.quotientRemainder(Bq);
-            GenPolynomial<ModLong> Qp;
-            GenPolynomial<ModLong> Rp;
-            Qp = QR[0];
-            Rp = QR[1];
-            //
-            A1p = Rp;
-            B1p = Bp.sum(Aq.multiply(Qp));
-
-            // construct q-adic approximation, convert to integer
-            Ea = PolyUtil_ModLong.integerFromModularCoefficients(fac, A1p);
-            Eb = PolyUtil_ModLong.integerFromModularCoefficients(fac, B1p);
-            Ea1 = Ea.multiply(Qi);
-            Eb1 = Eb.multiply(Qi);
-            Ea = Ai.sum(Eb1); // Eb1 and Ea1 are required
-            Eb = Bi.sum(Ea1); //--------------------------
-            assert (Ea.degree() + Eb.degree() <= C.degree());
-            Ai = Ea;
-            Bi = Eb;
-
-            // gcd representation factors error --------------------------------
-            // compute E=(1-SA-TB)/q over the integers
-            E = fac.getONE();
-            E = E.subtract(Si.multiply(Ai)).subtract(Ti.multiply(Bi));
-            E = E.divide(Qi);
-            // E mod q
-            Ep = PolyUtil.fromIntegerCoefficients(qfac, E);
-            //
-
-            // construct approximation mod q
-            Ap = Sp.multiply(Ep); // S,T ++ T,S
-            Bp = Tp.multiply(Ep);
-            QR = Bp.quotientRemainder(Aq); // Ai == A mod p ?
-            Qp = QR[0];
-            Rp = QR[1];
-            B1p = Rp;
-            A1p = Ap.sum(Bq.multiply(Qp));
-
-            // construct q-adic approximation, convert to integer
-            Ea = PolyUtil_ModLong.integerFromModularCoefficients(fac, A1p);
-            Eb = PolyUtil_ModLong.integerFromModularCoefficients(fac, B1p);
-            Ea1 = Ea.multiply(Qi);
-            Eb1 = Eb.multiply(Qi);
-            Ea = Si.sum(Ea1); // Eb1 and Ea1 are required
-            Eb = Ti.sum(Eb1); //--------------------------
-            Si = Ea;
-            Ti = Eb;
-
-            // prepare for next iteration
-            Mq = Qi;
-            Qi = Q.getIntegerModul().multiply(Q.getIntegerModul());
-            if (ModLongRing.MAX_LONG.compareTo(Qi.getVal()) > 0) {
-                Q = (ModularRingFactory) new ModLongRing(Qi.getVal());
-            } else {
-                Q = (ModularRingFactory) new ModIntegerRing(Qi.getVal());
+        BigInteger[] c = A.clone();
+        for (int i = 0; i < B.length; i++) {
+            c[i] = c[i].add(B[i]);
+            if (c[i].compareTo(modul) >= 0) {
+                c[i] = c[i].subtract(modul);
             }
-            qfac = new GenPolynomialRing<>(Q);
-
-            Aq = PolyUtil.fromIntegerCoefficients(qfac, Ai);
-            Bq = PolyUtil.fromIntegerCoefficients(qfac, Bi);
-            Sp = PolyUtil.fromIntegerCoefficients(qfac, Si);
-            Tp = PolyUtil.fromIntegerCoefficients(qfac, Ti);
         }
-        GreatestCommonDivisorAbstract<JasBigInteger> ufd = new GreatestCommonDivisorPrimitive<>();
+        return trim(c);
+    }
 
-        // remove normalization if possible
-        JasBigInteger ai = ufd.baseContent(Ai);
-        Ai = Ai.divide(ai);
-        JasBigInteger bi;
-        try {
-            bi = c.divide(ai);
-            Bi = Bi.divide(bi); // divide( c/a )
-        } catch (RuntimeException e) {
-            throw new RuntimeException("no exact lifting possible " + e);
+    private static BigInteger[] subtract(BigInteger[] A, BigInteger[] B, BigInteger modul) {
+        BigInteger[] c = Arrays.copyOf(A, Math.max(A.length, B.length));
+        for (int i = 0; i < c.length; i++) {
+            BigInteger a = i < A.length ? A[i] : BigInteger.ZERO;
+            if (i < B.length) {
+                a = a.subtract(B[i]);
+                if (a.signum() < 0) {
+                    a = a.add(modul);
+                }
+            }
+            c[i] = a;
         }
-        return new HenselApprox(Ai, Bi, A1p, B1p);
+        return trim(c);
     }
 
     /**
-     * Modular quadratic Hensel lifting algorithm on coefficients. Let p =
-     * A.ring.coFac.modul() = B.ring.coFac.modul() and assume C == A*B mod p
-     * with gcd(A,B) == 1 mod p. See algorithm 6.1. in Geddes et.al. and
-     * algorithms 3.5.{5,6} in Cohen. Quadratic version.
+     * Reduction of the coefficients into [0, modul).
      *
-     * @param C GenPolynomial
-     * @param A GenPolynomial
-     * @param B other GenPolynomial
-     * @param M bound on the coefficients of A1 and B1 as factors of C.
-     * @return [A1, B1] = lift(C,A,B), with C = A1 * B1.
+     * @param A     dense polynomial; it is overwritten.
+     * @param modul modul.
+     * @return A mod modul, without leading zeros.
      */
-    @SuppressWarnings("unchecked")
-    public static HenselApprox liftHenselQuadratic(
-            GenPolynomial<JasBigInteger> C, JasBigInteger M, GenPolynomial<ModLong> A, GenPolynomial<ModLong> B) {
-        if (C == null || C.isZERO()) {
-            return new HenselApprox(C, C, A, B);
-        }
-        if (A == null || A.isZERO() || B == null || B.isZERO()) {
-            throw new IllegalArgumentException("A and B must be nonzero");
+    private static BigInteger[] reduce(BigInteger[] A, BigInteger modul) {
+        for (int i = 0; i < A.length; i++) {
+            A[i] = A[i].mod(modul);
         }
-        // one Hensel step on part polynomials
-        try {
-            GenPolynomial<ModLong>[] gst = A.egcd(B);
-            if (!gst[0].isONE()) {
-                throw new RuntimeException("A and B not coprime, gcd = " + gst[0] + ", A = " + A + ", B = " + B);
-            }
-            GenPolynomial<ModLong> s = gst[1];
-            GenPolynomial<ModLong> t = gst[2];
-            return liftHenselQuadratic(C, M, A, B, s, t);
-        } catch (ArithmeticException e) {
-            throw new RuntimeException("coefficient error " + e);
+        return trim(A);
+    }
+
+    private static BigInteger[] trim(BigInteger[] A) {
+        int length = A.length;
+        while (length > 0 && A[length - 1].signum() == 0) {
+            length--;
         }
+        return length == A.length ? A : Arrays.copyOf(A, length);
     }
 
     /**
-     * Modular extended Euclidean relation lifting test.
+     * Dense coefficient array of an integer polynomial.
      *
-     * @param A list of GenPolynomials
-     * @param S = [s_0,...,s_{n-1}] list of GenPolynomial
-     * @return true if prod_{0,...,n-1} s_i * B_i = 1 mod p^e, with B_i =
-     * prod_{i!=j} A_j, else false.
+     * @param A integer polynomial.
+     * @return the coefficients of A, constant term first.
      */
-    public static boolean isExtendedEuclideanLift(List<GenPolynomial<ModLong>> A, List<GenPolynomial<ModLong>> S) {
-        GenPolynomialRing<ModLong> fac = A.get(0).ring;
-        GenPolynomial<ModLong> C = fac.getONE();
-        return isDiophantLift(A, S, C);
+    private static BigInteger[] toDense(GenPolynomial<JasBigInteger> A) {
+        BigInteger[] a = new BigInteger[A.isZERO() ? 0 : (int) A.degree() + 1];
+        Arrays.fill(a, BigInteger.ZERO);
+        for (SortedMap.Entry<Long, JasBigInteger> me : A.getMap().entrySet()) {
+            a[me.getKey().intValue()] = me.getValue().getVal();
+        }
+        return a;
     }
 
     /**
-     * Modular Diophant relation lifting test.
+     * Modular polynomial from a dense coefficient array.
      *
-     * @param A list of GenPolynomials
-     * @param S = [s_0,...,s_{n-1}] list of GenPolynomials
-     * @param C = GenPolynomial
-     * @return true if prod_{0,...,n-1} s_i * B_i = C mod p^k, with B_i =
-     * prod_{i!=j} A_j, else false.
+     * @param mfac result polynomial factory.
+     * @param fac  integer polynomial factory.
+     * @param A    coefficients, constant term first.
+     * @return A as a polynomial over mfac.
      */
-    private static boolean isDiophantLift(
-            List<GenPolynomial<ModLong>> A, List<GenPolynomial<ModLong>> S, GenPolynomial<ModLong> C) {
-        GenPolynomialRing<ModLong> fac = A.get(0).ring;
-        GenPolynomialRing<JasBigInteger> ifac = new GenPolynomialRing<>(new JasBigInteger());
-        List<GenPolynomial<ModLong>> B = new ArrayList<>(A.size());
-        int i = 0;
-        for (GenPolynomial<ModLong> ai : A) {
-            GenPolynomial<ModLong> b = fac.getONE();
-            int j = 0;
-            for (GenPolynomial<ModLong> aj : A) {
-                if (i != j /*!ai.equals(aj)*/) {
-                    b = b.multiply(aj);
-                }
-                j++;
-            }
-            //System.out.println("b = " + b);
-            b = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, b));
-            B.add(b);
-            i++;
-        }
-        //System.out.println("B = " + B);
-        // check mod p^e
-        GenPolynomial<ModLong> t = fac.getZERO();
-        i = 0;
-        for (GenPolynomial<ModLong> a : B) {
-            GenPolynomial<ModLong> b = S.get(i++);
-            b = PolyUtil.fromIntegerCoefficients(fac, PolyUtil_ModLong.integerFromModularCoefficients(ifac, b));
-            GenPolynomial<ModLong> s = a.multiply(b);
-            t = t.sum(s);
+    private static GenPolynomial<ModLong> fromDense(
+            GenPolynomialRing<ModLong> mfac,
+            GenPolynomialRing<JasBigInteger> fac,
+            BigInteger[] A
+    ) {
+        GenPolynomial<JasBigInteger> a = new GenPolynomial<>(fac);
+        for (int i = A.length - 1; i >= 0; i--) {
+            a.doPutToMap((long) i, new JasBigInteger(A[i]));
         }
-        return t.equals(C);
+        return PolyUtil.fromIntegerCoefficients(mfac, a);
     }
 }
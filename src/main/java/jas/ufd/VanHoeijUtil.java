@@ -0,0 +1,421 @@
+package jas.ufd;
+
+import jas.arith.JasBigInteger;
+import jas.arith.ModLong;
+import jas.arith.Modular;
+import jas.poly.GenPolynomial;
+import jas.poly.GenPolynomialRing;
+import jas.poly.PolyUtil;
+import jas.poly.PolyUtil_ModLong;
+import jas.structure.Power;
+import jas.structure.RingElem;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Van Hoeij's knapsack recombination of Hensel lifted factors. A true factor g
+ * of C corresponds to a subset S of the lifted factors f_i, so the power sums
+ * of the roots of g, scaled by l = ldcf(C) to make them integers, satisfy
+ * l^j Tr_j(g) = sum_{i in S} l^j Tr_j(f_i) mod p^k and are small. The 0-1
+ * vectors of the true factors are therefore short vectors of a lattice built
+ * from the power sums, and LLL reduction finds the subspace they span one
+ * power sum at a time, without enumerating subsets.
+ */
+public class VanHoeijUtil {
+    /**
+     * Numerator of the Lovász constant used by the LLL reduction.
+     */
+    private static final long DELTA_NUMERATOR = 99;
+
+    /**
+     * Denominator of the Lovász constant used by the LLL reduction.
+     */
+    private static final long DELTA_DENOMINATOR = 100;
+
+    /**
+     * Recombination of lifted factors with lattice reduction. Let p^k =
+     * F_i.ring.coFac.modul() and assume C == ldcf(C) prod_{0,...,n-1} F_i mod
+     * p^k, where p^k is larger than twice ldcf(C) times the coefficients of
+     * every factor of C.
+     *
+     * @param C squarefree and primitive integer polynomial.
+     * @param F = [f_0,...,f_{n-1}] monic lifted factors of C / ldcf(C) mod p^k.
+     * @param p prime.
+     * @param k approximation exponent.
+     * @param D bit set of possible factor degrees.
+     * @return the irreducible factors of C, or null if the power sums are not
+     * precise enough to determine them; then the caller has to fall back to
+     * searching subsets.
+     */
+    public static List<GenPolynomial<JasBigInteger>> recombine(
+            GenPolynomial<JasBigInteger> C,
+            List<GenPolynomial<ModLong>> F,
+            BigInteger p,
+            long k,
+            BitSet D
+    ) {
+        if (C == null || C.isZERO() || F == null || F.size() == 0) {
+            throw new IllegalArgumentException("C must be nonzero and F must be nonempty");
+        }
+        int n = (int) C.degree();
+        int r = F.size();
+        BigInteger pk = p.pow((int) k);
+        BigInteger lc = C.leadingBaseCoefficient().getVal();
+        // log_2 of a bound on the absolute values of l times the roots of C (Fujiwara)
+        double logRootBound = 0.0;
+        for (SortedMap.Entry<Long, JasBigInteger> me : C.getMap().entrySet()) {
+            int i = n - me.getKey().intValue();
+            if (i > 0) {
+                logRootBound = Math.max(logRootBound, (double) me.getValue().getVal().bitLength() / i);
+            }
+        }
+        logRootBound += 1.0 + lc.abs().bitLength();
+        double logDegree = 32 - Integer.numberOfLeadingZeros(n);
+        int logP = p.bitLength() - 1; // a lower bound, so precisions are never overestimated
+        BigInteger[][] traces = new BigInteger[r][];
+        for (int i = 0; i < r; i++) {
+            traces[i] = powerSums(F.get(i), n, pk);
+            if (!lc.equals(BigInteger.ONE)) {
+                BigInteger lj = BigInteger.ONE;
+                for (int j = 1; j <= n; j++) {
+                    lj = lj.multiply(lc).mod(pk);
+                    traces[i][j] = traces[i][j].multiply(lj).mod(pk);
+                }
+            }
+        }
+        // squared length bound of the vectors of true factors: r ones and one power sum of at most r
+        BigInteger bound = BigInteger.valueOf((long) r * r + r);
+        int targetBits = 2 * r + 32;
+        BigInteger[][] basis = new BigInteger[r][r];
+        for (int i = 0; i < r; i++) {
+            for (int j = 0; j < r; j++) {
+                basis[i][j] = i == j ? BigInteger.ONE : BigInteger.ZERO;
+            }
+        }
+        for (int j = 1; j <= n; j++) {
+            // every factor of C has l^j Tr_j less than n * B^j < p^b in absolute value
+            long b = (long) Math.floor((logDegree + j * logRootBound) / logP) + 1;
+            long c = Math.min(k - b, (targetBits + logP - 1) / logP);
+            if (c < 1) {
+                break;
+            }
+            BigInteger low = p.pow((int) b);
+            BigInteger modul = p.pow((int) c);
+            if (modul.compareTo(BigInteger.valueOf(2L * r + 2)) <= 0) {
+                break;
+            }
+            BigInteger high = low.multiply(modul);
+            BigInteger[] column = new BigInteger[r];
+            for (int i = 0; i < r; i++) {
+                column[i] = traces[i][j].mod(high).divide(low);
+            }
+            int s = basis.length;
+            BigInteger[][] lattice = new BigInteger[s + 1][r + 1];
+            BigInteger half = modul.shiftRight(1);
+            for (int l = 0; l < s; l++) {
+                BigInteger t = BigInteger.ZERO;
+                for (int i = 0; i < r; i++) {
+                    lattice[l][i] = basis[l][i];
+                    if (basis[l][i].signum() != 0) {
+                        t = t.add(basis[l][i].multiply(column[i]));
+                    }
+                }
+                t = t.mod(modul);
+                lattice[l][r] = t.compareTo(half) > 0 ? t.subtract(modul) : t;
+            }
+            for (int i = 0; i < r; i++) {
+                lattice[s][i] = BigInteger.ZERO;
+            }
+            lattice[s][r] = modul;
+            BigInteger[] d = lllReduce(lattice);
+            // the vectors of true factors lie in the span of the vectors before the first long Gram-Schmidt vector
+            int t = s + 1;
+            while (t > 1 && d[t].compareTo(bound.multiply(d[t - 1])) > 0) {
+                t--;
+            }
+            BigInteger[][] projection = new BigInteger[t][];
+            for (int l = 0; l < t; l++) {
+                projection[l] = Arrays.copyOf(lattice[l], r);
+            }
+            if (rank(projection, r) < t) {
+                return null; // p^c e_r is in the span, the projection is no lattice basis
+            }
+            basis = projection;
+            List<GenPolynomial<JasBigInteger>> factors;
+            if (basis.length == 1) { // only C itself
+                factors = new ArrayList<>();
+                factors.add(C);
+                return factors;
+            }
+            factors = tryPartition(C, F, basis, D);
+            if (factors != null) {
+                return factors;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Power sums of the roots of a monic polynomial, by Newton's identities.
+     *
+     * @param f    monic modular polynomial.
+     * @param n    number of power sums.
+     * @param modul modul of the coefficients of f.
+     * @return [Tr_0, ..., Tr_n] with Tr_j = sum of the j-th powers of the roots of
+     * f, mod modul.
+     */
+    static <MOD extends RingElem<MOD> & Modular> BigInteger[] powerSums(
+            GenPolynomial<MOD> f,
+            int n,
+            BigInteger modul
+    ) {
+        int d = (int) f.degree();
+        BigInteger[] a = new BigInteger[d + 1];
+        Arrays.fill(a, BigInteger.ZERO);
+        for (SortedMap.Entry<Long, MOD> me : f.getMap().entrySet()) {
+            a[me.getKey().intValue()] = me.getValue().getSymmetricInteger().getVal();
+        }
+        BigInteger[] s = new BigInteger[n + 1];
+        s[0] = BigInteger.valueOf(d);
+        for (int j = 1; j <= n; j++) {
+            BigInteger t = j <= d ? a[d - j].multiply(BigInteger.valueOf(j)) : BigInteger.ZERO;
+            for (int i = 1; i < j && i <= d; i++) {
+                if (a[d - i].signum() != 0) {
+                    t = t.add(a[d - i].multiply(s[j - i]));
+                }
+            }
+            s[j] = t.negate().mod(modul);
+        }
+        return s;
+    }
+
+    /**
+     * Candidate factors from a reduced knapsack basis. The lifted factors whose
+     * columns in the basis are equal are multiplied together; if there are as
+     * many distinct columns as basis vectors and the primitive part of
+     * ldcf(C) times every product divides C, these are the irreducible factors
+     * of C, since the vector of every true factor is a sum of basis vectors.
+     *
+     * @param C     squarefree and primitive integer polynomial.
+     * @param F     monic lifted factors of C / ldcf(C).
+     * @param basis basis of the knapsack lattice.
+     * @param D     bit set of possible factor degrees.
+     * @return the irreducible factors of C, or null.
+     */
+    private static List<GenPolynomial<JasBigInteger>> tryPartition(
+            GenPolynomial<JasBigInteger> C,
+            List<GenPolynomial<ModLong>> F,
+            BigInteger[][] basis,
+            BitSet D
+    ) {
+        int r = F.size();
+        Map<List<BigInteger>, List<GenPolynomial<ModLong>>> classes = new LinkedHashMap<>();
+        for (int i = 0; i < r; i++) {
+            List<BigInteger> column = new ArrayList<>(basis.length);
+            for (BigInteger[] row : basis) {
+                column.add(row[i]);
+            }
+            classes.computeIfAbsent(column, x -> new ArrayList<>()).add(F.get(i));
+            if (classes.size() > basis.length) {
+                return null;
+            }
+        }
+        if (classes.size() < basis.length) {
+            return null;
+        }
+        GenPolynomialRing<JasBigInteger> pfac = C.ring;
+        GenPolynomialRing<ModLong> mpfac = F.get(0).ring;
+        List<GenPolynomial<JasBigInteger>> factors = new ArrayList<>(classes.size());
+        for (List<GenPolynomial<ModLong>> flist : classes.values()) {
+            long degree = 0;
+            for (GenPolynomial<ModLong> f : flist) {
+                degree += f.degree();
+            }
+            if (!D.get((int) degree)) {
+                return null;
+            }
+            // when p^k does not fit in a long the coefficients are ModIntegers, so scale by ldcf(C) over Z
+            GenPolynomial<JasBigInteger> trial = PolyUtil_ModLong.integerFromModularCoefficients(
+                    pfac,
+                    Power.multiply(mpfac, flist)
+            ).multiply(C.leadingBaseCoefficient());
+            trial = primitivePart(PolyUtil_ModLong.integerFromModularCoefficients(
+                    pfac,
+                    PolyUtil.fromIntegerCoefficients(mpfac, trial)
+            ));
+            // the classes are coprime and their degrees add up to deg(C), so it suffices that each divides C
+            if (!PolyUtil.baseSparsePseudoRemainder(C, trial).isZERO()) {
+                return null;
+            }
+            factors.add(trial);
+        }
+        return factors;
+    }
+
+    /**
+     * Primitive part of an integer polynomial.
+     *
+     * @param A nonzero integer polynomial.
+     * @return A divided by the gcd of its coefficients.
+     */
+    private static GenPolynomial<JasBigInteger> primitivePart(GenPolynomial<JasBigInteger> A) {
+        BigInteger content = BigInteger.ZERO;
+        for (JasBigInteger c : A.getMap().values()) {
+            content = content.gcd(c.getVal());
+        }
+        return content.equals(BigInteger.ONE) ? A : A.divide(new JasBigInteger(content));
+    }
+
+    /**
+     * Rank of an integer matrix, by fraction-free elimination.
+     *
+     * @param a     matrix with rows of length width; it is not modified.
+     * @param width number of columns.
+     * @return the rank of a.
+     */
+    private static int rank(BigInteger[][] a, int width) {
+        BigInteger[][] m = new BigInteger[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            m[i] = a[i].clone();
+        }
+        BigInteger previous = BigInteger.ONE;
+        int rank = 0;
+        for (int j = 0; j < width && rank < m.length; j++) {
+            int pivot = rank;
+            while (pivot < m.length && m[pivot][j].signum() == 0) {
+                pivot++;
+            }
+            if (pivot == m.length) {
+                continue;
+            }
+            BigInteger[] row = m[pivot];
+            m[pivot] = m[rank];
+            m[rank] = row;
+            for (int i = rank + 1; i < m.length; i++) {
+                for (int l = j + 1; l < width; l++) {
+                    m[i][l] = m[i][l].multiply(row[j]).subtract(m[i][j].multiply(row[l])).divide(previous);
+                }
+                m[i][j] = BigInteger.ZERO;
+            }
+            previous = row[j];
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Integral LLL reduction (Cohen 1993, Algorithm 2.6.7). The rows of b are
+     * replaced by an LLL reduced basis of the lattice they span; all
+     * computations are exact and stay in the integers.
+     *
+     * @param b linearly independent integer vectors; they are overwritten.
+     * @return [d_0, ..., d_m], where d_i is the Gram determinant of the first i
+     * reduced vectors, so that d_i / d_{i-1} is the squared length of the i-th
+     * Gram-Schmidt vector.
+     */
+    static BigInteger[] lllReduce(BigInteger[][] b) {
+        int m = b.length;
+        BigInteger[] d = new BigInteger[m + 1];
+        BigInteger[][] lambda = new BigInteger[m + 1][m + 1];
+        d[0] = BigInteger.ONE;
+        if (m == 0) {
+            return d;
+        }
+        d[1] = dot(b[0], b[0]);
+        int k = 2;
+        int kmax = 1;
+        BigInteger deltaNumerator = BigInteger.valueOf(DELTA_NUMERATOR);
+        BigInteger deltaDenominator = BigInteger.valueOf(DELTA_DENOMINATOR);
+        while (k <= m) {
+            if (k > kmax) { // incremental Gram-Schmidt
+                kmax = k;
+                for (int j = 1; j <= k; j++) {
+                    BigInteger u = dot(b[k - 1], b[j - 1]);
+                    for (int i = 1; i < j; i++) {
+                        u = d[i].multiply(u).subtract(lambda[k][i].multiply(lambda[j][i])).divide(d[i - 1]);
+                    }
+                    if (j < k) {
+                        lambda[k][j] = u;
+                    } else {
+                        if (u.signum() == 0) {
+                            throw new ArithmeticException("vectors are linearly dependent");
+                        }
+                        d[k] = u;
+                    }
+                }
+            }
+            reduce(b, lambda, d, k, k - 1);
+            BigInteger lhs = deltaDenominator.multiply(d[k].multiply(d[k - 2]));
+            BigInteger rhs = deltaNumerator.multiply(d[k - 1].multiply(d[k - 1]))
+                    .subtract(deltaDenominator.multiply(lambda[k][k - 1].multiply(lambda[k][k - 1])));
+            if (lhs.compareTo(rhs) < 0) { // Lovász condition fails
+                swap(b, lambda, d, k, kmax);
+                k = Math.max(2, k - 1);
+            } else {
+                for (int l = k - 2; l >= 1; l--) {
+                    reduce(b, lambda, d, k, l);
+                }
+                k++;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Size reduction of b_k by b_l (1-based), sub-algorithm RED of the integral
+     * LLL.
+     */
+    private static void reduce(BigInteger[][] b, BigInteger[][] lambda, BigInteger[] d, int k, int l) {
+        if (lambda[k][l].shiftLeft(1).abs().compareTo(d[l]) <= 0) {
+            return;
+        }
+        // q = round(lambda_{k,l} / d_l) = floor((2 lambda_{k,l} + d_l) / 2 d_l)
+        BigInteger[] qr = lambda[k][l].shiftLeft(1).add(d[l]).divideAndRemainder(d[l].shiftLeft(1));
+        BigInteger q = qr[1].signum() < 0 ? qr[0].subtract(BigInteger.ONE) : qr[0];
+        BigInteger[] bk = b[k - 1];
+        BigInteger[] bl = b[l - 1];
+        for (int i = 0; i < bk.length; i++) {
+            if (bl[i].signum() != 0) {
+                bk[i] = bk[i].subtract(q.multiply(bl[i]));
+            }
+        }
+        lambda[k][l] = lambda[k][l].subtract(q.multiply(d[l]));
+        for (int i = 1; i < l; i++) {
+            lambda[k][i] = lambda[k][i].subtract(q.multiply(lambda[l][i]));
+        }
+    }
+
+    /**
+     * Exchange of b_k and b_{k-1} (1-based), sub-algorithm SWAP of the integral
+     * LLL.
+     */
+    private static void swap(BigInteger[][] b, BigInteger[][] lambda, BigInteger[] d, int k, int kmax) {
+        BigInteger[] t = b[k - 1];
+        b[k - 1] = b[k - 2];
+        b[k - 2] = t;
+        for (int j = 1; j <= k - 2; j++) {
+            BigInteger x = lambda[k][j];
+            lambda[k][j] = lambda[k - 1][j];
+            lambda[k - 1][j] = x;
+        }
+        BigInteger l = lambda[k][k - 1];
+        BigInteger B = d[k - 2].multiply(d[k]).add(l.multiply(l)).divide(d[k - 1]);
+        for (int i = k + 1; i <= kmax; i++) {
+            BigInteger x = lambda[i][k];
+            lambda[i][k] = d[k].multiply(lambda[i][k - 1]).subtract(l.multiply(x)).divide(d[k - 1]);
+            lambda[i][k - 1] = B.multiply(x).add(l.multiply(lambda[i][k])).divide(d[k]);
+        }
+        d[k - 1] = B;
+    }
+
+    private static BigInteger dot(BigInteger[] a, BigInteger[] b) {
+        BigInteger s = BigInteger.ZERO;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() != 0 && b[i].signum() != 0) {
+                s = s.add(a[i].multiply(b[i]));
+            }
+        }
+        return s;
+    }
+}
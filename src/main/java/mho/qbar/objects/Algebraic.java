@@ -13,7 +13,11 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static mho.wheels.iterables.IterableUtils.*;
 import static mho.wheels.ordering.Ordering.*;
@@ -82,6 +86,29 @@ public final class Algebraic implements Comparable<Algebraic> {
      */
     public static boolean USE_PRODUCT_CACHE = true;
 
+    /**
+     * Whether to cache some results of {@link Algebraic#of(Polynomial, int)} and {@link Algebraic#roots(Polynomial)}
+     */
+    public static boolean USE_ROOT_CACHE = true;
+
+    /**
+     * The maximum number of entries in each of {@code ROOT_CACHE} and {@code ROOTS_CACHE}
+     */
+    private static final int ROOT_CACHE_SIZE = 1 << 12;
+
+    /**
+     * A thread-safe cache of the results of {@link Algebraic#of(Polynomial, int)} for polynomials of degree greater
+     * than 1. Once it holds {@code ROOT_CACHE_SIZE} results, the least recently used one is evicted.
+     */
+    private static final Map<Pair<Polynomial, Integer>, Algebraic> ROOT_CACHE = boundedCache(ROOT_CACHE_SIZE);
+
+    /**
+     * A thread-safe cache of the results of {@link Algebraic#roots(Polynomial)} for polynomials of degree greater
+     * than 1. The cached {@code List}s are unmodifiable. Once it holds {@code ROOT_CACHE_SIZE} results, the least
+     * recently used one is evicted.
+     */
+    private static final Map<Polynomial, List<Algebraic>> ROOTS_CACHE = boundedCache(ROOT_CACHE_SIZE);
+
     /**
      * A thread-safe cache of some of the results of {@link Algebraic#add(Algebraic)}
      */
@@ -100,6 +127,18 @@ public final class Algebraic implements Comparable<Algebraic> {
             p -> gt(p.a, p.b) ? new Pair<>(p.b, p.a) : p
     );
 
+    /**
+     * The smallest degree of a polynomial's squarefree part for which {@link Algebraic#roots(Polynomial)} isolates the
+     * roots of its irreducible factors in parallel
+     */
+    private static final int PARALLEL_ROOTS_THRESHOLD = 12;
+
+    /**
+     * The precision, in bits, to which {@link Algebraic#sumSign(List)} refines the summands' intervals before falling
+     * back to exact addition
+     */
+    private static final int SUM_SIGN_PRECISION_LIMIT = 1 << 10;
+
     /**
      * A {@code Comparator} that compares two {@code Algebraic}s by complexity. If two {@code Algebraic}s have
      * different degrees, the lower-degree one is less complex. If they have the same degrees but their minimal
@@ -160,6 +199,14 @@ public final class Algebraic implements Comparable<Algebraic> {
      */
     private final int mpRootCount;
 
+    /**
+     * The tightest {@code Interval} containing {@code this} that has been found so far. It starts out as
+     * {@code isolatingInterval} and is narrowed, atomically, whenever the {@code Real} returned by
+     * {@link Algebraic#realValue()} is refined, so that later comparisons and conversions can start where earlier ones
+     * left off. This field is not part of the value of {@code this}.
+     */
+    private final @NotNull AtomicReference<Interval> tightestInterval;
+
     /**
      * Private constructor of rational {@code Algebraic}s.
      *
@@ -176,6 +223,7 @@ public final class Algebraic implements Comparable<Algebraic> {
         this.rational = Optional.of(rational);
         isolatingInterval = Interval.of(rational);
         mpRootCount = 1;
+        tightestInterval = new AtomicReference<>(isolatingInterval);
     }
 
     /**
@@ -211,6 +259,7 @@ public final class Algebraic implements Comparable<Algebraic> {
         rational = Optional.empty();
         this.isolatingInterval = isolatingInterval;
         this.mpRootCount = mpRootCount;
+        tightestInterval = new AtomicReference<>(isolatingInterval);
     }
 
     /**
@@ -229,6 +278,16 @@ public final class Algebraic implements Comparable<Algebraic> {
      * @return the {@code Algebraic} satisfying the above properties
      */
     public static @NotNull Algebraic of(@NotNull Polynomial polynomial, int rootIndex) {
+        if (!USE_ROOT_CACHE || polynomial.degree() < 2) {
+            return ofRaw(polynomial, rootIndex);
+        }
+        return getCached(ROOT_CACHE, new Pair<>(polynomial, rootIndex), p -> ofRaw(p.a, p.b));
+    }
+
+    /**
+     * The no-cache version of {@link Algebraic#of(Polynomial, int)}.
+     */
+    public static @NotNull Algebraic ofRaw(@NotNull Polynomial polynomial, int rootIndex) {
         if (rootIndex < 0) {
             throw new IllegalArgumentException("rootIndex cannot be negative. Invalid rootIndex: " + rootIndex);
         }
@@ -261,35 +320,126 @@ public final class Algebraic implements Comparable<Algebraic> {
                     " rootIndex: " + rootIndex + ", number of real roots of " + polynomial + ": " + rootCount);
         }
         List<Polynomial> factors = squareFree.factor();
+        Interval isolatingInterval = squareFree.powerOfTwoIsolatingInterval(rootIndex);
         if (factors.size() == 1) {
-            return new Algebraic(squareFree, rootIndex, squareFree.powerOfTwoIsolatingInterval(rootIndex), rootCount);
+            return new Algebraic(squareFree, rootIndex, isolatingInterval, rootCount);
         }
-        List<Pair<Polynomial, Integer>> polyRootPairs = new ArrayList<>();
-        List<Real> realRoots = new ArrayList<>();
+        return fromFactors(factors, isolatingInterval, t -> bisect(squareFree, t));
+    }
+
+    /**
+     * Creates an {@code Algebraic} from its {@code Real} value and a list of irreducible polynomials, one of which is
+     * its minimal polynomial. Unlike {@link Algebraic#of(Polynomial, int)}, this method doesn't factor.
+     *
+     * <ul>
+     *  <li>{@code factors} must be nonempty, and its elements must be distinct, irreducible, primitive, and have
+     *  positive leading coefficients.</li>
+     *  <li>{@code value} must be equal to a real root of some element of {@code factors}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param factors candidate minimal polynomials of the result
+     * @param value the value of the result
+     * @return the {@code Algebraic} equal to {@code value}
+     */
+    static @NotNull Algebraic fromFactors(@NotNull List<Polynomial> factors, @NotNull Real value) {
+        Iterator<Interval> intervals = value.iterator();
+        return fromFactors(factors, intervals.next(), t -> intervals.hasNext() ? intervals.next() : t);
+    }
+
+    /**
+     * Creates an {@code Algebraic} from a list of irreducible polynomials, one of which is its minimal polynomial, and
+     * an {@code Interval} containing it that can be made arbitrarily tight. Every real root of every factor starts out
+     * with its isolating interval. Candidates whose intervals are disjoint from the target are discarded; of the
+     * remaining intervals, including the target, the widest one is refined, until only one candidate is left. A
+     * candidate is refined by bisection, keeping the half where its polynomial changes sign. This is much cheaper than
+     * building a {@code Real} for each candidate and calling {@link Real#match(List)}, which refines every candidate
+     * in lockstep.
+     *
+     * <ul>
+     *  <li>{@code factors} must be nonempty, and its elements must be distinct, irreducible, primitive, and have
+     *  positive leading coefficients.</li>
+     *  <li>{@code target} must be finite and must contain the result.</li>
+     *  <li>{@code refineTarget} must return, for each target {@code Interval}, a contained {@code Interval} that still
+     *  contains the result, and repeated application must eventually shrink the target to the result.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param factors candidate minimal polynomials of the result
+     * @param target an {@code Interval} containing the result
+     * @param refineTarget a function returning a tighter target
+     * @return the {@code Algebraic} contained in every target
+     */
+    private static @NotNull Algebraic fromFactors(
+            @NotNull List<Polynomial> factors,
+            @NotNull Interval target,
+            @NotNull Function<Interval, Interval> refineTarget
+    ) {
+        List<Polynomial> polynomials = new ArrayList<>();
+        List<Integer> rootIndices = new ArrayList<>();
         List<Interval> isolatingIntervals = new ArrayList<>();
         List<Integer> rootCounts = new ArrayList<>();
         for (Polynomial factor : factors) {
+            if (factor.degree() == 1) {
+                polynomials.add(factor);
+                rootIndices.add(0);
+                isolatingIntervals.add(Interval.of(Rational.of(factor.coefficient(0).negate(), factor.coefficient(1))));
+                rootCounts.add(1);
+                continue;
+            }
             List<Interval> factorIsolatingIntervals = factor.powerOfTwoIsolatingIntervals();
             int factorRootCount = factorIsolatingIntervals.size();
             for (int i = 0; i < factorRootCount; i++) {
-                polyRootPairs.add(new Pair<>(factor, i));
-                realRoots.add(Real.root(factor::signum, factorIsolatingIntervals.get(i)));
+                polynomials.add(factor);
+                rootIndices.add(i);
                 isolatingIntervals.add(factorIsolatingIntervals.get(i));
                 rootCounts.add(factorRootCount);
             }
         }
-        Interval isolatingInterval = squareFree.powerOfTwoIsolatingInterval(rootIndex);
-        int matchIndex = Real.root(squareFree::signum, isolatingInterval).match(realRoots);
-        Pair<Polynomial, Integer> pair = polyRootPairs.get(matchIndex);
-        Polynomial factor = pair.a;
-        rootIndex = pair.b;
-        if (factor.degree() == 1) {
-            Rational r = Rational.of(factor.coefficient(0).negate(), factor.coefficient(1));
-            if (r == Rational.ZERO) return ZERO;
-            if (r == Rational.ONE) return ONE;
-            return new Algebraic(r);
+        List<Interval> candidateIntervals = new ArrayList<>(isolatingIntervals);
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < candidateIntervals.size(); i++) {
+            candidates.add(i);
+        }
+        while (true) {
+            Interval currentTarget = target;
+            candidates.removeIf(i -> candidateIntervals.get(i).disjoint(currentTarget));
+            if (candidates.size() < 2) break;
+            int widestIndex = -1;
+            Rational widestDiameter = null;
+            for (int i : candidates) {
+                Rational diameter = candidateIntervals.get(i).diameter().get();
+                if (widestIndex == -1 || gt(diameter, widestDiameter)) {
+                    widestIndex = i;
+                    widestDiameter = diameter;
+                }
+            }
+            Optional<Rational> targetDiameter = target.diameter();
+            if (!targetDiameter.isPresent() || ge(targetDiameter.get(), widestDiameter)) {
+                target = refineTarget.apply(target);
+            } else {
+                candidateIntervals.set(
+                        widestIndex,
+                        bisect(polynomials.get(widestIndex), candidateIntervals.get(widestIndex))
+                );
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No root of factors lies in " + target + ". factors: " + factors);
+        }
+        int matchIndex = candidates.get(0);
+        Polynomial minimalPolynomial = polynomials.get(matchIndex);
+        if (minimalPolynomial.degree() == 1) {
+            return of(Rational.of(minimalPolynomial.coefficient(0).negate(), minimalPolynomial.coefficient(1)));
         }
-        return new Algebraic(factor, rootIndex, isolatingIntervals.get(matchIndex), rootCounts.get(matchIndex));
+        Algebraic x = new Algebraic(
+                minimalPolynomial,
+                rootIndices.get(matchIndex),
+                isolatingIntervals.get(matchIndex),
+                rootCounts.get(matchIndex)
+        );
+        x.tightestInterval.set(candidateIntervals.get(matchIndex));
+        return x;
     }
 
     /**
@@ -502,6 +652,17 @@ public final class Algebraic implements Comparable<Algebraic> {
      * @return the real roots of {@code Polynomial}, in ascending order
      */
     public static @NotNull List<Algebraic> roots(@NotNull Polynomial polynomial) {
+        if (!USE_ROOT_CACHE || polynomial.degree() < 2) {
+            return rootsRaw(polynomial);
+        }
+        // copy, since callers may modify the result
+        return new ArrayList<>(getCached(ROOTS_CACHE, polynomial, p -> Collections.unmodifiableList(rootsRaw(p))));
+    }
+
+    /**
+     * The no-cache version of {@link Algebraic#roots(Polynomial)}.
+     */
+    public static @NotNull List<Algebraic> rootsRaw(@NotNull Polynomial polynomial) {
         if (polynomial == Polynomial.ZERO) {
             throw new ArithmeticException("polynomial cannot be zero.");
         }
@@ -527,32 +688,70 @@ public final class Algebraic implements Comparable<Algebraic> {
             return roots;
         }
 
-        SortedMap<Real, Algebraic> rootMap = new TreeMap<>(Real::compareToUnsafe);
-        for (Polynomial factor : factors) {
+        Stream<Polynomial> factorStream = squareFree.degree() >= PARALLEL_ROOTS_THRESHOLD ?
+                factors.parallelStream() :
+                factors.stream();
+        List<Algebraic> roots = factorStream.flatMap(factor -> {
             if (factor.degree() == 1) {
-                Rational r = Rational.of(factor.coefficient(0).negate(), factor.coefficient(1));
-                Algebraic x;
-                if (r == Rational.ZERO) {
-                    x = ZERO;
-                } else if (r == Rational.ONE) {
-                    x = ONE;
-                } else {
-                    x = new Algebraic(r);
-                }
-                rootMap.put(Real.of(r), x);
-            } else {
-                List<Interval> isolatingIntervals = factor.powerOfTwoIsolatingIntervals();
-                int rootCount = isolatingIntervals.size();
-                for (int i = 0; i < rootCount; i++) {
-                    Interval isolatingInterval = isolatingIntervals.get(i);
-                    rootMap.put(
-                            Real.root(factor::signum, isolatingInterval),
-                            new Algebraic(factor, i, isolatingInterval, rootCount)
-                    );
-                }
+                return Stream.of(of(Rational.of(factor.coefficient(0).negate(), factor.coefficient(1))));
+            }
+            List<Interval> isolatingIntervals = factor.powerOfTwoIsolatingIntervals();
+            int rootCount = isolatingIntervals.size();
+            return IntStream.range(0, rootCount)
+                    .mapToObj(i -> new Algebraic(factor, i, isolatingIntervals.get(i), rootCount));
+        }).collect(Collectors.toList());
+        // the isolating intervals of roots of distinct factors are usually disjoint, so most comparisons are cheap
+        return sort(roots);
+    }
+
+    /**
+     * Creates a thread-safe {@code Map} that holds at most {@code size} entries, evicting the least recently used
+     * entry when a new one is added to a full {@code Map}.
+     *
+     * <ul>
+     *  <li>{@code size} must be positive.</li>
+     *  <li>The result is empty.</li>
+     * </ul>
+     *
+     * @param size the maximum number of entries
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return an empty, size-bounded cache
+     */
+    private static @NotNull <K, V> Map<K, V> boundedCache(int size) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > size;
             }
+        });
+    }
+
+    /**
+     * Returns the value of {@code f} at {@code key}, looking it up in {@code cache} first and storing it there if it
+     * is missing. {@code f} is evaluated outside of the lock, so two threads may occasionally compute the same value.
+     *
+     * <ul>
+     *  <li>{@code cache} cannot be null or contain null values.</li>
+     *  <li>{@code key} cannot be null.</li>
+     *  <li>{@code f} cannot return null.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param cache a cache created by {@link Algebraic#boundedCache(int)}
+     * @param key the argument of {@code f}
+     * @param f the function whose results are cached
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return {@code f}({@code key})
+     */
+    private static @NotNull <K, V> V getCached(@NotNull Map<K, V> cache, @NotNull K key, @NotNull Function<K, V> f) {
+        V value = cache.get(key);
+        if (value == null) {
+            value = f.apply(key);
+            cache.put(key, value);
         }
-        return toList(rootMap.values());
+        return value;
     }
 
     /**
@@ -592,11 +791,27 @@ public final class Algebraic implements Comparable<Algebraic> {
         if (rational.isPresent()) {
             return rational.get().bigIntegerValue(roundingMode);
         } else {
-            if (roundingMode == RoundingMode.UNNECESSARY) {
-                throw new ArithmeticException("If roundingMode is UNNECESSARY, this must be an integer. Invalid" +
-                        " this: " + this);
+            BigInteger floor = floorOfIsolatedRoot(minimalPolynomial, tightestInterval.get());
+            switch (roundingMode) {
+                case UNNECESSARY:
+                    throw new ArithmeticException("If roundingMode is UNNECESSARY, this must be an integer. Invalid" +
+                            " this: " + this);
+                case FLOOR:
+                    return floor;
+                case CEILING:
+                    return floor.add(BigInteger.ONE);
+                case DOWN:
+                    return floor.signum() == -1 ? floor.add(BigInteger.ONE) : floor;
+                case UP:
+                    return floor.signum() == -1 ? floor : floor.add(BigInteger.ONE);
+                default:
+                    // an irrational number is never halfway between two integers; ⌊2x⌋ is odd iff x rounds up
+                    BigInteger doubledFloor = floorOfIsolatedRoot(
+                            minimalPolynomial.positivePrimitiveStretch(Rational.TWO),
+                            tightestInterval.get().multiply(IntegerUtils.TWO)
+                    );
+                    return doubledFloor.testBit(0) ? floor.add(BigInteger.ONE) : floor;
             }
-            return realValue().bigIntegerValueUnsafe(roundingMode);
         }
     }
 
@@ -861,8 +1076,150 @@ public final class Algebraic implements Comparable<Algebraic> {
         if (rational.isPresent()) {
             return Real.of(rational.get());
         } else {
-            return Real.root(minimalPolynomial::signum, isolatingInterval);
+            return new Real(map(
+                    i -> {
+                        tightestInterval.accumulateAndGet(i, Algebraic::narrower);
+                        return i;
+                    },
+                    Real.root(minimalPolynomial::signum, tightestInterval.get())
+            ));
+        }
+    }
+
+    /**
+     * Converts {@code this} to a {@code Real} whose intervals start from {@code this}'s isolating interval rather than
+     * from the tightest interval found so far. Unlike {@link Algebraic#realValue()}, the resulting intervals don't
+     * depend on how {@code this} has been used before.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Algebraic}.</li>
+     *  <li>The result is irrational or exact.</li>
+     * </ul>
+     *
+     * @return the {@code Real} value of {@code this}
+     */
+    private @NotNull Real isolatedRealValue() {
+        if (rational.isPresent()) return realValue();
+        return Real.root(minimalPolynomial::signum, isolatingInterval);
+    }
+
+    /**
+     * Given two {@code Interval}s containing the same {@code Algebraic}, returns an {@code Interval} contained in both
+     * that still contains it.
+     *
+     * <ul>
+     *  <li>{@code a} must be finite.</li>
+     *  <li>{@code b} must be finite and must intersect {@code a}.</li>
+     *  <li>The result is finite.</li>
+     * </ul>
+     *
+     * @param a an {@code Interval}
+     * @param b another {@code Interval}
+     * @return a∩b
+     */
+    private static @NotNull Interval narrower(@NotNull Interval a, @NotNull Interval b) {
+        if (a.contains(b)) return b;
+        if (b.contains(a)) return a;
+        return a.intersection(b).get();
+    }
+
+    /**
+     * Given an {@code Interval} containing exactly one real root of a {@code Polynomial}, returns the half of the
+     * {@code Interval} that contains the root, or the root itself if it is the midpoint.
+     *
+     * <ul>
+     *  <li>{@code p} cannot be zero.</li>
+     *  <li>{@code a} must be finite and contain exactly one real root of {@code p}.</li>
+     *  <li>The result is finite.</li>
+     * </ul>
+     *
+     * @param p a {@code Polynomial}
+     * @param a an {@code Interval} isolating a root of {@code p}
+     * @return an {@code Interval} half as wide as {@code a}, or a point, isolating the same root
+     */
+    private static @NotNull Interval bisect(@NotNull Polynomial p, @NotNull Interval a) {
+        Rational lower = a.getLower().get();
+        Rational upper = a.getUpper().get();
+        if (lower.equals(upper)) return a;
+        Rational mid = lower.add(upper).shiftRight(1);
+        int midSign = p.signum(mid);
+        if (midSign == 0) return Interval.of(mid);
+        return midSign == p.signum(lower) ? Interval.of(mid, upper) : Interval.of(lower, mid);
+    }
+
+    /**
+     * Given an {@code Interval} with a finite lower bound containing exactly one real root of a {@code Polynomial},
+     * returns the floor of that root. Only the signs of the {@code Polynomial} at integers are evaluated: if the
+     * upper bound is infinite, the upper bound on the floor is found by doubling steps, and then the floor is found by
+     * binary search.
+     *
+     * <ul>
+     *  <li>{@code p} cannot be zero.</li>
+     *  <li>{@code a} must have a finite lower bound and contain exactly one real root of {@code p}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param p a {@code Polynomial}
+     * @param a an {@code Interval} isolating a root of {@code p}
+     * @return the floor of the root of {@code p} in {@code a}
+     */
+    private static @NotNull BigInteger floorOfIsolatedRoot(@NotNull Polynomial p, @NotNull Interval a) {
+        Rational lowerBound = a.getLower().get();
+        int lowerSign = p.signum(lowerBound);
+        BigInteger lower = lowerBound.floor();
+        if (lowerSign == 0) return lower;
+        BigInteger upper;
+        if (a.getUpper().isPresent()) {
+            upper = a.getUpper().get().floor().add(BigInteger.ONE);
+        } else {
+            BigInteger step = BigInteger.ONE;
+            while (true) {
+                upper = lower.add(step);
+                int upperSign = p.signum(upper);
+                if (upperSign == 0) return upper;
+                if (upperSign != lowerSign) break;
+                lower = upper;
+                step = step.shiftLeft(1);
+            }
+        }
+        while (!upper.subtract(lower).equals(BigInteger.ONE)) {
+            BigInteger mid = lower.add(upper).shiftRight(1);
+            int midSign = p.signum(mid);
+            if (midSign == 0) return mid;
+            if (midSign == lowerSign) {
+                lower = mid;
+            } else {
+                upper = mid;
+            }
         }
+        return lower;
+    }
+
+    /**
+     * Halves the tightest known {@code Interval} containing {@code this} and returns the result. The roots of
+     * {@code minimalPolynomial} are simple, so its sign just to the right of {@code this} is determined by its leading
+     * coefficient and the number of greater real roots, and only the midpoint needs to be evaluated.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Algebraic}.</li>
+     *  <li>The result is finite.</li>
+     * </ul>
+     *
+     * @return a tighter {@code Interval} containing {@code this}
+     */
+    private @NotNull Interval refineTightestInterval() {
+        if (rational.isPresent()) return isolatingInterval;
+        Interval interval = tightestInterval.get();
+        Rational lower = interval.getLower().get();
+        Rational upper = interval.getUpper().get();
+        Rational mid = lower.add(upper).shiftRight(1);
+        int rightSign = minimalPolynomial.leading().get().signum();
+        if ((mpRootCount - rootIndex) % 2 == 0) {
+            rightSign = -rightSign;
+        }
+        // mid is rational, so it isn't a root of minimalPolynomial
+        Interval half = minimalPolynomial.signum(mid) == rightSign ? Interval.of(lower, mid) : Interval.of(mid, upper);
+        return tightestInterval.accumulateAndGet(half, Algebraic::narrower);
     }
 
     /**
@@ -1394,7 +1751,8 @@ public final class Algebraic implements Comparable<Algebraic> {
             }
             return Interval.of(lower.rationalValueExact(), upper.rationalValueExact());
         }
-        return Real.intervalExtensionUnsafe(lower.realValue(), upper.realValue());
+        // start from the isolating intervals, so that the result doesn't depend on earlier refinements
+        return Real.intervalExtensionUnsafe(lower.isolatedRealValue(), upper.isolatedRealValue());
     }
 
     /**
@@ -1547,28 +1905,11 @@ public final class Algebraic implements Comparable<Algebraic> {
                 return new Algebraic(factors.get(0), 0, sumMP.powerOfTwoIsolatingInterval(0), 1);
             }
         }
-        List<Pair<Polynomial, Integer>> polyRootPairs = new ArrayList<>();
-        List<Real> realRoots = new ArrayList<>();
-        List<Interval> isolatingIntervals = new ArrayList<>();
-        List<Integer> rootCounts = new ArrayList<>();
-        for (Polynomial factor : factors) {
-            List<Interval> factorIsolatingIntervals = factor.powerOfTwoIsolatingIntervals();
-            int factorRootCount = factor.rootCount();
-            for (int i = 0; i < factorRootCount; i++) {
-                polyRootPairs.add(new Pair<>(factor, i));
-                realRoots.add(Real.root(factor::signum, factorIsolatingIntervals.get(i)));
-                isolatingIntervals.add(factorIsolatingIntervals.get(i));
-                rootCounts.add(factorRootCount);
-            }
-        }
-        int matchIndex = realValue().add(that.realValue()).match(realRoots);
-        Pair<Polynomial, Integer> pair = polyRootPairs.get(matchIndex);
-        sumMP = pair.a;
-        if (sumMP.degree() == 1) {
-            return of(Rational.of(sumMP.coefficient(0).negate(), sumMP.coefficient(1)));
-        }
-        int sumRootIndex = pair.b;
-        return new Algebraic(sumMP, sumRootIndex, isolatingIntervals.get(matchIndex), rootCounts.get(matchIndex));
+        return fromFactors(
+                factors,
+                tightestInterval.get().add(that.tightestInterval.get()),
+                t -> refineTightestInterval().add(that.refineTightestInterval())
+        );
     }
 
     /**
@@ -1769,32 +2110,10 @@ public final class Algebraic implements Comparable<Algebraic> {
                 return new Algebraic(factors.get(0), 0, productMP.powerOfTwoIsolatingInterval(0), 1);
             }
         }
-        List<Pair<Polynomial, Integer>> polyRootPairs = new ArrayList<>();
-        List<Real> realRoots = new ArrayList<>();
-        List<Interval> isolatingIntervals = new ArrayList<>();
-        List<Integer> rootCounts = new ArrayList<>();
-        for (Polynomial factor : factors) {
-            List<Interval> factorIsolatingIntervals = factor.powerOfTwoIsolatingIntervals();
-            int factorRootCount = factor.rootCount();
-            for (int i = 0; i < factorRootCount; i++) {
-                polyRootPairs.add(new Pair<>(factor, i));
-                realRoots.add(Real.root(factor::signum, factorIsolatingIntervals.get(i)));
-                isolatingIntervals.add(factorIsolatingIntervals.get(i));
-                rootCounts.add(factorRootCount);
-            }
-        }
-        int matchIndex = realValue().multiply(that.realValue()).match(realRoots);
-        Pair<Polynomial, Integer> pair = polyRootPairs.get(matchIndex);
-        productMP = pair.a;
-        if (productMP.degree() == 1) {
-            return of(Rational.of(productMP.coefficient(0).negate(), productMP.coefficient(1)));
-        }
-        int productRootIndex = pair.b;
-        return new Algebraic(
-                productMP,
-                productRootIndex,
-                isolatingIntervals.get(matchIndex),
-                rootCounts.get(matchIndex)
+        return fromFactors(
+                factors,
+                tightestInterval.get().multiply(that.tightestInterval.get()),
+                t -> refineTightestInterval().multiply(that.refineTightestInterval())
         );
     }
 
@@ -2185,7 +2504,12 @@ public final class Algebraic implements Comparable<Algebraic> {
                     return -1;
                 } else if (negativeSize == 0) {
                     return 1;
-                } else if (positiveSize < negativeSize) {
+                }
+                Optional<Integer> intervalSign = sumSignByIntervals(toList(concat(positives, negatives)));
+                if (intervalSign.isPresent()) {
+                    return intervalSign.get();
+                }
+                if (positiveSize < negativeSize) {
                     Algebraic positiveSum = sum(positives).negate();
                     Algebraic negativeSum = ZERO;
                     for (Algebraic negative : negatives) {
@@ -2205,6 +2529,239 @@ public final class Algebraic implements Comparable<Algebraic> {
         }
     }
 
+    /**
+     * Tries to determine the sign of the sum of a {@code List} of {@code Algebraic}s from intervals alone, without
+     * computing the sum. The summands' intervals are bisected, widest first, until the interval containing the sum
+     * excludes zero. If the sum is nonzero, it is a root of an integer polynomial of degree at most D=Πdeg(x) and
+     * Mahler measure at most n<sup>D</sup>Π‖p<sub>x</sub>‖<sub>1</sub><sup>D/deg(x)</sup>, where n is the number of
+     * summands and p<sub>x</sub> is the minimal polynomial of x. So its absolute value is at least the reciprocal of
+     * that bound, and once the sum's interval lies strictly closer to zero than that, the sum is zero. If neither
+     * happens before every interval is narrower than 2<sup>–{@code SUM_SIGN_PRECISION_LIMIT}</sup>, the result is
+     * empty.
+     *
+     * <ul>
+     *  <li>{@code xs} cannot be empty or contain nulls.</li>
+     *  <li>The result is empty, or contains –1, 0, or 1.</li>
+     * </ul>
+     *
+     * @param xs a {@code List} of {@code Algebraic}s
+     * @return sgn(Σxs), if it could be determined
+     */
+    private static @NotNull Optional<Integer> sumSignByIntervals(@NotNull List<Algebraic> xs) {
+        long degreeProduct = 1;
+        for (Algebraic x : xs) {
+            degreeProduct *= x.degree();
+            if (degreeProduct > SUM_SIGN_PRECISION_LIMIT) break;
+        }
+        Rational zeroBound = null;
+        if (degreeProduct <= SUM_SIGN_PRECISION_LIMIT) {
+            long separationBits = degreeProduct * (32 - Integer.numberOfLeadingZeros(xs.size()));
+            for (Algebraic x : xs) {
+                int degree = x.degree();
+                int normBits = x.minimalPolynomial.maxCoefficientBitLength() +
+                        32 - Integer.numberOfLeadingZeros(degree + 1);
+                separationBits += degreeProduct / degree * normBits;
+            }
+            if (separationBits <= SUM_SIGN_PRECISION_LIMIT) {
+                zeroBound = Rational.ONE.shiftRight((int) separationBits);
+            }
+        }
+        Rational precisionLimit = Rational.ONE.shiftRight(SUM_SIGN_PRECISION_LIMIT);
+        while (true) {
+            Interval sum = Interval.ZERO;
+            Algebraic widest = null;
+            Rational widestDiameter = null;
+            for (Algebraic x : xs) {
+                Interval interval = x.tightestInterval.get();
+                sum = sum.add(interval);
+                Rational diameter = interval.diameter().get();
+                if (widest == null || gt(diameter, widestDiameter)) {
+                    widest = x;
+                    widestDiameter = diameter;
+                }
+            }
+            Rational lower = sum.getLower().get();
+            Rational upper = sum.getUpper().get();
+            if (lower.signum() == 1) return Optional.of(1);
+            if (upper.signum() == -1) return Optional.of(-1);
+            if (zeroBound != null && lt(lower.negate(), zeroBound) && lt(upper, zeroBound)) return Optional.of(0);
+            if (lt(widestDiameter, precisionLimit)) return Optional.empty();
+            widest.refineTightestInterval();
+        }
+    }
+
+    /**
+     * Returns the sum of all the {@code Algebraic}s in {@code xs}, computed in a single field. Rational summands are
+     * added exactly, equal or opposite irrational summands are combined, and the remaining irrational summands are
+     * adjoined to one field (see {@link NumberField#primitiveElement(List)}), where their sum is a linear combination
+     * of residues. The result then needs one minimal polynomial and one root matching, instead of one of each per
+     * addition as in {@link Algebraic#sum(List)}.
+     *
+     * <ul>
+     *  <li>{@code xs} may not contain any nulls.</li>
+     *  <li>The result may be any {@code Algebraic}.</li>
+     * </ul>
+     *
+     * @param xs a {@code List} of {@code Algebraic}s
+     * @return Σxs
+     */
+    public static @NotNull Algebraic sumAll(@NotNull List<Algebraic> xs) {
+        if (any(Objects::isNull, xs)) {
+            throw new NullPointerException();
+        }
+        Rational rationalSum = Rational.ZERO;
+        Map<Algebraic, Integer> multiplicities = new LinkedHashMap<>();
+        for (Algebraic x : xs) {
+            if (x.rational.isPresent()) {
+                rationalSum = rationalSum.add(x.rational.get());
+            } else {
+                Algebraic negativeX = x.negate();
+                if (multiplicities.containsKey(negativeX)) {
+                    multiplicities.merge(negativeX, -1, Integer::sum);
+                } else {
+                    multiplicities.merge(x, 1, Integer::sum);
+                }
+            }
+        }
+        multiplicities.values().removeIf(m -> m == 0);
+        if (multiplicities.isEmpty()) {
+            return of(rationalSum);
+        }
+        List<Algebraic> summands = new ArrayList<>(multiplicities.keySet());
+        Pair<NumberField, List<RationalPolynomial>> primitive = NumberField.primitiveElement(summands);
+        RationalPolynomial sum = RationalPolynomial.of(rationalSum);
+        for (int i = 0; i < summands.size(); i++) {
+            sum = sum.add(primitive.b.get(i).multiply(multiplicities.get(summands.get(i))));
+        }
+        return primitive.a.toAlgebraic(sum);
+    }
+
+    /**
+     * Sorts a {@code List} of {@code Algebraic}s. Instead of comparing pairs, which may refine the same intervals
+     * repeatedly, equal elements are grouped together and the distinct elements' tightest intervals are refined in
+     * rounds. In each round, the intervals are ordered by their lower bounds and swept once; only the elements whose
+     * intervals overlap another interval are bisected. Once all intervals are disjoint, their order is the order of
+     * the elements.
+     *
+     * <ul>
+     *  <li>{@code xs} may not contain any nulls.</li>
+     *  <li>The result is a sorted permutation of {@code xs}.</li>
+     * </ul>
+     *
+     * @param xs a {@code List} of {@code Algebraic}s
+     * @return {@code xs}, sorted in ascending order
+     */
+    public static @NotNull List<Algebraic> sortAll(@NotNull List<Algebraic> xs) {
+        if (any(Objects::isNull, xs)) {
+            throw new NullPointerException();
+        }
+        Map<Algebraic, List<Algebraic>> equalElements = new LinkedHashMap<>();
+        for (Algebraic x : xs) {
+            equalElements.computeIfAbsent(x, k -> new ArrayList<>()).add(x);
+        }
+        List<Algebraic> distinct = new ArrayList<>(equalElements.keySet());
+        while (true) {
+            // take a snapshot, since other threads may narrow the intervals while sorting
+            List<Pair<Algebraic, Interval>> snapshot =
+                    toList(map(x -> new Pair<>(x, x.tightestInterval.get()), distinct));
+            snapshot.sort(Comparator.comparing(p -> p.b.getLower().get()));
+            Set<Algebraic> ambiguous = Collections.newSetFromMap(new IdentityHashMap<>());
+            // the element whose interval reaches furthest to the right so far
+            Pair<Algebraic, Interval> reach = null;
+            for (Pair<Algebraic, Interval> p : snapshot) {
+                if (reach != null && le(p.b.getLower().get(), reach.b.getUpper().get())) {
+                    ambiguous.add(reach.a);
+                    ambiguous.add(p.a);
+                }
+                if (reach == null || gt(p.b.getUpper().get(), reach.b.getUpper().get())) {
+                    reach = p;
+                }
+            }
+            if (ambiguous.isEmpty()) {
+                List<Algebraic> sorted = new ArrayList<>();
+                for (Pair<Algebraic, Interval> p : snapshot) {
+                    sorted.addAll(equalElements.get(p.a));
+                }
+                return sorted;
+            }
+            for (Algebraic x : ambiguous) {
+                x.refineTightestInterval();
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest and largest elements of a {@code List} of {@code Algebraic}s. Each is found by refining, in
+     * rounds, only the intervals of the elements that can still be extremal.
+     *
+     * <ul>
+     *  <li>{@code xs} cannot be empty and may not contain any nulls.</li>
+     *  <li>The result is a pair whose first element is less than or equal to its second.</li>
+     * </ul>
+     *
+     * @param xs a {@code List} of {@code Algebraic}s
+     * @return (min({@code xs}), max({@code xs}))
+     */
+    public static @NotNull Pair<Algebraic, Algebraic> minMax(@NotNull List<Algebraic> xs) {
+        if (any(Objects::isNull, xs)) {
+            throw new NullPointerException();
+        }
+        if (xs.isEmpty()) {
+            throw new IllegalArgumentException("xs cannot be empty.");
+        }
+        return new Pair<>(extremum(xs, false), extremum(xs, true));
+    }
+
+    /**
+     * Returns the smallest or largest element of a {@code List} of {@code Algebraic}s. In each round, elements whose
+     * intervals lie entirely beyond another element's interval are discarded. If the remaining elements share a
+     * minimal polynomial, the extremum is the one with the smallest or largest root index; otherwise, the remaining
+     * elements' intervals are bisected.
+     *
+     * <ul>
+     *  <li>{@code xs} cannot be empty or contain nulls.</li>
+     *  <li>The result is an element of {@code xs}.</li>
+     * </ul>
+     *
+     * @param xs a {@code List} of {@code Algebraic}s
+     * @param max whether to find the maximum rather than the minimum
+     * @return max({@code xs}) if {@code max}, min({@code xs}) otherwise
+     */
+    private static @NotNull Algebraic extremum(@NotNull List<Algebraic> xs, boolean max) {
+        List<Algebraic> candidates = xs;
+        while (true) {
+            List<Interval> intervals = toList(map(x -> x.tightestInterval.get(), candidates));
+            Rational bound = null;
+            for (Interval interval : intervals) {
+                Rational nearBound = max ? interval.getLower().get() : interval.getUpper().get();
+                if (bound == null || (max ? gt(nearBound, bound) : lt(nearBound, bound))) {
+                    bound = nearBound;
+                }
+            }
+            List<Algebraic> remaining = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                Interval interval = intervals.get(i);
+                if (max ? ge(interval.getUpper().get(), bound) : le(interval.getLower().get(), bound)) {
+                    remaining.add(candidates.get(i));
+                }
+            }
+            candidates = remaining;
+            Algebraic first = head(candidates);
+            if (all(x -> x.minimalPolynomial.equals(first.minimalPolynomial), candidates)) {
+                Algebraic extremum = first;
+                for (Algebraic x : candidates) {
+                    if (max ? x.rootIndex > extremum.rootIndex : x.rootIndex < extremum.rootIndex) {
+                        extremum = x;
+                    }
+                }
+                return extremum;
+            }
+            for (Algebraic x : candidates) {
+                x.refineTightestInterval();
+            }
+        }
+    }
+
     /**
      * Returns the differences between successive {@code Algebraic}s in {@code xs}. If {@code xs} contains a single
      * {@code Algebraic}, an empty {@code Iterable} is returned. {@code xs} cannot be empty. Does not support removal.
@@ -2275,13 +2832,9 @@ public final class Algebraic implements Comparable<Algebraic> {
             return new Algebraic(powerMp, powerRootIndex, powerIsolatingInterval, powerRootCount);
         }
 
-        Algebraic result = ONE;
-        Algebraic powerPower = null; // p^2^i
-        for (boolean bit : IntegerUtils.bits(p)) {
-            powerPower = powerPower == null ? this : powerPower.multiply(powerPower);
-            if (bit) result = result.multiply(powerPower);
-        }
-        return result;
+        // computing in Q(this) needs one characteristic polynomial instead of a resultant and factorization per step
+        NumberField field = NumberField.of(this);
+        return field.toAlgebraic(field.pow(RationalPolynomial.X, p));
     }
 
     /**
@@ -2638,7 +3191,32 @@ public final class Algebraic implements Comparable<Algebraic> {
                 }
             };
         } else {
-            return realValue().continuedFractionUnsafe();
+            // Akritas's method: each term is the floor of the root x of p in interval, found by evaluating the signs
+            // of p at integers, and then 1/(x–term) is the root of p(1/x+term)x^deg(p) in the transformed interval
+            return () -> new Iterator<BigInteger>() {
+                private @NotNull Polynomial p = minimalPolynomial;
+                private @NotNull Interval interval = tightestInterval.get();
+
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public BigInteger next() {
+                    BigInteger term = floorOfIsolatedRoot(p, interval);
+                    Rational r = Rational.of(term);
+                    Rational lower = max(interval.getLower().get(), r).subtract(r);
+                    Rational upper = interval.getUpper().isPresent() ?
+                            min(interval.getUpper().get(), r.add(Rational.ONE)).subtract(r) :
+                            Rational.ONE;
+                    p = p.translate(term.negate()).invertRoots();
+                    interval = lower == Rational.ZERO ?
+                            Interval.greaterThanOrEqualTo(upper.invert()) :
+                            Interval.of(upper.invert(), lower.invert());
+                    return term;
+                }
+            };
         }
     }
 
@@ -2781,7 +3359,33 @@ public final class Algebraic implements Comparable<Algebraic> {
      * @return the convergents of {@code this}.
      */
     public @NotNull Iterable<Rational> convergents() {
-        return map(Rational::fromContinuedFraction, tail(inits(continuedFraction())));
+        if (rational.isPresent()) {
+            return rational.get().convergents();
+        }
+        return () -> new Iterator<Rational>() {
+            private final @NotNull Iterator<BigInteger> terms = continuedFraction().iterator();
+            private @NotNull BigInteger previousNumerator = BigInteger.ZERO;
+            private @NotNull BigInteger previousDenominator = BigInteger.ONE;
+            private @NotNull BigInteger numerator = BigInteger.ONE;
+            private @NotNull BigInteger denominator = BigInteger.ZERO;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Rational next() {
+                BigInteger term = terms.next();
+                BigInteger nextNumerator = term.multiply(numerator).add(previousNumerator);
+                BigInteger nextDenominator = term.multiply(denominator).add(previousDenominator);
+                previousNumerator = numerator;
+                previousDenominator = denominator;
+                numerator = nextNumerator;
+                denominator = nextDenominator;
+                return Rational.of(numerator, denominator);
+            }
+        };
     }
 
     /**
@@ -2913,9 +3517,20 @@ public final class Algebraic implements Comparable<Algebraic> {
     public @NotNull String toStringBase(@NotNull BigInteger base, int scale) {
         if (rational.isPresent()) {
             return rational.get().toStringBase(base, scale);
-        } else {
-            return realValue().toStringBaseUnsafe(base, scale);
         }
+        if (lt(base, IntegerUtils.TWO)) {
+            throw new IllegalArgumentException("base must be at least 2. Invalid base: " + base);
+        }
+        BigInteger power = base.pow(scale >= 0 ? scale : -scale);
+        Rational stretch = scale >= 0 ? Rational.of(power) : Rational.of(BigInteger.ONE, power);
+        BigInteger floor = floorOfIsolatedRoot(
+                minimalPolynomial.positivePrimitiveStretch(stretch),
+                tightestInterval.get().multiply(stretch)
+        );
+        Rational truncated = Rational.of(floor.signum() == -1 ? floor.add(BigInteger.ONE) : floor);
+        truncated = scale >= 0 ? truncated.divide(power) : truncated.multiply(power);
+        String result = truncated.toStringBase(base);
+        return scale > 0 ? Real.appendEllipsis(result, base, scale) : result;
     }
 
     /**
@@ -2981,6 +3596,11 @@ public final class Algebraic implements Comparable<Algebraic> {
         if (minimalPolynomial.equals(that.minimalPolynomial)) {
             return Integer.compare(rootIndex, that.rootIndex);
         }
+        Interval thisInterval = tightestInterval.get();
+        Interval thatInterval = that.tightestInterval.get();
+        if (thisInterval.disjoint(thatInterval)) {
+            return thisInterval.getLower().get().compareTo(thatInterval.getLower().get());
+        }
         if (rational.isPresent() && that.rational.isPresent()) {
             return rational.get().compareTo(that.rational.get());
         } else if (rational.isPresent()) {
@@ -1,13 +1,17 @@
 package mho.qbar.objects;
 
+import jas.arith.PrimeTable;
 import mho.wheels.io.Readers;
 import mho.wheels.iterables.ExhaustiveProvider;
 import mho.wheels.iterables.IterableUtils;
 import mho.wheels.iterables.NoRemoveIterable;
 import mho.wheels.ordering.Ordering;
 import mho.wheels.ordering.comparators.LexComparator;
+import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
 import org.jetbrains.annotations.NotNull;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
 
@@ -28,6 +32,31 @@ public final class Matrix implements Comparable<Matrix> {
      */
     private static final Comparator<Iterable<Vector>> VECTOR_ITERABLE_COMPARATOR = new LexComparator<>();
 
+    /**
+     * The number of primes tried by modular algorithms, such as {@link Matrix#solveNonsingularDixon(Matrix)}, before
+     * they conclude that a matrix is probably singular
+     */
+    private static final int MODULAR_PRIME_ATTEMPTS = 3;
+
+    /**
+     * The size-reduction parameter used by {@link Matrix#lllReduceFloatingPoint(Rational)}. It is slightly larger
+     * than 1/2 to absorb floating-point error.
+     */
+    private static final double LLL_ETA = 0.51;
+
+    /**
+     * The number of consecutive size-reduction passes on a single row after which
+     * {@link Matrix#lllReduceFloatingPoint(Rational)} concludes that {@code double} precision is insufficient
+     */
+    private static final int LLL_SIZE_REDUCTION_PASSES = 64;
+
+    /**
+     * Bounds the number of iterations of {@link Matrix#lllReduceFloatingPoint(Rational)} as a multiple of the
+     * dimension squared times the bit length of the largest element; the number of swaps in LLL is bounded by a
+     * quantity of this order.
+     */
+    private static final int LLL_ITERATIONS_PER_BIT = 4;
+
     /**
      * The matrix's rows
      */
@@ -1088,7 +1117,8 @@ public final class Matrix implements Comparable<Matrix> {
      * variables, and its <i>j</i>th element is the value of the <i>j</i>th variable.
      *
      * This method differs from {@link Matrix#solveLinearSystemPermissive(Vector)} in that it returns empty on
-     * underdetermined systems (systems with infinitely many solutions).
+     * underdetermined systems (systems with infinitely many solutions). Square systems are solved by p-adic lifting;
+     * see {@link Matrix#solveLinearSystem(Matrix)}.
      *
      * <ul>
      *  <li>{@code this} may be any {@code Matrix}.</li>
@@ -1108,6 +1138,10 @@ public final class Matrix implements Comparable<Matrix> {
                     rhs + ", this: " + this);
         }
         if (width > height()) return Optional.empty();
+        if (width == height() && width != 0) {
+            Optional<RationalMatrix> solution = solveNonsingularDixon(fromColumns(Collections.singletonList(rhs)));
+            if (solution.isPresent()) return Optional.of(solution.get().column(0));
+        }
         Matrix rref = augment(fromColumns(Collections.singletonList(rhs))).reducedRowEchelonForm();
         Matrix bottom;
         if (width == height()) {
@@ -1131,6 +1165,217 @@ public final class Matrix implements Comparable<Matrix> {
         return Optional.of(RationalVector.of(result));
     }
 
+    /**
+     * Solves several linear systems of equations that share their coefficients. If this is a matrix with <i>n</i>
+     * rows and <i>m</i> columns and {@code rhs} has <i>k</i> columns, then the result is the <i>m</i>×<i>k</i> matrix
+     * whose <i>c</i>th column is the solution of the system whose right-hand side is the <i>c</i>th column of
+     * {@code rhs}. If any of the systems is inconsistent or underdetermined, the result is empty; otherwise, it is
+     * non-empty. Square systems are solved for all right-hand sides at once by p-adic lifting (Dixon 1982), which
+     * avoids the coefficient growth of elimination over ℚ.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>{@code rhs} may be any {@code Matrix}.</li>
+     *  <li>The height of {@code rhs} must equal the height of {@code this}.</li>
+     *  <li>The result may be empty or any {@code RationalMatrix}.</li>
+     * </ul>
+     *
+     * Size is width({@code this})×width({@code rhs})
+     *
+     * @param rhs the right-hand sides of the systems of equations, as columns
+     * @return The assignments to the variables in the equations, as columns
+     */
+    public @NotNull Optional<RationalMatrix> solveLinearSystem(@NotNull Matrix rhs) {
+        if (height() != rhs.height()) {
+            throw new IllegalArgumentException("The height of rhs must equal the height of this. rhs: " +
+                    rhs + ", this: " + this);
+        }
+        if (width > height()) return Optional.empty();
+        if (width == height() && width != 0) {
+            Optional<RationalMatrix> solution = solveNonsingularDixon(rhs);
+            if (solution.isPresent()) return solution;
+        }
+        if (rhs.width == 0) {
+            return rank() == width ? Optional.of(RationalMatrix.zero(width, 0)) : Optional.empty();
+        }
+        List<RationalVector> columns = new ArrayList<>();
+        for (Vector column : rhs.columns()) {
+            Optional<RationalVector> solution = solveLinearSystem(column);
+            if (!solution.isPresent()) return Optional.empty();
+            columns.add(solution.get());
+        }
+        return Optional.of(
+                width == 0 ? RationalMatrix.zero(0, rhs.width) : RationalMatrix.fromColumns(columns)
+        );
+    }
+
+    /**
+     * Solves {@code this}·X={@code rhs} using Dixon's p-adic lifting. {@code this} is inverted once modulo a
+     * word-size prime <i>p</i>; then the solution's <i>p</i>-adic digits are computed one at a time from the exact
+     * integer residuals, until <i>p</i><sup>k</sup> exceeds twice the product of the Hadamard bounds on the
+     * numerators and denominator from Cramer's rule. Finally, each entry is recovered by rational reconstruction.
+     * Returns empty if {@code this} is singular modulo each of the primes tried, which happens whenever {@code this}
+     * is singular.
+     *
+     * <ul>
+     *  <li>{@code this} must be square and nonempty.</li>
+     *  <li>The height of {@code rhs} must equal the height of {@code this}.</li>
+     *  <li>The result is empty or the unique solution of the system.</li>
+     * </ul>
+     *
+     * Size is width({@code this})×width({@code rhs})
+     *
+     * @param rhs the right-hand sides of the systems of equations, as columns
+     * @return X such that {@code this}·X={@code rhs}
+     */
+    private @NotNull Optional<RationalMatrix> solveNonsingularDixon(@NotNull Matrix rhs) {
+        int n = width;
+        int k = rhs.width;
+        long p = 0;
+        Optional<long[][]> oInverse = Optional.empty();
+        for (int attempt = 0; attempt < MODULAR_PRIME_ATTEMPTS; attempt++) {
+            p = PrimeTable.INT.prime(attempt);
+            oInverse = invertModPrime(p);
+            if (oInverse.isPresent()) break;
+        }
+        if (!oInverse.isPresent()) return Optional.empty();
+        long[][] inverse = oInverse.get();
+        BigInteger bigP = BigInteger.valueOf(p);
+
+        BigInteger squaredDenominatorBound = BigInteger.ONE;
+        BigInteger squaredNumeratorBound = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            BigInteger rowSquaredLength = rows.get(i).squaredLength();
+            BigInteger maxRhsSquare = BigInteger.ZERO;
+            for (int c = 0; c < k; c++) {
+                maxRhsSquare = maxRhsSquare.max(rhs.get(i, c).pow(2));
+            }
+            squaredDenominatorBound = squaredDenominatorBound.multiply(rowSquaredLength);
+            squaredNumeratorBound = squaredNumeratorBound.multiply(rowSquaredLength.add(maxRhsSquare));
+        }
+        BigInteger numeratorBound = BigInteger.ONE.shiftLeft((squaredNumeratorBound.bitLength() + 1) / 2);
+        BigInteger denominatorBound = BigInteger.ONE.shiftLeft((squaredDenominatorBound.bitLength() + 1) / 2);
+        BigInteger modulusLowerBound = numeratorBound.multiply(denominatorBound).shiftLeft(1);
+
+        BigInteger[][] residuals = new BigInteger[n][k];
+        BigInteger[][] lifted = new BigInteger[n][k];
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < k; c++) {
+                residuals[i][c] = rhs.get(i, c);
+                lifted[i][c] = BigInteger.ZERO;
+            }
+        }
+        long[] residualModP = new long[n];
+        long[] digits = new long[n];
+        BigInteger modulus = BigInteger.ONE;
+        while (Ordering.le(modulus, modulusLowerBound)) {
+            for (int c = 0; c < k; c++) {
+                for (int i = 0; i < n; i++) {
+                    residualModP[i] = residuals[i][c].mod(bigP).longValue();
+                }
+                for (int j = 0; j < n; j++) {
+                    long digit = 0;
+                    long[] inverseRow = inverse[j];
+                    for (int i = 0; i < n; i++) {
+                        digit = (digit + inverseRow[i] * residualModP[i]) % p;
+                    }
+                    digits[j] = digit;
+                    if (digit != 0) {
+                        lifted[j][c] = lifted[j][c].add(modulus.multiply(BigInteger.valueOf(digit)));
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    Vector row = rows.get(i);
+                    BigInteger residual = residuals[i][c];
+                    for (int j = 0; j < n; j++) {
+                        if (digits[j] != 0) {
+                            residual = residual.subtract(row.get(j).multiply(BigInteger.valueOf(digits[j])));
+                        }
+                    }
+                    residuals[i][c] = residual.divide(bigP);
+                }
+            }
+            modulus = modulus.multiply(bigP);
+        }
+
+        List<RationalVector> solutionRows = new ArrayList<>();
+        for (int j = 0; j < n; j++) {
+            List<Rational> solutionRow = new ArrayList<>();
+            for (int c = 0; c < k; c++) {
+                Optional<Rational> entry =
+                        Rational.reconstruct(lifted[j][c], modulus, numeratorBound, denominatorBound);
+                if (!entry.isPresent()) {
+                    throw new IllegalStateException("Rational reconstruction failed. this: " + this + ", rhs: " +
+                            rhs);
+                }
+                solutionRow.add(entry.get());
+            }
+            solutionRows.add(RationalVector.of(solutionRow));
+        }
+        return Optional.of(k == 0 ? RationalMatrix.zero(n, 0) : RationalMatrix.fromRows(solutionRows));
+    }
+
+    /**
+     * Returns the inverse of {@code this} modulo the prime {@code p}, with every element in [0, {@code p}), or empty
+     * if {@code this} is singular modulo {@code p}. The inverse is computed by Gauss-Jordan elimination on
+     * {@code long}s.
+     *
+     * <ul>
+     *  <li>{@code this} must be square.</li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     *  <li>The result is empty or a square array of residues modulo {@code p}.</li>
+     * </ul>
+     *
+     * @param p the modulus
+     * @return {@code this}<sup>–1</sup> mod {@code p}
+     */
+    private @NotNull Optional<long[][]> invertModPrime(long p) {
+        int n = width;
+        BigInteger bigP = BigInteger.valueOf(p);
+        long[][] left = new long[n][n];
+        long[][] right = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            Vector row = rows.get(i);
+            for (int j = 0; j < n; j++) {
+                left[i][j] = row.get(j).mod(bigP).longValue();
+            }
+            right[i][i] = 1;
+        }
+        for (int j = 0; j < n; j++) {
+            int pivotIndex = j;
+            while (left[pivotIndex][j] == 0) {
+                pivotIndex++;
+                if (pivotIndex == n) return Optional.empty();
+            }
+            if (pivotIndex != j) {
+                long[] temp = left[j];
+                left[j] = left[pivotIndex];
+                left[pivotIndex] = temp;
+                temp = right[j];
+                right[j] = right[pivotIndex];
+                right[pivotIndex] = temp;
+            }
+            long pivotInverse = BigInteger.valueOf(left[j][j]).modInverse(bigP).longValue();
+            long[] pivotLeft = left[j];
+            long[] pivotRight = right[j];
+            for (int l = 0; l < n; l++) {
+                pivotLeft[l] = pivotLeft[l] * pivotInverse % p;
+                pivotRight[l] = pivotRight[l] * pivotInverse % p;
+            }
+            for (int i = 0; i < n; i++) {
+                if (i == j || left[i][j] == 0) continue;
+                long factor = p - left[i][j];
+                long[] rowLeft = left[i];
+                long[] rowRight = right[i];
+                for (int l = 0; l < n; l++) {
+                    rowLeft[l] = (rowLeft[l] + factor * pivotLeft[l]) % p;
+                    rowRight[l] = (rowRight[l] + factor * pivotRight[l]) % p;
+                }
+            }
+        }
+        return Optional.of(right);
+    }
+
     /**
      * Solves a linear system of equations. If this is a matrix with <i>n</i> rows and <i>m</i> columns, then the
      * system contains <i>n</i> equations in <i>m</i> variables, and the entry (<i>i</i>, <i>j</i>) is the coefficient
@@ -1282,6 +1527,1094 @@ public final class Matrix implements Comparable<Matrix> {
         return swapSign ? determinant : determinant.negate();
     }
 
+    /**
+     * Determines whether {@code this} is in Hermite normal form; whether it is in row echelon form (see
+     * {@link Matrix#isInRowEchelonForm()}), every leading element is positive, and every element above a leading
+     * element is non-negative and less than that leading element.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>The result may be either {@code boolean}.</li>
+     * </ul>
+     *
+     * @return whether {@code this} is in Hermite normal form
+     */
+    public boolean isInHermiteNormalForm() {
+        if (!isInRowEchelonForm()) return false;
+        for (int i = 0; i < height(); i++) {
+            Vector row = row(i);
+            Optional<Integer> oi = findIndex(x -> !x.equals(BigInteger.ZERO), row);
+            if (!oi.isPresent()) break;
+            int pivotIndex = oi.get();
+            BigInteger pivot = row.get(pivotIndex);
+            if (pivot.signum() != 1) return false;
+            for (int j = 0; j < i; j++) {
+                BigInteger abovePivot = get(j, pivotIndex);
+                if (abovePivot.signum() == -1 || Ordering.ge(abovePivot, pivot)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the Hermite normal form of {@code this}: the unique matrix in Hermite normal form (see
+     * {@link Matrix#isInHermiteNormalForm()}) whose rows generate the same lattice as the rows of {@code this}. If the
+     * rows of {@code this} span a full-rank lattice, the computation is done modulo a multiple of the lattice's
+     * determinant (Domich, Kannan, and Trotter 1987), so that intermediate elements stay bounded; otherwise,
+     * unimodular row operations are applied to the exact elements.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>The result is in Hermite normal form.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @return the Hermite normal form of {@code this}
+     */
+    public @NotNull Matrix hermiteNormalForm() {
+        if (height() == 0 || width == 0) return this;
+        Optional<BigInteger> determinantMultiple = latticeDeterminantMultiple();
+        BigInteger[][] hnf = determinantMultiple.isPresent() ?
+                hermiteNormalFormModular(toArray(), width, determinantMultiple.get()) :
+                hermiteNormalFormClassical(toArray(), width, null);
+        return fromArray(hnf, width);
+    }
+
+    /**
+     * Returns the Hermite normal form H of {@code this} (see {@link Matrix#hermiteNormalForm()}), together with a
+     * unimodular matrix U such that U·{@code this}=H. If {@code this} is invertible, U is unique and is recovered as
+     * H·{@code this}<sup>–1</sup>, so only H needs to be computed by row operations; otherwise, the row operations are
+     * applied to the exact elements, and U is one of many possible transforms.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>The result's first element is in Hermite normal form, and its second is a square matrix with determinant
+     *  ±1.</li>
+     * </ul>
+     *
+     * @return (H, U)
+     */
+    public @NotNull Pair<Matrix, Matrix> hermiteNormalFormWithTransform() {
+        int height = height();
+        if (height == 0 || width == 0) return new Pair<>(this, identity(height));
+        if (width == height) {
+            Matrix hnf = hermiteNormalForm();
+            if (!hnf.row(height - 1).isZero()) {
+                RationalMatrix transposedTransform = transpose().solveLinearSystem(hnf.transpose()).get();
+                return new Pair<>(hnf, transposedTransform.transpose().toMatrix());
+            }
+        }
+        BigInteger[][] transform = identity(height).toArray();
+        BigInteger[][] hnf = hermiteNormalFormClassical(toArray(), width, transform);
+        return new Pair<>(fromArray(hnf, width), fromArray(transform, height));
+    }
+
+    /**
+     * Determines whether {@code this} is in Smith normal form; whether every element off the main diagonal is zero,
+     * every diagonal element is non-negative, and every diagonal element divides the next one.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>The result may be either {@code boolean}.</li>
+     * </ul>
+     *
+     * @return whether {@code this} is in Smith normal form
+     */
+    public boolean isInSmithNormalForm() {
+        int height = height();
+        for (int i = 0; i < height; i++) {
+            Vector row = rows.get(i);
+            for (int j = 0; j < width; j++) {
+                BigInteger x = row.get(j);
+                if (i == j ? x.signum() == -1 : x.signum() != 0) return false;
+            }
+        }
+        int size = Math.min(height, width);
+        for (int i = 1; i < size; i++) {
+            BigInteger previous = get(i - 1, i - 1);
+            BigInteger x = get(i, i);
+            if (previous.signum() == 0 ? x.signum() != 0 : x.mod(previous).signum() != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the Smith normal form of {@code this}: the unique matrix S in Smith normal form (see
+     * {@link Matrix#isInSmithNormalForm()}) such that U·{@code this}·V=S for some unimodular U and V. The nonzero rows
+     * of the Hermite normal form of {@code this} (or of their transpose, if they do not span a full-rank lattice) are
+     * reduced to a nonsingular triangular matrix T, which is then diagonalized modulo det(T), so that intermediate
+     * elements stay bounded.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>The result is in Smith normal form.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @return the Smith normal form of {@code this}
+     */
+    public @NotNull Matrix smithNormalForm() {
+        int height = height();
+        if (height == 0 || width == 0) return this;
+        Matrix hnf = hermiteNormalForm();
+        int rank = 0;
+        while (rank < height && !hnf.rows.get(rank).isZero()) {
+            rank++;
+        }
+        BigInteger[][] snf = zero(height, width).toArray();
+        if (rank != 0) {
+            List<Integer> rankRange = toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, rank - 1));
+            Matrix basis = hnf.submatrix(rankRange, toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, width - 1)));
+            Matrix triangular = rank == width ?
+                    basis :
+                    basis.transpose().hermiteNormalForm().submatrix(rankRange, rankRange);
+            List<BigInteger> invariantFactors = triangular.triangularInvariantFactors();
+            for (int i = 0; i < rank; i++) {
+                snf[i][i] = invariantFactors.get(i);
+            }
+        }
+        return fromArray(snf, width);
+    }
+
+    /**
+     * Returns the Smith normal form S of {@code this} (see {@link Matrix#smithNormalForm()}), together with unimodular
+     * matrices U and V such that U·{@code this}·V=S. Unimodular row and column operations are applied to the exact
+     * elements, with a pivot of smallest absolute value chosen at each step.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>The result's first element is in Smith normal form, and its second and third elements are square matrices
+     *  with determinant ±1.</li>
+     * </ul>
+     *
+     * @return (S, U, V)
+     */
+    public @NotNull Triple<Matrix, Matrix, Matrix> smithNormalFormWithTransforms() {
+        int height = height();
+        BigInteger[][] snf = toArray();
+        BigInteger[][] rowTransform = identity(height).toArray();
+        BigInteger[][] columnTransform = identity(width).toArray();
+        int size = Math.min(height, width);
+        for (int s = 0; s < size; s++) {
+            int pivotRow = -1;
+            int pivotColumn = -1;
+            for (int i = s; i < height; i++) {
+                for (int j = s; j < width; j++) {
+                    BigInteger x = snf[i][j];
+                    if (x.signum() != 0 && (pivotRow == -1 || Ordering.lt(x.abs(), snf[pivotRow][pivotColumn].abs()))) {
+                        pivotRow = i;
+                        pivotColumn = j;
+                    }
+                }
+            }
+            if (pivotRow == -1) break;
+            swapRows(snf, rowTransform, s, pivotRow);
+            swapColumns(snf, columnTransform, s, pivotColumn);
+            while (true) {
+                for (int k = s + 1; k < height; k++) {
+                    if (snf[k][s].signum() != 0) {
+                        combineRows(snf, rowTransform, s, k, s, null);
+                    }
+                }
+                boolean pivotChanged = false;
+                for (int l = s + 1; l < width; l++) {
+                    if (snf[s][l].signum() != 0 && combineColumns(snf, columnTransform, s, l, s, null)) {
+                        pivotChanged = true;
+                    }
+                }
+                if (pivotChanged) continue;
+                int indivisibleRow = -1;
+                BigInteger pivot = snf[s][s];
+                for (int k = s + 1; indivisibleRow == -1 && k < height; k++) {
+                    for (int l = s + 1; l < width; l++) {
+                        if (snf[k][l].remainder(pivot).signum() != 0) {
+                            indivisibleRow = k;
+                            break;
+                        }
+                    }
+                }
+                if (indivisibleRow == -1) break;
+                for (int l = s; l < width; l++) {
+                    snf[s][l] = snf[s][l].add(snf[indivisibleRow][l]);
+                }
+                for (int l = 0; l < height; l++) {
+                    rowTransform[s][l] = rowTransform[s][l].add(rowTransform[indivisibleRow][l]);
+                }
+            }
+            if (snf[s][s].signum() == -1) {
+                negateRow(snf[s]);
+                negateRow(rowTransform[s]);
+            }
+        }
+        return new Triple<>(fromArray(snf, width), fromArray(rowTransform, height), fromArray(columnTransform, width));
+    }
+
+    /**
+     * Determines whether the rows of {@code this} form an LLL-reduced basis with parameter {@code delta}. Let
+     * b<sub>0</sub>, b<sub>1</sub>, … be the rows, b*<sub>0</sub>, b*<sub>1</sub>, … their Gram-Schmidt
+     * orthogonalization, and μ<sub><i>i</i>,<i>j</i></sub>=b<sub><i>i</i></sub>·b*<sub><i>j</i></sub>/
+     * |b*<sub><i>j</i></sub>|<sup>2</sup>. The basis is LLL-reduced if every |μ<sub><i>i</i>,<i>j</i></sub>|≤1/2
+     * and every |b*<sub><i>i</i></sub>|<sup>2</sup>≥({@code delta}–μ<sub><i>i</i>,<i>i</i>–1</sub><sup>2</sup>)
+     * |b*<sub><i>i</i>–1</sub>|<sup>2</sup>.
+     *
+     * <ul>
+     *  <li>The rows of {@code this} must be linearly independent.</li>
+     *  <li>{@code delta} must be greater than 1/4 and no greater than 1.</li>
+     *  <li>The result may be either {@code boolean}.</li>
+     * </ul>
+     *
+     * @param delta the Lovász constant
+     * @return whether {@code this} is LLL-reduced
+     */
+    public boolean isLllReduced(@NotNull Rational delta) {
+        checkLllDelta(delta);
+        int height = height();
+        List<RationalVector> orthogonal = new ArrayList<>();
+        List<Rational> squaredLengths = new ArrayList<>();
+        boolean reduced = true;
+        for (int i = 0; i < height; i++) {
+            RationalVector row = rows.get(i).toRationalVector();
+            RationalVector orthogonalRow = row;
+            Rational previousMu = Rational.ZERO;
+            for (int j = 0; j < i; j++) {
+                Rational mu = row.dot(orthogonal.get(j)).divide(squaredLengths.get(j));
+                if (Ordering.gt(mu.abs(), Rational.ONE_HALF)) {
+                    reduced = false;
+                }
+                orthogonalRow = orthogonalRow.subtract(orthogonal.get(j).multiply(mu));
+                previousMu = mu;
+            }
+            Rational squaredLength = orthogonalRow.squaredLength();
+            if (squaredLength.signum() == 0) {
+                throw new IllegalArgumentException("The rows of this must be linearly independent. Invalid this: " +
+                        this);
+            }
+            if (reduced && i != 0 && Ordering.lt(
+                    squaredLength,
+                    delta.subtract(previousMu.pow(2)).multiply(squaredLengths.get(i - 1))
+            )) {
+                reduced = false;
+            }
+            orthogonal.add(orthogonalRow);
+            squaredLengths.add(squaredLength);
+        }
+        return reduced;
+    }
+
+    /**
+     * Returns an LLL-reduced basis (see {@link Matrix#isLllReduced(Rational)}) of the lattice spanned by the rows of
+     * {@code this}, using the Lenstra-Lenstra-Lovász algorithm with exact rational Gram-Schmidt coefficients (Cohen
+     * 1993, Algorithm 2.6.3). The coefficients are updated incrementally as rows are size-reduced and swapped.
+     * Larger values of {@code delta} give shorter bases but take longer to compute.
+     *
+     * <ul>
+     *  <li>The rows of {@code this} must be linearly independent.</li>
+     *  <li>{@code delta} must be greater than 1/4 and no greater than 1.</li>
+     *  <li>The result is LLL-reduced.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @param delta the Lovász constant
+     * @return an LLL-reduced basis of the lattice spanned by the rows of {@code this}
+     */
+    public @NotNull Matrix lllReduce(@NotNull Rational delta) {
+        checkLllDelta(delta);
+        int n = height();
+        if (n == 0) return this;
+        List<Vector> basis = toList(rows);
+        List<RationalVector> orthogonal = new ArrayList<>();
+        Rational[][] mu = new Rational[n][n];
+        Rational[] squaredLengths = new Rational[n];
+        int kMax = -1;
+        int k = 0;
+        boolean changed = false;
+        while (k < n) {
+            if (k > kMax) {
+                kMax = k;
+                RationalVector row = basis.get(k).toRationalVector();
+                RationalVector orthogonalRow = row;
+                for (int j = 0; j < k; j++) {
+                    mu[k][j] = row.dot(orthogonal.get(j)).divide(squaredLengths[j]);
+                    orthogonalRow = orthogonalRow.subtract(orthogonal.get(j).multiply(mu[k][j]));
+                }
+                squaredLengths[k] = orthogonalRow.squaredLength();
+                if (squaredLengths[k].signum() == 0) {
+                    throw new IllegalArgumentException("The rows of this must be linearly independent. Invalid" +
+                            " this: " + this);
+                }
+                orthogonal.add(orthogonalRow);
+            }
+            if (k == 0) {
+                k++;
+                continue;
+            }
+            changed |= lllSizeReduce(basis, mu, k, k - 1);
+            if (Ordering.lt(
+                    squaredLengths[k],
+                    delta.subtract(mu[k][k - 1].pow(2)).multiply(squaredLengths[k - 1])
+            )) {
+                lllSwap(basis, orthogonal, mu, squaredLengths, k, kMax);
+                changed = true;
+                k = Math.max(1, k - 1);
+            } else {
+                for (int l = k - 2; l >= 0; l--) {
+                    changed |= lllSizeReduce(basis, mu, k, l);
+                }
+                k++;
+            }
+        }
+        return changed ? new Matrix(basis, width) : this;
+    }
+
+    /**
+     * Returns an LLL-reduced basis (see {@link Matrix#isLllReduced(Rational)}) of the lattice spanned by the rows of
+     * {@code this}. The basis vectors and their Gram matrix are kept exact, but the Gram-Schmidt coefficients are
+     * computed in floating point by a Cholesky factorization of the Gram matrix, with lazy size reduction (Nguyen and
+     * Stehlé 2009). The floating-point reduction is then finished by {@link Matrix#lllReduce(Rational)}, which is
+     * cheap on an almost-reduced basis and guarantees the result. If the floating-point computation breaks down (for
+     * example, because the Gram matrix is too large for {@code double}s or the precision is insufficient), the exact
+     * algorithm takes over from the current basis.
+     *
+     * <ul>
+     *  <li>The rows of {@code this} must be linearly independent.</li>
+     *  <li>{@code delta} must be greater than 1/4 and no greater than 1.</li>
+     *  <li>The result is LLL-reduced.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @param delta the Lovász constant
+     * @return an LLL-reduced basis of the lattice spanned by the rows of {@code this}
+     */
+    public @NotNull Matrix lllReduceFloatingPoint(@NotNull Rational delta) {
+        checkLllDelta(delta);
+        int n = height();
+        if (n < 2) return lllReduce(delta);
+        BigInteger[][] basis = toArray();
+        BigInteger[][] gram = new BigInteger[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                BigInteger dot = rows.get(i).dot(rows.get(j));
+                gram[i][j] = dot;
+                gram[j][i] = dot;
+            }
+        }
+        double doubleDelta = delta.doubleValue();
+        double eta = Math.min(LLL_ETA, (0.5 + Math.sqrt(doubleDelta)) / 2);
+        double[][] r = new double[n][n];
+        double[][] mu = new double[n][n];
+        double[] s = new double[n];
+        long iterationsLeft = (long) LLL_ITERATIONS_PER_BIT * n * n * (maxElementBitLength() + 1);
+        int k = 1;
+        floatingPoint:
+        while (k < n) {
+            if (iterationsLeft-- == 0) break;
+            r[0][0] = gram[0][0].doubleValue();
+            for (int passes = 0; ; passes++) {
+                if (passes == LLL_SIZE_REDUCTION_PASSES) break floatingPoint;
+                for (int j = 0; j < k; j++) {
+                    double rkj = gram[k][j].doubleValue();
+                    for (int i = 0; i < j; i++) {
+                        rkj -= mu[j][i] * r[k][i];
+                    }
+                    r[k][j] = rkj;
+                    mu[k][j] = rkj / r[j][j];
+                }
+                s[0] = gram[k][k].doubleValue();
+                for (int j = 1; j <= k; j++) {
+                    s[j] = s[j - 1] - mu[k][j - 1] * r[k][j - 1];
+                }
+                r[k][k] = s[k];
+                double maxMu = 0.0;
+                for (int j = 0; j < k; j++) {
+                    maxMu = Math.max(maxMu, Math.abs(mu[k][j]));
+                }
+                if (!Double.isFinite(maxMu) || !Double.isFinite(s[0])) break floatingPoint;
+                if (maxMu <= eta) break;
+                for (int j = k - 1; j >= 0; j--) {
+                    double x = Math.rint(mu[k][j]);
+                    if (x == 0.0) continue;
+                    BigInteger bigX = new BigDecimal(x).toBigInteger();
+                    for (int i = 0; i < j; i++) {
+                        mu[k][i] -= x * mu[j][i];
+                    }
+                    for (int l = 0; l < width; l++) {
+                        basis[k][l] = basis[k][l].subtract(bigX.multiply(basis[j][l]));
+                    }
+                    BigInteger oldGramKJ = gram[k][j];
+                    gram[k][k] = gram[k][k].subtract(bigX.multiply(oldGramKJ).shiftLeft(1))
+                            .add(bigX.pow(2).multiply(gram[j][j]));
+                    for (int i = 0; i < n; i++) {
+                        if (i == k) continue;
+                        gram[k][i] = gram[k][i].subtract(bigX.multiply(gram[j][i]));
+                        gram[i][k] = gram[k][i];
+                    }
+                }
+            }
+            if (doubleDelta * r[k - 1][k - 1] > s[k - 1]) {
+                BigInteger[] temp = basis[k];
+                basis[k] = basis[k - 1];
+                basis[k - 1] = temp;
+                temp = gram[k];
+                gram[k] = gram[k - 1];
+                gram[k - 1] = temp;
+                for (BigInteger[] row : gram) {
+                    BigInteger t = row[k];
+                    row[k] = row[k - 1];
+                    row[k - 1] = t;
+                }
+                k = Math.max(1, k - 1);
+            } else {
+                k++;
+            }
+        }
+        return fromArray(basis, width).lllReduce(delta);
+    }
+
+    /**
+     * Throws an exception if {@code delta} is not a valid Lovász constant.
+     *
+     * <ul>
+     *  <li>{@code delta} must be greater than 1/4 and no greater than 1.</li>
+     * </ul>
+     *
+     * @param delta a Lovász constant
+     */
+    private static void checkLllDelta(@NotNull Rational delta) {
+        if (Ordering.le(delta, Rational.of(1, 4)) || Ordering.gt(delta, Rational.ONE)) {
+            throw new IllegalArgumentException("delta must be greater than 1/4 and no greater than 1. Invalid delta: "
+                    + delta);
+        }
+    }
+
+    /**
+     * Size-reduces row {@code k} of {@code basis} against row {@code l}: if
+     * |μ<sub><i>k</i>,<i>l</i></sub>|{@literal >}1/2, the nearest integer to μ<sub><i>k</i>,<i>l</i></sub> times row
+     * {@code l} is subtracted from row {@code k}, and the Gram-Schmidt coefficients are updated accordingly.
+     *
+     * <ul>
+     *  <li>{@code basis} must be a list of linearly independent {@code Vector}s.</li>
+     *  <li>{@code mu} must contain the Gram-Schmidt coefficients of {@code basis} up to row {@code k}.</li>
+     *  <li>{@code l} must be less than {@code k}.</li>
+     * </ul>
+     *
+     * @param basis the lattice basis being reduced
+     * @param mu the Gram-Schmidt coefficients
+     * @param k the index of the row being reduced
+     * @param l the index of the row it is reduced against
+     * @return whether row {@code k} changed
+     */
+    private static boolean lllSizeReduce(@NotNull List<Vector> basis, @NotNull Rational[][] mu, int k, int l) {
+        if (Ordering.le(mu[k][l].abs(), Rational.ONE_HALF)) return false;
+        BigInteger q = mu[k][l].bigIntegerValue();
+        basis.set(k, basis.get(k).subtract(basis.get(l).multiply(q)));
+        mu[k][l] = mu[k][l].subtract(Rational.of(q));
+        for (int i = 0; i < l; i++) {
+            mu[k][i] = mu[k][i].subtract(mu[l][i].multiply(q));
+        }
+        return true;
+    }
+
+    /**
+     * Swaps rows {@code k}–1 and {@code k} of {@code basis} and updates the Gram-Schmidt data.
+     *
+     * <ul>
+     *  <li>{@code basis} must be a list of linearly independent {@code Vector}s.</li>
+     *  <li>{@code orthogonal}, {@code mu}, and {@code squaredLengths} must contain the Gram-Schmidt data of
+     *  {@code basis} up to row {@code kMax}.</li>
+     *  <li>{@code k} must be positive and no greater than {@code kMax}.</li>
+     * </ul>
+     *
+     * @param basis the lattice basis being reduced
+     * @param orthogonal the Gram-Schmidt orthogonalization of {@code basis}
+     * @param mu the Gram-Schmidt coefficients
+     * @param squaredLengths the squared lengths of the elements of {@code orthogonal}
+     * @param k the index of the second row being swapped
+     * @param kMax the index of the last row whose Gram-Schmidt data is known
+     */
+    private static void lllSwap(
+            @NotNull List<Vector> basis,
+            @NotNull List<RationalVector> orthogonal,
+            @NotNull Rational[][] mu,
+            @NotNull Rational[] squaredLengths,
+            int k,
+            int kMax
+    ) {
+        Collections.swap(basis, k - 1, k);
+        for (int j = 0; j < k - 1; j++) {
+            Rational temp = mu[k][j];
+            mu[k][j] = mu[k - 1][j];
+            mu[k - 1][j] = temp;
+        }
+        Rational m = mu[k][k - 1];
+        Rational squaredLength = squaredLengths[k].add(m.pow(2).multiply(squaredLengths[k - 1]));
+        mu[k][k - 1] = m.multiply(squaredLengths[k - 1]).divide(squaredLength);
+        RationalVector previousOrthogonal = orthogonal.get(k - 1);
+        orthogonal.set(k - 1, orthogonal.get(k).add(previousOrthogonal.multiply(m)));
+        orthogonal.set(
+                k,
+                previousOrthogonal.multiply(squaredLengths[k].divide(squaredLength))
+                        .subtract(orthogonal.get(k).multiply(mu[k][k - 1]))
+        );
+        squaredLengths[k] = squaredLengths[k - 1].multiply(squaredLengths[k]).divide(squaredLength);
+        squaredLengths[k - 1] = squaredLength;
+        for (int i = k + 1; i <= kMax; i++) {
+            Rational t = mu[i][k];
+            mu[i][k] = mu[i][k - 1].subtract(m.multiply(t));
+            mu[i][k - 1] = t.add(mu[k][k - 1].multiply(mu[i][k]));
+        }
+    }
+
+    /**
+     * Returns the elements of {@code this} as a two-dimensional array of rows.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Matrix}.</li>
+     *  <li>The result is a rectangular array with no null elements.</li>
+     * </ul>
+     *
+     * @return the elements of {@code this}
+     */
+    private @NotNull BigInteger[][] toArray() {
+        int height = height();
+        BigInteger[][] array = new BigInteger[height][width];
+        for (int i = 0; i < height; i++) {
+            Vector row = rows.get(i);
+            for (int j = 0; j < width; j++) {
+                array[i][j] = row.get(j);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Creates a {@code Matrix} from a two-dimensional array of rows.
+     *
+     * <ul>
+     *  <li>{@code array} must be rectangular, with rows of length {@code width}, and cannot contain nulls.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is |{@code array}|×{@code width}
+     *
+     * @param array the elements of the result
+     * @param width the width of the result
+     * @return a {@code Matrix} with the elements of {@code array}
+     */
+    private static @NotNull Matrix fromArray(@NotNull BigInteger[][] array, int width) {
+        List<Vector> rows = new ArrayList<>();
+        for (BigInteger[] row : array) {
+            rows.add(Vector.of(Arrays.asList(row)));
+        }
+        return new Matrix(rows, width);
+    }
+
+    /**
+     * If the rows of {@code this} span a full-rank lattice, returns the absolute value of the determinant of a
+     * nonsingular square matrix made up of some of the rows of {@code this}; this is a positive multiple of the
+     * lattice's determinant. The rows are chosen by elimination modulo word-size primes, so the result is empty if the
+     * lattice is not full-rank, or, rarely, if every prime tried is unlucky.
+     *
+     * <ul>
+     *  <li>{@code this} cannot have zero width.</li>
+     *  <li>The result is empty or positive.</li>
+     * </ul>
+     *
+     * @return a multiple of the determinant of the lattice spanned by the rows of {@code this}
+     */
+    private @NotNull Optional<BigInteger> latticeDeterminantMultiple() {
+        int height = height();
+        if (height < width) return Optional.empty();
+        for (int attempt = 0; attempt < MODULAR_PRIME_ATTEMPTS; attempt++) {
+            long p = PrimeTable.INT.prime(attempt);
+            BigInteger bigP = BigInteger.valueOf(p);
+            long[][] reduced = new long[height][width];
+            for (int i = 0; i < height; i++) {
+                Vector row = rows.get(i);
+                for (int j = 0; j < width; j++) {
+                    reduced[i][j] = row.get(j).mod(bigP).longValue();
+                }
+            }
+            boolean[] used = new boolean[height];
+            List<Integer> rowIndices = new ArrayList<>();
+            for (int j = 0; j < width; j++) {
+                int pivotIndex = -1;
+                for (int i = 0; i < height; i++) {
+                    if (!used[i] && reduced[i][j] != 0) {
+                        pivotIndex = i;
+                        break;
+                    }
+                }
+                if (pivotIndex == -1) break;
+                used[pivotIndex] = true;
+                rowIndices.add(pivotIndex);
+                long[] pivotRow = reduced[pivotIndex];
+                long pivotInverse = BigInteger.valueOf(pivotRow[j]).modInverse(bigP).longValue();
+                for (int i = 0; i < height; i++) {
+                    if (used[i] || reduced[i][j] == 0) continue;
+                    long factor = (p - reduced[i][j]) * pivotInverse % p;
+                    long[] row = reduced[i];
+                    for (int l = j; l < width; l++) {
+                        row[l] = (row[l] + factor * pivotRow[l]) % p;
+                    }
+                }
+            }
+            if (rowIndices.size() == width) {
+                Collections.sort(rowIndices);
+                List<Integer> columnIndices = toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, width - 1));
+                return Optional.of(submatrix(rowIndices, columnIndices).determinant().abs());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Computes the Hermite normal form of the rows of {@code elements}, which span a full-rank lattice, working
+     * modulo {@code determinantMultiple} (Cohen 1993, Algorithm 2.4.8). Whenever a pivot is found, the modulus is
+     * divided by it, so the elements of later rows only ever need to be known modulo the determinant of the remaining
+     * sublattice.
+     *
+     * <ul>
+     *  <li>{@code elements} must be a rectangular array with rows of length {@code width}, must have at least
+     *  {@code width} rows, and its rows must span a full-rank lattice.</li>
+     *  <li>{@code width} must be positive.</li>
+     *  <li>{@code determinantMultiple} must be a positive multiple of the lattice's determinant.</li>
+     *  <li>The result is in Hermite normal form.</li>
+     * </ul>
+     *
+     * @param elements the rows generating the lattice
+     * @param width the number of columns of {@code elements}
+     * @param determinantMultiple a multiple of the lattice's determinant
+     * @return the Hermite normal form of {@code elements}
+     */
+    private static @NotNull BigInteger[][] hermiteNormalFormModular(
+            @NotNull BigInteger[][] elements,
+            int width,
+            @NotNull BigInteger determinantMultiple
+    ) {
+        int height = elements.length;
+        for (BigInteger[] row : elements) {
+            for (int j = 0; j < width; j++) {
+                row[j] = row[j].mod(determinantMultiple);
+            }
+        }
+        BigInteger modulus = determinantMultiple;
+        for (int j = 0; j < width; j++) {
+            for (int k = j + 1; k < height; k++) {
+                if (elements[k][j].signum() != 0) {
+                    combineRows(elements, null, j, k, j, modulus);
+                }
+            }
+            BigInteger[] gcdAndCoefficients = extendedGcd(elements[j][j], modulus);
+            BigInteger pivot = gcdAndCoefficients[0];
+            BigInteger[] pivotRow = elements[j];
+            pivotRow[j] = pivot;
+            for (int l = j + 1; l < width; l++) {
+                pivotRow[l] = pivotRow[l].multiply(gcdAndCoefficients[1]).mod(modulus);
+            }
+            reduceAbovePivot(elements, null, j, j);
+            modulus = modulus.divide(pivot);
+        }
+        for (int i = width; i < height; i++) {
+            Arrays.fill(elements[i], BigInteger.ZERO);
+        }
+        return elements;
+    }
+
+    /**
+     * Computes the Hermite normal form of the rows of {@code elements} by applying unimodular row operations to the
+     * exact elements. If {@code transform} is not null, the same operations are applied to it.
+     *
+     * <ul>
+     *  <li>{@code elements} must be a rectangular array with rows of length {@code width}.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>{@code transform} must be null or a rectangular array with as many rows as {@code elements}.</li>
+     *  <li>The result is in Hermite normal form.</li>
+     * </ul>
+     *
+     * @param elements the rows generating the lattice
+     * @param width the number of columns of {@code elements}
+     * @param transform a matrix to which the row operations are also applied, or null
+     * @return the Hermite normal form of {@code elements}
+     */
+    private static @NotNull BigInteger[][] hermiteNormalFormClassical(
+            @NotNull BigInteger[][] elements,
+            int width,
+            BigInteger[][] transform
+    ) {
+        int height = elements.length;
+        int i = 0;
+        for (int j = 0; i < height && j < width; j++) {
+            for (int k = i + 1; k < height; k++) {
+                if (elements[k][j].signum() != 0) {
+                    combineRows(elements, transform, i, k, j, null);
+                }
+            }
+            int signum = elements[i][j].signum();
+            if (signum == 0) continue;
+            if (signum == -1) {
+                negateRow(elements[i]);
+                if (transform != null) {
+                    negateRow(transform[i]);
+                }
+            }
+            reduceAbovePivot(elements, transform, i, j);
+            i++;
+        }
+        return elements;
+    }
+
+    /**
+     * Given an upper-triangular {@code this} with positive diagonal elements, returns the diagonal of its Smith normal
+     * form. {@code this} is diagonalized by unimodular row and column operations modulo its determinant D, and the
+     * diagonal elements are replaced by their gcds with D; the result is then put into divisibility order by
+     * repeatedly replacing pairs of elements by their gcd and lcm.
+     *
+     * <ul>
+     *  <li>{@code this} must be square and upper-triangular, with positive diagonal elements.</li>
+     *  <li>The result is a list of positive {@code BigInteger}s, each of which divides the next.</li>
+     * </ul>
+     *
+     * Length is width({@code this})
+     *
+     * @return the invariant factors of {@code this}
+     */
+    private @NotNull List<BigInteger> triangularInvariantFactors() {
+        int n = width;
+        BigInteger modulus = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            modulus = modulus.multiply(get(i, i));
+        }
+        BigInteger[][] elements = toArray();
+        for (BigInteger[] row : elements) {
+            for (int j = 0; j < n; j++) {
+                row[j] = row[j].mod(modulus);
+            }
+        }
+        for (int s = 0; s < n; s++) {
+            boolean pivotChanged;
+            do {
+                for (int k = s + 1; k < n; k++) {
+                    if (elements[k][s].signum() != 0) {
+                        combineRows(elements, null, s, k, s, modulus);
+                    }
+                }
+                pivotChanged = false;
+                for (int l = s + 1; l < n; l++) {
+                    if (elements[s][l].signum() != 0 && combineColumns(elements, null, s, l, s, modulus)) {
+                        pivotChanged = true;
+                    }
+                }
+            } while (pivotChanged);
+        }
+        BigInteger[] invariantFactors = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            invariantFactors[i] = elements[i][i].gcd(modulus);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                BigInteger a = invariantFactors[i];
+                BigInteger b = invariantFactors[j];
+                BigInteger gcd = a.gcd(b);
+                invariantFactors[i] = gcd;
+                invariantFactors[j] = a.divide(gcd).multiply(b);
+            }
+        }
+        return Arrays.asList(invariantFactors);
+    }
+
+    /**
+     * Applies a unimodular transformation to rows {@code i} and {@code k} of {@code elements} so that the element of
+     * row {@code k} in column {@code j} becomes zero (see
+     * {@link Matrix#eliminationCoefficients(BigInteger, BigInteger)}). Only the columns starting from {@code j} are
+     * updated, so both rows must be zero to the left of {@code j}. If {@code modulus} is not null, the updated
+     * elements are reduced modulo {@code modulus}. If {@code transform} is not null, the same operation is applied to
+     * all of its columns.
+     *
+     * <ul>
+     *  <li>{@code elements} must be a rectangular array of rows.</li>
+     *  <li>{@code transform} must be null or a rectangular array with as many rows as {@code elements}.</li>
+     *  <li>{@code i} and {@code k} must be distinct row indices of {@code elements}, and {@code j} must be a column
+     *  index.</li>
+     *  <li>{@code modulus} must be null or positive.</li>
+     * </ul>
+     *
+     * @param elements the matrix being transformed
+     * @param transform a matrix to which the row operation is also applied, or null
+     * @param i the index of the pivot row
+     * @param k the index of the row whose element is eliminated
+     * @param j the index of the pivot column
+     * @param modulus the modulus of the elements, or null
+     * @return whether the pivot changed
+     */
+    private static boolean combineRows(
+            @NotNull BigInteger[][] elements,
+            BigInteger[][] transform,
+            int i,
+            int k,
+            int j,
+            BigInteger modulus
+    ) {
+        BigInteger[] coefficients = eliminationCoefficients(elements[i][j], elements[k][j]);
+        for (int l = j; l < elements[i].length; l++) {
+            combine(elements[i], l, elements[k], l, coefficients, modulus);
+        }
+        if (transform != null) {
+            for (int l = 0; l < transform[i].length; l++) {
+                combine(transform[i], l, transform[k], l, coefficients, null);
+            }
+        }
+        return coefficients[1].signum() != 0;
+    }
+
+    /**
+     * Applies a unimodular transformation to columns {@code i} and {@code k} of {@code elements} so that the element
+     * of column {@code k} in row {@code j} becomes zero. This is the column analogue of
+     * {@link Matrix#combineRows(BigInteger[][], BigInteger[][], int, int, int, BigInteger)}; only the rows starting
+     * from {@code j} are updated, and if {@code transform} is not null, the same operation is applied to all of its
+     * rows.
+     *
+     * <ul>
+     *  <li>{@code elements} must be a rectangular array of rows.</li>
+     *  <li>{@code transform} must be null or a rectangular array with as many columns as {@code elements}.</li>
+     *  <li>{@code i} and {@code k} must be distinct column indices of {@code elements}, and {@code j} must be a row
+     *  index.</li>
+     *  <li>{@code modulus} must be null or positive.</li>
+     * </ul>
+     *
+     * @param elements the matrix being transformed
+     * @param transform a matrix to which the column operation is also applied, or null
+     * @param i the index of the pivot column
+     * @param k the index of the column whose element is eliminated
+     * @param j the index of the pivot row
+     * @param modulus the modulus of the elements, or null
+     * @return whether the pivot changed
+     */
+    private static boolean combineColumns(
+            @NotNull BigInteger[][] elements,
+            BigInteger[][] transform,
+            int i,
+            int k,
+            int j,
+            BigInteger modulus
+    ) {
+        BigInteger[] coefficients = eliminationCoefficients(elements[j][i], elements[j][k]);
+        for (int r = j; r < elements.length; r++) {
+            combine(elements[r], i, elements[r], k, coefficients, modulus);
+        }
+        if (transform != null) {
+            for (BigInteger[] row : transform) {
+                combine(row, i, row, k, coefficients, null);
+            }
+        }
+        return coefficients[1].signum() != 0;
+    }
+
+    /**
+     * Returns the coefficients (c<sub>0</sub>, c<sub>1</sub>, c<sub>2</sub>, c<sub>3</sub>) of a unimodular
+     * transformation taking ({@code pivot}, {@code x}) to (c<sub>0</sub>{@code pivot}+c<sub>1</sub>{@code x},
+     * c<sub>2</sub>{@code pivot}+c<sub>3</sub>{@code x}), where the second element is zero. If {@code pivot} divides
+     * {@code x}, the transformation just subtracts a multiple of {@code pivot} and c<sub>1</sub> is zero; otherwise,
+     * the first element is gcd({@code pivot}, {@code x}).
+     *
+     * <ul>
+     *  <li>{@code pivot} may be any {@code BigInteger}.</li>
+     *  <li>{@code x} may be any {@code BigInteger}.</li>
+     *  <li>The result is an array of length 4 representing a matrix with determinant 1.</li>
+     * </ul>
+     *
+     * @param pivot the element that is kept
+     * @param x the element that is eliminated
+     * @return (c<sub>0</sub>, c<sub>1</sub>, c<sub>2</sub>, c<sub>3</sub>)
+     */
+    private static @NotNull BigInteger[] eliminationCoefficients(@NotNull BigInteger pivot, @NotNull BigInteger x) {
+        if (pivot.signum() != 0 && x.remainder(pivot).signum() == 0) {
+            return new BigInteger[] { BigInteger.ONE, BigInteger.ZERO, x.divide(pivot).negate(), BigInteger.ONE };
+        }
+        BigInteger[] gcdAndCoefficients = extendedGcd(pivot, x);
+        BigInteger gcd = gcdAndCoefficients[0];
+        return new BigInteger[] {
+                gcdAndCoefficients[1],
+                gcdAndCoefficients[2],
+                x.divide(gcd).negate(),
+                pivot.divide(gcd)
+        };
+    }
+
+    /**
+     * Replaces {@code a}[{@code i}] and {@code b}[{@code k}] by their images under the transformation given by
+     * {@code coefficients} (see {@link Matrix#eliminationCoefficients(BigInteger, BigInteger)}).
+     *
+     * <ul>
+     *  <li>{@code i} must be an index of {@code a}, and {@code k} an index of {@code b}.</li>
+     *  <li>{@code coefficients} must have length 4.</li>
+     *  <li>{@code modulus} must be null or positive.</li>
+     * </ul>
+     *
+     * @param a the array containing the first element
+     * @param i the index of the first element
+     * @param b the array containing the second element
+     * @param k the index of the second element
+     * @param coefficients the transformation's coefficients
+     * @param modulus the modulus of the elements, or null
+     */
+    private static void combine(
+            @NotNull BigInteger[] a,
+            int i,
+            @NotNull BigInteger[] b,
+            int k,
+            @NotNull BigInteger[] coefficients,
+            BigInteger modulus
+    ) {
+        BigInteger x = a[i];
+        BigInteger y = b[k];
+        BigInteger newX = coefficients[0].multiply(x).add(coefficients[1].multiply(y));
+        BigInteger newY = coefficients[2].multiply(x).add(coefficients[3].multiply(y));
+        a[i] = modulus == null ? newX : newX.mod(modulus);
+        b[k] = modulus == null ? newY : newY.mod(modulus);
+    }
+
+    /**
+     * Reduces the elements above the positive pivot in row {@code i} and column {@code j} of {@code elements} so that
+     * they lie in [0, pivot), by subtracting multiples of row {@code i}. If {@code transform} is not null, the same
+     * operations are applied to it.
+     *
+     * <ul>
+     *  <li>{@code elements} must be a rectangular array of rows, and its element in row {@code i} and column
+     *  {@code j} must be positive, with zeros to its left.</li>
+     *  <li>{@code transform} must be null or a rectangular array with as many rows as {@code elements}.</li>
+     * </ul>
+     *
+     * @param elements the matrix being reduced
+     * @param transform a matrix to which the row operations are also applied, or null
+     * @param i the index of the pivot row
+     * @param j the index of the pivot column
+     */
+    private static void reduceAbovePivot(@NotNull BigInteger[][] elements, BigInteger[][] transform, int i, int j) {
+        BigInteger pivot = elements[i][j];
+        for (int k = 0; k < i; k++) {
+            BigInteger x = elements[k][j];
+            BigInteger quotient = x.subtract(x.mod(pivot)).divide(pivot);
+            if (quotient.signum() == 0) continue;
+            for (int l = j; l < elements[k].length; l++) {
+                elements[k][l] = elements[k][l].subtract(quotient.multiply(elements[i][l]));
+            }
+            if (transform != null) {
+                for (int l = 0; l < transform[k].length; l++) {
+                    transform[k][l] = transform[k][l].subtract(quotient.multiply(transform[i][l]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Negates every element of {@code row} in place.
+     *
+     * <ul>
+     *  <li>{@code row} cannot contain nulls.</li>
+     * </ul>
+     *
+     * @param row the row being negated
+     */
+    private static void negateRow(@NotNull BigInteger[] row) {
+        for (int l = 0; l < row.length; l++) {
+            row[l] = row[l].negate();
+        }
+    }
+
+    /**
+     * Swaps rows {@code i} and {@code k} of {@code elements} and of {@code transform}.
+     *
+     * <ul>
+     *  <li>{@code elements} and {@code transform} must have the same number of rows.</li>
+     *  <li>{@code i} and {@code k} must be row indices.</li>
+     * </ul>
+     *
+     * @param elements a matrix
+     * @param transform another matrix
+     * @param i the index of one row
+     * @param k the index of another row
+     */
+    private static void swapRows(@NotNull BigInteger[][] elements, @NotNull BigInteger[][] transform, int i, int k) {
+        if (i == k) return;
+        BigInteger[] temp = elements[i];
+        elements[i] = elements[k];
+        elements[k] = temp;
+        temp = transform[i];
+        transform[i] = transform[k];
+        transform[k] = temp;
+    }
+
+    /**
+     * Swaps columns {@code i} and {@code k} of {@code elements} and of {@code transform}.
+     *
+     * <ul>
+     *  <li>{@code elements} and {@code transform} must have the same number of columns.</li>
+     *  <li>{@code i} and {@code k} must be column indices.</li>
+     * </ul>
+     *
+     * @param elements a matrix
+     * @param transform another matrix
+     * @param i the index of one column
+     * @param k the index of another column
+     */
+    private static void swapColumns(
+            @NotNull BigInteger[][] elements,
+            @NotNull BigInteger[][] transform,
+            int i,
+            int k
+    ) {
+        if (i == k) return;
+        for (BigInteger[][] matrix : Arrays.asList(elements, transform)) {
+            for (BigInteger[] row : matrix) {
+                BigInteger temp = row[i];
+                row[i] = row[k];
+                row[k] = temp;
+            }
+        }
+    }
+
+    /**
+     * Returns the gcd g of {@code a} and {@code b}, followed by integers u and v such that u{@code a}+v{@code b}=g.
+     *
+     * <ul>
+     *  <li>{@code a} may be any {@code BigInteger}.</li>
+     *  <li>{@code b} may be any {@code BigInteger}.</li>
+     *  <li>The result is an array of length 3 whose first element is non-negative.</li>
+     * </ul>
+     *
+     * @param a the first {@code BigInteger}
+     * @param b the second {@code BigInteger}
+     * @return (gcd({@code a}, {@code b}), u, v)
+     */
+    private static @NotNull BigInteger[] extendedGcd(@NotNull BigInteger a, @NotNull BigInteger b) {
+        BigInteger previousRemainder = a;
+        BigInteger remainder = b;
+        BigInteger previousU = BigInteger.ONE;
+        BigInteger u = BigInteger.ZERO;
+        BigInteger previousV = BigInteger.ZERO;
+        BigInteger v = BigInteger.ONE;
+        while (remainder.signum() != 0) {
+            BigInteger quotient = previousRemainder.divide(remainder);
+            BigInteger temp = remainder;
+            remainder = previousRemainder.subtract(quotient.multiply(remainder));
+            previousRemainder = temp;
+            temp = u;
+            u = previousU.subtract(quotient.multiply(u));
+            previousU = temp;
+            temp = v;
+            v = previousV.subtract(quotient.multiply(v));
+            previousV = temp;
+        }
+        return previousRemainder.signum() == -1 ?
+                new BigInteger[] { previousRemainder.negate(), previousU.negate(), previousV.negate() } :
+                new BigInteger[] { previousRemainder, previousU, previousV };
+    }
+
     /**
      * Given the 0th to dth power sums of a d-degree monic polynomial, where the ith power sum is the sum of the ith
      * powers of the roots, returns the polynomial. This method is of limited use, because it only works when the power
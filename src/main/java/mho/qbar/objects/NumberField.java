@@ -0,0 +1,523 @@
+package mho.qbar.objects;
+
+import mho.wheels.numberUtils.IntegerUtils;
+import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+import static mho.wheels.iterables.IterableUtils.*;
+import static mho.wheels.testing.Testing.assertEquals;
+import static mho.wheels.testing.Testing.assertTrue;
+
+/**
+ * <p>The real number field ℚ(α), where α is a real {@code Algebraic}. Elements of the field are represented by
+ * {@code RationalPolynomial}s in α of degree less than deg(α); in other words, by residues modulo the monic minimal
+ * polynomial of α. Arithmetic on these residues takes a few polynomial products, whereas arithmetic on the
+ * corresponding {@code Algebraic}s requires a resultant and a factorization for every operation, so a long computation
+ * in a single field should be carried out here and converted to {@code Algebraic}s only at the end, with
+ * {@link NumberField#toAlgebraic(RationalPolynomial)}. Several {@code Algebraic}s from different fields can be
+ * brought into a common field with {@link NumberField#primitiveElement(List)}.</p>
+ *
+ * <p>This class is immutable.</p>
+ */
+public final class NumberField {
+    /**
+     * ℚ
+     */
+    public static final @NotNull NumberField RATIONALS = new NumberField(Algebraic.ZERO);
+
+    /**
+     * The residue of the generator in any field other than ℚ
+     */
+    private static final @NotNull RationalPolynomial X = RationalPolynomial.of(Rational.ONE, 1);
+
+    /**
+     * The {@code Algebraic} that generates {@code this}
+     */
+    private final @NotNull Algebraic generator;
+
+    /**
+     * The monic minimal polynomial of {@code generator}
+     */
+    private final @NotNull RationalPolynomial minimalPolynomial;
+
+    /**
+     * The powers α<sup>0</sup>, ..., α<sup>2deg(α)–2</sup>, expressed as residues; enough to reduce the product of
+     * any two residues
+     */
+    private final @NotNull List<RationalPolynomial> powerTable;
+
+    /**
+     * Private constructor for {@code NumberField}; assumes argument is valid.
+     *
+     * <ul>
+     *  <li>{@code generator} cannot be null.</li>
+     *  <li>Any {@code NumberField} may be constructed with this constructor.</li>
+     * </ul>
+     *
+     * @param generator the {@code Algebraic} that generates {@code this}
+     */
+    private NumberField(@NotNull Algebraic generator) {
+        this.generator = generator;
+        minimalPolynomial = generator.minimalPolynomial().toRationalPolynomial().makeMonic();
+        powerTable = minimalPolynomial.powerTable(2 * generator.degree() - 2);
+    }
+
+    /**
+     * Creates the {@code NumberField} ℚ({@code generator}).
+     *
+     * <ul>
+     *  <li>{@code generator} cannot be null.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param generator an {@code Algebraic}
+     * @return ℚ({@code generator})
+     */
+    public static @NotNull NumberField of(@NotNull Algebraic generator) {
+        return generator.isRational() ? RATIONALS : new NumberField(generator);
+    }
+
+    /**
+     * Finds a single field containing several {@code Algebraic}s, along with their residues in that field. The field
+     * is generated by a primitive element γ=Σc<sub>i</sub>α<sub>i</sub>, where the α<sub>i</sub> are the irrational
+     * elements of {@code xs} and the c<sub>i</sub> are small integers, and each element of {@code xs} is expressed as
+     * a polynomial in γ. Each irrational element costs one factorization, after which any amount of arithmetic on
+     * {@code xs} can be done in the field.
+     *
+     * <ul>
+     *  <li>{@code xs} cannot contain nulls.</li>
+     *  <li>The result is a field together with a list of residues of the same length as {@code xs}.</li>
+     * </ul>
+     *
+     * @param xs some {@code Algebraic}s
+     * @return a field containing {@code xs} and the residues of the elements of {@code xs}
+     */
+    public static @NotNull Pair<NumberField, List<RationalPolynomial>> primitiveElement(@NotNull List<Algebraic> xs) {
+        if (any(Objects::isNull, xs)) {
+            throw new NullPointerException();
+        }
+        NumberField field = RATIONALS;
+        List<RationalPolynomial> elements = new ArrayList<>();
+        for (Algebraic x : xs) {
+            if (x.isRational()) {
+                elements.add(RationalPolynomial.of(x.rationalValueExact()));
+            } else if (field == RATIONALS) {
+                field = new NumberField(x);
+                elements.add(X);
+            } else {
+                if (x.equals(field.generator)) {
+                    elements.add(X);
+                    continue;
+                }
+                Triple<NumberField, RationalPolynomial, RationalPolynomial> adjoined = field.adjoin(x);
+                NumberField newField = adjoined.a;
+                for (int i = 0; i < elements.size(); i++) {
+                    elements.set(i, newField.compose(elements.get(i), adjoined.b));
+                }
+                elements.add(adjoined.c);
+                field = newField;
+            }
+        }
+        return new Pair<>(field, elements);
+    }
+
+    /**
+     * Adjoins an irrational {@code Algebraic} to {@code this}. Given {@code this}=ℚ(α) and {@code x}, this method
+     * finds the first c in 1, –1, 2, –2, ... such that θ=α+c{@code x} generates ℚ(α)⊗ℚ({@code x}), a product of
+     * fields of total degree deg(α)deg({@code x}) with basis α<sup>i</sup>{@code x}<sup>j</sup>. Then the powers of
+     * θ span this algebra, so solving one linear system gives the characteristic polynomial of θ and expresses α and
+     * {@code x} as polynomials in θ. Only the factor of the characteristic polynomial vanishing at α+c{@code x} is
+     * needed; it is the minimal polynomial of the new generator.
+     *
+     * <ul>
+     *  <li>{@code this} cannot be ℚ.</li>
+     *  <li>{@code x} must be irrational.</li>
+     *  <li>The result is a field containing α and {@code x}, and the residues of α and {@code x} in that field.</li>
+     * </ul>
+     *
+     * @param x an {@code Algebraic}
+     * @return ℚ(α, {@code x}), α, and {@code x}
+     */
+    private @NotNull Triple<NumberField, RationalPolynomial, RationalPolynomial> adjoin(@NotNull Algebraic x) {
+        NumberField other = new NumberField(x);
+        int d = degree();
+        int m = other.degree();
+        int n = d * m;
+        RationalMatrix alphaMatrix = multiplicationMatrix(X);
+        RationalMatrix xMatrix = other.multiplicationMatrix(X);
+        for (int c = 1; ; c = c > 0 ? -c : 1 - c) {
+            Rational rc = Rational.of(c);
+            List<RationalVector> rows = new ArrayList<>(n);
+            for (int i = 0; i < d; i++) {
+                for (int j = 0; j < m; j++) {
+                    List<Rational> row = new ArrayList<>(n);
+                    for (int k = 0; k < d; k++) {
+                        for (int l = 0; l < m; l++) {
+                            Rational entry = j == l ? alphaMatrix.get(i, k) : Rational.ZERO;
+                            if (i == k) {
+                                entry = entry.add(xMatrix.get(j, l).multiply(rc));
+                            }
+                            row.add(entry);
+                        }
+                    }
+                    rows.add(RationalVector.of(row));
+                }
+            }
+            RationalMatrix theta = RationalMatrix.fromRows(rows);
+            List<RationalVector> powers = new ArrayList<>(n);
+            RationalVector power = RationalVector.standard(n, 0);
+            for (int k = 0; k < n; k++) {
+                powers.add(power);
+                power = theta.multiply(power);
+            }
+            RationalMatrix rhs = RationalMatrix.fromColumns(Arrays.asList(
+                    power,
+                    RationalVector.standard(n, m),
+                    RationalVector.standard(n, 1)
+            ));
+            Optional<RationalMatrix> solution = RationalMatrix.fromColumns(powers).solveLinearSystem(rhs);
+            if (!solution.isPresent()) continue;
+            List<Rational> characteristicCoefficients = toList(map(Rational::negate, solution.get().column(0)));
+            characteristicCoefficients.add(Rational.ONE);
+            Polynomial characteristic = RationalPolynomial.of(characteristicCoefficients).constantFactor().b;
+            Real value = generator.realValue().add(x.realValue().multiply(rc));
+            Algebraic primitive = Algebraic.fromFactors(
+                    toList(filter(f -> f.degree() > 0, characteristic.factor())),
+                    value
+            );
+            NumberField field = new NumberField(primitive);
+            return new Triple<>(
+                    field,
+                    field.reduce(RationalPolynomial.of(toList(solution.get().column(1)))),
+                    field.reduce(RationalPolynomial.of(toList(solution.get().column(2))))
+            );
+        }
+    }
+
+    /**
+     * Returns the generator of {@code this}. Rational fields are always generated by 0.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @return α, where {@code this}=ℚ(α)
+     */
+    public @NotNull Algebraic generator() {
+        return generator;
+    }
+
+    /**
+     * Returns the monic minimal polynomial of the generator of {@code this}. Every residue is reduced modulo this
+     * polynomial.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>The result is monic and irreducible.</li>
+     * </ul>
+     *
+     * @return the minimal polynomial of α, where {@code this}=ℚ(α)
+     */
+    public @NotNull RationalPolynomial minimalPolynomial() {
+        return minimalPolynomial;
+    }
+
+    /**
+     * Returns the degree of {@code this} over ℚ.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>The result is positive.</li>
+     * </ul>
+     *
+     * @return [{@code this}:ℚ]
+     */
+    public int degree() {
+        return minimalPolynomial.degree();
+    }
+
+    /**
+     * Reduces a polynomial in the generator of {@code this} to a residue. Polynomials of degree at most
+     * 2deg({@code this})–2, such as products of two residues, are reduced with {@code powerTable}; larger ones are
+     * divided by the minimal polynomial.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code p} cannot be null.</li>
+     *  <li>The result has degree less than deg({@code this}).</li>
+     * </ul>
+     *
+     * @param p a polynomial in α, where {@code this}=ℚ(α)
+     * @return {@code p} modulo the minimal polynomial of α
+     */
+    public @NotNull RationalPolynomial reduce(@NotNull RationalPolynomial p) {
+        int degree = degree();
+        int pDegree = p.degree();
+        if (pDegree < degree) return p;
+        if (pDegree >= powerTable.size()) return p.divide(minimalPolynomial).b;
+        List<Rational> coefficients = new ArrayList<>(degree);
+        for (int i = 0; i < degree; i++) {
+            coefficients.add(p.coefficient(i));
+        }
+        for (int i = degree; i <= pDegree; i++) {
+            Rational c = p.coefficient(i);
+            if (c == Rational.ZERO) continue;
+            RationalPolynomial power = powerTable.get(i);
+            for (int j = 0; j <= power.degree(); j++) {
+                coefficients.set(j, coefficients.get(j).add(power.coefficient(j).multiply(c)));
+            }
+        }
+        return RationalPolynomial.of(coefficients);
+    }
+
+    /**
+     * Returns the product of two elements of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code a} must have degree less than deg({@code this}).</li>
+     *  <li>{@code b} must have degree less than deg({@code this}).</li>
+     *  <li>The result has degree less than deg({@code this}).</li>
+     * </ul>
+     *
+     * @param a the first factor
+     * @param b the second factor
+     * @return {@code a}{@code b}
+     */
+    public @NotNull RationalPolynomial multiply(@NotNull RationalPolynomial a, @NotNull RationalPolynomial b) {
+        return reduce(a.multiply(b));
+    }
+
+    /**
+     * Returns the multiplicative inverse of an element of {@code this}, by solving a linear system with its
+     * multiplication matrix.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code a} must be nonzero and have degree less than deg({@code this}).</li>
+     *  <li>The result is nonzero and has degree less than deg({@code this}).</li>
+     * </ul>
+     *
+     * @param a an element of {@code this}
+     * @return 1/{@code a}
+     */
+    public @NotNull RationalPolynomial invert(@NotNull RationalPolynomial a) {
+        if (a == RationalPolynomial.ZERO) {
+            throw new ArithmeticException("a cannot be zero.");
+        }
+        if (a.degree() == 0) return RationalPolynomial.of(a.coefficient(0).invert());
+        RationalVector e0 = RationalVector.standard(degree(), 0);
+        Optional<RationalVector> inverse = multiplicationMatrix(a).solveLinearSystem(e0);
+        if (!inverse.isPresent()) {
+            throw new IllegalStateException("a must have degree less than deg(this). Invalid a: " + a);
+        }
+        return RationalPolynomial.of(toList(inverse.get()));
+    }
+
+    /**
+     * Returns the quotient of two elements of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code a} must have degree less than deg({@code this}).</li>
+     *  <li>{@code b} must be nonzero and have degree less than deg({@code this}).</li>
+     *  <li>The result has degree less than deg({@code this}).</li>
+     * </ul>
+     *
+     * @param a the dividend
+     * @param b the divisor
+     * @return {@code a}/{@code b}
+     */
+    public @NotNull RationalPolynomial divide(@NotNull RationalPolynomial a, @NotNull RationalPolynomial b) {
+        return multiply(a, invert(b));
+    }
+
+    /**
+     * Returns an element of {@code this} raised to an integer power. 0<sup>0</sup> yields 1.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code a} must have degree less than deg({@code this}).</li>
+     *  <li>If {@code p} is negative, {@code a} cannot be zero.</li>
+     *  <li>The result has degree less than deg({@code this}).</li>
+     * </ul>
+     *
+     * @param a an element of {@code this}
+     * @param p the power that {@code a} is raised to
+     * @return {@code a}<sup>{@code p}</sup>
+     */
+    public @NotNull RationalPolynomial pow(@NotNull RationalPolynomial a, int p) {
+        if (p < 0) return pow(invert(a), -p);
+        if (p == 0) return RationalPolynomial.ONE;
+        if (a.degree() < 1) return a.pow(p);
+        RationalPolynomial power = RationalPolynomial.ONE;
+        for (boolean bit : IntegerUtils.bigEndianBits(p)) {
+            power = multiply(power, power);
+            if (bit) {
+                power = multiply(power, a);
+            }
+        }
+        return power;
+    }
+
+    /**
+     * Evaluates a polynomial at an element of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code p} cannot be null.</li>
+     *  <li>{@code a} must have degree less than deg({@code this}).</li>
+     *  <li>The result has degree less than deg({@code this}).</li>
+     * </ul>
+     *
+     * @param p a polynomial
+     * @param a an element of {@code this}
+     * @return {@code p}({@code a})
+     */
+    public @NotNull RationalPolynomial compose(@NotNull RationalPolynomial p, @NotNull RationalPolynomial a) {
+        RationalPolynomial result = RationalPolynomial.ZERO;
+        for (int i = p.degree(); i >= 0; i--) {
+            result = multiply(result, a).add(RationalPolynomial.of(p.coefficient(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the matrix of the linear map x↦{@code a}x on {@code this}, with respect to the basis
+     * α<sup>0</sup>, ..., α<sup>deg({@code this})–1</sup>.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code a} must have degree less than deg({@code this}).</li>
+     *  <li>The result is a square matrix whose dimension is the degree of {@code this}.</li>
+     * </ul>
+     *
+     * @param a an element of {@code this}
+     * @return the multiplication matrix of {@code a}
+     */
+    public @NotNull RationalMatrix multiplicationMatrix(@NotNull RationalPolynomial a) {
+        int degree = degree();
+        List<RationalVector> columns = new ArrayList<>(degree);
+        RationalPolynomial column = a;
+        for (int j = 0; j < degree; j++) {
+            if (j != 0) {
+                column = reduce(column.multiplyByPowerOfX(1));
+            }
+            List<Rational> coordinates = new ArrayList<>(degree);
+            for (int i = 0; i < degree; i++) {
+                coordinates.add(column.coefficient(i));
+            }
+            columns.add(RationalVector.of(coordinates));
+        }
+        return RationalMatrix.fromColumns(columns);
+    }
+
+    /**
+     * Returns the minimal polynomial of an element of {@code this}. The characteristic polynomial of the element's
+     * multiplication matrix is a power of its minimal polynomial, so no factoring is needed.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code a} must have degree less than deg({@code this}).</li>
+     *  <li>The result is irreducible, primitive, and has a positive leading coefficient.</li>
+     * </ul>
+     *
+     * @param a an element of {@code this}
+     * @return the minimal polynomial of {@code a}
+     */
+    public @NotNull Polynomial minimalPolynomial(@NotNull RationalPolynomial a) {
+        if (a.degree() < 1) return Polynomial.fromRoot(a.coefficient(0));
+        return multiplicationMatrix(a).characteristicPolynomial().constantFactor().b.squareFreePart();
+    }
+
+    /**
+     * Converts an element of {@code this} to an {@code Algebraic}. This requires one characteristic polynomial and a
+     * root matching, but no factorization.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code a} must have degree less than deg({@code this}).</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param a an element of {@code this}
+     * @return {@code a}(α), where {@code this}=ℚ(α)
+     */
+    public @NotNull Algebraic toAlgebraic(@NotNull RationalPolynomial a) {
+        if (a.degree() < 1) return Algebraic.of(a.coefficient(0));
+        if (a.degree() == 1 && a.coefficient(0) == Rational.ZERO && a.coefficient(1) == Rational.ONE) {
+            return generator;
+        }
+        Real alpha = generator.realValue();
+        Real value = Real.ZERO;
+        for (int i = a.degree(); i >= 0; i--) {
+            value = value.multiply(alpha).add(a.coefficient(i));
+        }
+        return Algebraic.fromFactors(Collections.singletonList(minimalPolynomial(a)), value);
+    }
+
+    /**
+     * Determines whether {@code this} is equal to {@code that}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>{@code that} may be any {@code Object}.</li>
+     *  <li>The result may be either {@code boolean}.</li>
+     * </ul>
+     *
+     * @param that The {@code Object} to be compared with {@code this}
+     * @return {@code this}={@code that}
+     */
+    @Override
+    public boolean equals(Object that) {
+        return this == that ||
+                that != null && getClass() == that.getClass() && generator.equals(((NumberField) that).generator);
+    }
+
+    /**
+     * Calculates the hash code of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>(conjecture) The result may be any {@code int}.</li>
+     * </ul>
+     *
+     * @return {@code this}'s hash code.
+     */
+    @Override
+    public int hashCode() {
+        return generator.hashCode();
+    }
+
+    /**
+     * Creates a {@code String} representation of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code NumberField}.</li>
+     *  <li>See tests and demos for example results.</li>
+     * </ul>
+     *
+     * @return a {@code String} representation of {@code this}
+     */
+    public @NotNull String toString() {
+        return this == RATIONALS ? "Q" : "Q(" + generator + ")";
+    }
+
+    /**
+     * Ensures that {@code this} is valid. Must return without exceptions for any {@code NumberField} used outside
+     * this class.
+     */
+    public void validate() {
+        generator.validate();
+        assertTrue(this, minimalPolynomial.isMonic());
+        assertEquals(this, minimalPolynomial.constantFactor().b, generator.minimalPolynomial());
+        assertEquals(this, powerTable.size(), 2 * degree() - 1);
+        if (generator.isRational()) {
+            assertTrue(this, this == RATIONALS);
+        }
+    }
+}
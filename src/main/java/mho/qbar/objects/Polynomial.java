@@ -1,6 +1,7 @@
 package mho.qbar.objects;
 
 import jas.JasApi;
+import jas.poly.NttUtil;
 import mho.wheels.concurrency.ResultCache;
 import mho.wheels.io.Readers;
 import mho.wheels.iterables.ExhaustiveProvider;
@@ -14,7 +15,10 @@ import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static mho.wheels.iterables.IterableUtils.*;
 import static mho.wheels.testing.Testing.assertTrue;
@@ -66,6 +70,24 @@ public final class Polynomial implements
     private static final ResultCache<Polynomial, List<Polynomial>> FACTOR_CACHE =
             new ResultCache<>(Polynomial::factorRaw, p -> p.degree() > 6, Function.identity());
 
+    /**
+     * The smallest divisor degree for which {@link Polynomial#pseudoDivide(Polynomial)} and related methods try to
+     * divide using a Newton-iteration reciprocal instead of long division
+     */
+    private static final int NEWTON_DIVISION_THRESHOLD = 160;
+
+    /**
+     * The smallest degree of both arguments for which {@link Polynomial#gcd(Polynomial)} computes the GCD modulo
+     * word-size primes instead of from the subresultant remainder sequence
+     */
+    private static final int MODULAR_GCD_THRESHOLD = 8;
+
+    /**
+     * The smallest degree for which {@link Polynomial#isolatingIntervals()} and related methods isolate the real roots
+     * in parallel
+     */
+    private static final int PARALLEL_ISOLATION_THRESHOLD = 12;
+
     /**
      * A {@code Comparator} that compares two {@code Polynomial}s by their degrees, then lexicographically by their
      * coefficients.
@@ -580,6 +602,17 @@ public final class Polynomial implements
         if (this == ZERO || that == ZERO) return ZERO;
         if (this == ONE) return that;
         if (that == ONE) return this;
+        if (NttUtil.isPreferred(
+                coefficients.size(),
+                that.coefficients.size(),
+                maxCoefficientBitLength(),
+                that.maxCoefficientBitLength()
+        )) {
+            return new Polynomial(Arrays.asList(NttUtil.multiply(
+                    coefficients.toArray(new BigInteger[coefficients.size()]),
+                    that.coefficients.toArray(new BigInteger[that.coefficients.size()])
+            )));
+        }
         List<BigInteger> productCoefficients = toList(
                 replicate(coefficients.size() + that.coefficients.size() - 1, BigInteger.ZERO)
         );
@@ -989,6 +1022,8 @@ public final class Polynomial implements
             throw new ArithmeticException("The degree of this must be greater than or equal to the degree of that." +
                     " this: " + this + ", that: " + that);
         }
+        Optional<Pair<Polynomial, Polynomial>> newtonDivision = pseudoDivideNewton(that);
+        if (newtonDivision.isPresent()) return newtonDivision.get();
         List<BigInteger> q = new ArrayList<>();
         List<BigInteger> r = toList(coefficients);
         BigInteger thatLeading = that.leading().get();
@@ -1038,6 +1073,10 @@ public final class Polynomial implements
             throw new ArithmeticException("The degree of this must be greater than or equal to the degree of that." +
                     " this: " + this + ", that: " + that);
         }
+        Optional<Polynomial> newtonQuotient = pseudoQuotientNewton(that);
+        if (newtonQuotient.isPresent()) {
+            return pseudoRemainder(that, newtonQuotient.get());
+        }
         List<BigInteger> r = toList(coefficients);
         BigInteger thatLeading = that.leading().get();
         for (int k = m - n; k >= 0; k--) {
@@ -1051,6 +1090,180 @@ public final class Polynomial implements
         return of(toList(take(n, r)));
     }
 
+    /**
+     * Determines whether dividing a polynomial of degree {@code m} by one of degree {@code n} is worth attempting by
+     * Newton iteration rather than long division. The degree difference should be large enough for the products to
+     * be computed by transforms, but no larger than {@code n}; beyond that, long division takes only O({@code n})
+     * operations per quotient coefficient and wins.
+     *
+     * <ul>
+     *  <li>{@code m} must be greater than or equal to {@code n}.</li>
+     *  <li>{@code n} cannot be negative.</li>
+     *  <li>The result may be either {@code boolean}.</li>
+     * </ul>
+     *
+     * @param m the degree of the dividend
+     * @param n the degree of the divisor
+     * @return whether to attempt Newton division
+     */
+    static boolean usesNewtonDivision(int m, int n) {
+        int difference = m - n;
+        return n >= NEWTON_DIVISION_THRESHOLD && difference >= NttUtil.MIN_LENGTH && difference <= n;
+    }
+
+    /**
+     * Returns the pseudo-quotient and pseudo-remainder when {@code this} is divided by {@code that}, as in
+     * {@link Polynomial#pseudoDivide(Polynomial)}, if they can be computed faster by Newton iteration than by long
+     * division.
+     *
+     * <ul>
+     *  <li>{@code this} cannot be zero.</li>
+     *  <li>{@code that} cannot be zero.</li>
+     *  <li>The degree of {@code this} must be greater than or equal to the degree of {@code that}.</li>
+     *  <li>The result is empty or contains a {@code Pair} with no null elements.</li>
+     * </ul>
+     *
+     * @param that the {@code Polynomial} {@code this} is divided by
+     * @return ({@code this}/{@code that}, {@code this}%{@code that}), if they were computed
+     */
+    @SuppressWarnings("JavaDoc")
+    @NotNull Optional<Pair<Polynomial, Polynomial>> pseudoDivideNewton(@NotNull Polynomial that) {
+        return pseudoQuotientNewton(that).map(q -> new Pair<>(q, pseudoRemainder(that, q)));
+    }
+
+    /**
+     * Returns the first {@code length} coefficients of {@code this}; in other words, {@code this} mod
+     * x<sup>{@code length}</sup>.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Polynomial}.</li>
+     *  <li>{@code length} cannot be negative.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param length the number of coefficients kept
+     * @return {@code this} mod x<sup>{@code length}</sup>
+     */
+    private @NotNull Polynomial truncate(int length) {
+        return length >= coefficients.size() ? this : of(toList(take(length, coefficients)));
+    }
+
+    /**
+     * Returns {@code this} with its first {@code length} coefficients reversed; in other words,
+     * x<sup>{@code length}–1</sup>{@code this}(1/x).
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code Polynomial}.</li>
+     *  <li>{@code length} must be greater than deg({@code this}).</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param length the length of the reversed coefficient list
+     * @return the reversal of {@code this}
+     */
+    private @NotNull Polynomial reversal(int length) {
+        List<BigInteger> reversed = toList(replicate(length, BigInteger.ZERO));
+        for (int i = 0; i < coefficients.size(); i++) {
+            reversed.set(length - 1 - i, coefficients.get(i));
+        }
+        return of(reversed);
+    }
+
+    /**
+     * Given a nonzero {@code this} with leading coefficient c, returns c<sup>{@code precision}</sup>/f mod
+     * x<sup>{@code precision}</sup>, where f is the reversal of {@code this}. Since f(0)=c, this power of c is just
+     * enough to keep the result integral. The result is computed by Newton iteration: if g=c<sup>k</sup>/f mod
+     * x<sup>k</sup>, then g(2c<sup>k</sup>–fg)=c<sup>2k</sup>/f mod x<sup>2k</sup>. The precisions are chosen by
+     * repeated halving, so that at most one surplus factor of c needs to be divided out at each step.
+     *
+     * <p>The coefficients of the reciprocal grow geometrically at a rate that depends on the roots and leading
+     * coefficient of {@code this}. Once they are too large for the products to be computed by transforms, Newton
+     * iteration is slower than long division, so the iteration is abandoned and an empty result is returned.</p>
+     *
+     * <ul>
+     *  <li>{@code this} cannot be zero.</li>
+     *  <li>{@code precision} must be positive.</li>
+     *  <li>The result is empty or contains a {@code Polynomial}.</li>
+     * </ul>
+     *
+     * @param precision the number of coefficients to compute
+     * @return the scaled reciprocal of the reversal of {@code this}, if it is small enough
+     */
+    private @NotNull Optional<Polynomial> scaledReversalReciprocal(int precision) {
+        BigInteger leading = leading().get();
+        Polynomial reversal = reversal(coefficients.size());
+        List<Integer> precisions = new ArrayList<>();
+        for (int k = precision; k > 1; k = (k + 1) >> 1) {
+            precisions.add(k);
+        }
+        Polynomial reciprocal = ONE;
+        int k = 1;
+        for (int next : reverse(precisions)) {
+            Polynomial error = reversal.truncate(next).multiply(reciprocal).truncate(next);
+            error = of(leading.pow(k).shiftLeft(1)).subtract(error);
+            reciprocal = reciprocal.multiply(error).truncate(next);
+            if (k << 1 > next) {
+                reciprocal = reciprocal.divideExact(leading.pow((k << 1) - next));
+            }
+            k = next;
+            if (k >= NttUtil.MIN_LENGTH &&
+                    reciprocal.maxCoefficientBitLength() > (long) NttUtil.MAX_BITS_PER_LENGTH * k) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(reciprocal);
+    }
+
+    /**
+     * Returns the pseudo-quotient when {@code this} is divided by {@code that}, as in
+     * {@link Polynomial#pseudoDivide(Polynomial)}, using a Newton-iteration reciprocal. The pseudo-quotient is
+     * determined by the top deg({@code this})–deg({@code that})+1 coefficients of {@code this}, so it is read off
+     * from the product of the reversal of {@code this} with the scaled reciprocal of the reversal of {@code that}.
+     * This takes a constant number of multiplications, so it is fast whenever multiplication is. If {@code that} or
+     * the degree difference is small, or if the reciprocal turns out to be too large, long division is faster and an
+     * empty result is returned.
+     *
+     * <ul>
+     *  <li>{@code this} cannot be zero.</li>
+     *  <li>{@code that} cannot be zero.</li>
+     *  <li>The degree of {@code this} must be greater than or equal to the degree of {@code that}.</li>
+     *  <li>The result is empty or contains a {@code Polynomial}.</li>
+     * </ul>
+     *
+     * @param that the {@code Polynomial} {@code this} is divided by
+     * @return the pseudo-quotient of {@code this} and {@code that}, if it was computed
+     */
+    private @NotNull Optional<Polynomial> pseudoQuotientNewton(@NotNull Polynomial that) {
+        if (!usesNewtonDivision(degree(), that.degree())) return Optional.empty();
+        int precision = coefficients.size() - that.coefficients.size() + 1;
+        Optional<Polynomial> reciprocal = that.scaledReversalReciprocal(precision);
+        if (!reciprocal.isPresent()) return Optional.empty();
+        Polynomial reversedQuotient = reversal(coefficients.size()).truncate(precision)
+                .multiply(reciprocal.get()).truncate(precision);
+        return Optional.of(reversedQuotient.reversal(precision));
+    }
+
+    /**
+     * Given the pseudo-quotient {@code q} of {@code this} and {@code that}, returns the pseudo-remainder
+     * {@code this}×leading({@code that})<sup>deg({@code this})–deg({@code that})+1</sup>–{@code that}×{@code q}.
+     *
+     * <ul>
+     *  <li>{@code this} cannot be zero.</li>
+     *  <li>{@code that} cannot be zero.</li>
+     *  <li>{@code q} must be the pseudo-quotient of {@code this} and {@code that}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @param that the {@code Polynomial} {@code this} is divided by
+     * @param q the pseudo-quotient of {@code this} and {@code that}
+     * @return the pseudo-remainder of {@code this} and {@code that}
+     */
+    @SuppressWarnings("JavaDoc")
+    private @NotNull Polynomial pseudoRemainder(@NotNull Polynomial that, @NotNull Polynomial q) {
+        BigInteger scale = that.leading().get().pow(coefficients.size() - that.coefficients.size() + 1);
+        return multiply(scale).subtract(that.multiply(q));
+    }
+
     /**
      * Returns a variant of the pseudo-quotient and pseudo-remainder when {@code this} is divided by {@code that}. To
      * be more precise, the result is (q, r) such that
@@ -1253,6 +1466,24 @@ public final class Polynomial implements
             throw new ArithmeticException("this must be divisible by that. this: " + this + ", that: " + that);
         }
         if (that == ONE) return this;
+        Optional<Polynomial> newtonQuotient = pseudoQuotientNewton(that);
+        if (newtonQuotient.isPresent()) {
+            BigInteger divisor = that.coefficient(n).pow(m - n + 1);
+            List<BigInteger> q = new ArrayList<>();
+            for (BigInteger c : newtonQuotient.get().coefficients) {
+                BigInteger[] qCoefficient = c.divideAndRemainder(divisor);
+                if (!qCoefficient[1].equals(BigInteger.ZERO)) {
+                    throw new ArithmeticException("this must be divisible by that. this: " + this + ", that: " +
+                            that);
+                }
+                q.add(qCoefficient[0]);
+            }
+            Polynomial quotient = of(q);
+            if (!that.multiply(quotient).equals(this)) {
+                throw new ArithmeticException("this must be divisible by that. this: " + this + ", that: " + that);
+            }
+            return quotient;
+        }
         List<BigInteger> q = new ArrayList<>();
         List<BigInteger> r = toList(coefficients);
         for (int k = m - n; k >= 0; k--) {
@@ -1429,6 +1660,9 @@ public final class Polynomial implements
         if (this == ZERO) return that.constantFactor().b;
         if (that == ZERO) return constantFactor().b;
         if (this == ONE || that == ONE) return ONE;
+        if (Math.min(degree(), that.degree()) >= MODULAR_GCD_THRESHOLD) {
+            return of(JasApi.gcd(coefficients, that.coefficients));
+        }
         Polynomial a;
         Polynomial b;
         if (degree() >= that.degree()) {
@@ -1599,7 +1833,7 @@ public final class Polynomial implements
             factorMultiset.put(p, frequency + 1);
         }
         for (Map.Entry<Polynomial, Integer> entry : factorMultiset.entrySet()) {
-            List<Polynomial> fs = toList(map(Polynomial::of, JasApi.factorSquareFree(toList(entry.getKey()))));
+            List<Polynomial> fs = toList(map(Polynomial::new, JasApi.factorSquareFree(entry.getKey().coefficients)));
             for (int i = 0; i < entry.getValue(); i++) {
                 factors.addAll(fs);
             }
@@ -1635,9 +1869,12 @@ public final class Polynomial implements
         if (this == ZERO) {
             throw new ArithmeticException("this cannot be zero.");
         }
-        return this == ONE ||
-                degree() > 0 && signum() != -1 && (equals(X) || !coefficient(0).equals(BigInteger.ZERO)) &&
-                factor().size() == 1;
+        if (this == ONE) return true;
+        if (degree() < 1 || signum() == -1) return false;
+        if (degree() == 1) return isPrimitive();
+        //a squarefree polynomial is factored only if its modular images don't already show it to be irreducible
+        return !coefficient(0).equals(BigInteger.ZERO) && isPrimitive() && isSquareFree() &&
+                JasApi.isIrreducible(coefficients);
     }
 
     /**
@@ -2511,7 +2748,8 @@ public final class Polynomial implements
      */
     private @NotNull List<Interval> isolatingIntervalsHelper(@NotNull Interval rootBound) {
         List<Polynomial> sturmSequence = primitiveSignedPseudoRemainderSequence(differentiate());
-        Map<Rational, Integer> signChangeMap = new HashMap<>();
+        boolean parallel = degree() >= PARALLEL_ISOLATION_THRESHOLD;
+        Map<Rational, Integer> signChangeMap = parallel ? new ConcurrentHashMap<>() : new HashMap<>();
         Rational lower = rootBound.getLower().get();
         Rational upper = rootBound.getUpper().get();
         boolean rootAtLower = signum(lower) == 0;
@@ -2519,6 +2757,12 @@ public final class Polynomial implements
         int lowerSignChanges = signChanges(signChangeMap, sturmSequence, lower);
         int upperSignChanges = signChanges(signChangeMap, sturmSequence, upper);
         rootCount += lowerSignChanges - upperSignChanges;
+        if (parallel && rootCount > 1) {
+            // each root is isolated independently; the shared cache only saves repeated Sturm sequence evaluations
+            return IntStream.range(0, rootCount).parallel()
+                    .mapToObj(i -> isolatingIntervalHelper(signChangeMap, sturmSequence, rootBound, i))
+                    .collect(Collectors.toList());
+        }
         List<Interval> isolatingIntervals = new ArrayList<>();
         for (int i = 0; i < rootCount; i++) {
             isolatingIntervals.add(isolatingIntervalHelper(signChangeMap, sturmSequence, rootBound, i));
@@ -2601,6 +2601,63 @@ public final class Rational implements Comparable<Rational> {
                 toList(map(x -> x.divide(gcd), canceled));
     }
 
+    /**
+     * Recovers a {@code Rational} from its residue modulo {@code modulus} (rational reconstruction). The result is the
+     * {@code Rational} n/d with |n|≤{@code numeratorBound} and 0{@literal <}d≤{@code denominatorBound} such that
+     * n≡d{@code residue} (mod {@code modulus}), or empty if no such {@code Rational} is found. If
+     * 2{@code numeratorBound}{@code denominatorBound}{@literal <}{@code modulus}, there is at most one such
+     * {@code Rational}, and it is found if it exists.
+     *
+     * <ul>
+     *  <li>{@code residue} may be any {@code BigInteger}.</li>
+     *  <li>{@code modulus} must be positive.</li>
+     *  <li>{@code numeratorBound} cannot be negative.</li>
+     *  <li>{@code denominatorBound} must be positive.</li>
+     *  <li>The result may be empty or any {@code Rational}.</li>
+     * </ul>
+     *
+     * @param residue the residue of the result modulo {@code modulus}
+     * @param modulus the modulus
+     * @param numeratorBound an upper bound on the absolute value of the result's numerator
+     * @param denominatorBound an upper bound on the result's denominator
+     * @return the {@code Rational} congruent to {@code residue} modulo {@code modulus}, if it exists
+     */
+    public static @NotNull Optional<Rational> reconstruct(
+            @NotNull BigInteger residue,
+            @NotNull BigInteger modulus,
+            @NotNull BigInteger numeratorBound,
+            @NotNull BigInteger denominatorBound
+    ) {
+        if (modulus.signum() != 1) {
+            throw new ArithmeticException("modulus must be positive. Invalid modulus: " + modulus);
+        }
+        if (numeratorBound.signum() == -1) {
+            throw new ArithmeticException("numeratorBound cannot be negative. Invalid numeratorBound: " +
+                    numeratorBound);
+        }
+        if (denominatorBound.signum() != 1) {
+            throw new ArithmeticException("denominatorBound must be positive. Invalid denominatorBound: " +
+                    denominatorBound);
+        }
+        BigInteger previousRemainder = modulus;
+        BigInteger remainder = residue.mod(modulus);
+        BigInteger previousCofactor = BigInteger.ZERO;
+        BigInteger cofactor = BigInteger.ONE;
+        while (gt(remainder, numeratorBound)) {
+            BigInteger quotient = previousRemainder.divide(remainder);
+            BigInteger nextRemainder = previousRemainder.subtract(quotient.multiply(remainder));
+            previousRemainder = remainder;
+            remainder = nextRemainder;
+            BigInteger nextCofactor = previousCofactor.subtract(quotient.multiply(cofactor));
+            previousCofactor = cofactor;
+            cofactor = nextCofactor;
+        }
+        if (gt(cofactor.abs(), denominatorBound) || !remainder.gcd(cofactor).equals(BigInteger.ONE)) {
+            return Optional.empty();
+        }
+        return Optional.of(of(remainder, cofactor));
+    }
+
     /**
      * Determines whether {@code this} is equal to {@code that}.
      *
@@ -10,6 +10,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.stream.IntStream;
 
 import static mho.wheels.iterables.IterableUtils.*;
 import static mho.wheels.testing.Testing.assertTrue;
@@ -29,6 +30,11 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
     private static final Comparator<Iterable<RationalVector>> RATIONAL_VECTOR_ITERABLE_COMPARATOR =
             new LexComparator<>();
 
+    /**
+     * The number of element updates in a single elimination step above which the rows are updated in parallel
+     */
+    private static final int PARALLEL_ELIMINATION_THRESHOLD = 1 << 12;
+
     /**
      * The matrix's rows
      */
@@ -893,7 +899,8 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
     /**
      * Returns a row echelon form of {@code this}. In other words, all zero rows are at the bottom, the first nonzero
      * element of every row is 1, and the first nonzero element of every row is strictly to the right of the first
-     * nonzero element of the row above it.
+     * nonzero element of the row above it. The denominators of each row are cleared once, and the elimination is done
+     * on integers with Bareiss's fraction-free algorithm.
      *
      * <ul>
      *  <li>{@code this} may be any {@code RationalMatrix}.</li>
@@ -905,49 +912,9 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
      * @return a row echelon form of {@code this}
      */
     public @NotNull RationalMatrix rowEchelonForm() {
-        int height = height();
-        if (width == 0 || height == 0) return this;
-        boolean changed = false;
-        List<RationalVector> refRows = rows;
-        int i = 0;
-        outer:
-        for (int j = 0; i < height && j < width; j++) {
-            int nonzeroRowIndex = i;
-            Rational pivot = refRows.get(i).get(j);
-            while (pivot == Rational.ZERO) {
-                nonzeroRowIndex++;
-                if (nonzeroRowIndex == height) continue outer;
-                pivot = refRows.get(nonzeroRowIndex).get(j);
-            }
-            if (nonzeroRowIndex != i) {
-                if (!changed) {
-                    changed = true;
-                    refRows = toList(rows);
-                }
-                Collections.swap(refRows, i, nonzeroRowIndex);
-            }
-            RationalVector nonzeroRow = refRows.get(i);
-            if (pivot != Rational.ONE) {
-                if (!changed) {
-                    changed = true;
-                    refRows = toList(rows);
-                }
-                nonzeroRow = nonzeroRow.divide(pivot);
-                refRows.set(i, nonzeroRow);
-            }
-            for (int k = i + 1; k < height; k++) {
-                RationalVector row = refRows.get(k);
-                if (row.get(j) != Rational.ZERO) {
-                    if (!changed) {
-                        changed = true;
-                        refRows = toList(rows);
-                    }
-                    refRows.set(k, row.subtract(nonzeroRow.multiply(row.get(j))));
-                }
-            }
-            i++;
-        }
-        return changed ? new RationalMatrix(refRows, width) : this;
+        if (width == 0 || height() == 0) return this;
+        BigInteger[][] elements = cancelRowDenominators();
+        return fromPivotRows(elements, fractionFreeEliminate(elements, width, false), width);
     }
 
     /**
@@ -963,13 +930,8 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
      */
     @SuppressWarnings("JavaDoc")
     public int rank() {
-        RationalMatrix ref = rowEchelonForm();
-        for (int rank = height(); rank > 0; rank--) {
-            if (!ref.row(rank - 1).isZero()) {
-                return rank;
-            }
-        }
-        return 0;
+        if (width == 0 || height() == 0) return 0;
+        return fractionFreeEliminate(cancelRowDenominators(), width, false).length;
     }
 
     /**
@@ -1018,7 +980,8 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
     /**
      * Returns the reduced row echelon form of {@code this}. In other words, the result is in row echelon form (see
      * {@link RationalMatrix#isInRowEchelonForm()}) and every leading element is the only nonzero element in its
-     * column.
+     * column. The denominators of each row are cleared once, and the elimination is done on integers with a
+     * fraction-free variant of Gauss-Jordan elimination.
      *
      * <ul>
      *  <li>{@code this} may be any {@code RationalMatrix}.</li>
@@ -1030,32 +993,9 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
      * @return the reduced row echelon form of {@code this}
      */
     public @NotNull RationalMatrix reducedRowEchelonForm() {
-        int height = height();
-        if (width == 0 || height == 0) return this;
-        RationalMatrix ref = rowEchelonForm();
-        if (width <= height && !ref.row(width - 1).isZero()) {
-            RationalMatrix identity = identity(width);
-            return width == height ? identity : identity.concat(zero(height - width, width));
-        }
-        boolean changed = false;
-        List<RationalVector> rrefRows = ref.rows;
-        for (int i = 0; i < height(); i++) {
-            RationalVector row = rrefRows.get(i);
-            Optional<Integer> pivotIndex = findIndex(x -> x != Rational.ZERO, row);
-            if (!pivotIndex.isPresent()) break;
-            int j = pivotIndex.get();
-            for (int k = i - 1; k >= 0; k--) {
-                RationalVector above = rrefRows.get(k);
-                if (above.get(j) != Rational.ZERO) {
-                    if (!changed) {
-                        changed = true;
-                        rrefRows = toList(ref.rows);
-                    }
-                    rrefRows.set(k, above.subtract(row.multiply(above.get(j))));
-                }
-            }
-        }
-        return changed ? new RationalMatrix(rrefRows, width) : ref;
+        if (width == 0 || height() == 0) return this;
+        BigInteger[][] elements = cancelRowDenominators();
+        return fromPivotRows(elements, fractionFreeEliminate(elements, width, true), width);
     }
 
     /**
@@ -1068,7 +1008,8 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
      * variables, and its <i>j</i>th element is the value of the <i>j</i>th variable.
      *
      * This method differs from {@link RationalMatrix#solveLinearSystemPermissive(RationalVector)} in that it returns
-     * empty on underdetermined systems (systems with infinitely many solutions).
+     * empty on underdetermined systems (systems with infinitely many solutions). Square systems are solved by p-adic
+     * lifting; see {@link RationalMatrix#solveLinearSystem(RationalMatrix)}.
      *
      * <ul>
      *  <li>{@code this} may be any {@code RationalMatrix}.</li>
@@ -1088,6 +1029,9 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
                     rhs + ", this: " + this);
         }
         if (width > height()) return Optional.empty();
+        if (width == height() && width != 0) {
+            return solveLinearSystem(fromColumns(Collections.singletonList(rhs))).map(m -> m.column(0));
+        }
         RationalMatrix rref = augment(fromColumns(Collections.singletonList(rhs))).reducedRowEchelonForm();
         RationalMatrix bottom;
         if (width == height()) {
@@ -1115,6 +1059,49 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
         );
     }
 
+    /**
+     * Solves several linear systems of equations that share their coefficients. If this is a matrix with <i>n</i>
+     * rows and <i>m</i> columns and {@code rhs} has <i>k</i> columns, then the result is the <i>m</i>×<i>k</i> matrix
+     * whose <i>c</i>th column is the solution of the system whose right-hand side is the <i>c</i>th column of
+     * {@code rhs}. If any of the systems is inconsistent or underdetermined, the result is empty; otherwise, it is
+     * non-empty. The denominators of each equation are cleared, and the resulting integer systems are solved with
+     * {@link Matrix#solveLinearSystem(Matrix)}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code RationalMatrix}.</li>
+     *  <li>{@code rhs} may be any {@code RationalMatrix}.</li>
+     *  <li>The height of {@code rhs} must equal the height of {@code this}.</li>
+     *  <li>The result may be empty or any {@code RationalMatrix}.</li>
+     * </ul>
+     *
+     * Size is width({@code this})×width({@code rhs})
+     *
+     * @param rhs the right-hand sides of the systems of equations, as columns
+     * @return The assignments to the variables in the equations, as columns
+     */
+    public @NotNull Optional<RationalMatrix> solveLinearSystem(@NotNull RationalMatrix rhs) {
+        if (height() != rhs.height()) {
+            throw new IllegalArgumentException("The height of rhs must equal the height of this. rhs: " +
+                    rhs + ", this: " + this);
+        }
+        if (height() == 0) {
+            return width == 0 ? Optional.of(zero(0, rhs.width)) : Optional.empty();
+        }
+        Matrix integral = Matrix.fromRows(toList(map(r -> r.cancelDenominators().toVector(), augment(rhs).rows)));
+        List<Integer> rowIndices = toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, height() - 1));
+        Matrix left = integral.submatrix(
+                rowIndices,
+                width == 0 ? Collections.emptyList() : toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, width - 1))
+        );
+        Matrix right = integral.submatrix(
+                rowIndices,
+                rhs.width == 0 ?
+                        Collections.emptyList() :
+                        toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(width, width + rhs.width - 1))
+        );
+        return left.solveLinearSystem(right);
+    }
+
     /**
      * Solves a linear system of equations. If this is a matrix with <i>n</i> rows and <i>m</i> columns, then the
      * system contains <i>n</i> equations in <i>m</i> variables, and the entry (<i>i</i>, <i>j</i>) is the coefficient
@@ -1380,6 +1367,177 @@ public final class RationalMatrix implements Comparable<RationalMatrix> {
         return characteristicPolynomial().realRoots();
     }
 
+    /**
+     * Returns the rows of {@code this} as integer arrays, each row having been multiplied by the nonzero rational
+     * number that makes its elements coprime integers. Multiplying rows by nonzero constants doesn't change the row
+     * space, so the result has the same echelon forms as {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code RationalMatrix}.</li>
+     *  <li>The result is a rectangular array with no null elements.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @return the rows of {@code this} with their denominators cleared
+     */
+    private @NotNull BigInteger[][] cancelRowDenominators() {
+        int height = height();
+        BigInteger[][] elements = new BigInteger[height][];
+        for (int i = 0; i < height; i++) {
+            elements[i] = Rational.cancelDenominators(toList(rows.get(i))).toArray(new BigInteger[width]);
+        }
+        return elements;
+    }
+
+    /**
+     * Brings {@code elements} into row echelon form, in place, using fraction-free (Bareiss) elimination. The pivot
+     * of each step is the first nonzero element at or below the current row, as in ordinary Gaussian elimination, so
+     * every row of the result is a multiple of the corresponding row that Gaussian elimination would produce. Every
+     * division is exact, and the intermediate elements are minors of the input, so they stay small. If
+     * {@code reduced} is true, the rows above each pivot are eliminated as well (fraction-free Gauss-Jordan
+     * elimination); in that case, every pivot of the result is equal, and dividing the pivot rows by it gives the
+     * reduced row echelon form. The rows updated by each step are independent of each other, so they are updated in
+     * parallel when there are enough of them.
+     *
+     * <ul>
+     *  <li>{@code elements} must be rectangular, with rows of length {@code width}, and cannot contain nulls.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>The result is strictly increasing, and its elements are less than {@code width}.</li>
+     * </ul>
+     *
+     * Length is the rank of {@code elements}
+     *
+     * @param elements the rows of an integer matrix; they are overwritten with the echelon form
+     * @param width the number of columns of {@code elements}
+     * @param reduced whether to also eliminate above the pivots
+     * @return the column indices of the pivots
+     */
+    private static @NotNull int[] fractionFreeEliminate(
+            @NotNull BigInteger[][] elements,
+            int width,
+            boolean reduced
+    ) {
+        int height = elements.length;
+        int[] pivotColumns = new int[Math.min(height, width)];
+        BigInteger previousPivot = BigInteger.ONE;
+        int i = 0;
+        for (int j = 0; i < height && j < width; j++) {
+            int nonzeroRowIndex = i;
+            while (elements[nonzeroRowIndex][j].signum() == 0) {
+                nonzeroRowIndex++;
+                if (nonzeroRowIndex == height) break;
+            }
+            if (nonzeroRowIndex == height) continue;
+            BigInteger[] pivotRow = elements[nonzeroRowIndex];
+            elements[nonzeroRowIndex] = elements[i];
+            elements[i] = pivotRow;
+            int pivotRowIndex = i;
+            int pivotColumn = j;
+            BigInteger divisor = previousPivot;
+            IntStream rowIndices = reduced ? IntStream.range(0, height) : IntStream.range(i + 1, height);
+            if ((long) (reduced ? height : height - i) * (width - j) >= PARALLEL_ELIMINATION_THRESHOLD) {
+                rowIndices = rowIndices.parallel();
+            }
+            rowIndices.forEach(k -> {
+                if (k != pivotRowIndex) {
+                    eliminateRow(elements[k], pivotRow, pivotColumn, divisor, k < pivotRowIndex ? 0 : pivotColumn);
+                }
+            });
+            pivotColumns[i] = j;
+            previousPivot = pivotRow[j];
+            i++;
+        }
+        return i == pivotColumns.length ? pivotColumns : Arrays.copyOf(pivotColumns, i);
+    }
+
+    /**
+     * One fraction-free elimination step on a single row: replaces {@code row} with
+     * (p·{@code row}–{@code row}[j]·{@code pivotRow})/{@code divisor}, where p is the pivot
+     * {@code pivotRow}[j], so that the element of {@code row} in the pivot column becomes zero. Elements to the left
+     * of {@code start} are known to be zero in both rows and are skipped.
+     *
+     * <ul>
+     *  <li>{@code row} and {@code pivotRow} must have the same length and cannot contain nulls.</li>
+     *  <li>{@code pivotColumn} must be an index of {@code pivotRow} with a nonzero element.</li>
+     *  <li>{@code divisor} must be the previous pivot, so that every division is exact.</li>
+     *  <li>{@code start} must be between 0 and {@code pivotColumn}, inclusive.</li>
+     * </ul>
+     *
+     * @param row the row being eliminated; it is overwritten with the result
+     * @param pivotRow the row containing the pivot
+     * @param pivotColumn the pivot's column index
+     * @param divisor the previous step's pivot
+     * @param start the first column index that may be nonzero
+     */
+    private static void eliminateRow(
+            @NotNull BigInteger[] row,
+            @NotNull BigInteger[] pivotRow,
+            int pivotColumn,
+            @NotNull BigInteger divisor,
+            int start
+    ) {
+        BigInteger pivot = pivotRow[pivotColumn];
+        BigInteger multiplier = row[pivotColumn];
+        boolean exact = divisor.equals(BigInteger.ONE);
+        for (int l = start; l < row.length; l++) {
+            if (l == pivotColumn) continue;
+            BigInteger element = row[l];
+            BigInteger pivotRowElement = pivotRow[l];
+            if (pivotRowElement.signum() == 0 || multiplier.signum() == 0) {
+                if (element.signum() == 0) continue;
+                element = element.multiply(pivot);
+            } else {
+                element = element.multiply(pivot).subtract(multiplier.multiply(pivotRowElement));
+            }
+            row[l] = exact ? element : element.divide(divisor);
+        }
+        row[pivotColumn] = BigInteger.ZERO;
+    }
+
+    /**
+     * Converts the output of {@link RationalMatrix#fractionFreeEliminate(BigInteger[][], int, boolean)} into a
+     * {@code RationalMatrix} by dividing each pivot row by its pivot. This is the only place where the elements are
+     * reduced to lowest terms.
+     *
+     * <ul>
+     *  <li>{@code elements} must be rectangular, with rows of length {@code width}, and cannot contain nulls.</li>
+     *  <li>{@code pivotColumns} must be the pivot columns of {@code elements}, which must be in echelon form.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>The result is in row echelon form.</li>
+     * </ul>
+     *
+     * Size is |{@code elements}|×{@code width}
+     *
+     * @param elements the rows of an integer matrix in echelon form
+     * @param pivotColumns the column indices of the pivots of {@code elements}
+     * @param width the width of {@code elements}
+     * @return {@code elements}, with each pivot scaled to 1
+     */
+    private static @NotNull RationalMatrix fromPivotRows(
+            @NotNull BigInteger[][] elements,
+            @NotNull int[] pivotColumns,
+            int width
+    ) {
+        List<RationalVector> rows = new ArrayList<>();
+        for (int i = 0; i < pivotColumns.length; i++) {
+            BigInteger[] row = elements[i];
+            BigInteger pivot = row[pivotColumns[i]];
+            List<Rational> coordinates = new ArrayList<>();
+            for (BigInteger element : row) {
+                coordinates.add(element.signum() == 0 ? Rational.ZERO : Rational.of(element, pivot));
+            }
+            rows.add(RationalVector.of(coordinates));
+        }
+        if (pivotColumns.length < elements.length) {
+            RationalVector zeroRow = RationalVector.zero(width);
+            for (int i = pivotColumns.length; i < elements.length; i++) {
+                rows.add(zeroRow);
+            }
+        }
+        return new RationalMatrix(rows, width);
+    }
+
     /**
      * Determines whether {@code this} is equal to {@code that}.
      *
@@ -1,5 +1,6 @@
 package mho.qbar.objects;
 
+import jas.JasApi;
 import mho.wheels.io.Readers;
 import mho.wheels.iterables.ExhaustiveProvider;
 import mho.wheels.iterables.NoRemoveIterable;
@@ -7,6 +8,7 @@ import mho.wheels.numberUtils.IntegerUtils;
 import mho.wheels.ordering.Ordering;
 import mho.wheels.ordering.comparators.ShortlexComparator;
 import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
@@ -882,6 +884,19 @@ public final class RationalPolynomial implements
         int n = that.degree();
         if (m < n) return new Pair<>(ZERO, this);
         if (that == ONE) return new Pair<>(this, ZERO);
+        if (Polynomial.usesNewtonDivision(m, n)) {
+            Pair<Rational, Polynomial> thisFactor = constantFactor();
+            Pair<Rational, Polynomial> thatFactor = that.constantFactor();
+            Optional<Pair<Polynomial, Polynomial>> newtonDivision = thisFactor.b.pseudoDivideNewton(thatFactor.b);
+            if (newtonDivision.isPresent()) {
+                Rational scale = Rational.of(thatFactor.b.leading().get().pow(m - n + 1)).invert()
+                        .multiply(thisFactor.a);
+                return new Pair<>(
+                        newtonDivision.get().a.toRationalPolynomial().multiply(scale.divide(thatFactor.a)),
+                        newtonDivision.get().b.toRationalPolynomial().multiply(scale)
+                );
+            }
+        }
         List<Rational> q = new ArrayList<>();
         List<Rational> r = toList(coefficients);
         for (int k = m - n; k >= 0; k--) {
@@ -931,18 +946,7 @@ public final class RationalPolynomial implements
      * @return the remainder sequence of {@code this} and {@code that}
      */
     public @NotNull List<RationalPolynomial> remainderSequence(@NotNull RationalPolynomial that) {
-        if (this == ZERO && that == ZERO) {
-            throw new ArithmeticException("this and that cannot both be zero.");
-        }
-        List<RationalPolynomial> sequence = new ArrayList<>();
-        sequence.add(this);
-        if (that == ZERO) return sequence;
-        sequence.add(that);
-        for (int i = 0; ; i++) {
-            RationalPolynomial next = sequence.get(i).divide(sequence.get(i + 1)).b;
-            if (next == ZERO) return sequence;
-            sequence.add(next);
-        }
+        return remainderSequence(that, false);
     }
 
     /**
@@ -961,6 +965,81 @@ public final class RationalPolynomial implements
      * @return the signed remainder sequence of {@code this} and {@code that}
      */
     public @NotNull List<RationalPolynomial> signedRemainderSequence(@NotNull RationalPolynomial that) {
+        return remainderSequence(that, true);
+    }
+
+    /**
+     * Given two {@code RationalPolynomial}s, returns the elements of their signed remainder sequence at the given
+     * indices. The sequence is only computed up to the last index, and only the elements that are returned are
+     * converted to {@code RationalPolynomial}s.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code RationalPolynomial}.</li>
+     *  <li>{@code that} cannot be null.</li>
+     *  <li>{@code this} and {@code that} cannot both be zero.</li>
+     *  <li>{@code indices} must be in ascending order, cannot have any repetitions, and cannot contain negative
+     *  numbers or any elements greater than or equal to the length of the signed remainder sequence of {@code this}
+     *  and {@code that}.</li>
+     *  <li>No element of the result is null.</li>
+     * </ul>
+     *
+     * Length is |{@code indices}|
+     *
+     * @param that another {@code RationalPolynomial}
+     * @param indices the indices of the elements in the result
+     * @return the elements of the signed remainder sequence of {@code this} and {@code that} at {@code indices}
+     */
+    public @NotNull List<RationalPolynomial> signedRemainderSequence(
+            @NotNull RationalPolynomial that,
+            @NotNull List<Integer> indices
+    ) {
+        if (this == ZERO && that == ZERO) {
+            throw new ArithmeticException("this and that cannot both be zero.");
+        }
+        if (!Ordering.increasing(indices)) {
+            throw new IllegalArgumentException("indices must be in ascending order and cannot have any repetitions." +
+                    " Invalid indices: " + indices);
+        }
+        if (indices.isEmpty()) return Collections.emptyList();
+        int lastIndex = last(indices);
+        List<Pair<Rational, Polynomial>> remainders = this == ZERO || that == ZERO ?
+                Collections.emptyList() :
+                remainders(that, true, lastIndex - 1);
+        int length = that == ZERO ? 1 : remainders.size() + 2;
+        if (head(indices) < 0 || lastIndex >= length) {
+            throw new IllegalArgumentException("indices cannot contain negative numbers or any elements greater than" +
+                    " or equal to the length of the signed remainder sequence. Invalid indices: " + indices);
+        }
+        List<RationalPolynomial> sequence = new ArrayList<>();
+        for (int i : indices) {
+            if (i == 0) {
+                sequence.add(this);
+            } else if (i == 1) {
+                sequence.add(that);
+            } else {
+                Pair<Rational, Polynomial> remainder = remainders.get(i - 2);
+                sequence.add(remainder.b.toRationalPolynomial().multiply(remainder.a));
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Computes the (possibly signed) remainder sequence of {@code this} and {@code that}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code RationalPolynomial}.</li>
+     *  <li>{@code that} cannot be null.</li>
+     *  <li>{@code this} and {@code that} cannot both be zero.</li>
+     *  <li>{@code signed} may be either {@code boolean}.</li>
+     *  <li>No element of the result is null.</li>
+     * </ul>
+     *
+     * @param that another {@code RationalPolynomial}
+     * @param signed whether every remainder is negated
+     * @return the (signed) remainder sequence of {@code this} and {@code that}
+     */
+    private @NotNull List<RationalPolynomial> remainderSequence(@NotNull RationalPolynomial that, boolean signed) {
         if (this == ZERO && that == ZERO) {
             throw new ArithmeticException("this and that cannot both be zero.");
         }
@@ -968,11 +1047,121 @@ public final class RationalPolynomial implements
         sequence.add(this);
         if (that == ZERO) return sequence;
         sequence.add(that);
-        for (int i = 0; ; i++) {
-            RationalPolynomial next = sequence.get(i).divide(sequence.get(i + 1)).b.negate();
-            if (next == ZERO) return sequence;
-            sequence.add(next);
+        if (this == ZERO) return sequence;
+        for (Pair<Rational, Polynomial> remainder : remainders(that, signed, Integer.MAX_VALUE)) {
+            sequence.add(remainder.b.toRationalPolynomial().multiply(remainder.a));
+        }
+        return sequence;
+    }
+
+    /**
+     * Computes at most {@code limit} of the remainders in the (possibly signed) remainder sequence of {@code this} and
+     * {@code that}, that is, the elements after the first two, each as a constant and a primitive integer polynomial
+     * whose product is the element. Rather than dividing with {@code Rational} coefficients, whose denominators grow
+     * quickly, this method takes pseudo-remainders of primitive integer polynomials and keeps each element's constant
+     * factor separately. Since r<sub>i–1</sub>%r<sub>i</sub> is c<sub>i–1</sub>prem(p<sub>i–1</sub>,
+     * p<sub>i</sub>)/leading(p<sub>i</sub>)<sup>δ+1</sup>, where r<sub>i</sub>=c<sub>i</sub>p<sub>i</sub> with
+     * p<sub>i</sub> primitive and δ is the degree difference, the elements are recovered exactly.
+     *
+     * <ul>
+     *  <li>{@code this} cannot be zero.</li>
+     *  <li>{@code that} cannot be zero.</li>
+     *  <li>{@code signed} may be either {@code boolean}.</li>
+     *  <li>{@code limit} may be any {@code int}.</li>
+     *  <li>No element of the result is null.</li>
+     * </ul>
+     *
+     * @param that another {@code RationalPolynomial}
+     * @param signed whether every remainder is negated
+     * @param limit the maximum number of remainders computed
+     * @return the first remainders of the (signed) remainder sequence of {@code this} and {@code that}
+     */
+    private @NotNull List<Pair<Rational, Polynomial>> remainders(
+            @NotNull RationalPolynomial that,
+            boolean signed,
+            int limit
+    ) {
+        List<Pair<Rational, Polynomial>> remainders = new ArrayList<>();
+        Pair<Rational, Polynomial> previous = constantFactor();
+        Pair<Rational, Polynomial> current = that.constantFactor();
+        while (remainders.size() < limit) {
+            Polynomial a = previous.b;
+            Polynomial b = current.b;
+            int delta = a.degree() - b.degree();
+            Polynomial r = delta < 0 ? a : a.pseudoRemainder(b);
+            if (r == Polynomial.ZERO) break;
+            Pair<BigInteger, Polynomial> rFactor = r.constantFactor();
+            Rational factor = previous.a.multiply(rFactor.a);
+            if (delta >= 0) {
+                factor = factor.divide(Rational.of(b.leading().get().pow(delta + 1)));
+            }
+            if (signed) {
+                factor = factor.negate();
+            }
+            previous = current;
+            current = new Pair<>(factor, rFactor.b);
+            remainders.add(current);
         }
+        return remainders;
+    }
+
+    /**
+     * Returns the unique monic GCD of {@code this} and {@code that}. The GCD is computed over the integers, from the
+     * primitive parts of {@code this} and {@code that}, without forming a remainder sequence.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code RationalPolynomial}.</li>
+     *  <li>{@code that} cannot be null.</li>
+     *  <li>{@code this} and {@code that} cannot both be zero.</li>
+     *  <li>The result is monic.</li>
+     * </ul>
+     *
+     * @param that the {@code RationalPolynomial} that {@code this} is GCD'd with
+     * @return the monic polynomial of maximum degree that divides {@code this} and {@code that}
+     */
+    public @NotNull RationalPolynomial gcd(@NotNull RationalPolynomial that) {
+        if (this == ZERO && that == ZERO) {
+            throw new ArithmeticException("this and that cannot both be zero.");
+        }
+        if (this == ZERO) return that.makeMonic();
+        if (that == ZERO) return makeMonic();
+        return constantFactor().b.gcd(that.constantFactor().b).toRationalPolynomial().makeMonic();
+    }
+
+    /**
+     * Returns the unique monic GCD g of {@code this} and {@code that}, together with the cofactors s and t such that
+     * s×{@code this}+t×{@code that}=g, deg(s){@literal <}deg({@code that})–deg(g), and
+     * deg(t){@literal <}deg({@code this})–deg(g), unless one of {@code this} and {@code that} divides the other. Only
+     * the final cofactors are computed: the integer cofactors are found modulo primes, where large remainder sequences
+     * are skipped over by half-GCD steps, and lifted by rational reconstruction.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code RationalPolynomial}.</li>
+     *  <li>{@code that} cannot be null.</li>
+     *  <li>{@code this} and {@code that} cannot both be zero.</li>
+     *  <li>The result is a {@code Triple} whose first element is monic and whose elements are not null.</li>
+     * </ul>
+     *
+     * @param that the {@code RationalPolynomial} that {@code this} is GCD'd with
+     * @return (g, s, t)
+     */
+    public @NotNull Triple<RationalPolynomial, RationalPolynomial, RationalPolynomial> extendedGcd(
+            @NotNull RationalPolynomial that
+    ) {
+        if (this == ZERO && that == ZERO) {
+            throw new ArithmeticException("this and that cannot both be zero.");
+        }
+        if (this == ZERO) return new Triple<>(that.makeMonic(), ZERO, of(that.leading().get().invert()));
+        if (that == ZERO) return new Triple<>(makeMonic(), of(leading().get().invert()), ZERO);
+        Pair<Rational, Polynomial> thisFactor = constantFactor();
+        Pair<Rational, Polynomial> thatFactor = that.constantFactor();
+        List<List<BigInteger>> gcd = JasApi.extendedGcd(toList(thisFactor.b), toList(thatFactor.b));
+        Rational leading = Rational.of(last(gcd.get(0)));
+        return new Triple<>(
+                Polynomial.of(gcd.get(0)).toRationalPolynomial().divide(leading),
+                Polynomial.of(gcd.get(1)).toRationalPolynomial().divide(thisFactor.a.multiply(leading)),
+                Polynomial.of(gcd.get(2)).toRationalPolynomial().divide(thatFactor.a.multiply(leading))
+        );
     }
 
     /**
@@ -6082,28 +6082,49 @@ public final class Real implements Iterable<Interval> {
         Rational rounded = Rational.of(scaled.bigIntegerValueUnsafe(RoundingMode.DOWN));
         rounded = scale >= 0 ? rounded.divide(power) : rounded.multiply(power);
         String result = rounded.toStringBase(base);
-        if (scale > 0) { //append ellipsis
-            //pad with trailing zeros if necessary
-            int dotIndex = result.indexOf('.');
-            if (dotIndex == -1) {
-                dotIndex = result.length();
-                result = result + ".";
-            }
-            if (Ordering.le(base, ASCII_ALPHANUMERIC_COUNT)) {
-                int missingZeros = scale - result.length() + dotIndex + 1;
-                result += replicateString(missingZeros, '0');
-            } else {
-                int missingZeros = scale;
-                for (int i = dotIndex + 1; i < result.length(); i++) {
-                    if (result.charAt(i) == '(') missingZeros--;
-                }
-                result += concatStrings(replicate(missingZeros, "(0)"));
-            }
-            result += "...";
+        if (scale > 0) {
+            result = appendEllipsis(result, base, scale);
         }
         return result;
     }
 
+    /**
+     * Given the base-{@code base} representation of a number truncated to {@code scale} digits after the decimal
+     * point, pads it with trailing zeros up to {@code scale} digits and appends an ellipsis, as
+     * {@link Real#toStringBaseUnsafe(BigInteger, int)} does for approximations.
+     *
+     * <ul>
+     *  <li>{@code s} must be the result of {@link Rational#toStringBase(BigInteger)} for a {@code Rational} with at
+     *  most {@code scale} digits after the decimal point.</li>
+     *  <li>{@code base} must be at least 2.</li>
+     *  <li>{@code scale} must be positive.</li>
+     *  <li>The result ends with an ellipsis.</li>
+     * </ul>
+     *
+     * @param s a truncated representation of a number
+     * @param base the base of the digits of {@code s}
+     * @param scale the number of digits after the decimal point in the result
+     * @return {@code s} with {@code scale} digits after the decimal point and an ellipsis
+     */
+    static @NotNull String appendEllipsis(@NotNull String s, @NotNull BigInteger base, int scale) {
+        int dotIndex = s.indexOf('.');
+        if (dotIndex == -1) {
+            dotIndex = s.length();
+            s = s + ".";
+        }
+        if (Ordering.le(base, ASCII_ALPHANUMERIC_COUNT)) {
+            int missingZeros = scale - s.length() + dotIndex + 1;
+            s += replicateString(missingZeros, '0');
+        } else {
+            int missingZeros = scale;
+            for (int i = dotIndex + 1; i < s.length(); i++) {
+                if (s.charAt(i) == '(') missingZeros--;
+            }
+            s += concatStrings(replicate(missingZeros, "(0)"));
+        }
+        return s + "...";
+    }
+
     /**
      * <p>Converts {@code this} to a {@code String} in any base greater than 1, rounding to {@code scale} digits after
      * the decimal point. A scale of 0 indicates rounding to an integer, and a negative scale indicates rounding to a
@@ -6205,23 +6226,7 @@ public final class Real implements Iterable<Interval> {
             result = "-" + result;
         }
         if (!fuzzyOnBothSides && scale > 0) {
-            //pad with trailing zeros if necessary
-            int dotIndex = result.indexOf('.');
-            if (dotIndex == -1) {
-                dotIndex = result.length();
-                result = result + ".";
-            }
-            if (Ordering.le(base, ASCII_ALPHANUMERIC_COUNT)) {
-                int missingZeros = scale - result.length() + dotIndex + 1;
-                result += replicateString(missingZeros, '0');
-            } else {
-                int missingZeros = scale;
-                for (int i = dotIndex + 1; i < result.length(); i++) {
-                    if (result.charAt(i) == '(') missingZeros--;
-                }
-                result += concatStrings(replicate(missingZeros, "(0)"));
-            }
-            result += "...";
+            result = appendEllipsis(result, base, scale);
         }
         return result;
     }
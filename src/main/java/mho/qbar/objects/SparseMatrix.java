@@ -0,0 +1,1149 @@
+package mho.qbar.objects;
+
+import jas.arith.PrimeTable;
+import mho.wheels.ordering.Ordering;
+import mho.wheels.structures.Pair;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static mho.wheels.testing.Testing.assertTrue;
+
+/**
+ * <p>A matrix with {@link java.math.BigInteger} elements, most of which are expected to be zero. Only the nonzero
+ * elements are stored, in compressed sparse row (CSR) form: the nonzero elements of each row are stored in order of
+ * increasing column index, and the rows are stored one after another. A product with a vector takes time
+ * proportional to the number of nonzero elements.</p>
+ *
+ * <p>The rank, determinant, and solutions of linear systems are computed modulo word-size primes and lifted to
+ * ℤ or ℚ with the Chinese remainder theorem. Modulo each prime, determinants and solutions are found with
+ * Wiedemann's algorithm, which only accesses the matrix through matrix-vector products, so no fill-in occurs.</p>
+ *
+ * <p>The {@code String} representation of a {@code SparseMatrix} is that of the equal {@link Matrix}.</p>
+ *
+ * <p>This class is immutable.</p>
+ */
+public final class SparseMatrix {
+    /**
+     * The number of random projections and preconditioners Wiedemann's algorithm tries modulo a prime before falling
+     * back to Gaussian elimination
+     */
+    private static final int WIEDEMANN_ATTEMPTS = 3;
+
+    /**
+     * The bit length of the smallest prime used by the modular algorithms. The number of such primes dividing a
+     * nonzero integer is at most its bit length divided by this number.
+     */
+    private static final int PRIME_BIT_LENGTH = 30;
+
+    /**
+     * For each row, the index in {@code columnIndices} and {@code elements} where the row begins, followed by the
+     * number of nonzero elements. Its length is the height plus one.
+     */
+    private final @NotNull int[] rowStarts;
+
+    /**
+     * The column index of each nonzero element
+     */
+    private final @NotNull int[] columnIndices;
+
+    /**
+     * The nonzero elements, in row-major order
+     */
+    private final @NotNull BigInteger[] elements;
+
+    /**
+     * The matrix's width
+     */
+    private final int width;
+
+    /**
+     * Private constructor for {@code SparseMatrix}; assumes arguments are valid
+     *
+     * <ul>
+     *  <li>{@code rowStarts} must begin with 0, be weakly increasing, and end with the length of
+     *  {@code columnIndices}.</li>
+     *  <li>{@code columnIndices} must have the same length as {@code elements}, every element must be non-negative and
+     *  less than {@code width}, and the column indices of each row must be increasing.</li>
+     *  <li>{@code elements} cannot contain any nulls or zeros.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>Any {@code SparseMatrix} may be constructed with this constructor.</li>
+     * </ul>
+     *
+     * @param rowStarts where each row begins
+     * @param columnIndices the column of each nonzero element
+     * @param elements the nonzero elements
+     * @param width the matrix's width
+     */
+    private SparseMatrix(
+            @NotNull int[] rowStarts,
+            @NotNull int[] columnIndices,
+            @NotNull BigInteger[] elements,
+            int width
+    ) {
+        this.rowStarts = rowStarts;
+        this.columnIndices = columnIndices;
+        this.elements = elements;
+        this.width = width;
+    }
+
+    /**
+     * Creates a {@code SparseMatrix} with the same elements as a {@code Matrix}.
+     *
+     * <ul>
+     *  <li>{@code m} cannot be null.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is height({@code m})×width({@code m})
+     *
+     * @param m a {@code Matrix}
+     * @return a {@code SparseMatrix} equal to {@code m}
+     */
+    public static @NotNull SparseMatrix of(@NotNull Matrix m) {
+        int height = m.height();
+        int width = m.width();
+        int[] rowStarts = new int[height + 1];
+        List<Integer> columnIndices = new ArrayList<>();
+        List<BigInteger> elements = new ArrayList<>();
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                BigInteger x = m.get(i, j);
+                if (x.signum() != 0) {
+                    columnIndices.add(j);
+                    elements.add(x);
+                }
+            }
+            rowStarts[i + 1] = elements.size();
+        }
+        return new SparseMatrix(rowStarts, toIntArray(columnIndices), elements.toArray(new BigInteger[0]), width);
+    }
+
+    /**
+     * Creates a {@code SparseMatrix} from its rows, each given as a map from column indices to the nonzero elements
+     * in those columns. Unlike {@link Matrix#fromRows(List)}, this method can create matrices with 0 height and
+     * nonzero width.
+     *
+     * <ul>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>{@code rows} cannot be null, and its elements cannot be null or contain nulls. Every key must be
+     *  non-negative and less than {@code width}, and every value must be nonzero.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is |{@code rows}|×{@code width}
+     *
+     * @param width the matrix's width
+     * @param rows the nonzero elements of each row, indexed by column
+     * @return a {@code SparseMatrix} with the given rows
+     */
+    public static @NotNull SparseMatrix fromRows(int width, @NotNull List<SortedMap<Integer, BigInteger>> rows) {
+        if (width < 0) {
+            throw new IllegalArgumentException("width cannot be negative. Invalid width: " + width);
+        }
+        int[] rowStarts = new int[rows.size() + 1];
+        List<Integer> columnIndices = new ArrayList<>();
+        List<BigInteger> elements = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            for (Map.Entry<Integer, BigInteger> entry : rows.get(i).entrySet()) {
+                int j = entry.getKey();
+                BigInteger x = entry.getValue();
+                if (j < 0 || j >= width) {
+                    throw new IllegalArgumentException("Every column index must be non-negative and less than width." +
+                            " Invalid rows: " + rows + ", width: " + width);
+                }
+                if (x.signum() == 0) {
+                    throw new IllegalArgumentException("rows cannot contain any zeros. Invalid rows: " + rows);
+                }
+                columnIndices.add(j);
+                elements.add(x);
+            }
+            rowStarts[i + 1] = elements.size();
+        }
+        return new SparseMatrix(rowStarts, toIntArray(columnIndices), elements.toArray(new BigInteger[0]), width);
+    }
+
+    /**
+     * Creates a {@code SparseMatrix} with a given height and width, all of whose elements are zero.
+     *
+     * <ul>
+     *  <li>{@code height} cannot be negative.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>The result has no nonzero elements.</li>
+     * </ul>
+     *
+     * Size is {@code height}×{@code width}
+     *
+     * @param height the zero matrix's height
+     * @param width the zero matrix's width
+     * @return 0<sub>{@code height}×{@code width}</sub>
+     */
+    public static @NotNull SparseMatrix zero(int height, int width) {
+        if (height < 0) {
+            throw new IllegalArgumentException("height cannot be negative. Invalid height: " + height);
+        }
+        if (width < 0) {
+            throw new IllegalArgumentException("width cannot be negative. Invalid width: " + width);
+        }
+        return new SparseMatrix(new int[height + 1], new int[0], new BigInteger[0], width);
+    }
+
+    /**
+     * Creates an identity matrix.
+     *
+     * <ul>
+     *  <li>{@code dimension} cannot be negative.</li>
+     *  <li>The result is a square identity matrix.</li>
+     * </ul>
+     *
+     * Size is {@code dimension}×{@code dimension}
+     *
+     * @param dimension the height and width of the identity matrix
+     * @return I<sub>{@code dimension}</sub>
+     */
+    public static @NotNull SparseMatrix identity(int dimension) {
+        if (dimension < 0) {
+            throw new IllegalArgumentException("dimension cannot be negative. Invalid dimension: " + dimension);
+        }
+        int[] rowStarts = new int[dimension + 1];
+        int[] columnIndices = new int[dimension];
+        BigInteger[] elements = new BigInteger[dimension];
+        for (int i = 0; i < dimension; i++) {
+            rowStarts[i + 1] = i + 1;
+            columnIndices[i] = i;
+            elements[i] = BigInteger.ONE;
+        }
+        return new SparseMatrix(rowStarts, columnIndices, elements, dimension);
+    }
+
+    /**
+     * Converts {@code this} to a dense {@code Matrix}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @return a {@code Matrix} equal to {@code this}
+     */
+    public @NotNull Matrix toMatrix() {
+        int height = height();
+        if (height == 0) return Matrix.zero(0, width);
+        List<Vector> rows = new ArrayList<>();
+        for (int i = 0; i < height; i++) {
+            rows.add(row(i));
+        }
+        return Matrix.fromRows(rows);
+    }
+
+    /**
+     * Converts {@code this} to a {@code SparseRationalMatrix}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>The result is a {@code SparseRationalMatrix} with only integral elements.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @return a {@code SparseRationalMatrix} with the same value as {@code this}
+     */
+    public @NotNull SparseRationalMatrix toSparseRationalMatrix() {
+        List<SortedMap<Integer, Rational>> rows = new ArrayList<>();
+        for (int i = 0; i < height(); i++) {
+            SortedMap<Integer, Rational> row = new TreeMap<>();
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                row.put(columnIndices[k], Rational.of(elements[k]));
+            }
+            rows.add(row);
+        }
+        return SparseRationalMatrix.fromRows(width, rows);
+    }
+
+    /**
+     * Returns this {@code SparseMatrix}'s height.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return the number of rows in {@code this}
+     */
+    public int height() {
+        return rowStarts.length - 1;
+    }
+
+    /**
+     * Returns this {@code SparseMatrix}'s width.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return the number of columns in {@code this}
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Returns the number of nonzero elements of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return the number of nonzero elements
+     */
+    public int nonzeroCount() {
+        return elements.length;
+    }
+
+    /**
+     * Returns one of {@code this}'s elements. 0-indexed. The element is found by binary search within its row.
+     *
+     * <ul>
+     *  <li>{@code this} must have at least one row and at least one column.</li>
+     *  <li>{@code i} cannot be negative.</li>
+     *  <li>{@code j} cannot be negative.</li>
+     *  <li>{@code i} must be less than the height of {@code this}.</li>
+     *  <li>{@code j} must be less than the width of {@code this}.</li>
+     *  <li>The result is non-null.</li>
+     * </ul>
+     *
+     * @param i the 0-based row index
+     * @param j the 0-based column index
+     * @return the element of {@code this} in the {@code i}th row and {@code j}th column
+     */
+    public @NotNull BigInteger get(int i, int j) {
+        if (i < 0 || i >= height() || j < 0 || j >= width) {
+            throw new IndexOutOfBoundsException("i must be non-negative and less than the height of this, and j must" +
+                    " be non-negative and less than the width of this. i: " + i + ", j: " + j + ", this: " + this);
+        }
+        int k = Arrays.binarySearch(columnIndices, rowStarts[i], rowStarts[i + 1], j);
+        return k < 0 ? BigInteger.ZERO : elements[k];
+    }
+
+    /**
+     * Returns one of {@code this}'s row vectors. 0-indexed.
+     *
+     * <ul>
+     *  <li>{@code this} must be have at least one row.</li>
+     *  <li>{@code i} cannot be negative.</li>
+     *  <li>{@code i} must be less than the height of {@code this}.</li>
+     *  <li>The result is non-null.</li>
+     * </ul>
+     *
+     * Length is width({@code this})
+     *
+     * @param i the 0-based row index
+     * @return the {@code i}th row of {@code this}
+     */
+    public @NotNull Vector row(int i) {
+        if (i < 0 || i >= height()) {
+            throw new IndexOutOfBoundsException("i must be non-negative and less than the height of this. i: " + i +
+                    ", this: " + this);
+        }
+        BigInteger[] row = new BigInteger[width];
+        Arrays.fill(row, BigInteger.ZERO);
+        for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+            row[columnIndices[k]] = elements[k];
+        }
+        return Vector.of(Arrays.asList(row));
+    }
+
+    /**
+     * Returns the transpose of {@code this}. The nonzero elements are redistributed into columns with a counting
+     * sort, so this takes time linear in the number of nonzero elements.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is width({@code this})×height({@code this})
+     *
+     * @return {@code this}<sup>T</sup>
+     */
+    public @NotNull SparseMatrix transpose() {
+        int height = height();
+        int[] transposedRowStarts = new int[width + 1];
+        for (int j : columnIndices) {
+            transposedRowStarts[j + 1]++;
+        }
+        for (int j = 0; j < width; j++) {
+            transposedRowStarts[j + 1] += transposedRowStarts[j];
+        }
+        int[] next = Arrays.copyOf(transposedRowStarts, width);
+        int[] transposedColumnIndices = new int[elements.length];
+        BigInteger[] transposedElements = new BigInteger[elements.length];
+        for (int i = 0; i < height; i++) {
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                int destination = next[columnIndices[k]]++;
+                transposedColumnIndices[destination] = i;
+                transposedElements[destination] = elements[k];
+            }
+        }
+        return new SparseMatrix(transposedRowStarts, transposedColumnIndices, transposedElements, height);
+    }
+
+    /**
+     * Returns the product of {@code this} and {@code that}. Only the nonzero elements of {@code this} are visited.
+     *
+     * <ul>
+     *  <li>{@code this} can be any {@code SparseMatrix}.</li>
+     *  <li>{@code that} cannot be null.</li>
+     *  <li>The width of {@code this} must equal the dimension of {@code that}.</li>
+     * </ul>
+     *
+     * Length is height({@code this})
+     *
+     * @param that the {@code Vector} {@code this} is multiplied by
+     * @return {@code this}×{@code that}
+     */
+    public @NotNull Vector multiply(@NotNull Vector that) {
+        if (width != that.dimension()) {
+            throw new ArithmeticException("The width of this must equal the dimension of that. this: " +
+                    this + ", that: " + that);
+        }
+        List<BigInteger> product = new ArrayList<>();
+        for (int i = 0; i < height(); i++) {
+            BigInteger sum = BigInteger.ZERO;
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                sum = sum.add(elements[k].multiply(that.get(columnIndices[k])));
+            }
+            product.add(sum);
+        }
+        return Vector.of(product);
+    }
+
+    /**
+     * Returns the rank of {@code this}. The rank modulo a prime never exceeds the rank over ℚ, and it is smaller only
+     * if the prime divides every maximal nonzero minor. The rank is computed by sparse Gaussian elimination modulo
+     * primes greater than 2<sup>30</sup>, stopping as soon as full rank is found, or once the product of the primes
+     * exceeds the Hadamard bound on every minor, at which point the largest rank seen is the rank over ℚ.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return rank({@code this})
+     */
+    public int rank() {
+        int fullRank = Math.min(height(), width);
+        if (elements.length == 0) return 0;
+        BigInteger squaredMinorBound = BigInteger.ONE;
+        for (int i = 0; i < height(); i++) {
+            BigInteger rowSquaredLength = rowSquaredLength(i);
+            if (rowSquaredLength.signum() != 0) {
+                squaredMinorBound = squaredMinorBound.multiply(rowSquaredLength);
+            }
+        }
+        BigInteger minorBound = BigInteger.ONE.shiftLeft((squaredMinorBound.bitLength() + 1) / 2);
+        int rank = 0;
+        BigInteger modulus = BigInteger.ONE;
+        for (int i = 0; ; i++) {
+            long p = PrimeTable.INT.prime(i);
+            rank = Math.max(rank, eliminateModPrime(residuesModPrime(p), null, p).a);
+            modulus = modulus.multiply(BigInteger.valueOf(p));
+            if (rank == fullRank || Ordering.gt(modulus, minorBound)) return rank;
+        }
+    }
+
+    /**
+     * Computes the determinant of {@code this}. The determinant is computed with Wiedemann's algorithm modulo enough
+     * primes for their product to exceed twice the Hadamard bound, and is then recovered with the Chinese remainder
+     * theorem.
+     *
+     * <ul>
+     *  <li>{@code this} must be square.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @return |{@code this}|
+     */
+    public @NotNull BigInteger determinant() {
+        int n = width;
+        if (n != height()) {
+            throw new IllegalArgumentException("this must be square. Invalid this: " + this);
+        }
+        if (n == 0) return BigInteger.ONE;
+        BigInteger squaredBound = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            squaredBound = squaredBound.multiply(rowSquaredLength(i));
+        }
+        if (squaredBound.signum() == 0) return BigInteger.ZERO;
+        BigInteger modulusLowerBound = BigInteger.ONE.shiftLeft((squaredBound.bitLength() + 1) / 2 + 1);
+        BigInteger determinant = BigInteger.ZERO;
+        BigInteger modulus = BigInteger.ONE;
+        for (int i = 0; ; i++) {
+            long p = PrimeTable.INT.prime(i);
+            long residue = determinantModPrime(residuesModPrime(p), p, new Random(p));
+            BigInteger bigP = BigInteger.valueOf(p);
+            determinant = crt(determinant, modulus, modulus.mod(bigP).modInverse(bigP), residue, bigP);
+            modulus = modulus.multiply(bigP);
+            if (Ordering.gt(modulus, modulusLowerBound)) break;
+        }
+        return Ordering.gt(determinant.shiftLeft(1), modulus) ? determinant.subtract(modulus) : determinant;
+    }
+
+    /**
+     * Solves the square linear system {@code this}·x={@code rhs}. If {@code this} is singular, the result is empty;
+     * otherwise, it is the unique solution. Modulo each prime, the system is solved with Wiedemann's algorithm, which
+     * also certifies whether {@code this} is singular modulo that prime. The solutions modulo enough primes are
+     * combined with the Chinese remainder theorem, and each coordinate is recovered by rational reconstruction using
+     * the Hadamard bounds from Cramer's rule. Since a nonzero determinant is divisible by only a bounded number of
+     * such primes, a matrix that is singular modulo more primes than that is singular. Conversely, a matrix that is
+     * nonsingular modulo any prime is nonsingular, so whenever the number of primes used reaches a power of 2, the
+     * coordinates are also reconstructed with balanced bounds and returned early if they satisfy the system.
+     *
+     * <ul>
+     *  <li>{@code this} must be square.</li>
+     *  <li>The dimension of {@code rhs} must equal the height of {@code this}.</li>
+     *  <li>The result may be empty or any {@code RationalVector}.</li>
+     * </ul>
+     *
+     * Length is width({@code this})
+     *
+     * @param rhs the right-hand side of the system of equations
+     * @return the x such that {@code this}·x={@code rhs}, if it exists and is unique
+     */
+    public @NotNull Optional<RationalVector> solveLinearSystem(@NotNull Vector rhs) {
+        int n = width;
+        if (n != height()) {
+            throw new IllegalArgumentException("this must be square. Invalid this: " + this);
+        }
+        if (rhs.dimension() != n) {
+            throw new IllegalArgumentException("The dimension of rhs must equal the height of this. rhs: " + rhs +
+                    ", this: " + this);
+        }
+        if (n == 0) return Optional.of(RationalVector.ZERO_DIMENSIONAL);
+        BigInteger squaredDenominatorBound = BigInteger.ONE;
+        BigInteger squaredNumeratorBound = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            BigInteger rowSquaredLength = rowSquaredLength(i);
+            squaredDenominatorBound = squaredDenominatorBound.multiply(rowSquaredLength);
+            squaredNumeratorBound = squaredNumeratorBound.multiply(rowSquaredLength.add(rhs.get(i).pow(2)));
+        }
+        if (squaredDenominatorBound.signum() == 0) return Optional.empty();
+        BigInteger numeratorBound = BigInteger.ONE.shiftLeft((squaredNumeratorBound.bitLength() + 1) / 2);
+        BigInteger denominatorBound = BigInteger.ONE.shiftLeft((squaredDenominatorBound.bitLength() + 1) / 2);
+        BigInteger modulusLowerBound = numeratorBound.multiply(denominatorBound).shiftLeft(1);
+        int singularPrimesAllowed = denominatorBound.bitLength() / PRIME_BIT_LENGTH;
+
+        BigInteger[] lifted = new BigInteger[n];
+        Arrays.fill(lifted, BigInteger.ZERO);
+        BigInteger modulus = BigInteger.ONE;
+        int primes = 0;
+        int singularPrimes = 0;
+        for (int index = 0; ; index++) {
+            long p = PrimeTable.INT.prime(index);
+            BigInteger bigP = BigInteger.valueOf(p);
+            long[] rhsModP = new long[n];
+            for (int i = 0; i < n; i++) {
+                rhsModP[i] = rhs.get(i).mod(bigP).longValue();
+            }
+            Optional<long[]> solution = solveModPrime(residuesModPrime(p), rhsModP, p, new Random(p));
+            if (!solution.isPresent()) {
+                singularPrimes++;
+                if (singularPrimes > singularPrimesAllowed) return Optional.empty();
+                continue;
+            }
+            BigInteger modulusInverse = modulus.mod(bigP).modInverse(bigP);
+            for (int j = 0; j < n; j++) {
+                lifted[j] = crt(lifted[j], modulus, modulusInverse, solution.get()[j], bigP);
+            }
+            modulus = modulus.multiply(bigP);
+            primes++;
+            if (Ordering.gt(modulus, modulusLowerBound)) {
+                Optional<RationalVector> x = reconstructSolution(lifted, modulus, numeratorBound, denominatorBound);
+                if (!x.isPresent()) {
+                    throw new IllegalStateException("Rational reconstruction failed. this: " + this + ", rhs: " + rhs);
+                }
+                return x;
+            }
+            if (Integer.bitCount(primes) == 1) {
+                BigInteger balancedBound = BigInteger.ONE.shiftLeft((modulus.bitLength() - 2) / 2);
+                Optional<RationalVector> x = reconstructSolution(lifted, modulus, balancedBound, balancedBound);
+                if (x.isPresent() && isSolution(x.get(), rhs)) return x;
+            }
+        }
+    }
+
+    /**
+     * Recovers each coordinate of a solution from its residue modulo {@code modulus} by rational reconstruction, or
+     * returns empty if some coordinate cannot be recovered within the bounds.
+     *
+     * @param lifted the residues of the coordinates
+     * @param modulus the modulus
+     * @param numeratorBound an upper bound on the absolute values of the numerators
+     * @param denominatorBound an upper bound on the denominators
+     * @return the reconstructed solution
+     */
+    private static @NotNull Optional<RationalVector> reconstructSolution(
+            @NotNull BigInteger[] lifted,
+            @NotNull BigInteger modulus,
+            @NotNull BigInteger numeratorBound,
+            @NotNull BigInteger denominatorBound
+    ) {
+        List<Rational> coordinates = new ArrayList<>();
+        for (BigInteger residue : lifted) {
+            Optional<Rational> coordinate = Rational.reconstruct(residue, modulus, numeratorBound, denominatorBound);
+            if (!coordinate.isPresent()) return Optional.empty();
+            coordinates.add(coordinate.get());
+        }
+        return Optional.of(RationalVector.of(coordinates));
+    }
+
+    /**
+     * Determines whether {@code this}·{@code x}={@code rhs}. Only the nonzero elements of {@code this} are visited.
+     *
+     * @param x a candidate solution
+     * @param rhs the right-hand side of a system of equations
+     * @return whether {@code x} solves the system
+     */
+    private boolean isSolution(@NotNull RationalVector x, @NotNull Vector rhs) {
+        for (int i = 0; i < height(); i++) {
+            Rational sum = Rational.ZERO;
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                sum = sum.add(x.get(columnIndices[k]).multiply(elements[k]));
+            }
+            if (!sum.equals(Rational.of(rhs.get(i)))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the squared length of a row of {@code this}.
+     *
+     * @param i the 0-based row index
+     * @return |{@code this.row(i)}|<sup>2</sup>
+     */
+    private @NotNull BigInteger rowSquaredLength(int i) {
+        BigInteger squaredLength = BigInteger.ZERO;
+        for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+            squaredLength = squaredLength.add(elements[k].pow(2));
+        }
+        return squaredLength;
+    }
+
+    /**
+     * Returns the residues of the nonzero elements of {@code this} modulo {@code p}, in the order of
+     * {@code elements}. Some of them may be zero.
+     *
+     * @param p the modulus
+     * @return the elements of {@code this} mod {@code p}, each in [0, {@code p})
+     */
+    private @NotNull long[] residuesModPrime(long p) {
+        BigInteger bigP = BigInteger.valueOf(p);
+        long[] residues = new long[elements.length];
+        for (int k = 0; k < elements.length; k++) {
+            residues[k] = elements[k].mod(bigP).longValue();
+        }
+        return residues;
+    }
+
+    /**
+     * Returns the residues of the nonzero elements of {@code this}·diag({@code diagonal}) modulo {@code p}, in the
+     * order of {@code elements}.
+     *
+     * <ul>
+     *  <li>{@code residues} must be the result of {@code residuesModPrime(p)}.</li>
+     *  <li>{@code diagonal} must have length width({@code this}), and every element must be in [0, {@code p}).</li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     *  <li>The result has the same length as {@code residues}.</li>
+     * </ul>
+     *
+     * @param residues the elements of {@code this} mod {@code p}
+     * @param diagonal the scaling factor of each column
+     * @param p the modulus
+     * @return the elements of {@code this}·diag({@code diagonal}) mod {@code p}
+     */
+    private @NotNull long[] scaleColumnsModPrime(@NotNull long[] residues, @NotNull long[] diagonal, long p) {
+        long[] scaled = new long[residues.length];
+        for (int k = 0; k < residues.length; k++) {
+            scaled[k] = residues[k] * diagonal[columnIndices[k]] % p;
+        }
+        return scaled;
+    }
+
+    /**
+     * Computes {@code this}·{@code x} modulo {@code p}, storing the result in {@code product}. Since every product of
+     * two residues is less than {@code p}<sup>2</sup>{@literal <}2<sup>62</sup>, the sums are only reduced, by
+     * subtracting {@code p}<sup>2</sup>, when they reach 2<sup>62</sup>, and a full reduction happens once per row.
+     *
+     * <ul>
+     *  <li>{@code residues} must be the residues of the elements of {@code this}, or of a matrix with the same
+     *  nonzero positions, modulo {@code p}.</li>
+     *  <li>{@code x} must have length width({@code this}), and every element must be in [0, {@code p}).</li>
+     *  <li>{@code product} must have length height({@code this}) and cannot be the same array as {@code x}.</li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     * </ul>
+     *
+     * @param residues the elements of {@code this} mod {@code p}
+     * @param x the vector to multiply by
+     * @param product where the product is stored
+     * @param p the modulus
+     */
+    private void multiplyModPrime(@NotNull long[] residues, @NotNull long[] x, @NotNull long[] product, long p) {
+        long pSquared = p * p;
+        for (int i = 0; i < product.length; i++) {
+            long sum = 0;
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                sum += residues[k] * x[columnIndices[k]];
+                if (sum >= 1L << 62) {
+                    sum -= pSquared;
+                }
+            }
+            product[i] = sum % p;
+        }
+    }
+
+    /**
+     * Runs Wiedemann's algorithm on {@code this}·D modulo {@code p}, where {@code this} is square and D is a random
+     * nonsingular diagonal matrix. The sequence u·({@code this}·D)<sup>i</sup>·v, for random u and v and
+     * 0≤i{@literal <}2n, is computed with 2n matrix-vector products, and its minimal polynomial f is found with the
+     * Berlekamp-Massey algorithm. f divides the minimal polynomial of {@code this}·D, so if f(0)=0, {@code this} is
+     * singular; if f has degree n, it is the characteristic polynomial of {@code this}·D. The diagonal
+     * preconditioner makes the second case likely when {@code this} is nonsingular. If neither case occurs after
+     * {@link SparseMatrix#WIEDEMANN_ATTEMPTS} attempts, the result is empty.
+     *
+     * <ul>
+     *  <li>{@code this} must be square and nonempty.</li>
+     *  <li>{@code residues} must be the result of {@code residuesModPrime(p)}.</li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     *  <li>The result is empty, or a pair whose first element is the coefficients of f, from lowest to highest
+     *  degree, and whose second element is the diagonal of D. If the constant coefficient of f is nonzero, f has
+     *  degree n.</li>
+     * </ul>
+     *
+     * @param residues the elements of {@code this} mod {@code p}
+     * @param p the modulus
+     * @param random the source of the random projections and preconditioners
+     * @return a polynomial certifying that {@code this}·D is singular, or its characteristic polynomial, and D
+     */
+    private @NotNull Optional<Pair<long[], long[]>> wiedemannModPrime(
+            @NotNull long[] residues,
+            long p,
+            @NotNull Random random
+    ) {
+        int n = width;
+        long[] sequence = new long[2 * n];
+        long[] u = new long[n];
+        long[] v = new long[n];
+        long[] next = new long[n];
+        long[] diagonal = new long[n];
+        for (int attempt = 0; attempt < WIEDEMANN_ATTEMPTS; attempt++) {
+            for (int i = 0; i < n; i++) {
+                diagonal[i] = 1 + random.nextInt((int) p - 1);
+                u[i] = random.nextInt((int) p);
+                v[i] = random.nextInt((int) p);
+            }
+            long[] scaled = scaleColumnsModPrime(residues, diagonal, p);
+            for (int k = 0; k < 2 * n; k++) {
+                long term = 0;
+                for (int i = 0; i < n; i++) {
+                    term = (term + u[i] * v[i]) % p;
+                }
+                sequence[k] = term;
+                if (k != 2 * n - 1) {
+                    multiplyModPrime(scaled, v, next, p);
+                    long[] temp = v;
+                    v = next;
+                    next = temp;
+                }
+            }
+            long[] minimalPolynomial = berlekampMassey(sequence, p);
+            if (minimalPolynomial[0] == 0 || minimalPolynomial.length == n + 1) {
+                return Optional.of(new Pair<>(minimalPolynomial, diagonal));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the minimal polynomial of a linearly recurrent sequence modulo {@code p}, using the Berlekamp-Massey
+     * algorithm. If the sequence has length 2n and satisfies a recurrence of order at most n, the result is the
+     * minimal polynomial of the recurrence.
+     *
+     * <ul>
+     *  <li>{@code sequence} cannot be null, and every element must be in [0, {@code p}).</li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     *  <li>The result is the coefficients of a monic polynomial, from lowest to highest degree.</li>
+     * </ul>
+     *
+     * @param sequence the first terms of a sequence
+     * @param p the modulus
+     * @return the minimal polynomial of {@code sequence}
+     */
+    private static @NotNull long[] berlekampMassey(@NotNull long[] sequence, long p) {
+        int length = sequence.length;
+        long[] connection = new long[length + 1];
+        long[] previous = new long[length + 1];
+        connection[0] = 1;
+        previous[0] = 1;
+        int order = 0;
+        int shift = 1;
+        long previousDiscrepancy = 1;
+        for (int k = 0; k < length; k++) {
+            long discrepancy = sequence[k];
+            for (int i = 1; i <= order; i++) {
+                discrepancy = (discrepancy + connection[i] * sequence[k - i]) % p;
+            }
+            if (discrepancy == 0) {
+                shift++;
+                continue;
+            }
+            long factor = discrepancy * inverseModPrime(previousDiscrepancy, p) % p;
+            long[] saved = 2 * order <= k ? connection.clone() : null;
+            for (int i = 0; i + shift <= length; i++) {
+                if (previous[i] != 0) {
+                    connection[i + shift] = (connection[i + shift] + (p - factor) * previous[i]) % p;
+                }
+            }
+            if (saved != null) {
+                order = k + 1 - order;
+                previous = saved;
+                previousDiscrepancy = discrepancy;
+                shift = 1;
+            } else {
+                shift++;
+            }
+        }
+        long[] minimalPolynomial = new long[order + 1];
+        for (int i = 0; i <= order; i++) {
+            minimalPolynomial[i] = connection[order - i];
+        }
+        return minimalPolynomial;
+    }
+
+    /**
+     * Returns the determinant of {@code this} modulo {@code p}, using {@link SparseMatrix#wiedemannModPrime} and
+     * falling back to Gaussian elimination if it fails. If f is the characteristic polynomial of {@code this}·D, then
+     * |{@code this}|=(–1)<sup>n</sup>f(0)/|D|.
+     *
+     * <ul>
+     *  <li>{@code this} must be square and nonempty.</li>
+     *  <li>{@code residues} must be the result of {@code residuesModPrime(p)}.</li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     *  <li>The result is in [0, {@code p}).</li>
+     * </ul>
+     *
+     * @param residues the elements of {@code this} mod {@code p}
+     * @param p the modulus
+     * @param random the source of the random projections and preconditioners
+     * @return |{@code this}| mod {@code p}
+     */
+    private long determinantModPrime(@NotNull long[] residues, long p, @NotNull Random random) {
+        Optional<Pair<long[], long[]>> wiedemann = wiedemannModPrime(residues, p, random);
+        if (!wiedemann.isPresent()) return eliminateModPrime(residues, null, p).b;
+        long[] characteristicPolynomial = wiedemann.get().a;
+        long[] diagonal = wiedemann.get().b;
+        long determinant = width % 2 == 0 ? characteristicPolynomial[0] : (p - characteristicPolynomial[0]) % p;
+        long diagonalProduct = 1;
+        for (long d : diagonal) {
+            diagonalProduct = diagonalProduct * d % p;
+        }
+        return determinant * inverseModPrime(diagonalProduct, p) % p;
+    }
+
+    /**
+     * Solves {@code this}·x={@code rhs} modulo {@code p}, or returns empty if {@code this} is singular modulo
+     * {@code p}. If f is the characteristic polynomial of M={@code this}·D, then f(M)=0 by the Cayley-Hamilton
+     * theorem, so y=–f(0)<sup>–1</sup>(f(M)–f(0))/M·{@code rhs} satisfies M·y={@code rhs}, and x=D·y. This takes
+     * n more matrix-vector products. If Wiedemann's algorithm fails, Gaussian elimination is used instead.
+     *
+     * <ul>
+     *  <li>{@code this} must be square and nonempty.</li>
+     *  <li>{@code residues} must be the result of {@code residuesModPrime(p)}.</li>
+     *  <li>{@code rhs} must have length height({@code this}), and every element must be in [0, {@code p}).</li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     *  <li>The result is empty or has length width({@code this}), with every element in [0, {@code p}).</li>
+     * </ul>
+     *
+     * @param residues the elements of {@code this} mod {@code p}
+     * @param rhs the right-hand side of the system mod {@code p}
+     * @param p the modulus
+     * @param random the source of the random projections and preconditioners
+     * @return x such that {@code this}·x≡{@code rhs} (mod {@code p})
+     */
+    private @NotNull Optional<long[]> solveModPrime(
+            @NotNull long[] residues,
+            @NotNull long[] rhs,
+            long p,
+            @NotNull Random random
+    ) {
+        int n = width;
+        Optional<Pair<long[], long[]>> wiedemann = wiedemannModPrime(residues, p, random);
+        if (!wiedemann.isPresent()) {
+            long[] solution = rhs.clone();
+            return eliminateModPrime(residues, solution, p).b == 0 ? Optional.empty() : Optional.of(solution);
+        }
+        long[] characteristicPolynomial = wiedemann.get().a;
+        long[] diagonal = wiedemann.get().b;
+        if (characteristicPolynomial[0] == 0) return Optional.empty();
+        long[] scaled = scaleColumnsModPrime(residues, diagonal, p);
+        long[] sum = new long[n];
+        long[] power = rhs.clone();
+        long[] next = new long[n];
+        for (int i = 1; i <= n; i++) {
+            long coefficient = characteristicPolynomial[i];
+            for (int j = 0; j < n; j++) {
+                sum[j] = (sum[j] + coefficient * power[j]) % p;
+            }
+            if (i != n) {
+                multiplyModPrime(scaled, power, next, p);
+                long[] temp = power;
+                power = next;
+                next = temp;
+            }
+        }
+        long factor = p - inverseModPrime(characteristicPolynomial[0], p);
+        for (int j = 0; j < n; j++) {
+            sum[j] = sum[j] * factor % p * diagonal[j] % p;
+        }
+        return Optional.of(sum);
+    }
+
+    /**
+     * Reduces the rows of {@code this} modulo {@code p} to echelon form by sparse Gaussian elimination, returning the
+     * rank and, if {@code this} is square, the determinant. Each row is reduced against the previously found pivot
+     * rows until its leading column has no pivot, at which point it becomes a pivot row. Only nonzero elements are
+     * stored. If {@code rhs} is not null, it is treated as an extra last column, and when {@code this} is square and
+     * nonsingular modulo {@code p}, the solution of {@code this}·x={@code rhs} is written into {@code rhs}.
+     *
+     * <ul>
+     *  <li>{@code residues} must be the result of {@code residuesModPrime(p)}.</li>
+     *  <li>{@code rhs} may be null, or must have length height({@code this}) with every element in [0, {@code p}).
+     *  </li>
+     *  <li>{@code p} must be a prime less than 2<sup>31</sup>.</li>
+     *  <li>The result is the rank of {@code this} mod {@code p} and its determinant mod {@code p}, or 0 if
+     *  {@code this} is not square.</li>
+     * </ul>
+     *
+     * @param residues the elements of {@code this} mod {@code p}
+     * @param rhs the right-hand side of a system of equations, or null
+     * @param p the modulus
+     * @return (rank({@code this}) mod {@code p}, |{@code this}| mod {@code p})
+     */
+    private @NotNull Pair<Integer, Long> eliminateModPrime(@NotNull long[] residues, long[] rhs, long p) {
+        int height = height();
+        List<TreeMap<Integer, Long>> pivotRows = new ArrayList<>(Collections.nCopies(width, null));
+        int[] pivotColumns = new int[height];
+        int rank = 0;
+        long leadingProduct = 1;
+        for (int i = 0; i < height; i++) {
+            TreeMap<Integer, Long> row = new TreeMap<>();
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                if (residues[k] != 0) {
+                    row.put(columnIndices[k], residues[k]);
+                }
+            }
+            if (rhs != null && rhs[i] != 0) {
+                row.put(width, rhs[i]);
+            }
+            pivotColumns[i] = -1;
+            while (!row.isEmpty() && row.firstKey() != width) {
+                int column = row.firstKey();
+                long leading = row.get(column);
+                TreeMap<Integer, Long> pivotRow = pivotRows.get(column);
+                if (pivotRow == null) {
+                    long leadingInverse = inverseModPrime(leading, p);
+                    row.replaceAll((j, x) -> x * leadingInverse % p);
+                    pivotRows.set(column, row);
+                    pivotColumns[i] = column;
+                    leadingProduct = leadingProduct * leading % p;
+                    rank++;
+                    break;
+                }
+                long factor = p - leading;
+                for (Map.Entry<Integer, Long> entry : pivotRow.entrySet()) {
+                    long difference = (row.getOrDefault(entry.getKey(), 0L) + factor * entry.getValue()) % p;
+                    if (difference == 0) {
+                        row.remove(entry.getKey());
+                    } else {
+                        row.put(entry.getKey(), difference);
+                    }
+                }
+            }
+        }
+        if (height != width || rank != width) return new Pair<>(rank, 0L);
+        boolean[] visited = new boolean[height];
+        boolean negate = false;
+        for (int i = 0; i < height; i++) {
+            if (visited[i]) continue;
+            int cycleLength = 0;
+            for (int j = i; !visited[j]; j = pivotColumns[j]) {
+                visited[j] = true;
+                cycleLength++;
+            }
+            if (cycleLength % 2 == 0) negate = !negate;
+        }
+        if (rhs != null) {
+            for (int column = width - 1; column >= 0; column--) {
+                TreeMap<Integer, Long> pivotRow = pivotRows.get(column);
+                long x = pivotRow.getOrDefault(width, 0L);
+                for (Map.Entry<Integer, Long> entry : pivotRow.tailMap(column, false).entrySet()) {
+                    if (entry.getKey() != width) {
+                        x = (x + (p - entry.getValue()) * rhs[entry.getKey()]) % p;
+                    }
+                }
+                rhs[column] = x;
+            }
+        }
+        return new Pair<>(rank, negate ? (p - leadingProduct) % p : leadingProduct);
+    }
+
+    /**
+     * Returns the inverse of {@code a} modulo the prime {@code p}.
+     *
+     * @param a a residue not divisible by {@code p}
+     * @param p the modulus
+     * @return {@code a}<sup>–1</sup> mod {@code p}
+     */
+    private static long inverseModPrime(long a, long p) {
+        return BigInteger.valueOf(a).modInverse(BigInteger.valueOf(p)).longValue();
+    }
+
+    /**
+     * Combines a residue modulo {@code modulus} with a residue modulo the prime {@code p} using the Chinese remainder
+     * theorem.
+     *
+     * <ul>
+     *  <li>{@code x} must be in [0, {@code modulus}).</li>
+     *  <li>{@code modulus} must be positive and not divisible by {@code p}.</li>
+     *  <li>{@code modulusInverse} must be the inverse of {@code modulus} modulo {@code p}.</li>
+     *  <li>{@code residue} must be in [0, {@code p}).</li>
+     *  <li>{@code p} must be prime.</li>
+     *  <li>The result is in [0, {@code modulus}·{@code p}).</li>
+     * </ul>
+     *
+     * @param x a residue modulo {@code modulus}
+     * @param modulus the modulus of {@code x}
+     * @param modulusInverse {@code modulus}<sup>–1</sup> mod {@code p}
+     * @param residue a residue modulo {@code p}
+     * @param p a prime
+     * @return the y congruent to {@code x} mod {@code modulus} and to {@code residue} mod {@code p}
+     */
+    private static @NotNull BigInteger crt(
+            @NotNull BigInteger x,
+            @NotNull BigInteger modulus,
+            @NotNull BigInteger modulusInverse,
+            long residue,
+            @NotNull BigInteger p
+    ) {
+        BigInteger difference = BigInteger.valueOf(residue).subtract(x).mod(p);
+        return x.add(modulus.multiply(difference.multiply(modulusInverse).mod(p)));
+    }
+
+    /**
+     * Converts a list of {@code Integer}s to an {@code int[]}.
+     *
+     * @param xs a list of {@code Integer}s
+     * @return an array with the same elements
+     */
+    private static @NotNull int[] toIntArray(@NotNull List<Integer> xs) {
+        int[] array = new int[xs.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = xs.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Determines whether {@code this} is equal to {@code that}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>{@code that} may be any {@code Object}.</li>
+     *  <li>The result may be either {@code boolean}.</li>
+     * </ul>
+     *
+     * @param that The {@code Object} to be compared with {@code this}
+     * @return {@code this}={@code that}
+     */
+    @Override
+    public boolean equals(Object that) {
+        if (this == that) return true;
+        if (that == null || getClass() != that.getClass()) return false;
+        SparseMatrix matrix = (SparseMatrix) that;
+        return width == matrix.width && Arrays.equals(rowStarts, matrix.rowStarts) &&
+                Arrays.equals(columnIndices, matrix.columnIndices) && Arrays.equals(elements, matrix.elements);
+    }
+
+    /**
+     * Calculates the hash code of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>(conjecture) The result may be any {@code int}.</li>
+     * </ul>
+     *
+     * @return {@code this}'s hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(rowStarts);
+        result = 31 * result + Arrays.hashCode(columnIndices);
+        result = 31 * result + Arrays.hashCode(elements);
+        return 31 * result + width;
+    }
+
+    /**
+     * Creates a {@code SparseMatrix} from a {@code String}. Valid input takes the form of a {@code String} that could
+     * have been returned by {@link mho.qbar.objects.SparseMatrix#toString}, which is the same as that of the equal
+     * {@link Matrix}.
+     *
+     * <ul>
+     *  <li>{@code s} cannot be null.</li>
+     *  <li>The result may be any {@code Optional<SparseMatrix>}.</li>
+     * </ul>
+     *
+     * @param s a string representation of a {@code SparseMatrix}.
+     * @return the wrapped {@code SparseMatrix} represented by {@code s}, or {@code empty} if {@code s} is invalid.
+     */
+    public static @NotNull Optional<SparseMatrix> readStrict(@NotNull String s) {
+        return Matrix.readStrict(s).map(SparseMatrix::of);
+    }
+
+    /**
+     * Creates a {@code String} representation of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseMatrix}.</li>
+     *  <li>See tests and demos for example results.</li>
+     * </ul>
+     *
+     * @return a {@code String} representation of {@code this}
+     */
+    public @NotNull String toString() {
+        return toMatrix().toString();
+    }
+
+    /**
+     * Ensures that {@code this} is valid. Must return without exceptions for any {@code SparseMatrix} used outside
+     * this class.
+     */
+    public void validate() {
+        assertTrue(this, width >= 0);
+        assertTrue(this, rowStarts.length > 0);
+        assertTrue(this, rowStarts[0] == 0);
+        assertTrue(this, rowStarts[rowStarts.length - 1] == elements.length);
+        assertTrue(this, columnIndices.length == elements.length);
+        for (int i = 0; i < rowStarts.length - 1; i++) {
+            assertTrue(this, rowStarts[i] <= rowStarts[i + 1]);
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                assertTrue(this, columnIndices[k] >= 0 && columnIndices[k] < width);
+                assertTrue(this, k == rowStarts[i] || columnIndices[k - 1] < columnIndices[k]);
+                assertTrue(this, elements[k].signum() != 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,609 @@
+package mho.qbar.objects;
+
+import mho.wheels.math.MathUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static mho.wheels.testing.Testing.assertTrue;
+
+/**
+ * <p>A matrix with {@link Rational} elements, most of which are expected to be zero. Only the nonzero elements are
+ * stored, in compressed sparse row (CSR) form, as in {@link SparseMatrix}.</p>
+ *
+ * <p>The rank, determinant, and solutions of linear systems are computed by scaling each row by the least common
+ * multiple of its denominators, which preserves sparsity, and delegating to {@link SparseMatrix}.</p>
+ *
+ * <p>The {@code String} representation of a {@code SparseRationalMatrix} is that of the equal
+ * {@link RationalMatrix}.</p>
+ *
+ * <p>This class is immutable.</p>
+ */
+public final class SparseRationalMatrix {
+    /**
+     * For each row, the index in {@code columnIndices} and {@code elements} where the row begins, followed by the
+     * number of nonzero elements. Its length is the height plus one.
+     */
+    private final @NotNull int[] rowStarts;
+
+    /**
+     * The column index of each nonzero element
+     */
+    private final @NotNull int[] columnIndices;
+
+    /**
+     * The nonzero elements, in row-major order
+     */
+    private final @NotNull Rational[] elements;
+
+    /**
+     * The matrix's width
+     */
+    private final int width;
+
+    /**
+     * Private constructor for {@code SparseRationalMatrix}; assumes arguments are valid
+     *
+     * <ul>
+     *  <li>{@code rowStarts} must begin with 0, be weakly increasing, and end with the length of
+     *  {@code columnIndices}.</li>
+     *  <li>{@code columnIndices} must have the same length as {@code elements}, every element must be non-negative and
+     *  less than {@code width}, and the column indices of each row must be increasing.</li>
+     *  <li>{@code elements} cannot contain any nulls or zeros.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>Any {@code SparseRationalMatrix} may be constructed with this constructor.</li>
+     * </ul>
+     *
+     * @param rowStarts where each row begins
+     * @param columnIndices the column of each nonzero element
+     * @param elements the nonzero elements
+     * @param width the matrix's width
+     */
+    private SparseRationalMatrix(
+            @NotNull int[] rowStarts,
+            @NotNull int[] columnIndices,
+            @NotNull Rational[] elements,
+            int width
+    ) {
+        this.rowStarts = rowStarts;
+        this.columnIndices = columnIndices;
+        this.elements = elements;
+        this.width = width;
+    }
+
+    /**
+     * Creates a {@code SparseRationalMatrix} with the same elements as a {@code RationalMatrix}.
+     *
+     * <ul>
+     *  <li>{@code m} cannot be null.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is height({@code m})×width({@code m})
+     *
+     * @param m a {@code RationalMatrix}
+     * @return a {@code SparseRationalMatrix} equal to {@code m}
+     */
+    public static @NotNull SparseRationalMatrix of(@NotNull RationalMatrix m) {
+        int height = m.height();
+        int width = m.width();
+        int[] rowStarts = new int[height + 1];
+        List<Integer> columnIndices = new ArrayList<>();
+        List<Rational> elements = new ArrayList<>();
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                Rational x = m.get(i, j);
+                if (x != Rational.ZERO) {
+                    columnIndices.add(j);
+                    elements.add(x);
+                }
+            }
+            rowStarts[i + 1] = elements.size();
+        }
+        return new SparseRationalMatrix(
+                rowStarts,
+                toIntArray(columnIndices),
+                elements.toArray(new Rational[0]),
+                width
+        );
+    }
+
+    /**
+     * Creates a {@code SparseRationalMatrix} from its rows, each given as a map from column indices to the nonzero
+     * elements in those columns. Unlike {@link RationalMatrix#fromRows(List)}, this method can create matrices with 0
+     * height and nonzero width.
+     *
+     * <ul>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>{@code rows} cannot be null, and its elements cannot be null or contain nulls. Every key must be
+     *  non-negative and less than {@code width}, and every value must be nonzero.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is |{@code rows}|×{@code width}
+     *
+     * @param width the matrix's width
+     * @param rows the nonzero elements of each row, indexed by column
+     * @return a {@code SparseRationalMatrix} with the given rows
+     */
+    public static @NotNull SparseRationalMatrix fromRows(
+            int width,
+            @NotNull List<SortedMap<Integer, Rational>> rows
+    ) {
+        if (width < 0) {
+            throw new IllegalArgumentException("width cannot be negative. Invalid width: " + width);
+        }
+        int[] rowStarts = new int[rows.size() + 1];
+        List<Integer> columnIndices = new ArrayList<>();
+        List<Rational> elements = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            for (Map.Entry<Integer, Rational> entry : rows.get(i).entrySet()) {
+                int j = entry.getKey();
+                Rational x = entry.getValue();
+                if (j < 0 || j >= width) {
+                    throw new IllegalArgumentException("Every column index must be non-negative and less than width." +
+                            " Invalid rows: " + rows + ", width: " + width);
+                }
+                if (x == Rational.ZERO) {
+                    throw new IllegalArgumentException("rows cannot contain any zeros. Invalid rows: " + rows);
+                }
+                columnIndices.add(j);
+                elements.add(x);
+            }
+            rowStarts[i + 1] = elements.size();
+        }
+        return new SparseRationalMatrix(
+                rowStarts,
+                toIntArray(columnIndices),
+                elements.toArray(new Rational[0]),
+                width
+        );
+    }
+
+    /**
+     * Creates a {@code SparseRationalMatrix} with a given height and width, all of whose elements are zero.
+     *
+     * <ul>
+     *  <li>{@code height} cannot be negative.</li>
+     *  <li>{@code width} cannot be negative.</li>
+     *  <li>The result has no nonzero elements.</li>
+     * </ul>
+     *
+     * Size is {@code height}×{@code width}
+     *
+     * @param height the zero matrix's height
+     * @param width the zero matrix's width
+     * @return 0<sub>{@code height}×{@code width}</sub>
+     */
+    public static @NotNull SparseRationalMatrix zero(int height, int width) {
+        if (height < 0) {
+            throw new IllegalArgumentException("height cannot be negative. Invalid height: " + height);
+        }
+        if (width < 0) {
+            throw new IllegalArgumentException("width cannot be negative. Invalid width: " + width);
+        }
+        return new SparseRationalMatrix(new int[height + 1], new int[0], new Rational[0], width);
+    }
+
+    /**
+     * Creates an identity matrix.
+     *
+     * <ul>
+     *  <li>{@code dimension} cannot be negative.</li>
+     *  <li>The result is a square identity matrix.</li>
+     * </ul>
+     *
+     * Size is {@code dimension}×{@code dimension}
+     *
+     * @param dimension the height and width of the identity matrix
+     * @return I<sub>{@code dimension}</sub>
+     */
+    public static @NotNull SparseRationalMatrix identity(int dimension) {
+        if (dimension < 0) {
+            throw new IllegalArgumentException("dimension cannot be negative. Invalid dimension: " + dimension);
+        }
+        int[] rowStarts = new int[dimension + 1];
+        int[] columnIndices = new int[dimension];
+        Rational[] elements = new Rational[dimension];
+        for (int i = 0; i < dimension; i++) {
+            rowStarts[i + 1] = i + 1;
+            columnIndices[i] = i;
+            elements[i] = Rational.ONE;
+        }
+        return new SparseRationalMatrix(rowStarts, columnIndices, elements, dimension);
+    }
+
+    /**
+     * Converts {@code this} to a dense {@code RationalMatrix}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is height({@code this})×width({@code this})
+     *
+     * @return a {@code RationalMatrix} equal to {@code this}
+     */
+    public @NotNull RationalMatrix toRationalMatrix() {
+        int height = height();
+        if (height == 0) return RationalMatrix.zero(0, width);
+        List<RationalVector> rows = new ArrayList<>();
+        for (int i = 0; i < height; i++) {
+            rows.add(row(i));
+        }
+        return RationalMatrix.fromRows(rows);
+    }
+
+    /**
+     * Returns this {@code SparseRationalMatrix}'s height.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return the number of rows in {@code this}
+     */
+    public int height() {
+        return rowStarts.length - 1;
+    }
+
+    /**
+     * Returns this {@code SparseRationalMatrix}'s width.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return the number of columns in {@code this}
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Returns the number of nonzero elements of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return the number of nonzero elements
+     */
+    public int nonzeroCount() {
+        return elements.length;
+    }
+
+    /**
+     * Returns one of {@code this}'s elements. 0-indexed. The element is found by binary search within its row.
+     *
+     * <ul>
+     *  <li>{@code this} must have at least one row and at least one column.</li>
+     *  <li>{@code i} cannot be negative.</li>
+     *  <li>{@code j} cannot be negative.</li>
+     *  <li>{@code i} must be less than the height of {@code this}.</li>
+     *  <li>{@code j} must be less than the width of {@code this}.</li>
+     *  <li>The result is non-null.</li>
+     * </ul>
+     *
+     * @param i the 0-based row index
+     * @param j the 0-based column index
+     * @return the element of {@code this} in the {@code i}th row and {@code j}th column
+     */
+    public @NotNull Rational get(int i, int j) {
+        if (i < 0 || i >= height() || j < 0 || j >= width) {
+            throw new IndexOutOfBoundsException("i must be non-negative and less than the height of this, and j must" +
+                    " be non-negative and less than the width of this. i: " + i + ", j: " + j + ", this: " + this);
+        }
+        int k = Arrays.binarySearch(columnIndices, rowStarts[i], rowStarts[i + 1], j);
+        return k < 0 ? Rational.ZERO : elements[k];
+    }
+
+    /**
+     * Returns one of {@code this}'s row vectors. 0-indexed.
+     *
+     * <ul>
+     *  <li>{@code this} must be have at least one row.</li>
+     *  <li>{@code i} cannot be negative.</li>
+     *  <li>{@code i} must be less than the height of {@code this}.</li>
+     *  <li>The result is non-null.</li>
+     * </ul>
+     *
+     * Length is width({@code this})
+     *
+     * @param i the 0-based row index
+     * @return the {@code i}th row of {@code this}
+     */
+    public @NotNull RationalVector row(int i) {
+        if (i < 0 || i >= height()) {
+            throw new IndexOutOfBoundsException("i must be non-negative and less than the height of this. i: " + i +
+                    ", this: " + this);
+        }
+        Rational[] row = new Rational[width];
+        Arrays.fill(row, Rational.ZERO);
+        for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+            row[columnIndices[k]] = elements[k];
+        }
+        return RationalVector.of(Arrays.asList(row));
+    }
+
+    /**
+     * Returns the transpose of {@code this}. The nonzero elements are redistributed into columns with a counting
+     * sort, so this takes time linear in the number of nonzero elements.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * Size is width({@code this})×height({@code this})
+     *
+     * @return {@code this}<sup>T</sup>
+     */
+    public @NotNull SparseRationalMatrix transpose() {
+        int height = height();
+        int[] transposedRowStarts = new int[width + 1];
+        for (int j : columnIndices) {
+            transposedRowStarts[j + 1]++;
+        }
+        for (int j = 0; j < width; j++) {
+            transposedRowStarts[j + 1] += transposedRowStarts[j];
+        }
+        int[] next = Arrays.copyOf(transposedRowStarts, width);
+        int[] transposedColumnIndices = new int[elements.length];
+        Rational[] transposedElements = new Rational[elements.length];
+        for (int i = 0; i < height; i++) {
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                int destination = next[columnIndices[k]]++;
+                transposedColumnIndices[destination] = i;
+                transposedElements[destination] = elements[k];
+            }
+        }
+        return new SparseRationalMatrix(transposedRowStarts, transposedColumnIndices, transposedElements, height);
+    }
+
+    /**
+     * Returns the product of {@code this} and {@code that}. Only the nonzero elements of {@code this} are visited.
+     *
+     * <ul>
+     *  <li>{@code this} can be any {@code SparseRationalMatrix}.</li>
+     *  <li>{@code that} cannot be null.</li>
+     *  <li>The width of {@code this} must equal the dimension of {@code that}.</li>
+     * </ul>
+     *
+     * Length is height({@code this})
+     *
+     * @param that the {@code RationalVector} {@code this} is multiplied by
+     * @return {@code this}×{@code that}
+     */
+    public @NotNull RationalVector multiply(@NotNull RationalVector that) {
+        if (width != that.dimension()) {
+            throw new ArithmeticException("The width of this must equal the dimension of that. this: " +
+                    this + ", that: " + that);
+        }
+        List<Rational> product = new ArrayList<>();
+        for (int i = 0; i < height(); i++) {
+            Rational sum = Rational.ZERO;
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                sum = sum.add(elements[k].multiply(that.get(columnIndices[k])));
+            }
+            product.add(sum);
+        }
+        return RationalVector.of(product);
+    }
+
+    /**
+     * Returns the rank of {@code this}. See {@link SparseMatrix#rank()}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>The result is non-negative.</li>
+     * </ul>
+     *
+     * @return rank({@code this})
+     */
+    public int rank() {
+        return clearDenominators(new BigInteger[height()], null).rank();
+    }
+
+    /**
+     * Computes the determinant of {@code this}. If row <i>i</i> is scaled by <i>l</i><sub><i>i</i></sub> to clear its
+     * denominators, the determinant is that of the scaled matrix (see {@link SparseMatrix#determinant()}) divided by
+     * the product of the <i>l</i><sub><i>i</i></sub>.
+     *
+     * <ul>
+     *  <li>{@code this} must be square.</li>
+     *  <li>The result is not null.</li>
+     * </ul>
+     *
+     * @return |{@code this}|
+     */
+    public @NotNull Rational determinant() {
+        if (width != height()) {
+            throw new IllegalArgumentException("this must be square. Invalid this: " + this);
+        }
+        BigInteger[] multipliers = new BigInteger[height()];
+        BigInteger determinant = clearDenominators(multipliers, null).determinant();
+        BigInteger multiplierProduct = BigInteger.ONE;
+        for (BigInteger multiplier : multipliers) {
+            multiplierProduct = multiplierProduct.multiply(multiplier);
+        }
+        return Rational.of(determinant, multiplierProduct);
+    }
+
+    /**
+     * Solves the square linear system {@code this}·x={@code rhs}. If {@code this} is singular, the result is empty;
+     * otherwise, it is the unique solution. Each equation is scaled by the least common multiple of its denominators,
+     * and the resulting integral system is solved by {@link SparseMatrix#solveLinearSystem(Vector)}.
+     *
+     * <ul>
+     *  <li>{@code this} must be square.</li>
+     *  <li>The dimension of {@code rhs} must equal the height of {@code this}.</li>
+     *  <li>The result may be empty or any {@code RationalVector}.</li>
+     * </ul>
+     *
+     * Length is width({@code this})
+     *
+     * @param rhs the right-hand side of the system of equations
+     * @return the x such that {@code this}·x={@code rhs}, if it exists and is unique
+     */
+    public @NotNull Optional<RationalVector> solveLinearSystem(@NotNull RationalVector rhs) {
+        if (width != height()) {
+            throw new IllegalArgumentException("this must be square. Invalid this: " + this);
+        }
+        if (rhs.dimension() != height()) {
+            throw new IllegalArgumentException("The dimension of rhs must equal the height of this. rhs: " + rhs +
+                    ", this: " + this);
+        }
+        BigInteger[] multipliers = new BigInteger[height()];
+        SparseMatrix integral = clearDenominators(multipliers, rhs);
+        List<BigInteger> integralRhs = new ArrayList<>();
+        for (int i = 0; i < multipliers.length; i++) {
+            integralRhs.add(rhs.get(i).multiply(multipliers[i]).bigIntegerValueExact());
+        }
+        return integral.solveLinearSystem(Vector.of(integralRhs));
+    }
+
+    /**
+     * Scales each row of {@code this} by the least common multiple of its denominators and, if {@code rhs} is not
+     * null, the denominator of the corresponding element of {@code rhs}. The scaled matrix has the same sparsity
+     * pattern as {@code this}.
+     *
+     * <ul>
+     *  <li>{@code multipliers} must have length height({@code this}).</li>
+     *  <li>{@code rhs} may be null, or must have dimension height({@code this}).</li>
+     *  <li>The result is a {@code SparseMatrix} with the same height, width, and nonzero elements as
+     *  {@code this}.</li>
+     * </ul>
+     *
+     * @param multipliers where the multiplier of each row is stored
+     * @param rhs the right-hand side of a system of equations, or null
+     * @return {@code this} with each row multiplied by an integer
+     */
+    private @NotNull SparseMatrix clearDenominators(@NotNull BigInteger[] multipliers, RationalVector rhs) {
+        List<SortedMap<Integer, BigInteger>> rows = new ArrayList<>();
+        for (int i = 0; i < multipliers.length; i++) {
+            BigInteger multiplier = rhs == null ? BigInteger.ONE : rhs.get(i).getDenominator();
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                multiplier = MathUtils.lcm(multiplier, elements[k].getDenominator());
+            }
+            multipliers[i] = multiplier;
+            SortedMap<Integer, BigInteger> row = new TreeMap<>();
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                row.put(columnIndices[k], elements[k].multiply(multiplier).bigIntegerValueExact());
+            }
+            rows.add(row);
+        }
+        return SparseMatrix.fromRows(width, rows);
+    }
+
+    /**
+     * Converts a list of {@code Integer}s to an {@code int[]}.
+     *
+     * @param xs a list of {@code Integer}s
+     * @return an array with the same elements
+     */
+    private static @NotNull int[] toIntArray(@NotNull List<Integer> xs) {
+        int[] array = new int[xs.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = xs.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Determines whether {@code this} is equal to {@code that}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>{@code that} may be any {@code Object}.</li>
+     *  <li>The result may be either {@code boolean}.</li>
+     * </ul>
+     *
+     * @param that The {@code Object} to be compared with {@code this}
+     * @return {@code this}={@code that}
+     */
+    @Override
+    public boolean equals(Object that) {
+        if (this == that) return true;
+        if (that == null || getClass() != that.getClass()) return false;
+        SparseRationalMatrix matrix = (SparseRationalMatrix) that;
+        return width == matrix.width && Arrays.equals(rowStarts, matrix.rowStarts) &&
+                Arrays.equals(columnIndices, matrix.columnIndices) && Arrays.equals(elements, matrix.elements);
+    }
+
+    /**
+     * Calculates the hash code of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>(conjecture) The result may be any {@code int}.</li>
+     * </ul>
+     *
+     * @return {@code this}'s hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(rowStarts);
+        result = 31 * result + Arrays.hashCode(columnIndices);
+        result = 31 * result + Arrays.hashCode(elements);
+        return 31 * result + width;
+    }
+
+    /**
+     * Creates a {@code SparseRationalMatrix} from a {@code String}. Valid input takes the form of a {@code String}
+     * that could have been returned by {@link mho.qbar.objects.SparseRationalMatrix#toString}, which is the same as
+     * that of the equal {@link RationalMatrix}.
+     *
+     * <ul>
+     *  <li>{@code s} cannot be null.</li>
+     *  <li>The result may be any {@code Optional<SparseRationalMatrix>}.</li>
+     * </ul>
+     *
+     * @param s a string representation of a {@code SparseRationalMatrix}.
+     * @return the wrapped {@code SparseRationalMatrix} represented by {@code s}, or {@code empty} if {@code s} is
+     * invalid.
+     */
+    public static @NotNull Optional<SparseRationalMatrix> readStrict(@NotNull String s) {
+        return RationalMatrix.readStrict(s).map(SparseRationalMatrix::of);
+    }
+
+    /**
+     * Creates a {@code String} representation of {@code this}.
+     *
+     * <ul>
+     *  <li>{@code this} may be any {@code SparseRationalMatrix}.</li>
+     *  <li>See tests and demos for example results.</li>
+     * </ul>
+     *
+     * @return a {@code String} representation of {@code this}
+     */
+    public @NotNull String toString() {
+        return toRationalMatrix().toString();
+    }
+
+    /**
+     * Ensures that {@code this} is valid. Must return without exceptions for any {@code SparseRationalMatrix} used
+     * outside this class.
+     */
+    public void validate() {
+        assertTrue(this, width >= 0);
+        assertTrue(this, rowStarts.length > 0);
+        assertTrue(this, rowStarts[0] == 0);
+        assertTrue(this, rowStarts[rowStarts.length - 1] == elements.length);
+        assertTrue(this, columnIndices.length == elements.length);
+        for (int i = 0; i < rowStarts.length - 1; i++) {
+            assertTrue(this, rowStarts[i] <= rowStarts[i + 1]);
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                assertTrue(this, columnIndices[k] >= 0 && columnIndices[k] < width);
+                assertTrue(this, k == rowStarts[i] || columnIndices[k - 1] < columnIndices[k]);
+                assertTrue(this, elements[k] != Rational.ZERO);
+                elements[k].validate();
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package jas.poly;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DenseModLongPolynomialTest {
+    private static final long[] MODULI = { 2L, 3L, 65537L, 2147483629L, 2147483647L };
+
+    private static final int[] SIZES = { 1, 2, 31, 32, 33, 383, 384, 385 };
+
+    private static final int[][] UNBALANCED_SIZES = {
+            { 2, 100 }, { 31, 1000 }, { 33, 1000 }, { 32, 385 }, { 383, 2000 }, { 385, 2000 }, { 384, 5000 }
+    };
+
+    private static @NotNull DenseModLongPolynomial random(@NotNull Random random, long p, int size) {
+        DenseModLongPolynomial a = new DenseModLongPolynomial(p, size);
+        for (int i = 0; i < size - 1; i++) {
+            a.add(Math.floorMod(random.nextLong(), p), i);
+        }
+        a.add(1 + Math.floorMod(random.nextLong(), p - 1), size - 1);
+        return a;
+    }
+
+    private static @NotNull DenseModLongPolynomial schoolbook(
+            @NotNull DenseModLongPolynomial a,
+            @NotNull DenseModLongPolynomial b
+    ) {
+        long p = a.modul;
+        DenseModLongPolynomial c = new DenseModLongPolynomial(p, a.degree() + b.degree() + 1);
+        for (int i = 0; i <= a.degree(); i++) {
+            for (int j = 0; j <= b.degree(); j++) {
+                c.add(a.coefficient(i) * b.coefficient(j) % p, i + j);
+            }
+        }
+        return c;
+    }
+
+    private static void multiply_helper(@NotNull Random random, long p, int m, int n) {
+        DenseModLongPolynomial a = random(random, p, m);
+        DenseModLongPolynomial b = random(random, p, n);
+        DenseModLongPolynomial c = new DenseModLongPolynomial(p, 1);
+        c.multiply(a, b);
+        assertEquals("p = " + p + ", sizes " + m + " and " + n, schoolbook(a, b).toString(), c.toString());
+        c.multiply(b, a);
+        assertEquals("p = " + p + ", sizes " + n + " and " + m, schoolbook(a, b).toString(), c.toString());
+    }
+
+    @Test
+    public void testMultiply() {
+        Random random = new Random(0x5eed);
+        for (long p : MODULI) {
+            for (int m : SIZES) {
+                multiply_helper(random, p, m, m);
+            }
+            for (int[] sizes : UNBALANCED_SIZES) {
+                multiply_helper(random, p, sizes[0], sizes[1]);
+            }
+            DenseModLongPolynomial a = random(random, p, 40);
+            DenseModLongPolynomial c = new DenseModLongPolynomial(p, 1);
+            c.multiply(a, new DenseModLongPolynomial(p, 1));
+            assertTrue(c.isZERO());
+        }
+    }
+
+    @Test
+    public void testSquare() {
+        Random random = new Random(0x5eed);
+        for (long p : MODULI) {
+            for (int m : SIZES) {
+                DenseModLongPolynomial a = random(random, p, m);
+                DenseModLongPolynomial c = new DenseModLongPolynomial(p, 1);
+                c.square(a);
+                assertEquals("p = " + p + ", size " + m, schoolbook(a, a).toString(), c.toString());
+            }
+        }
+    }
+
+    private static @NotNull DenseModLongPolynomial[] classicalHalfGcd(
+            @NotNull DenseModLongPolynomial a,
+            @NotNull DenseModLongPolynomial b
+    ) {
+        long p = a.modul;
+        int m = (a.degree() + 1) / 2;
+        DenseModLongPolynomial[] M = new DenseModLongPolynomial[4];
+        for (int i = 0; i < 4; i++) {
+            M[i] = new DenseModLongPolynomial(p, 1);
+        }
+        M[0].setMonomial(1, 0);
+        M[3].setMonomial(1, 0);
+        DenseModLongPolynomial c = new DenseModLongPolynomial(a);
+        DenseModLongPolynomial d = new DenseModLongPolynomial(b);
+        DenseModLongPolynomial q = new DenseModLongPolynomial(p, 1);
+        while (d.degree() >= m) {
+            c.quotientRemainder(d, q);
+            DenseModLongPolynomial u = c;
+            c = d;
+            d = u;
+            DenseModLongPolynomial n0 = new DenseModLongPolynomial(M[0]);
+            DenseModLongPolynomial n1 = new DenseModLongPolynomial(M[1]);
+            n0.subtract(schoolbook(q, M[2]));
+            n1.subtract(schoolbook(q, M[3]));
+            M = new DenseModLongPolynomial[] { M[2], M[3], n0, n1 };
+        }
+        return M;
+    }
+
+    private static void halfGcd_helper(@NotNull DenseModLongPolynomial a, @NotNull DenseModLongPolynomial b) {
+        DenseModLongPolynomial[] H = a.halfGcd(a, b);
+        DenseModLongPolynomial[] C = classicalHalfGcd(a, b);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(
+                    "p = " + a.modul + ", degrees " + a.degree() + " and " + b.degree(),
+                    C[i].toString(),
+                    H[i].toString()
+            );
+        }
+    }
+
+    @Test
+    public void testHalfGcd() {
+        Random random = new Random(0x5eed);
+        for (long p : MODULI) {
+            for (int n : new int[] { 1, 2, 127, 128, 129, 300, 1000 }) {
+                DenseModLongPolynomial a = random(random, p, n + 1);
+                halfGcd_helper(a, random(random, p, n));
+                halfGcd_helper(a, random(random, p, n / 2 + 1));
+                halfGcd_helper(a, new DenseModLongPolynomial(p, 1));
+                DenseModLongPolynomial g = random(random, p, n / 3 + 2);
+                DenseModLongPolynomial x = new DenseModLongPolynomial(p, 1);
+                DenseModLongPolynomial y = new DenseModLongPolynomial(p, 1);
+                x.multiply(a, g);
+                y.multiply(random(random, p, n), g);
+                halfGcd_helper(x, y);
+            }
+            // many degree drops
+            DenseModLongPolynomial a = new DenseModLongPolynomial(p, 1);
+            DenseModLongPolynomial b = new DenseModLongPolynomial(p, 1);
+            a.setMonomial(1, 1000);
+            a.add(1, 0);
+            b.setMonomial(1, 700);
+            b.add(p - 1, 233);
+            halfGcd_helper(a, b);
+        }
+    }
+
+    private static void extendedGcd_helper(
+            @NotNull DenseModLongPolynomial a,
+            @NotNull DenseModLongPolynomial b,
+            int gcdDegree
+    ) {
+        long p = a.modul;
+        DenseModLongPolynomial g = new DenseModLongPolynomial(a);
+        DenseModLongPolynomial s = new DenseModLongPolynomial(p, 1);
+        DenseModLongPolynomial t = new DenseModLongPolynomial(p, 1);
+        g.extendedGcd(new DenseModLongPolynomial(b), s, t);
+        String message = "p = " + p + ", degrees " + a.degree() + " and " + b.degree();
+        assertEquals(message, gcdDegree, g.degree());
+        assertEquals(message, 1, g.leadingCoefficient());
+        DenseModLongPolynomial sum = new DenseModLongPolynomial(p, 1);
+        sum.multiply(s, a);
+        DenseModLongPolynomial u = new DenseModLongPolynomial(p, 1);
+        u.multiply(t, b);
+        sum.add(u);
+        assertEquals(message, g.toString(), sum.toString());
+        assertTrue(message, s.degree() < b.degree() - gcdDegree);
+        assertTrue(message, t.degree() < a.degree() - gcdDegree);
+        DenseModLongPolynomial h = new DenseModLongPolynomial(a);
+        h.gcd(new DenseModLongPolynomial(b));
+        assertEquals(message, h.toString(), g.toString());
+    }
+
+    @Test
+    public void testExtendedGcd() {
+        Random random = new Random(0x5eed);
+        for (long p : new long[] { 65537L, 2147483629L, 2147483647L }) {
+            for (int n : new int[] { 10, 200, 3000 }) {
+                DenseModLongPolynomial g = random(random, p, n / 4 + 1);
+                g.monic();
+                DenseModLongPolynomial a = new DenseModLongPolynomial(p, 1);
+                DenseModLongPolynomial b = new DenseModLongPolynomial(p, 1);
+                a.multiply(random(random, p, n + 1), g);
+                b.multiply(random(random, p, n - n / 3), g);
+                extendedGcd_helper(a, b, g.degree());
+                extendedGcd_helper(b, a, g.degree());
+            }
+        }
+        DenseModLongPolynomial a = new DenseModLongPolynomial(7, 1);
+        DenseModLongPolynomial s = new DenseModLongPolynomial(7, 1);
+        DenseModLongPolynomial t = new DenseModLongPolynomial(7, 1);
+        a.extendedGcd(new DenseModLongPolynomial(7, 1), s, t);
+        assertTrue(a.isZERO());
+        assertEquals("[1] mod 7", s.toString());
+        assertTrue(t.isZERO());
+    }
+
+    @Test
+    public void testGcd() {
+        Random random = new Random(0x5eed);
+        long p = 2147483629L;
+        DenseModLongPolynomial g = random(random, p, 1001);
+        g.monic();
+        DenseModLongPolynomial a = new DenseModLongPolynomial(p, 1);
+        DenseModLongPolynomial b = new DenseModLongPolynomial(p, 1);
+        a.multiply(random(random, p, 16500), g);
+        b.multiply(random(random, p, 16400), g);
+        DenseModLongPolynomial x = new DenseModLongPolynomial(a);
+        DenseModLongPolynomial y = new DenseModLongPolynomial(b);
+        while (!y.isZERO()) {
+            x.remainder(y);
+            DenseModLongPolynomial u = x;
+            x = y;
+            y = u;
+        }
+        x.monic();
+        a.gcd(b);
+        assertEquals(x.toString(), a.toString());
+        assertEquals(1000, a.degree());
+    }
+}
@@ -2749,6 +2749,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = false;
         Algebraic.USE_SUM_CACHE = false;
         Algebraic.USE_PRODUCT_CACHE = false;
+        Algebraic.USE_ROOT_CACHE = false;
         Map<String, Function<List<Algebraic>, Algebraic>> functions = new LinkedHashMap<>();
         functions.put("simplest", AlgebraicProperties::sum_simplest);
         functions.put("standard", Algebraic::sum);
@@ -2757,6 +2758,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = true;
         Algebraic.USE_SUM_CACHE = true;
         Algebraic.USE_PRODUCT_CACHE = true;
+        Algebraic.USE_ROOT_CACHE = true;
     }
 
     private static @NotNull Algebraic product_simplest(@NotNull List<Algebraic> xs) {
@@ -2812,6 +2814,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = false;
         Algebraic.USE_SUM_CACHE = false;
         Algebraic.USE_PRODUCT_CACHE = false;
+        Algebraic.USE_ROOT_CACHE = false;
         Map<String, Function<List<Algebraic>, Algebraic>> functions = new LinkedHashMap<>();
         functions.put("simplest", AlgebraicProperties::sum_simplest);
         functions.put("standard", Algebraic::sum);
@@ -2820,6 +2823,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = true;
         Algebraic.USE_SUM_CACHE = true;
         Algebraic.USE_PRODUCT_CACHE = true;
+        Algebraic.USE_ROOT_CACHE = true;
     }
 
     private static int sumSign_simplest(@NotNull List<Algebraic> xs) {
@@ -2922,6 +2926,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = false;
         Algebraic.USE_SUM_CACHE = false;
         Algebraic.USE_PRODUCT_CACHE = false;
+        Algebraic.USE_ROOT_CACHE = false;
         Map<String, Function<List<Algebraic>, Integer>> functions = new LinkedHashMap<>();
         functions.put("simplest", AlgebraicProperties::sumSign_simplest);
         functions.put("alt", AlgebraicProperties::sumSign_alt);
@@ -2935,6 +2940,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = true;
         Algebraic.USE_SUM_CACHE = true;
         Algebraic.USE_PRODUCT_CACHE = true;
+        Algebraic.USE_ROOT_CACHE = true;
     }
 
     private void propertiesDelta() {
@@ -3166,6 +3172,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = false;
         Algebraic.USE_SUM_CACHE = false;
         Algebraic.USE_PRODUCT_CACHE = false;
+        Algebraic.USE_ROOT_CACHE = false;
         Map<String, Function<Pair<Algebraic, Integer>, Algebraic>> functions = new LinkedHashMap<>();
         functions.put("alt", p -> pow_int_alt(p.a, p.b));
         functions.put("alt2", p -> pow_int_alt2(p.a, p.b));
@@ -3181,6 +3188,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = true;
         Algebraic.USE_SUM_CACHE = true;
         Algebraic.USE_PRODUCT_CACHE = true;
+        Algebraic.USE_ROOT_CACHE = true;
     }
 
     private void propertiesRootOfRational() {
@@ -3562,6 +3570,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = false;
         Algebraic.USE_SUM_CACHE = false;
         Algebraic.USE_PRODUCT_CACHE = false;
+        Algebraic.USE_ROOT_CACHE = false;
         Map<String, Function<Pair<Algebraic, Rational>, Algebraic>> functions = new LinkedHashMap<>();
         functions.put("alt", p -> pow_Rational_alt(p.a, p.b));
         functions.put("standard", p -> p.a.pow(p.b));
@@ -3578,6 +3587,7 @@ public class AlgebraicProperties extends QBarTestProperties {
         Polynomial.USE_FACTOR_CACHE = true;
         Algebraic.USE_SUM_CACHE = true;
         Algebraic.USE_PRODUCT_CACHE = true;
+        Algebraic.USE_ROOT_CACHE = true;
     }
 
     private void propertiesFractionalPart() {
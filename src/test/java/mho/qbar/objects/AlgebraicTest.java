@@ -73,6 +73,35 @@ public class AlgebraicTest {
         of_Polynomial_int_fail_helper("x^2-1", 2);
     }
 
+    private static void rootCache_helper(@NotNull String polynomial) {
+        Polynomial p = Polynomial.readStrict(polynomial).get();
+        List<Algebraic> cachedRoots = roots(p);
+        // modifying the result doesn't affect the cache
+        roots(p).clear();
+        List<Algebraic> cachedRootsAgain = roots(p);
+        List<Algebraic> cachedOf = toList(map(i -> of(p, i), range(0, cachedRoots.size() - 1)));
+        Algebraic.USE_ROOT_CACHE = false;
+        try {
+            List<Algebraic> rawRoots = roots(p);
+            aeq(cachedRoots, rawRoots);
+            aeq(cachedRootsAgain, rawRoots);
+            aeq(cachedOf, rawRoots);
+            aeq(toList(map(i -> of(p, i), range(0, rawRoots.size() - 1))), rawRoots);
+            aeq(rootsRaw(p), rawRoots);
+        } finally {
+            Algebraic.USE_ROOT_CACHE = true;
+        }
+    }
+
+    @Test
+    public void testRootCache() {
+        rootCache_helper("x^2-2");
+        rootCache_helper("x^5-x-1");
+        rootCache_helper("x^3-x^2-2*x+2");
+        rootCache_helper("x^8-20*x^6+104*x^4-40*x^2+4");
+        rootCache_helper("x^12-4*x^11+3*x^10+7*x^9-5*x^8-x^7+2*x^6+8*x^5-x^4-5*x^3+3*x^2-7*x+1");
+    }
+
     private static void of_Rational_helper(@NotNull String input) {
         Algebraic x = of(Rational.readStrict(input).get());
         x.validate();
@@ -3579,10 +3608,96 @@ public class AlgebraicTest {
         sumSign_helper("[sqrt(2), sqrt(3), sqrt(5), sqrt(7)]", 1);
         sumSign_helper("[-sqrt(2), -4/3, 0, 1/2, 1, root 0 of x^5-x-1, sqrt(2), (1+sqrt(5))/2, sqrt(3)]", 1);
         sumSign_helper("[sqrt(2), -sqrt(2)]", 0);
+        sumSign_helper("[sqrt(2), sqrt(3), root 0 of x^4-10*x^2+1]", 0);
+        sumSign_helper("[sqrt(2), sqrt(3), -22/7]", 1);
+        sumSign_helper("[sqrt(2), -176776695296637/125000000000000]", -1);
 
         sumSign_fail_helper("[10, null, sqrt(2)]");
     }
 
+    private static void sumAll_helper(@NotNull String input, @NotNull String output) {
+        Algebraic x = sumAll(readAlgebraicList(input));
+        x.validate();
+        aeq(x, output);
+    }
+
+    private static void sumAll_fail_helper(@NotNull String input) {
+        try {
+            sumAll(readAlgebraicListWithNulls(input));
+            fail();
+        } catch (NullPointerException ignored) {}
+    }
+
+    @Test
+    public void testSumAll() {
+        sumAll_helper("[]", "0");
+        sumAll_helper("[1]", "1");
+        sumAll_helper("[sqrt(2)]", "sqrt(2)");
+        sumAll_helper("[sqrt(2), sqrt(3), sqrt(5), sqrt(7)]",
+                "root 15 of x^16-136*x^14+6476*x^12-141912*x^10+1513334*x^8-7453176*x^6+13950764*x^4-5596840*x^2+" +
+                "46225");
+        sumAll_helper("[sqrt(2), -sqrt(2)]", "0");
+        sumAll_helper("[sqrt(2), 1/2, sqrt(2), -sqrt(2), sqrt(3), -1]", "root 3 of 16*x^4+32*x^3-136*x^2-152*x-23");
+        sumAll_helper("[sqrt(2), sqrt(2), sqrt(2)]", "3*sqrt(2)");
+
+        sumAll_fail_helper("[10, null, sqrt(2)]");
+    }
+
+    private static void sortAll_helper(@NotNull String input, @NotNull String output) {
+        List<Algebraic> xs = sortAll(readAlgebraicList(input));
+        xs.forEach(Algebraic::validate);
+        aeq(xs, output);
+    }
+
+    private static void sortAll_fail_helper(@NotNull String input) {
+        try {
+            sortAll(readAlgebraicListWithNulls(input));
+            fail();
+        } catch (NullPointerException ignored) {}
+    }
+
+    @Test
+    public void testSortAll() {
+        sortAll_helper("[]", "[]");
+        sortAll_helper("[sqrt(2)]", "[sqrt(2)]");
+        sortAll_helper("[sqrt(3), -sqrt(2), 1/2, sqrt(2), -4/3, sqrt(2), (1+sqrt(5))/2, root 0 of x^5-x-1]",
+                "[-sqrt(2), -4/3, 1/2, root 0 of x^5-x-1, sqrt(2), sqrt(2), (1+sqrt(5))/2, sqrt(3)]");
+        sortAll_helper("[root 2 of x^3-3*x+1, root 0 of x^3-3*x+1, root 1 of x^3-3*x+1]",
+                "[root 0 of x^3-3*x+1, root 1 of x^3-3*x+1, root 2 of x^3-3*x+1]");
+        sortAll_helper("[1414213563/1000000000, sqrt(2), 707106781/500000000]",
+                "[707106781/500000000, sqrt(2), 1414213563/1000000000]");
+
+        sortAll_fail_helper("[10, null, sqrt(2)]");
+    }
+
+    private static void minMax_helper(@NotNull String input, @NotNull String output) {
+        Pair<Algebraic, Algebraic> p = minMax(readAlgebraicList(input));
+        p.a.validate();
+        p.b.validate();
+        aeq(p, output);
+    }
+
+    private static void minMax_fail_helper(@NotNull String input) {
+        try {
+            minMax(readAlgebraicListWithNulls(input));
+            fail();
+        } catch (NullPointerException | IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testMinMax() {
+        minMax_helper("[sqrt(2)]", "(sqrt(2), sqrt(2))");
+        minMax_helper("[sqrt(3), -sqrt(2), 1/2, sqrt(2), -4/3, (1+sqrt(5))/2, root 0 of x^5-x-1]",
+                "(-sqrt(2), sqrt(3))");
+        minMax_helper("[root 2 of x^3-3*x+1, root 0 of x^3-3*x+1, root 1 of x^3-3*x+1]",
+                "(root 0 of x^3-3*x+1, root 2 of x^3-3*x+1)");
+        minMax_helper("[1414213563/1000000000, sqrt(2), 707106781/500000000]",
+                "(707106781/500000000, 1414213563/1000000000)");
+
+        minMax_fail_helper("[]");
+        minMax_fail_helper("[10, null, sqrt(2)]");
+    }
+
     private static void delta_helper(@NotNull Iterable<Algebraic> input, @NotNull String output) {
         Iterable<Algebraic> xs = delta(input);
         take(TINY_LIMIT, xs).forEach(Algebraic::validate);
@@ -4204,6 +4319,8 @@ public class AlgebraicTest {
                 "[1, 5, 1, 42, 1, 3, 24, 2, 2, 1, 16, 1, 11, 1, 1, 2, 31, 1, 12, 5, ...]");
         continuedFraction_helper("root 0 of x^3-2",
                 "[1, 3, 1, 5, 1, 1, 4, 1, 1, 8, 1, 14, 1, 10, 2, 1, 4, 12, 2, 3, ...]");
+        continuedFraction_helper("root 0 of x^3+x+1",
+                "[-1, 3, 6, 1, 3, 5, 4, 22, 1, 1, 4, 1, 2, 84, 1, 3, 1, 6, 1, 3, ...]");
     }
 
     private static void repeatedContinuedFraction_helper(@NotNull String input, @NotNull String output) {
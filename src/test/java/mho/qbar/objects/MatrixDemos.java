@@ -478,6 +478,31 @@ public class MatrixDemos extends QBarDemos {
         }
     }
 
+    private void demoSolveLinearSystem_Matrix() {
+        Iterable<Pair<Matrix, Matrix>> ps = P.chooseLogarithmicOrder(
+                map(
+                        q -> q.b,
+                        P.dependentPairsInfiniteSquareRootOrder(
+                                P.triples(P.withScale(4).positiveIntegersGeometric()),
+                                t -> P.pairs(P.withScale(4).matrices(t.a, t.b), P.withScale(4).matrices(t.a, t.c))
+                        )
+                ),
+                P.withScale(1).choose(
+                        map(
+                                p -> new Pair<>(zero(0, p.a), zero(0, p.b)),
+                                P.pairs(P.withScale(4).naturalIntegersGeometric())
+                        ),
+                        map(
+                                m -> new Pair<>(zero(m.height(), 0), m),
+                                filterInfinite(m -> m.height() != 0, P.withScale(4).matrices())
+                        )
+                )
+        );
+        for (Pair<Matrix, Matrix> p : take(LIMIT, ps)) {
+            System.out.println("solveLinearSystem(" + p.a + ", " + p.b + ") = " + p.a.solveLinearSystem(p.b));
+        }
+    }
+
     private void demoSolveLinearSystemPermissive() {
         Iterable<Pair<Matrix, Vector>> ps = P.chooseLogarithmicOrder(
                 map(
@@ -513,6 +538,67 @@ public class MatrixDemos extends QBarDemos {
         }
     }
 
+    private void demoIsInHermiteNormalForm() {
+        for (Matrix m : take(LIMIT, P.withScale(4).matrices())) {
+            System.out.println(m + " is " + (m.isInHermiteNormalForm() ? "" : "not ") + "in Hermite normal form");
+        }
+    }
+
+    private void demoHermiteNormalForm() {
+        for (Matrix m : take(LIMIT, P.withScale(4).matrices())) {
+            System.out.println("hermiteNormalForm(" + m + ") = " + m.hermiteNormalForm());
+        }
+    }
+
+    private void demoHermiteNormalFormWithTransform() {
+        for (Matrix m : take(LIMIT, P.withScale(4).matrices())) {
+            System.out.println("hermiteNormalFormWithTransform(" + m + ") = " + m.hermiteNormalFormWithTransform());
+        }
+    }
+
+    private void demoIsInSmithNormalForm() {
+        for (Matrix m : take(LIMIT, P.withScale(4).matrices())) {
+            System.out.println(m + " is " + (m.isInSmithNormalForm() ? "" : "not ") + "in Smith normal form");
+        }
+    }
+
+    private void demoSmithNormalForm() {
+        for (Matrix m : take(LIMIT, P.withScale(4).matrices())) {
+            System.out.println("smithNormalForm(" + m + ") = " + m.smithNormalForm());
+        }
+    }
+
+    private void demoSmithNormalFormWithTransforms() {
+        for (Matrix m : take(LIMIT, P.withScale(4).matrices())) {
+            System.out.println("smithNormalFormWithTransforms(" + m + ") = " + m.smithNormalFormWithTransforms());
+        }
+    }
+
+    private @NotNull Iterable<Pair<Matrix, Rational>> lllPairs() {
+        return P.pairs(
+                filterInfinite(m -> m.rank() == m.height(), P.withScale(4).matrices()),
+                filterInfinite(d -> !d.equals(Rational.of(1, 4)), P.range(Rational.of(1, 4), Rational.ONE))
+        );
+    }
+
+    private void demoIsLllReduced() {
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllPairs())) {
+            System.out.println(p.a + " is " + (p.a.isLllReduced(p.b) ? "" : "not ") + "LLL-reduced with delta " + p.b);
+        }
+    }
+
+    private void demoLllReduce() {
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllPairs())) {
+            System.out.println("lllReduce(" + p.a + ", " + p.b + ") = " + p.a.lllReduce(p.b));
+        }
+    }
+
+    private void demoLllReduceFloatingPoint() {
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllPairs())) {
+            System.out.println("lllReduceFloatingPoint(" + p.a + ", " + p.b + ") = " + p.a.lllReduceFloatingPoint(p.b));
+        }
+    }
+
     private void demoCharacteristicPolynomial() {
         for (Matrix m : take(LIMIT, P.withScale(4).squareMatrices())) {
             System.out.println("characteristicPolynomial(" + m + ") = " + m.characteristicPolynomial());
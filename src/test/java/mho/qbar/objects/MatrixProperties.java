@@ -19,6 +19,8 @@ import java.util.function.Function;
 import static mho.qbar.objects.Matrix.*;
 import static mho.wheels.iterables.IterableUtils.*;
 import static mho.wheels.ordering.Ordering.compare;
+import static mho.wheels.ordering.Ordering.gt;
+import static mho.wheels.ordering.Ordering.le;
 import static mho.wheels.testing.Testing.*;
 
 public class MatrixProperties extends QBarTestProperties {
@@ -77,11 +79,22 @@ public class MatrixProperties extends QBarTestProperties {
         compareImplementationsPrimitiveReducedRowEchelonForm();
         propertiesSolveLinearSystem();
         compareImplementationsSolveLinearSystem();
+        propertiesSolveLinearSystem_Matrix();
         propertiesSolveLinearSystemPermissive();
         propertiesInvert();
         compareImplementationsInvert();
         propertiesDeterminant();
         compareImplementationsDeterminant();
+        propertiesIsInHermiteNormalForm();
+        propertiesHermiteNormalForm();
+        compareImplementationsHermiteNormalForm();
+        propertiesHermiteNormalFormWithTransform();
+        propertiesIsInSmithNormalForm();
+        propertiesSmithNormalForm();
+        propertiesSmithNormalFormWithTransforms();
+        propertiesIsLllReduced();
+        propertiesLllReduce();
+        propertiesLllReduceFloatingPoint();
         propertiesCharacteristicPolynomial();
         compareImplementationsCharacteristicPolynomial();
         propertiesKroneckerMultiply();
@@ -1546,6 +1559,57 @@ public class MatrixProperties extends QBarTestProperties {
         compareImplementations("solveLinearSystem(Vector)", take(LIMIT, ps), functions, v -> P.reset());
     }
 
+    private void propertiesSolveLinearSystem_Matrix() {
+        initialize("solveLinearSystem(Matrix)");
+        Iterable<Pair<Matrix, Matrix>> ps = P.chooseLogarithmicOrder(
+                map(
+                        q -> q.b,
+                        P.dependentPairsInfiniteSquareRootOrder(
+                                P.triples(P.withScale(4).positiveIntegersGeometric()),
+                                t -> P.pairs(P.withScale(4).matrices(t.a, t.b), P.withScale(4).matrices(t.a, t.c))
+                        )
+                ),
+                P.withScale(1).choose(
+                        map(
+                                p -> new Pair<>(zero(0, p.a), zero(0, p.b)),
+                                P.pairs(P.withScale(4).naturalIntegersGeometric())
+                        ),
+                        map(
+                                m -> new Pair<>(zero(m.height(), 0), m),
+                                filterInfinite(m -> m.height() != 0, P.withScale(4).matrices())
+                        )
+                )
+        );
+        for (Pair<Matrix, Matrix> p : take(LIMIT, ps)) {
+            Optional<RationalMatrix> solution = p.a.solveLinearSystem(p.b);
+            if (solution.isPresent()) {
+                RationalMatrix x = solution.get();
+                x.validate();
+                assertEquals(p, x.height(), p.a.width());
+                assertEquals(p, x.width(), p.b.width());
+                assertEquals(p, p.a.toRationalMatrix().multiply(x), p.b.toRationalMatrix());
+                for (int j = 0; j < p.b.width(); j++) {
+                    assertEquals(p, p.a.solveLinearSystem(p.b.column(j)).get(), x.column(j));
+                }
+            } else if (p.b.width() != 0) {
+                Iterable<Integer> js = EP.range(0, p.b.width() - 1);
+                assertTrue(p, any(j -> !p.a.solveLinearSystem(p.b.column(j)).isPresent(), js));
+            }
+            assertEquals(p, p.a.toRationalMatrix().solveLinearSystem(p.b.toRationalMatrix()), solution);
+        }
+
+        Iterable<Pair<Matrix, Matrix>> psFail = filterInfinite(
+                q -> q.b.height() != q.a.height(),
+                P.pairs(P.matrices())
+        );
+        for (Pair<Matrix, Matrix> p : take(LIMIT, psFail)) {
+            try {
+                p.a.solveLinearSystem(p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
     private void propertiesSolveLinearSystemPermissive() {
         initialize("solveLinearSystemPermissive(Vector)");
         Iterable<Pair<Matrix, Vector>> ps = P.chooseLogarithmicOrder(
@@ -1740,6 +1804,315 @@ public class MatrixProperties extends QBarTestProperties {
         );
     }
 
+    private void propertiesIsInHermiteNormalForm() {
+        initialize("isInHermiteNormalForm()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            boolean isInHnf = m.isInHermiteNormalForm();
+            assertEquals(m, m.equals(m.hermiteNormalForm()), isInHnf);
+            if (isInHnf) {
+                assertTrue(m, m.isInRowEchelonForm());
+            }
+        }
+
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            Matrix zero = zero(p.a, p.b);
+            assertTrue(p, zero.isInHermiteNormalForm());
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            Matrix identity = identity(i);
+            assertTrue(i, identity.isInHermiteNormalForm());
+        }
+    }
+
+    private static @NotNull Matrix hermiteNormalForm_simplest(@NotNull Matrix m) {
+        int height = m.height();
+        int width = m.width();
+        if (height == 0 || width == 0) return m;
+        List<Vector> rows = toList(m.rows());
+        int i = 0;
+        for (int j = 0; i < height && j < width; j++) {
+            while (true) {
+                int smallestIndex = -1;
+                for (int k = i; k < height; k++) {
+                    BigInteger x = rows.get(k).get(j);
+                    if (!x.equals(BigInteger.ZERO) &&
+                            (smallestIndex == -1 || Ordering.lt(x.abs(), rows.get(smallestIndex).get(j).abs()))) {
+                        smallestIndex = k;
+                    }
+                }
+                if (smallestIndex == -1) break;
+                Collections.swap(rows, i, smallestIndex);
+                Vector pivotRow = rows.get(i);
+                boolean cleared = true;
+                for (int k = i + 1; k < height; k++) {
+                    Vector row = rows.get(k);
+                    row = row.subtract(pivotRow.multiply(row.get(j).divide(pivotRow.get(j))));
+                    rows.set(k, row);
+                    if (!row.get(j).equals(BigInteger.ZERO)) cleared = false;
+                }
+                if (cleared) break;
+            }
+            Vector pivotRow = rows.get(i);
+            if (pivotRow.get(j).equals(BigInteger.ZERO)) continue;
+            if (pivotRow.get(j).signum() == -1) {
+                pivotRow = pivotRow.negate();
+                rows.set(i, pivotRow);
+            }
+            BigInteger pivot = pivotRow.get(j);
+            for (int k = 0; k < i; k++) {
+                BigInteger x = rows.get(k).get(j);
+                rows.set(k, rows.get(k).subtract(pivotRow.multiply(x.subtract(x.mod(pivot)).divide(pivot))));
+            }
+            i++;
+        }
+        return fromRows(rows);
+    }
+
+    private void propertiesHermiteNormalForm() {
+        initialize("hermiteNormalForm()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            Matrix hnf = m.hermiteNormalForm();
+            hnf.validate();
+            assertEquals(m, hermiteNormalForm_simplest(m), hnf);
+            assertEquals(m, hnf.height(), m.height());
+            assertEquals(m, hnf.width(), m.width());
+            assertTrue(m, hnf.isInHermiteNormalForm());
+            idempotent(Matrix::hermiteNormalForm, m);
+            assertEquals(m, hnf.rank(), m.rank());
+            assertEquals(m, m.negate().hermiteNormalForm(), hnf);
+        }
+
+        for (Matrix m : take(LIMIT, P.withScale(4).squareMatrices())) {
+            Matrix hnf = m.hermiteNormalForm();
+            BigInteger diagonalProduct = BigInteger.ONE;
+            for (int i = 0; i < m.height(); i++) {
+                diagonalProduct = diagonalProduct.multiply(hnf.get(i, i));
+            }
+            assertEquals(m, diagonalProduct, m.determinant().abs());
+        }
+
+        Iterable<Pair<Matrix, Pair<Integer, Integer>>> ps = P.dependentPairs(
+                filterInfinite(m -> m.height() > 1, P.withScale(4).matrices()),
+                m -> P.subsetPairs(P.range(0, m.height() - 1))
+        );
+        for (Pair<Matrix, Pair<Integer, Integer>> p : take(LIMIT, ps)) {
+            List<Vector> rows = toList(p.a.rows());
+            Collections.swap(rows, p.b.a, p.b.b);
+            assertEquals(p, fromRows(rows).hermiteNormalForm(), p.a.hermiteNormalForm());
+        }
+
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            Matrix zero = zero(p.a, p.b);
+            assertEquals(p, zero.hermiteNormalForm(), zero);
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            Matrix identity = identity(i);
+            assertEquals(i, identity.hermiteNormalForm(), identity);
+        }
+    }
+
+    private void compareImplementationsHermiteNormalForm() {
+        Map<String, Function<Matrix, Matrix>> functions = new LinkedHashMap<>();
+        functions.put("simplest", MatrixProperties::hermiteNormalForm_simplest);
+        functions.put("standard", Matrix::hermiteNormalForm);
+        compareImplementations("hermiteNormalForm()", take(LIMIT, P.matrices()), functions, v -> P.reset());
+    }
+
+    private void propertiesHermiteNormalFormWithTransform() {
+        initialize("hermiteNormalFormWithTransform()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            Pair<Matrix, Matrix> p = m.hermiteNormalFormWithTransform();
+            p.a.validate();
+            p.b.validate();
+            assertEquals(m, p.a, m.hermiteNormalForm());
+            assertTrue(m, p.b.isSquare());
+            assertEquals(m, p.b.height(), m.height());
+            assertEquals(m, p.b.determinant().abs(), BigInteger.ONE);
+            assertEquals(m, p.b.multiply(m), p.a);
+        }
+    }
+
+    private void propertiesIsInSmithNormalForm() {
+        initialize("isInSmithNormalForm()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            boolean isInSnf = m.isInSmithNormalForm();
+            assertEquals(m, m.equals(m.smithNormalForm()), isInSnf);
+            assertEquals(m, m.transpose().isInSmithNormalForm(), isInSnf);
+        }
+
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            Matrix zero = zero(p.a, p.b);
+            assertTrue(p, zero.isInSmithNormalForm());
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            Matrix identity = identity(i);
+            assertTrue(i, identity.isInSmithNormalForm());
+        }
+    }
+
+    private void propertiesSmithNormalForm() {
+        initialize("smithNormalForm()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            Matrix snf = m.smithNormalForm();
+            snf.validate();
+            assertEquals(m, snf.height(), m.height());
+            assertEquals(m, snf.width(), m.width());
+            assertTrue(m, snf.isInSmithNormalForm());
+            idempotent(Matrix::smithNormalForm, m);
+            assertEquals(m, snf.rank(), m.rank());
+            assertEquals(m, m.transpose().smithNormalForm(), snf.transpose());
+            assertEquals(m, m.hermiteNormalForm().smithNormalForm(), snf);
+            assertEquals(m, m.smithNormalFormWithTransforms().a, snf);
+        }
+
+        for (Matrix m : take(LIMIT, P.withScale(4).squareMatrices())) {
+            Matrix snf = m.smithNormalForm();
+            BigInteger diagonalProduct = BigInteger.ONE;
+            for (int i = 0; i < m.height(); i++) {
+                diagonalProduct = diagonalProduct.multiply(snf.get(i, i));
+            }
+            assertEquals(m, diagonalProduct, m.determinant().abs());
+        }
+
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            Matrix zero = zero(p.a, p.b);
+            assertEquals(p, zero.smithNormalForm(), zero);
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            Matrix identity = identity(i);
+            assertEquals(i, identity.smithNormalForm(), identity);
+        }
+    }
+
+    private void propertiesSmithNormalFormWithTransforms() {
+        initialize("smithNormalFormWithTransforms()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            Triple<Matrix, Matrix, Matrix> t = m.smithNormalFormWithTransforms();
+            t.a.validate();
+            t.b.validate();
+            t.c.validate();
+            assertTrue(m, t.a.isInSmithNormalForm());
+            assertTrue(m, t.b.isSquare());
+            assertTrue(m, t.c.isSquare());
+            assertEquals(m, t.b.height(), m.height());
+            assertEquals(m, t.c.height(), m.width());
+            assertEquals(m, t.b.determinant().abs(), BigInteger.ONE);
+            assertEquals(m, t.c.determinant().abs(), BigInteger.ONE);
+            assertEquals(m, t.b.multiply(m).multiply(t.c), t.a);
+        }
+    }
+
+    private @NotNull Iterable<Pair<Matrix, Rational>> lllPairs() {
+        return P.pairs(
+                filterInfinite(m -> m.rank() == m.height(), P.withScale(4).matrices()),
+                filterInfinite(d -> !d.equals(Rational.of(1, 4)), P.range(Rational.of(1, 4), Rational.ONE))
+        );
+    }
+
+    private @NotNull Iterable<Pair<Matrix, Rational>> lllFailPairs() {
+        return P.pairs(
+                P.withScale(4).matrices(),
+                filterInfinite(d -> le(d, Rational.of(1, 4)) || gt(d, Rational.ONE), P.rationals())
+        );
+    }
+
+    private void lllReduceHelper(@NotNull Pair<Matrix, Rational> p, @NotNull Matrix reduced) {
+        reduced.validate();
+        assertTrue(p, reduced.isLllReduced(p.b));
+        assertEquals(p, reduced.height(), p.a.height());
+        assertEquals(p, reduced.width(), p.a.width());
+        assertEquals(p, reduced.hermiteNormalForm(), p.a.hermiteNormalForm());
+    }
+
+    private void propertiesIsLllReduced() {
+        initialize("isLllReduced(Rational)");
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllPairs())) {
+            boolean reduced = p.a.isLllReduced(p.b);
+            if (reduced) {
+                assertEquals(p, p.a.lllReduce(p.b), p.a);
+                for (Rational d : take(TINY_LIMIT, P.range(Rational.of(1, 4), p.b))) {
+                    if (!d.equals(Rational.of(1, 4))) {
+                        assertTrue(p, p.a.isLllReduced(d));
+                    }
+                }
+            }
+            if (p.a.height() < 2) {
+                assertTrue(p, reduced);
+            }
+        }
+
+        for (int i : take(LIMIT, P.withScale(4).naturalIntegersGeometric())) {
+            assertTrue(i, identity(i).isLllReduced(Rational.ONE));
+        }
+
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllFailPairs())) {
+            try {
+                p.a.isLllReduced(p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        Iterable<Matrix> msFail = filterInfinite(m -> m.rank() < m.height(), P.withScale(4).matrices());
+        for (Matrix m : take(LIMIT, msFail)) {
+            try {
+                m.isLllReduced(Rational.ONE);
+                fail(m);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesLllReduce() {
+        initialize("lllReduce(Rational)");
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllPairs())) {
+            Matrix reduced = p.a.lllReduce(p.b);
+            lllReduceHelper(p, reduced);
+            assertEquals(p, reduced.lllReduce(p.b), reduced);
+        }
+
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllFailPairs())) {
+            try {
+                p.a.lllReduce(p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        Iterable<Matrix> msFail = filterInfinite(m -> m.rank() < m.height(), P.withScale(4).matrices());
+        for (Matrix m : take(LIMIT, msFail)) {
+            try {
+                m.lllReduce(Rational.ONE);
+                fail(m);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesLllReduceFloatingPoint() {
+        initialize("lllReduceFloatingPoint(Rational)");
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllPairs())) {
+            Matrix reduced = p.a.lllReduceFloatingPoint(p.b);
+            lllReduceHelper(p, reduced);
+            assertEquals(p, reduced.lllReduceFloatingPoint(p.b), reduced);
+        }
+
+        for (Pair<Matrix, Rational> p : take(LIMIT, lllFailPairs())) {
+            try {
+                p.a.lllReduceFloatingPoint(p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        Iterable<Matrix> msFail = filterInfinite(m -> m.rank() < m.height(), P.withScale(4).matrices());
+        for (Matrix m : take(LIMIT, msFail)) {
+            try {
+                m.lllReduceFloatingPoint(Rational.ONE);
+                fail(m);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
     private static @NotNull Polynomial characteristicPolynomial_simplest(@NotNull Matrix m) {
         return m.toRationalMatrix().characteristicPolynomial().toPolynomial();
     }
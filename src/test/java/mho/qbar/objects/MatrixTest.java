@@ -967,6 +967,53 @@ public class MatrixTest {
         solveLinearSystem_fail_helper("[[2, 3], [4, 9]]", "[6, 15, 3]");
     }
 
+    private static void solveLinearSystem_Matrix_helper(
+            @NotNull String m,
+            @NotNull String rhs,
+            @NotNull String output
+    ) {
+        aeq(readStrict(m).get().solveLinearSystem(readStrict(rhs).get()), output);
+    }
+
+    private static void solveLinearSystem_Matrix_fail_helper(@NotNull String m, @NotNull String rhs) {
+        try {
+            readStrict(m).get().solveLinearSystem(readStrict(rhs).get());
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testSolveLinearSystem_Matrix() {
+        solveLinearSystem_Matrix_helper("[]#0", "[]#0", "Optional[[]#0]");
+        solveLinearSystem_Matrix_helper("[]#0", "[]#2", "Optional[[]#2]");
+        solveLinearSystem_Matrix_helper("[]#3", "[]#1", "Optional.empty");
+        solveLinearSystem_Matrix_helper("[[], [], []]", "[[], [], []]", "Optional[[]#0]");
+        solveLinearSystem_Matrix_helper("[[], [], []]", "[[0, 0], [0, 0], [0, 0]]", "Optional[[]#2]");
+        solveLinearSystem_Matrix_helper("[[], [], []]", "[[0, 1], [0, 0], [0, 0]]", "Optional.empty");
+        solveLinearSystem_Matrix_helper("[[-3]]", "[[0, -3, 7]]", "Optional[[[0, 1, -7/3]]]");
+        solveLinearSystem_Matrix_helper("[[1, 1]]", "[[0]]", "Optional.empty");
+
+        solveLinearSystem_Matrix_helper("[[1, 1], [1, -1]]", "[[10, 1], [5, 0]]",
+                "Optional[[[15/2, 1/2], [5/2, 1/2]]]");
+        solveLinearSystem_Matrix_helper("[[1, 1], [1, -1]]", "[[], []]", "Optional[[[], []]]");
+        solveLinearSystem_Matrix_helper("[[1, 1], [2, 2]]", "[[], []]", "Optional.empty");
+        solveLinearSystem_Matrix_helper("[[1, 1], [1, -1], [2, 2]]", "[[10, 0], [5, 0], [20, 0]]",
+                "Optional[[[15/2, 0], [5/2, 0]]]");
+        solveLinearSystem_Matrix_helper("[[1, 1], [1, -1], [2, 2]]", "[[10, 10], [5, 5], [20, 19]]",
+                "Optional.empty");
+        solveLinearSystem_Matrix_helper("[[2, 3], [4, 9]]", "[[6, 1], [15, 0]]",
+                "Optional[[[3/2, 3/2], [1, -2/3]]]");
+        solveLinearSystem_Matrix_helper("[[1, 2], [2, 4]]", "[[1], [2]]", "Optional.empty");
+        solveLinearSystem_Matrix_helper("[[3, 2, -1], [2, -2, 4], [-2, 1, -2]]", "[[1, 1, 0], [-2, 0, 0], [0, 0, 1]]",
+                "Optional[[[1, 0, -1], [-2, 2/3, 7/3], [-2, 1/3, 5/3]]]");
+        solveLinearSystem_Matrix_helper("[[100000000000, 3], [7, -200000000000]]", "[[1], [99999999999999999999]]",
+                "Optional[[[300000000199999999997/20000000000000000000021]," +
+                " [-9999999999999999999899999999993/20000000000000000000021]]]");
+
+        solveLinearSystem_Matrix_fail_helper("[]#0", "[[0]]");
+        solveLinearSystem_Matrix_fail_helper("[[2, 3], [4, 9]]", "[[6], [15], [3]]");
+    }
+
     private static void solveLinearSystemPermissive_helper(
             @NotNull String m,
             @NotNull String v,
@@ -1060,6 +1107,256 @@ public class MatrixTest {
         determinant_fail_helper("[[1, 9, -13], [20, 5, -6]]");
     }
 
+    private static void isInHermiteNormalForm_helper(@NotNull String input, boolean output) {
+        aeq(readStrict(input).get().isInHermiteNormalForm(), output);
+    }
+
+    @Test
+    public void testIsInHermiteNormalForm() {
+        isInHermiteNormalForm_helper("[]#0", true);
+        isInHermiteNormalForm_helper("[]#3", true);
+        isInHermiteNormalForm_helper("[[], [], []]", true);
+        isInHermiteNormalForm_helper("[[0]]", true);
+        isInHermiteNormalForm_helper("[[-3]]", false);
+        isInHermiteNormalForm_helper("[[0, 0], [0, 0]]", true);
+        isInHermiteNormalForm_helper("[[2, 0], [0, 4]]", true);
+        isInHermiteNormalForm_helper("[[2, 4], [0, 4]]", false);
+        isInHermiteNormalForm_helper("[[2, -1], [0, 4]]", false);
+        isInHermiteNormalForm_helper("[[1, 2], [2, 4]]", false);
+        isInHermiteNormalForm_helper("[[1, 9], [0, 26], [0, 0]]", true);
+        isInHermiteNormalForm_helper("[[1, 0, 0], [0, 2, 0], [0, 0, 3]]", true);
+    }
+
+    private static void hermiteNormalForm_helper(@NotNull String input, @NotNull String output) {
+        aeq(readStrict(input).get().hermiteNormalForm(), output);
+    }
+
+    @Test
+    public void testHermiteNormalForm() {
+        hermiteNormalForm_helper("[]#0", "[]#0");
+        hermiteNormalForm_helper("[]#3", "[]#3");
+        hermiteNormalForm_helper("[[], [], []]", "[[], [], []]");
+        hermiteNormalForm_helper("[[0]]", "[[0]]");
+        hermiteNormalForm_helper("[[-3]]", "[[3]]");
+        hermiteNormalForm_helper("[[0, 0], [0, 0]]", "[[0, 0], [0, 0]]");
+        hermiteNormalForm_helper("[[2, 4], [6, 8]]", "[[2, 0], [0, 4]]");
+        hermiteNormalForm_helper("[[1, 2], [2, 4]]", "[[1, 2], [0, 0]]");
+        hermiteNormalForm_helper("[[3, 1], [0, 0], [5, -7]]", "[[1, 9], [0, 26], [0, 0]]");
+        hermiteNormalForm_helper("[[2, 3, 6, 2], [5, 6, 1, 6], [8, 3, 1, 1]]",
+                "[[1, 0, 50, -11], [0, 3, 28, -2], [0, 0, 61, -13]]");
+        hermiteNormalForm_helper("[[4, 8, 12], [6, 12, 18]]", "[[2, 4, 6], [0, 0, 0]]");
+        hermiteNormalForm_helper("[[2, 0], [0, 4], [6, 6]]", "[[2, 0], [0, 2], [0, 0]]");
+        hermiteNormalForm_helper("[[3, 2, -1], [2, -2, 4], [-2, 1, -2]]", "[[1, 0, 3], [0, 1, 4], [0, 0, 6]]");
+        hermiteNormalForm_helper("[[100000000000, 3], [7, -200000000000]]",
+                "[[1, 8571428571400000000009], [0, 20000000000000000000021]]");
+    }
+
+    private static void hermiteNormalFormWithTransform_helper(@NotNull String input, @NotNull String output) {
+        aeq(readStrict(input).get().hermiteNormalFormWithTransform(), output);
+    }
+
+    @Test
+    public void testHermiteNormalFormWithTransform() {
+        hermiteNormalFormWithTransform_helper("[]#0", "([]#0, []#0)");
+        hermiteNormalFormWithTransform_helper("[]#3", "([]#3, []#0)");
+        hermiteNormalFormWithTransform_helper("[[], [], []]", "([[], [], []], [[1, 0, 0], [0, 1, 0], [0, 0, 1]])");
+        hermiteNormalFormWithTransform_helper("[[0]]", "([[0]], [[1]])");
+        hermiteNormalFormWithTransform_helper("[[-3]]", "([[3]], [[-1]])");
+        hermiteNormalFormWithTransform_helper("[[2, 4], [6, 8]]", "([[2, 0], [0, 4]], [[-2, 1], [3, -1]])");
+        hermiteNormalFormWithTransform_helper("[[1, 2], [2, 4]]", "([[1, 2], [0, 0]], [[1, 0], [-2, 1]])");
+        hermiteNormalFormWithTransform_helper("[[3, 1], [0, 0], [5, -7]]",
+                "([[1, 9], [0, 26], [0, 0]], [[2, 0, -1], [5, 0, -3], [0, 1, 0]])");
+        hermiteNormalFormWithTransform_helper("[[3, 2, -1], [2, -2, 4], [-2, 1, -2]]",
+                "([[1, 0, 3], [0, 1, 4], [0, 0, 6]], [[1, 3, 4], [2, 6, 9], [2, 7, 10]])");
+    }
+
+    private static void isInSmithNormalForm_helper(@NotNull String input, boolean output) {
+        aeq(readStrict(input).get().isInSmithNormalForm(), output);
+    }
+
+    @Test
+    public void testIsInSmithNormalForm() {
+        isInSmithNormalForm_helper("[]#0", true);
+        isInSmithNormalForm_helper("[]#3", true);
+        isInSmithNormalForm_helper("[[], [], []]", true);
+        isInSmithNormalForm_helper("[[0]]", true);
+        isInSmithNormalForm_helper("[[-3]]", false);
+        isInSmithNormalForm_helper("[[0, 0], [0, 0]]", true);
+        isInSmithNormalForm_helper("[[2, 0], [0, 4]]", true);
+        isInSmithNormalForm_helper("[[2, 0], [0, 3]]", false);
+        isInSmithNormalForm_helper("[[0, 0], [0, 3]]", false);
+        isInSmithNormalForm_helper("[[2, 0], [0, 0]]", true);
+        isInSmithNormalForm_helper("[[2, 1], [0, 4]]", false);
+        isInSmithNormalForm_helper("[[1, 0], [0, 26], [0, 0]]", true);
+        isInSmithNormalForm_helper("[[1, 0, 0], [0, 2, 0], [0, 0, 3]]", false);
+    }
+
+    private static void smithNormalForm_helper(@NotNull String input, @NotNull String output) {
+        aeq(readStrict(input).get().smithNormalForm(), output);
+    }
+
+    @Test
+    public void testSmithNormalForm() {
+        smithNormalForm_helper("[]#0", "[]#0");
+        smithNormalForm_helper("[]#3", "[]#3");
+        smithNormalForm_helper("[[], [], []]", "[[], [], []]");
+        smithNormalForm_helper("[[0]]", "[[0]]");
+        smithNormalForm_helper("[[-3]]", "[[3]]");
+        smithNormalForm_helper("[[0, 0], [0, 0]]", "[[0, 0], [0, 0]]");
+        smithNormalForm_helper("[[2, 4], [6, 8]]", "[[2, 0], [0, 4]]");
+        smithNormalForm_helper("[[1, 2], [2, 4]]", "[[1, 0], [0, 0]]");
+        smithNormalForm_helper("[[3, 1], [0, 0], [5, -7]]", "[[1, 0], [0, 26], [0, 0]]");
+        smithNormalForm_helper("[[2, 3, 6, 2], [5, 6, 1, 6], [8, 3, 1, 1]]",
+                "[[1, 0, 0, 0], [0, 1, 0, 0], [0, 0, 1, 0]]");
+        smithNormalForm_helper("[[-2, 0, 0], [0, 3, 0], [0, 0, 5]]", "[[1, 0, 0], [0, 1, 0], [0, 0, 30]]");
+        smithNormalForm_helper("[[4, 8, 12], [6, 12, 18]]", "[[2, 0, 0], [0, 0, 0]]");
+        smithNormalForm_helper("[[1, 0, 0], [0, 2, 0], [0, 0, 3]]", "[[1, 0, 0], [0, 1, 0], [0, 0, 6]]");
+        smithNormalForm_helper("[[2, 0], [0, 4], [6, 6]]", "[[2, 0], [0, 2], [0, 0]]");
+        smithNormalForm_helper("[[3, 2, -1], [2, -2, 4], [-2, 1, -2]]", "[[1, 0, 0], [0, 1, 0], [0, 0, 6]]");
+        smithNormalForm_helper("[[100000000000, 3], [7, -200000000000]]", "[[1, 0], [0, 20000000000000000000021]]");
+    }
+
+    private static void smithNormalFormWithTransforms_helper(@NotNull String input, @NotNull String output) {
+        aeq(readStrict(input).get().smithNormalFormWithTransforms(), output);
+    }
+
+    @Test
+    public void testSmithNormalFormWithTransforms() {
+        smithNormalFormWithTransforms_helper("[]#0", "([]#0, []#0, []#0)");
+        smithNormalFormWithTransforms_helper("[]#3", "([]#3, []#0, [[1, 0, 0], [0, 1, 0], [0, 0, 1]])");
+        smithNormalFormWithTransforms_helper("[[], [], []]", "([[], [], []], [[1, 0, 0], [0, 1, 0], [0, 0, 1]], []#0)");
+        smithNormalFormWithTransforms_helper("[[0]]", "([[0]], [[1]], [[1]])");
+        smithNormalFormWithTransforms_helper("[[-3]]", "([[3]], [[-1]], [[1]])");
+        smithNormalFormWithTransforms_helper("[[2, 4], [6, 8]]",
+                "([[2, 0], [0, 4]], [[1, 0], [3, -1]], [[1, -2], [0, 1]])");
+        smithNormalFormWithTransforms_helper("[[1, 2], [2, 4]]",
+                "([[1, 0], [0, 0]], [[1, 0], [-2, 1]], [[1, -2], [0, 1]])");
+        smithNormalFormWithTransforms_helper("[[-2, 0, 0], [0, 3, 0], [0, 0, 5]]",
+                "([[1, 0, 0], [0, 1, 0], [0, 0, 30]], [[1, 1, 0], [-3, -2, 1], [-15, -10, 6]]," +
+                " [[1, 3, -15], [1, 2, -10], [0, -1, 6]])");
+        smithNormalFormWithTransforms_helper("[[4, 8, 12], [6, 12, 18]]",
+                "([[2, 0, 0], [0, 0, 0]], [[-1, 1], [-3, 2]], [[1, -2, -3], [0, 1, 0], [0, 0, 1]])");
+    }
+
+    private static void isLllReduced_helper(@NotNull String m, @NotNull String delta, boolean output) {
+        aeq(readStrict(m).get().isLllReduced(Rational.readStrict(delta).get()), output);
+    }
+
+    private static void isLllReduced_fail_helper(@NotNull String m, @NotNull String delta) {
+        try {
+            readStrict(m).get().isLllReduced(Rational.readStrict(delta).get());
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testIsLllReduced() {
+        isLllReduced_helper("[]#0", "3/4", true);
+        isLllReduced_helper("[]#3", "3/4", true);
+        isLllReduced_helper("[[1]]", "3/4", true);
+        isLllReduced_helper("[[-5, 3]]", "3/4", true);
+        isLllReduced_helper("[[1, 0], [0, 1]]", "3/4", true);
+        isLllReduced_helper("[[1, 1], [0, 1]]", "3/4", false);
+        isLllReduced_helper("[[1, 0], [3, 1]]", "1", false);
+        isLllReduced_helper("[[1, 1, 1], [-1, 0, 2], [3, 5, 6]]", "3/4", false);
+        isLllReduced_helper("[[201, 37], [1648, 297]]", "3/4", false);
+        isLllReduced_helper("[[201, 37], [1648, 297]]", "1/3", false);
+        isLllReduced_helper(
+                "[[1, 0, 0, 0, 1000], [0, 1, 0, 0, 1234], [0, 0, 1, 0, 3217], [0, 0, 0, 1, -4451]]",
+                "99/100",
+                false
+        );
+        isLllReduced_helper("[[1, 0, 0, 31415926535], [0, 1, 0, 27182818284], [0, 0, 1, 14142135623]]", "99/100",
+                false);
+
+        isLllReduced_fail_helper("[[1, 0], [0, 1]]", "1/4");
+        isLllReduced_fail_helper("[[1, 0], [0, 1]]", "0");
+        isLllReduced_fail_helper("[[1, 0], [0, 1]]", "2");
+        isLllReduced_fail_helper("[[1, 2], [2, 4]]", "3/4");
+        isLllReduced_fail_helper("[[0, 0]]", "3/4");
+    }
+
+    private static void lllReduce_helper(@NotNull String m, @NotNull String delta, @NotNull String output) {
+        aeq(readStrict(m).get().lllReduce(Rational.readStrict(delta).get()), output);
+    }
+
+    private static void lllReduce_fail_helper(@NotNull String m, @NotNull String delta) {
+        try {
+            readStrict(m).get().lllReduce(Rational.readStrict(delta).get());
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testLllReduce() {
+        lllReduce_helper("[]#0", "3/4", "[]#0");
+        lllReduce_helper("[]#3", "3/4", "[]#3");
+        lllReduce_helper("[[1]]", "3/4", "[[1]]");
+        lllReduce_helper("[[-5, 3]]", "3/4", "[[-5, 3]]");
+        lllReduce_helper("[[1, 0], [0, 1]]", "3/4", "[[1, 0], [0, 1]]");
+        lllReduce_helper("[[1, 1], [0, 1]]", "3/4", "[[0, 1], [1, 0]]");
+        lllReduce_helper("[[1, 0], [3, 1]]", "1", "[[1, 0], [0, 1]]");
+        lllReduce_helper("[[1, 1, 1], [-1, 0, 2], [3, 5, 6]]", "3/4", "[[0, 1, 0], [1, 0, 1], [-1, 0, 2]]");
+        lllReduce_helper("[[201, 37], [1648, 297]]", "3/4", "[[1, 32], [40, 1]]");
+        lllReduce_helper("[[201, 37], [1648, 297]]", "1/3", "[[40, 1], [1, 32]]");
+        lllReduce_helper("[[1, 0, 0, 0, 1000], [0, 1, 0, 0, 1234], [0, 0, 1, 0, 3217], [0, 0, 0, 1, -4451]]", "99/100",
+                "[[0, 1, 1, 1, 0], [-3, -7, 5, 1, -4], [1, 6, -4, -1, -13], [-20, 7, -2, -4, 8]]");
+        lllReduce_helper("[[1, 0, 0, 31415926535], [0, 1, 0, 27182818284], [0, 0, 1, 14142135623]]", "99/100",
+                "[[238, -1429, 2218, -692], [572, -749, 169, 3591], [-2973, 2281, 2220, 309]]");
+
+        lllReduce_fail_helper("[[1, 0], [0, 1]]", "1/4");
+        lllReduce_fail_helper("[[1, 0], [0, 1]]", "0");
+        lllReduce_fail_helper("[[1, 0], [0, 1]]", "2");
+        lllReduce_fail_helper("[[1, 2], [2, 4]]", "3/4");
+        lllReduce_fail_helper("[[0, 0]]", "3/4");
+    }
+
+    private static void lllReduceFloatingPoint_helper(
+            @NotNull String m,
+            @NotNull String delta,
+            @NotNull String output
+    ) {
+        aeq(readStrict(m).get().lllReduceFloatingPoint(Rational.readStrict(delta).get()), output);
+    }
+
+    private static void lllReduceFloatingPoint_fail_helper(@NotNull String m, @NotNull String delta) {
+        try {
+            readStrict(m).get().lllReduceFloatingPoint(Rational.readStrict(delta).get());
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testLllReduceFloatingPoint() {
+        lllReduceFloatingPoint_helper("[]#0", "3/4", "[]#0");
+        lllReduceFloatingPoint_helper("[]#3", "3/4", "[]#3");
+        lllReduceFloatingPoint_helper("[[1]]", "3/4", "[[1]]");
+        lllReduceFloatingPoint_helper("[[-5, 3]]", "3/4", "[[-5, 3]]");
+        lllReduceFloatingPoint_helper("[[1, 0], [0, 1]]", "3/4", "[[1, 0], [0, 1]]");
+        lllReduceFloatingPoint_helper("[[1, 1], [0, 1]]", "3/4", "[[0, 1], [1, 0]]");
+        lllReduceFloatingPoint_helper("[[1, 0], [3, 1]]", "1", "[[1, 0], [0, 1]]");
+        lllReduceFloatingPoint_helper("[[1, 1, 1], [-1, 0, 2], [3, 5, 6]]", "3/4",
+                "[[0, 1, 0], [1, 0, 1], [-1, 0, 2]]");
+        lllReduceFloatingPoint_helper("[[201, 37], [1648, 297]]", "3/4", "[[1, 32], [40, 1]]");
+        lllReduceFloatingPoint_helper("[[201, 37], [1648, 297]]", "1/3", "[[40, 1], [1, 32]]");
+        lllReduceFloatingPoint_helper(
+                "[[1, 0, 0, 0, 1000], [0, 1, 0, 0, 1234], [0, 0, 1, 0, 3217], [0, 0, 0, 1, -4451]]",
+                "99/100",
+                "[[0, 1, 1, 1, 0], [-3, -7, 5, 1, -4], [1, 6, -4, -1, -13], [-20, 7, -2, -4, 8]]"
+        );
+        lllReduceFloatingPoint_helper(
+                "[[1, 0, 0, 31415926535], [0, 1, 0, 27182818284], [0, 0, 1, 14142135623]]",
+                "99/100",
+                "[[238, -1429, 2218, -692], [572, -749, 169, 3591], [-2973, 2281, 2220, 309]]"
+        );
+
+        lllReduceFloatingPoint_fail_helper("[[1, 0], [0, 1]]", "1/4");
+        lllReduceFloatingPoint_fail_helper("[[1, 0], [0, 1]]", "0");
+        lllReduceFloatingPoint_fail_helper("[[1, 0], [0, 1]]", "2");
+        lllReduceFloatingPoint_fail_helper("[[1, 2], [2, 4]]", "3/4");
+        lllReduceFloatingPoint_fail_helper("[[0, 0]]", "3/4");
+    }
+
     private static void characteristicPolynomial_helper(@NotNull String input, @NotNull String output) {
         aeq(readStrict(input).get().characteristicPolynomial(), output);
     }
@@ -0,0 +1,284 @@
+package mho.qbar.objects;
+
+import mho.wheels.io.Readers;
+import mho.wheels.structures.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static mho.wheels.iterables.IterableUtils.*;
+import static mho.wheels.testing.Testing.*;
+import static org.junit.Assert.fail;
+
+public class NumberFieldTest {
+    private static @NotNull NumberField field(@NotNull String generator) {
+        return NumberField.of(Algebraic.readStrict(generator).get());
+    }
+
+    private static @NotNull RationalPolynomial element(@NotNull String a) {
+        return RationalPolynomial.readStrict(a).get();
+    }
+
+    @Test
+    public void testConstants() {
+        aeq(NumberField.RATIONALS, "Q");
+    }
+
+    private static void of_helper(@NotNull String generator, @NotNull String output) {
+        NumberField f = field(generator);
+        f.validate();
+        aeq(f, output);
+    }
+
+    @Test
+    public void testOf() {
+        of_helper("0", "Q");
+        of_helper("-4/3", "Q");
+        of_helper("sqrt(2)", "Q(sqrt(2))");
+        of_helper("root 0 of x^3-2", "Q(root 0 of x^3-2)");
+        of_helper("(1+sqrt(5))/2", "Q((1+sqrt(5))/2)");
+    }
+
+    private static void primitiveElement_helper(
+            @NotNull String input,
+            @NotNull String outputField,
+            @NotNull String outputElements
+    ) {
+        List<Algebraic> xs = readAlgebraicList(input);
+        Pair<NumberField, List<RationalPolynomial>> p = NumberField.primitiveElement(xs);
+        p.a.validate();
+        p.b.forEach(RationalPolynomial::validate);
+        aeq(p.a, outputField);
+        aeq(p.b, outputElements);
+        aeq(toList(map(p.a::toAlgebraic, p.b)), xs);
+    }
+
+    private static void primitiveElement_fail_helper(@NotNull String input) {
+        try {
+            NumberField.primitiveElement(readAlgebraicListWithNulls(input));
+            fail();
+        } catch (NullPointerException ignored) {}
+    }
+
+    @Test
+    public void testPrimitiveElement() {
+        primitiveElement_helper("[]", "Q", "[]");
+        primitiveElement_helper("[4/3]", "Q", "[4/3]");
+        primitiveElement_helper("[1/2, sqrt(2), -sqrt(2), 2*sqrt(2), 3]", "Q(sqrt(2))", "[1/2, x, -x, 2*x, 3]");
+        primitiveElement_helper("[root 0 of x^3-2, root 0 of x^3-2]", "Q(root 0 of x^3-2)", "[x, x]");
+        primitiveElement_helper("[sqrt(2), sqrt(3)]", "Q(root 3 of x^4-10*x^2+1)",
+                "[1/2*x^3-9/2*x, -1/2*x^3+11/2*x]");
+        primitiveElement_helper("[(1+sqrt(5))/2, sqrt(5)]", "Q((1+3*sqrt(5))/2)", "[1/3*x+1/3, 2/3*x-1/3]");
+        primitiveElement_helper("[root 1 of x^3-3*x+1, root 2 of x^3-3*x+1]", "Q(root 2 of x^3-9*x-9)",
+                "[2/3*x^2-x-4, -1/3*x^2+x+2]");
+        primitiveElement_helper("[sqrt(2), root 0 of x^4-2]", "Q(root 0 of x^4-4*x^2-8*x+2)",
+                "[-2/9*x^3+1/9*x^2+4/3*x+10/9, 2/9*x^3-1/9*x^2-1/3*x-10/9]");
+
+        primitiveElement_fail_helper("[sqrt(2), null]");
+    }
+
+    private static void minimalPolynomial_helper(@NotNull String generator, @NotNull String output) {
+        aeq(field(generator).minimalPolynomial(), output);
+    }
+
+    @Test
+    public void testMinimalPolynomial() {
+        minimalPolynomial_helper("0", "x");
+        minimalPolynomial_helper("sqrt(2)", "x^2-2");
+        minimalPolynomial_helper("root 0 of x^3-2", "x^3-2");
+        minimalPolynomial_helper("(1+sqrt(5))/2", "x^2-x-1");
+        minimalPolynomial_helper("root 0 of 2*x^3-6*x-5", "x^3-3*x-5/2");
+    }
+
+    private static void degree_helper(@NotNull String generator, int output) {
+        aeq(field(generator).degree(), output);
+    }
+
+    @Test
+    public void testDegree() {
+        degree_helper("0", 1);
+        degree_helper("sqrt(2)", 2);
+        degree_helper("root 0 of x^3-2", 3);
+        degree_helper("root 2 of x^5-5*x+1", 5);
+    }
+
+    private static void reduce_helper(@NotNull String generator, @NotNull String a, @NotNull String output) {
+        RationalPolynomial p = field(generator).reduce(element(a));
+        p.validate();
+        aeq(p, output);
+    }
+
+    @Test
+    public void testReduce() {
+        reduce_helper("0", "x^2-7/4*x+1/3", "1/3");
+        reduce_helper("sqrt(2)", "0", "0");
+        reduce_helper("sqrt(2)", "x+1", "x+1");
+        reduce_helper("sqrt(2)", "x^2-7/4*x+1/3", "-7/4*x+7/3");
+        reduce_helper("root 0 of x^3-2", "x^3", "2");
+        reduce_helper("root 0 of x^3-2", "x^7+x^4-x", "5*x");
+        reduce_helper("(1+sqrt(5))/2", "1/2*x^2+x", "3/2*x+1/2");
+    }
+
+    private static void multiply_helper(
+            @NotNull String generator,
+            @NotNull String a,
+            @NotNull String b,
+            @NotNull String output
+    ) {
+        RationalPolynomial p = field(generator).multiply(element(a), element(b));
+        p.validate();
+        aeq(p, output);
+    }
+
+    @Test
+    public void testMultiply() {
+        multiply_helper("0", "-4/3", "1/2", "-2/3");
+        multiply_helper("sqrt(2)", "x", "x", "2");
+        multiply_helper("sqrt(2)", "x+1", "x-1", "1");
+        multiply_helper("root 0 of x^3-2", "x^2+1", "x^2-x", "x^2+x-2");
+        multiply_helper("(1+sqrt(5))/2", "x", "x", "x+1");
+    }
+
+    private static void invert_helper(@NotNull String generator, @NotNull String a, @NotNull String output) {
+        RationalPolynomial p = field(generator).invert(element(a));
+        p.validate();
+        aeq(p, output);
+    }
+
+    private static void invert_fail_helper(@NotNull String generator, @NotNull String a) {
+        try {
+            field(generator).invert(element(a));
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
+    @Test
+    public void testInvert() {
+        invert_helper("0", "-4/3", "-3/4");
+        invert_helper("sqrt(2)", "x", "1/2*x");
+        invert_helper("sqrt(2)", "x+1", "x-1");
+        invert_helper("sqrt(2)", "-7/4*x+7/3", "-18/7*x-24/7");
+        invert_helper("root 0 of x^3-2", "x+1", "1/3*x^2-1/3*x+1/3");
+        invert_helper("(1+sqrt(5))/2", "x", "x-1");
+
+        invert_fail_helper("0", "0");
+        invert_fail_helper("sqrt(2)", "0");
+    }
+
+    private static void divide_helper(
+            @NotNull String generator,
+            @NotNull String a,
+            @NotNull String b,
+            @NotNull String output
+    ) {
+        RationalPolynomial p = field(generator).divide(element(a), element(b));
+        p.validate();
+        aeq(p, output);
+    }
+
+    @Test
+    public void testDivide() {
+        divide_helper("sqrt(2)", "2", "x", "x");
+        divide_helper("root 0 of x^3-2", "3", "x+1", "x^2-x+1");
+        divide_helper("(1+sqrt(5))/2", "x+1", "x", "x");
+    }
+
+    private static void pow_helper(@NotNull String generator, @NotNull String a, int p, @NotNull String output) {
+        RationalPolynomial q = field(generator).pow(element(a), p);
+        q.validate();
+        aeq(q, output);
+    }
+
+    @Test
+    public void testPow() {
+        pow_helper("0", "-4/3", 3, "-64/27");
+        pow_helper("sqrt(2)", "0", 0, "1");
+        pow_helper("sqrt(2)", "x+1", 3, "5*x+7");
+        pow_helper("sqrt(2)", "x+1", -2, "-2*x+3");
+        pow_helper("root 0 of x^3-2", "x", 3, "2");
+        pow_helper("root 0 of x^3-2", "x+1", -2, "1/3*x^2-1/3");
+        pow_helper("(1+sqrt(5))/2", "x", 3, "2*x+1");
+        pow_helper("(1+sqrt(5))/2", "x", -2, "-x+2");
+    }
+
+    private static void multiplicationMatrix_helper(
+            @NotNull String generator,
+            @NotNull String a,
+            @NotNull String output
+    ) {
+        RationalMatrix m = field(generator).multiplicationMatrix(element(a));
+        m.validate();
+        aeq(m, output);
+    }
+
+    @Test
+    public void testMultiplicationMatrix() {
+        multiplicationMatrix_helper("0", "-4/3", "[[-4/3]]");
+        multiplicationMatrix_helper("sqrt(2)", "x+1", "[[1, 2], [1, 1]]");
+        multiplicationMatrix_helper("root 0 of x^3-2", "x", "[[0, 0, 2], [1, 0, 0], [0, 1, 0]]");
+        multiplicationMatrix_helper("(1+sqrt(5))/2", "x+1", "[[1, 1], [1, 2]]");
+    }
+
+    private static void minimalPolynomial_RationalPolynomial_helper(
+            @NotNull String generator,
+            @NotNull String a,
+            @NotNull String output
+    ) {
+        Polynomial p = field(generator).minimalPolynomial(element(a));
+        p.validate();
+        aeq(p, output);
+    }
+
+    @Test
+    public void testMinimalPolynomial_RationalPolynomial() {
+        minimalPolynomial_RationalPolynomial_helper("0", "-4/3", "3*x+4");
+        minimalPolynomial_RationalPolynomial_helper("sqrt(2)", "x+1", "x^2-2*x-1");
+        minimalPolynomial_RationalPolynomial_helper("sqrt(2)", "-7/4*x+7/3", "72*x^2-336*x-49");
+        minimalPolynomial_RationalPolynomial_helper("root 0 of x^3-2", "1/2*x^2+x", "2*x^3-6*x-5");
+        minimalPolynomial_RationalPolynomial_helper("root 1 of x^3-3*x+1", "x+1", "x^3-3*x^2+3");
+        minimalPolynomial_RationalPolynomial_helper("(1+sqrt(5))/2", "3/2*x+1/2", "4*x^2-10*x-5");
+    }
+
+    private static void toAlgebraic_helper(@NotNull String generator, @NotNull String a, @NotNull String output) {
+        Algebraic x = field(generator).toAlgebraic(element(a));
+        x.validate();
+        aeq(x, output);
+    }
+
+    @Test
+    public void testToAlgebraic() {
+        toAlgebraic_helper("0", "-4/3", "-4/3");
+        toAlgebraic_helper("sqrt(2)", "x", "sqrt(2)");
+        toAlgebraic_helper("sqrt(2)", "x+1", "1+sqrt(2)");
+        toAlgebraic_helper("sqrt(2)", "-7/4*x+7/3", "(28-21*sqrt(2))/12");
+        toAlgebraic_helper("root 0 of x^3-2", "x+1", "root 0 of x^3-3*x^2+3*x-3");
+        toAlgebraic_helper("root 1 of x^3-3*x+1", "x^2-7/4*x+1/3", "root 0 of 1728*x^3-12096*x^2-1908*x-1");
+        toAlgebraic_helper("root 2 of x^5-5*x+1", "1/2*x^2+x", "root 2 of 32*x^5-80*x^3-280*x^2-30*x+21");
+        toAlgebraic_helper("(1+sqrt(5))/2", "3/2*x+1/2", "(5+3*sqrt(5))/4");
+    }
+
+    @Test
+    public void testCompose() {
+        aeq(field("sqrt(2)").compose(element("x^2+x+1"), element("x+1")), "3*x+5");
+        aeq(field("root 0 of x^3-2").compose(element("x^3"), element("x")), "2");
+        aeq(field("(1+sqrt(5))/2").compose(element("-4/3"), element("x")), "-4/3");
+    }
+
+    @Test
+    public void testEquals() {
+        testEqualsHelper(
+                toList(map(NumberFieldTest::field, Arrays.asList("0", "sqrt(2)", "root 0 of x^3-2"))),
+                toList(map(NumberFieldTest::field, Arrays.asList("-4/3", "sqrt(2)", "root 0 of x^3-2")))
+        );
+    }
+
+    private static @NotNull List<Algebraic> readAlgebraicList(@NotNull String s) {
+        return Readers.readListStrict(Algebraic::readStrict).apply(s).get();
+    }
+
+    private static @NotNull List<Algebraic> readAlgebraicListWithNulls(@NotNull String s) {
+        return Readers.readListWithNullsStrict(Algebraic::readStrict).apply(s).get();
+    }
+}
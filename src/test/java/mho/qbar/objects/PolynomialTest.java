@@ -1,5 +1,6 @@
 package mho.qbar.objects;
 
+import jas.poly.NttUtil;
 import mho.wheels.io.Readers;
 import mho.wheels.iterables.ExhaustiveProvider;
 import mho.wheels.structures.NullableOptional;
@@ -880,6 +881,60 @@ public class PolynomialTest {
         multiply_Polynomial_helper("3*x^10", "3*x^10", "9*x^20");
     }
 
+    private static @NotNull Polynomial multiply_Polynomial_classical(@NotNull Polynomial a, @NotNull Polynomial b) {
+        List<BigInteger> coefficients = toList(replicate(a.degree() + b.degree() + 1, BigInteger.ZERO));
+        for (int i = 0; i <= a.degree(); i++) {
+            for (int j = 0; j <= b.degree(); j++) {
+                coefficients.set(i + j, coefficients.get(i + j).add(a.coefficient(i).multiply(b.coefficient(j))));
+            }
+        }
+        return of(coefficients);
+    }
+
+    private static void multiply_Polynomial_large_helper(
+            @NotNull List<BigInteger> a,
+            @NotNull List<BigInteger> b,
+            boolean ntt
+    ) {
+        Polynomial p = of(a);
+        Polynomial q = of(b);
+        aeq(NttUtil.isPreferred(a.size(), b.size(), p.maxCoefficientBitLength(), q.maxCoefficientBitLength()), ntt);
+        Polynomial product = p.multiply(q);
+        product.validate();
+        aeq(product, multiply_Polynomial_classical(p, q));
+    }
+
+    private static @NotNull List<BigInteger> signedPowers(int length, int base, int signPeriod) {
+        return toList(map(
+                i -> BigInteger.valueOf(base).pow(i % 200).multiply(BigInteger.valueOf(i % signPeriod == 0 ? -1 : 1)),
+                range(0, length - 1)
+        ));
+    }
+
+    @Test
+    public void testMultiply_Polynomial_large() {
+        multiply_Polynomial_large_helper(toList(replicate(64, BigInteger.ONE)), signedPowers(64, 1, 2), true);
+        multiply_Polynomial_large_helper(signedPowers(64, 2, 1), signedPowers(100, 2, 3), true);
+        multiply_Polynomial_large_helper(
+                toList(replicate(65, BigInteger.ONE.shiftLeft(63).negate())),
+                toList(replicate(80, BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE))),
+                true
+        );
+        multiply_Polynomial_large_helper(signedPowers(70, 3, 2), signedPowers(130, -3, 5), true);
+        multiply_Polynomial_large_helper(signedPowers(200, 5, 7), signedPowers(200, 3, 4), true);
+        multiply_Polynomial_large_helper(signedPowers(63, 3, 2), signedPowers(200, 3, 4), false);
+        multiply_Polynomial_large_helper(
+                signedPowers(64, 2, 2),
+                toList(replicate(64, BigInteger.ONE.shiftLeft(192))),
+                false
+        );
+
+        multiply_Polynomial_helper("x^64-1", "x^64+1", "x^128-1");
+        multiply_Polynomial_helper("-x^100+x^99-x^50+x^3-1", "x^70-x^69+x^35-x^2+1",
+                "-x^170+2*x^169-x^168-x^135+x^134-x^120+x^119+x^102-x^101-x^100+x^99-x^85+x^73-x^72-x^70+x^69+" +
+                "x^52-x^50+x^38-x^35-x^5+x^3+x^2-1");
+    }
+
     private static void multiply_BigInteger_helper(@NotNull String p, @NotNull String i, @NotNull String output) {
         Polynomial q = readStrict(p).get().multiply(Readers.readBigIntegerStrict(i).get());
         q.validate();
@@ -1893,6 +1948,87 @@ public class PolynomialTest {
         divideExact_Polynomial_fail_helper("x^2+2*x+1", "x-1");
     }
 
+    private static @NotNull Polynomial smallCoefficients(int degree, int leading, int seed) {
+        List<BigInteger> coefficients = toList(map(
+                i -> BigInteger.valueOf((i * i + seed * i) % 7 - 3),
+                range(0, degree - 1)
+        ));
+        coefficients.add(BigInteger.valueOf(leading));
+        return of(coefficients);
+    }
+
+    private static @NotNull Pair<Polynomial, Polynomial> pseudoDivide_long(
+            @NotNull Polynomial a,
+            @NotNull Polynomial b
+    ) {
+        int m = a.degree();
+        int n = b.degree();
+        BigInteger c = b.leading().get();
+        List<BigInteger> q = toList(replicate(m - n + 1, BigInteger.ZERO));
+        List<BigInteger> r = toList(map(a::coefficient, range(0, m)));
+        for (int k = m - n; k >= 0; k--) {
+            BigInteger t = r.get(n + k);
+            for (int j = 0; j <= m; j++) {
+                r.set(j, r.get(j).multiply(c));
+            }
+            for (int j = 0; j <= m - n; j++) {
+                q.set(j, q.get(j).multiply(c));
+            }
+            q.set(k, q.get(k).add(t));
+            for (int j = 0; j <= n; j++) {
+                r.set(j + k, r.get(j + k).subtract(t.multiply(b.coefficient(j))));
+            }
+        }
+        return new Pair<>(of(q), of(r));
+    }
+
+    private static void newtonDivision_helper(@NotNull Polynomial a, @NotNull Polynomial b, boolean newton) {
+        aeq(a.pseudoDivideNewton(b).isPresent(), newton);
+        Pair<Polynomial, Polynomial> expected = pseudoDivide_long(a, b);
+        Pair<Polynomial, Polynomial> result = a.pseudoDivide(b);
+        result.a.validate();
+        result.b.validate();
+        aeq(result, expected);
+        Polynomial remainder = a.pseudoRemainder(b);
+        remainder.validate();
+        aeq(remainder, expected.b);
+    }
+
+    private static void newtonDivideExact_helper(@NotNull Polynomial quotient, @NotNull Polynomial b) {
+        Polynomial a = b.multiply(quotient);
+        aeq(a.pseudoDivideNewton(b).isPresent(), true);
+        Polynomial p = a.divideExact(b);
+        p.validate();
+        aeq(p, quotient);
+        try {
+            a.add(ONE).divideExact(b);
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
+    @Test
+    public void testNewtonDivision() {
+        aeq(usesNewtonDivision(224, 160), true);
+        aeq(usesNewtonDivision(320, 160), true);
+        aeq(usesNewtonDivision(223, 160), false);
+        aeq(usesNewtonDivision(321, 160), false);
+        aeq(usesNewtonDivision(223, 159), false);
+
+        newtonDivision_helper(smallCoefficients(300, 1, 1), smallCoefficients(200, 1, 2), true);
+        newtonDivision_helper(smallCoefficients(224, -5, 3), smallCoefficients(160, 3, 4), true);
+        newtonDivision_helper(smallCoefficients(320, 7, 5), smallCoefficients(160, -2, 6), true);
+        newtonDivision_helper(smallCoefficients(223, 1, 1), smallCoefficients(160, 1, 2), false);
+        // the reciprocal's coefficients grow like 16^k, so Newton iteration is abandoned
+        newtonDivision_helper(
+                smallCoefficients(250, 1, 1),
+                readStrict("x^160-16*x^159+1").get(),
+                false
+        );
+
+        newtonDivideExact_helper(smallCoefficients(100, 1, 7), smallCoefficients(200, 1, 8));
+        newtonDivideExact_helper(smallCoefficients(64, -3, 9), smallCoefficients(160, 2, 10));
+    }
+
     private static void remainderExact_helper(@NotNull String a, @NotNull String b, @NotNull String output) {
         Polynomial p = readStrict(a).get().remainderExact(readStrict(b).get());
         p.validate();
@@ -2588,6 +2724,24 @@ public class PolynomialTest {
                 " x+120682062, x+506979513, x+927695299, x+1265424985, x+1796838449, x+6309745387," +
                 " x+1716469927821277666, x+6567666593313994939577]"
         );
+        factor_helper(
+                "x^32-448*x^30+84864*x^28-9028096*x^26+602397952*x^24-26625650688*x^22+801918722048*x^20-" +
+                "16665641517056*x^18+239210760462336*x^16-2349014746136576*x^14+15459151516270592*x^12-" +
+                "65892492886671360*x^10+172580952324702208*x^8-255690851718529024*x^6+183876928237731840*x^4-" +
+                "44660812492570624*x^2+2000989041197056",
+                "[x^32-448*x^30+84864*x^28-9028096*x^26+602397952*x^24-26625650688*x^22+801918722048*x^20-" +
+                "16665641517056*x^18+239210760462336*x^16-2349014746136576*x^14+15459151516270592*x^12-" +
+                "65892492886671360*x^10+172580952324702208*x^8-255690851718529024*x^6+183876928237731840*x^4-" +
+                "44660812492570624*x^2+2000989041197056]"
+        );
+        factor_helper(
+                "x^32-304*x^30+39416*x^28-2884240*x^26+132911388*x^24-4070918192*x^22+85145802696*x^20-" +
+                "1229306264080*x^18+12242474859846*x^16-83248507810064*x^14+379013084314056*x^12-" +
+                "1118911401217840*x^10+2034923370337052*x^8-2096446617216400*x^6+1061215769797624*x^4-" +
+                "205481428718640*x^2+1659111444225",
+                "[x^16-168*x^14+10092*x^12-281848*x^10+3869718*x^8-25519704*x^6+78564748*x^4-99495816*x^2+35892081," +
+                " x^16-136*x^14+6476*x^12-141912*x^10+1513334*x^8-7453176*x^6+13950764*x^4-5596840*x^2+46225]"
+        );
 
         factor_fail_helper("0");
     }
@@ -6,6 +6,7 @@ import mho.wheels.numberUtils.FloatingPointUtils;
 import mho.wheels.numberUtils.IntegerUtils;
 import mho.wheels.ordering.Ordering;
 import mho.wheels.structures.Pair;
+import mho.wheels.structures.Quadruple;
 import mho.wheels.structures.Triple;
 import org.jetbrains.annotations.NotNull;
 
@@ -692,6 +693,19 @@ public class RationalDemos extends QBarDemos {
         }
     }
 
+    private void demoReconstruct() {
+        Iterable<Quadruple<BigInteger, BigInteger, BigInteger, BigInteger>> qs = P.quadruples(
+                P.bigIntegers(),
+                P.positiveBigIntegers(),
+                P.naturalBigIntegers(),
+                P.positiveBigIntegers()
+        );
+        for (Quadruple<BigInteger, BigInteger, BigInteger, BigInteger> q : take(LIMIT, qs)) {
+            System.out.println("reconstruct(" + q.a + ", " + q.b + ", " + q.c + ", " + q.d + ") = " +
+                    reconstruct(q.a, q.b, q.c, q.d));
+        }
+    }
+
     private void demoEquals_Rational() {
         for (Pair<Rational, Rational> p : take(LIMIT, P.pairs(P.rationals()))) {
             System.out.println(p.a + (p.a.equals(p.b) ? " = " : " ≠ ") + p.b);
@@ -535,6 +535,34 @@ public class RationalMatrixDemos extends QBarDemos {
         }
     }
 
+    private void demoSolveLinearSystem_RationalMatrix() {
+        Iterable<Pair<RationalMatrix, RationalMatrix>> ps = P.chooseLogarithmicOrder(
+                map(
+                        q -> q.b,
+                        P.dependentPairsInfiniteSquareRootOrder(
+                                P.triples(P.withScale(4).positiveIntegersGeometric()),
+                                t -> P.pairs(
+                                        P.withScale(4).rationalMatrices(t.a, t.b),
+                                        P.withScale(4).rationalMatrices(t.a, t.c)
+                                )
+                        )
+                ),
+                P.withScale(1).choose(
+                        map(
+                                p -> new Pair<>(zero(0, p.a), zero(0, p.b)),
+                                P.pairs(P.withScale(4).naturalIntegersGeometric())
+                        ),
+                        map(
+                                m -> new Pair<>(zero(m.height(), 0), m),
+                                filterInfinite(m -> m.height() != 0, P.withScale(4).rationalMatrices())
+                        )
+                )
+        );
+        for (Pair<RationalMatrix, RationalMatrix> p : take(LIMIT, ps)) {
+            System.out.println("solveLinearSystem(" + p.a + ", " + p.b + ") = " + p.a.solveLinearSystem(p.b));
+        }
+    }
+
     private void demoSolveLinearSystemPermissive() {
         Iterable<Pair<RationalMatrix, RationalVector>> ps = P.chooseLogarithmicOrder(
                 map(
@@ -71,11 +71,14 @@ public class RationalMatrixProperties extends QBarTestProperties {
         compareImplementationsShiftRight();
         propertiesIsInRowEchelonForm();
         propertiesRowEchelonForm();
+        compareImplementationsRowEchelonForm();
         propertiesRank();
         propertiesIsInvertible();
         propertiesIsInReducedRowEchelonForm();
         propertiesReducedRowEchelonForm();
+        compareImplementationsReducedRowEchelonForm();
         propertiesSolveLinearSystem();
+        propertiesSolveLinearSystem_RationalMatrix();
         propertiesSolveLinearSystemPermissive();
         propertiesInvert();
         propertiesDeterminant();
@@ -1420,16 +1423,54 @@ public class RationalMatrixProperties extends QBarTestProperties {
         }
     }
 
+    private static @NotNull RationalMatrix echelonForm_Gauss(@NotNull RationalMatrix m, boolean reduced) {
+        int height = m.height();
+        int width = m.width();
+        if (width == 0 || height == 0) return m;
+        List<RationalVector> rows = toList(m.rows());
+        int i = 0;
+        for (int j = 0; i < height && j < width; j++) {
+            int nonzeroRowIndex = i;
+            while (nonzeroRowIndex < height && rows.get(nonzeroRowIndex).get(j) == Rational.ZERO) {
+                nonzeroRowIndex++;
+            }
+            if (nonzeroRowIndex == height) continue;
+            Collections.swap(rows, i, nonzeroRowIndex);
+            RationalVector pivotRow = rows.get(i).divide(rows.get(i).get(j));
+            rows.set(i, pivotRow);
+            for (int k = reduced ? 0 : i + 1; k < height; k++) {
+                RationalVector row = rows.get(k);
+                if (k != i && row.get(j) != Rational.ZERO) {
+                    rows.set(k, row.subtract(pivotRow.multiply(row.get(j))));
+                }
+            }
+            i++;
+        }
+        return fromRows(rows);
+    }
+
+    private static @NotNull RationalMatrix rowEchelonForm_Gauss(@NotNull RationalMatrix m) {
+        return echelonForm_Gauss(m, false);
+    }
+
     private void propertiesRowEchelonForm() {
         initialize("rowEchelonForm()");
         for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
             RationalMatrix ref = m.rowEchelonForm();
             ref.validate();
+            assertEquals(m, ref, rowEchelonForm_Gauss(m));
             assertTrue(m, ref.isInRowEchelonForm());
             idempotent(RationalMatrix::rowEchelonForm, m);
         }
     }
 
+    private void compareImplementationsRowEchelonForm() {
+        Map<String, Function<RationalMatrix, RationalMatrix>> functions = new LinkedHashMap<>();
+        functions.put("Gauss", RationalMatrixProperties::rowEchelonForm_Gauss);
+        functions.put("standard", RationalMatrix::rowEchelonForm);
+        compareImplementations("rowEchelonForm()", take(LIMIT, P.rationalMatrices()), functions, v -> P.reset());
+    }
+
     private void propertiesRank() {
         initialize("rank()");
         for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
@@ -1485,16 +1526,33 @@ public class RationalMatrixProperties extends QBarTestProperties {
         }
     }
 
+    private static @NotNull RationalMatrix reducedRowEchelonForm_Gauss_Jordan(@NotNull RationalMatrix m) {
+        return echelonForm_Gauss(m, true);
+    }
+
     private void propertiesReducedRowEchelonForm() {
         initialize("reducedRowEchelonForm()");
         for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
             RationalMatrix rref = m.reducedRowEchelonForm();
             rref.validate();
+            assertEquals(m, rref, reducedRowEchelonForm_Gauss_Jordan(m));
             assertTrue(m, rref.isInReducedRowEchelonForm());
             idempotent(RationalMatrix::reducedRowEchelonForm, m);
         }
     }
 
+    private void compareImplementationsReducedRowEchelonForm() {
+        Map<String, Function<RationalMatrix, RationalMatrix>> functions = new LinkedHashMap<>();
+        functions.put("Gauss-Jordan", RationalMatrixProperties::reducedRowEchelonForm_Gauss_Jordan);
+        functions.put("standard", RationalMatrix::reducedRowEchelonForm);
+        compareImplementations(
+                "reducedRowEchelonForm()",
+                take(LIMIT, P.rationalMatrices()),
+                functions,
+                v -> P.reset()
+        );
+    }
+
     private void propertiesSolveLinearSystem() {
         initialize("solveLinearSystem(RationalVector)");
         Iterable<Pair<RationalMatrix, RationalVector>> ps = P.chooseLogarithmicOrder(
@@ -1535,6 +1593,56 @@ public class RationalMatrixProperties extends QBarTestProperties {
         }
     }
 
+    private void propertiesSolveLinearSystem_RationalMatrix() {
+        initialize("solveLinearSystem(RationalMatrix)");
+        Iterable<Pair<RationalMatrix, RationalMatrix>> ps = P.chooseLogarithmicOrder(
+                map(
+                        q -> q.b,
+                        P.dependentPairsInfiniteSquareRootOrder(
+                                P.triples(P.withScale(4).positiveIntegersGeometric()),
+                                t -> P.pairs(P.rationalMatrices(t.a, t.b), P.rationalMatrices(t.a, t.c))
+                        )
+                ),
+                P.withScale(1).choose(
+                        map(
+                                p -> new Pair<>(zero(0, p.a), zero(0, p.b)),
+                                P.pairs(P.withScale(4).naturalIntegersGeometric())
+                        ),
+                        map(
+                                m -> new Pair<>(zero(m.height(), 0), m),
+                                filterInfinite(m -> m.height() != 0, P.withScale(4).rationalMatrices())
+                        )
+                )
+        );
+        for (Pair<RationalMatrix, RationalMatrix> p : take(LIMIT, ps)) {
+            Optional<RationalMatrix> solution = p.a.solveLinearSystem(p.b);
+            if (solution.isPresent()) {
+                RationalMatrix x = solution.get();
+                x.validate();
+                assertEquals(p, x.height(), p.a.width());
+                assertEquals(p, x.width(), p.b.width());
+                assertEquals(p, p.a.multiply(x), p.b);
+                for (int j = 0; j < p.b.width(); j++) {
+                    assertEquals(p, p.a.solveLinearSystem(p.b.column(j)).get(), x.column(j));
+                }
+            } else if (p.b.width() != 0) {
+                Iterable<Integer> js = EP.range(0, p.b.width() - 1);
+                assertTrue(p, any(j -> !p.a.solveLinearSystem(p.b.column(j)).isPresent(), js));
+            }
+        }
+
+        Iterable<Pair<RationalMatrix, RationalMatrix>> psFail = filterInfinite(
+                q -> q.b.height() != q.a.height(),
+                P.pairs(P.rationalMatrices())
+        );
+        for (Pair<RationalMatrix, RationalMatrix> p : take(LIMIT, psFail)) {
+            try {
+                p.a.solveLinearSystem(p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
     private void propertiesSolveLinearSystemPermissive() {
         initialize("solveLinearSystemPermissive(RationalVector)");
         Iterable<Pair<RationalMatrix, RationalVector>> ps = P.chooseLogarithmicOrder(
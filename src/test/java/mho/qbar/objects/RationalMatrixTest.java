@@ -1159,6 +1159,47 @@ public class RationalMatrixTest {
         solveLinearSystem_fail_helper("[[2, 3], [4, 9]]", "[6, 15, 3]");
     }
 
+    private static void solveLinearSystem_RationalMatrix_helper(
+            @NotNull String m,
+            @NotNull String rhs,
+            @NotNull String output
+    ) {
+        aeq(readStrict(m).get().solveLinearSystem(readStrict(rhs).get()), output);
+    }
+
+    private static void solveLinearSystem_RationalMatrix_fail_helper(@NotNull String m, @NotNull String rhs) {
+        try {
+            readStrict(m).get().solveLinearSystem(readStrict(rhs).get());
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testSolveLinearSystem_RationalMatrix() {
+        solveLinearSystem_RationalMatrix_helper("[]#0", "[]#0", "Optional[[]#0]");
+        solveLinearSystem_RationalMatrix_helper("[]#3", "[]#1", "Optional.empty");
+        solveLinearSystem_RationalMatrix_helper("[[], [], []]", "[[0, 0], [0, 0], [0, 0]]", "Optional[[]#2]");
+        solveLinearSystem_RationalMatrix_helper("[[], [], []]", "[[0, 1/2], [0, 0], [0, 0]]", "Optional.empty");
+        solveLinearSystem_RationalMatrix_helper("[[-3/2]]", "[[0, -3, 7/5]]", "Optional[[[0, 2, -14/15]]]");
+        solveLinearSystem_RationalMatrix_helper("[[1, 1]]", "[[0]]", "Optional.empty");
+
+        solveLinearSystem_RationalMatrix_helper("[[1/2, 1], [1, -1/3]]", "[[10, 1], [5, 0]]",
+                "Optional[[[50/7, 2/7], [45/7, 6/7]]]");
+        solveLinearSystem_RationalMatrix_helper("[[1, 1], [1, -1], [2, 2]]", "[[10, 0], [5, 0], [20, 0]]",
+                "Optional[[[15/2, 0], [5/2, 0]]]");
+        solveLinearSystem_RationalMatrix_helper("[[1, 1], [1, -1], [2, 2]]", "[[10, 10], [5, 5], [20, 19]]",
+                "Optional.empty");
+        solveLinearSystem_RationalMatrix_helper("[[1, 2], [2, 4]]", "[[1], [2]]", "Optional.empty");
+        solveLinearSystem_RationalMatrix_helper(
+                "[[3, 2/3, -1], [2, -2, 4/7], [-2, 1, -2]]",
+                "[[1, 1, 0], [-2, 0, 0], [0, 0, 1]]",
+                "Optional[[[29/149, 36/149, -17/149], [198/149, 30/149, -39/149], [70/149, -21/149, -77/149]]]"
+        );
+
+        solveLinearSystem_RationalMatrix_fail_helper("[]#0", "[[0]]");
+        solveLinearSystem_RationalMatrix_fail_helper("[[2, 3], [4, 9]]", "[[6], [15], [3]]");
+    }
+
     private static void solveLinearSystemPermissive_helper(
             @NotNull String m,
             @NotNull String v,
@@ -89,6 +89,8 @@ public class RationalPolynomialProperties extends QBarTestProperties {
         compareImplementationsIsDivisibleBy();
         propertiesRemainderSequence();
         propertiesSignedRemainderSequence();
+        propertiesSignedRemainderSequence_List_Integer();
+        propertiesExtendedGcd();
         propertiesPowerSums();
         propertiesFromPowerSums();
         propertiesInterpolate();
@@ -1791,6 +1793,79 @@ public class RationalPolynomialProperties extends QBarTestProperties {
         }
     }
 
+    private void propertiesSignedRemainderSequence_List_Integer() {
+        initialize("signedRemainderSequence(RationalPolynomial, List<Integer>)");
+        Iterable<Pair<RationalPolynomial, RationalPolynomial>> ps = filterInfinite(
+                p -> p.a != ZERO || p.b != ZERO,
+                P.pairs(P.withScale(4).rationalPolynomials())
+        );
+        for (Pair<RationalPolynomial, RationalPolynomial> p : take(LIMIT, ps)) {
+            List<RationalPolynomial> sequence = p.a.signedRemainderSequence(p.b);
+            List<Integer> indices = toList(range(0, sequence.size() - 1));
+            assertEquals(p, p.a.signedRemainderSequence(p.b, indices), sequence);
+            assertEquals(p, p.a.signedRemainderSequence(p.b, Collections.emptyList()), Collections.emptyList());
+            for (int i : indices) {
+                List<RationalPolynomial> elements = p.a.signedRemainderSequence(p.b, Collections.singletonList(i));
+                elements.forEach(RationalPolynomial::validate);
+                assertEquals(p, elements, Collections.singletonList(sequence.get(i)));
+            }
+            List<Integer> evenIndices = toList(filter(i -> i % 2 == 0, indices));
+            assertEquals(
+                    p,
+                    p.a.signedRemainderSequence(p.b, evenIndices),
+                    toList(map(sequence::get, evenIndices))
+            );
+            try {
+                p.a.signedRemainderSequence(p.b, Collections.singletonList(sequence.size()));
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+            try {
+                p.a.signedRemainderSequence(p.b, Collections.singletonList(-1));
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        for (RationalPolynomial p : take(LIMIT, P.rationalPolynomials())) {
+            try {
+                p.signedRemainderSequence(p, Arrays.asList(1, 0));
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesExtendedGcd() {
+        initialize("extendedGcd(RationalPolynomial)");
+        Iterable<Pair<RationalPolynomial, RationalPolynomial>> ps = filterInfinite(
+                p -> p.a != ZERO || p.b != ZERO,
+                P.pairs(P.withScale(4).rationalPolynomials())
+        );
+        for (Pair<RationalPolynomial, RationalPolynomial> p : take(LIMIT, ps)) {
+            Triple<RationalPolynomial, RationalPolynomial, RationalPolynomial> t = p.a.extendedGcd(p.b);
+            t.a.validate();
+            t.b.validate();
+            t.c.validate();
+            assertEquals(p, t.a, p.a.gcd(p.b));
+            assertEquals(p, t.b.multiply(p.a).add(t.c.multiply(p.b)), t.a);
+            if (p.a != ZERO && p.b != ZERO && !p.a.isDivisibleBy(p.b) && !p.b.isDivisibleBy(p.a)) {
+                assertTrue(p, t.b.degree() < p.b.degree() - t.a.degree());
+                assertTrue(p, t.c.degree() < p.a.degree() - t.a.degree());
+                assertEquals(p, p.b.extendedGcd(p.a), new Triple<>(t.a, t.c, t.b));
+            }
+        }
+
+        for (RationalPolynomial p : take(LIMIT, P.rationalPolynomialsAtLeast(0))) {
+            Triple<RationalPolynomial, RationalPolynomial, RationalPolynomial> t = p.extendedGcd(p);
+            assertEquals(p, t.a, p.makeMonic());
+            assertEquals(p, t.b, ZERO);
+            assertEquals(p, t.c, RationalPolynomial.of(p.leading().get().invert()));
+        }
+
+        try {
+            ZERO.extendedGcd(ZERO);
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
     private void propertiesPowerSums() {
         initialize("powerSums()");
         for (RationalPolynomial p : take(LIMIT, P.monicRationalPolynomials())) {
@@ -4,6 +4,7 @@ import mho.wheels.io.Readers;
 import mho.wheels.iterables.ExhaustiveProvider;
 import mho.wheels.structures.NullableOptional;
 import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
 
@@ -1572,6 +1573,76 @@ public class RationalPolynomialTest {
         divide_RationalPolynomial_fail_helper("x^2-7/4*x+1/3", "0");
     }
 
+    private static @NotNull RationalPolynomial smallCoefficients(
+            int degree,
+            @NotNull Rational leading,
+            int seed,
+            int denominatorPeriod
+    ) {
+        List<Rational> coefficients = toList(map(
+                i -> Rational.of((i * i + seed * i) % 7 - 3, i % denominatorPeriod + 1),
+                range(0, degree - 1)
+        ));
+        coefficients.add(leading);
+        return of(coefficients);
+    }
+
+    private static @NotNull Pair<RationalPolynomial, RationalPolynomial> divide_long(
+            @NotNull RationalPolynomial a,
+            @NotNull RationalPolynomial b
+    ) {
+        int m = a.degree();
+        int n = b.degree();
+        List<Rational> q = toList(replicate(m - n + 1, Rational.ZERO));
+        List<Rational> r = toList(map(a::coefficient, range(0, m)));
+        for (int k = m - n; k >= 0; k--) {
+            Rational t = r.get(n + k).divide(b.leading().get());
+            q.set(k, t);
+            for (int j = 0; j <= n; j++) {
+                r.set(j + k, r.get(j + k).subtract(t.multiply(b.coefficient(j))));
+            }
+        }
+        return new Pair<>(of(q), of(r));
+    }
+
+    private static void divide_RationalPolynomial_large_helper(
+            @NotNull RationalPolynomial a,
+            @NotNull RationalPolynomial b,
+            boolean newton
+    ) {
+        aeq(a.constantFactor().b.pseudoDivideNewton(b.constantFactor().b).isPresent(), newton);
+        Pair<RationalPolynomial, RationalPolynomial> result = a.divide(b);
+        result.a.validate();
+        result.b.validate();
+        aeq(result, divide_long(a, b));
+    }
+
+    @Test
+    public void testDivide_RationalPolynomial_large() {
+        divide_RationalPolynomial_large_helper(
+                smallCoefficients(300, Rational.of(2, 3), 1, 5),
+                smallCoefficients(200, Rational.ONE, 2, 1).multiply(Rational.of(-5, 7)),
+                true
+        );
+        divide_RationalPolynomial_large_helper(
+                smallCoefficients(224, Rational.ONE, 3, 5),
+                smallCoefficients(160, Rational.of(3), 4, 1).multiply(Rational.of(1, 2)),
+                true
+        );
+        divide_RationalPolynomial_large_helper(
+                smallCoefficients(223, Rational.ONE, 3, 5),
+                smallCoefficients(160, Rational.of(3), 4, 1).multiply(Rational.of(1, 2)),
+                false
+        );
+        // the primitive part of the divisor has a large leading coefficient, so its reciprocal's coefficients grow
+        // too quickly and Newton iteration is abandoned
+        divide_RationalPolynomial_large_helper(
+                smallCoefficients(300, Rational.of(2, 3), 1, 5),
+                smallCoefficients(200, Rational.of(-5, 7), 2, 5),
+                false
+        );
+    }
+
     private static void divisibleBy_helper(@NotNull String a, @NotNull String b, boolean output) {
         aeq(readStrict(a).get().isDivisibleBy(readStrict(b).get()), output);
     }
@@ -1810,6 +1881,143 @@ public class RationalPolynomialTest {
         signedRemainderSequence_fail_helper("0", "0");
     }
 
+    private static void signedRemainderSequence_List_Integer_helper(
+            @NotNull String a,
+            @NotNull String b,
+            @NotNull String indices,
+            @NotNull String output
+    ) {
+        List<RationalPolynomial> ps = readStrict(a).get()
+                .signedRemainderSequence(readStrict(b).get(), readIntegerList(indices));
+        ps.forEach(RationalPolynomial::validate);
+        aeq(ps, output);
+    }
+
+    private static void signedRemainderSequence_List_Integer_fail_helper(
+            @NotNull String a,
+            @NotNull String b,
+            @NotNull String indices
+    ) {
+        try {
+            readStrict(a).get().signedRemainderSequence(readStrict(b).get(), readIntegerList(indices));
+            fail();
+        } catch (ArithmeticException | IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testSignedRemainderSequence_List_Integer() {
+        signedRemainderSequence_List_Integer_helper("0", "x", "[]", "[]");
+        signedRemainderSequence_List_Integer_helper("0", "x", "[0, 1]", "[0, x]");
+        signedRemainderSequence_List_Integer_helper("x", "0", "[0]", "[x]");
+        signedRemainderSequence_List_Integer_helper("x^11-x^10+1", "11*x^10-10*x^9", "[1, 4]",
+                "[11*x^10-10*x^9, 275311670611/285311670611]");
+
+        String a = "x^8+x^6-3*x^4-3*x^3+8*x^2+2*x-5";
+        String b = "3*x^6+5*x^4-4*x^2-9*x+21";
+        signedRemainderSequence_List_Integer_helper(a, b, "[]", "[]");
+        signedRemainderSequence_List_Integer_helper(a, b, "[0]", "[x^8+x^6-3*x^4-3*x^3+8*x^2+2*x-5]");
+        signedRemainderSequence_List_Integer_helper(a, b, "[1]", "[3*x^6+5*x^4-4*x^2-9*x+21]");
+        signedRemainderSequence_List_Integer_helper(a, b, "[2, 4]",
+                "[5/9*x^4-1/9*x^2+1/3, 233150/19773*x-102500/6591]");
+        signedRemainderSequence_List_Integer_helper(a, b, "[5]", "[-1288744821/543589225]");
+        signedRemainderSequence_List_Integer_helper(a, b, "[0, 1, 2, 3, 4, 5]",
+                "[x^8+x^6-3*x^4-3*x^3+8*x^2+2*x-5, 3*x^6+5*x^4-4*x^2-9*x+21, 5/9*x^4-1/9*x^2+1/3," +
+                " 117/25*x^2+9*x-441/25, 233150/19773*x-102500/6591, -1288744821/543589225]");
+
+        signedRemainderSequence_List_Integer_fail_helper("0", "0", "[0]");
+        signedRemainderSequence_List_Integer_fail_helper("x", "0", "[1]");
+        signedRemainderSequence_List_Integer_fail_helper(a, b, "[6]");
+        signedRemainderSequence_List_Integer_fail_helper(a, b, "[-1, 2]");
+        signedRemainderSequence_List_Integer_fail_helper(a, b, "[2, 1]");
+        signedRemainderSequence_List_Integer_fail_helper(a, b, "[1, 1]");
+    }
+
+    private static void gcd_helper(@NotNull String a, @NotNull String b, @NotNull String output) {
+        RationalPolynomial p = readStrict(a).get().gcd(readStrict(b).get());
+        p.validate();
+        aeq(p, output);
+    }
+
+    private static void gcd_fail_helper(@NotNull String a, @NotNull String b) {
+        try {
+            readStrict(a).get().gcd(readStrict(b).get());
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
+    @Test
+    public void testGcd() {
+        gcd_helper("0", "1", "1");
+        gcd_helper("0", "-4/3", "1");
+        gcd_helper("0", "x^2-7/4*x+1/3", "x^2-7/4*x+1/3");
+        gcd_helper("0", "1/2*x^10", "x^10");
+
+        gcd_helper("1", "0", "1");
+        gcd_helper("1", "x", "1");
+        gcd_helper("-4/3", "-x^3-1", "1");
+
+        gcd_helper("x", "1/2*x^10", "x");
+        gcd_helper("x^2-7/4*x+1/3", "-x^3-1", "1");
+        gcd_helper("x^2-7/4*x+1/3", "3*x^2-21/4*x+1", "x^2-7/4*x+1/3");
+        gcd_helper("-x^3-1", "x^2+7/3*x+4/3", "x+1");
+        gcd_helper("1/2*x^10", "2/3*x^9-4/3*x^8", "x^8");
+        gcd_helper("x^12-1", "1/5*x^10+1/5*x^8+1/5*x^6+1/5*x^4+1/5*x^2+1/5",
+                "x^10+x^8+x^6+x^4+x^2+1");
+
+        gcd_fail_helper("0", "0");
+    }
+
+    private static void extendedGcd_helper(@NotNull String a, @NotNull String b, @NotNull String output) {
+        Triple<RationalPolynomial, RationalPolynomial, RationalPolynomial> t =
+                readStrict(a).get().extendedGcd(readStrict(b).get());
+        t.a.validate();
+        t.b.validate();
+        t.c.validate();
+        aeq(t, output);
+    }
+
+    private static void extendedGcd_fail_helper(@NotNull String a, @NotNull String b) {
+        try {
+            readStrict(a).get().extendedGcd(readStrict(b).get());
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
+    @Test
+    public void testExtendedGcd() {
+        extendedGcd_helper("0", "1", "(1, 0, 1)");
+        extendedGcd_helper("0", "-4/3", "(1, 0, -3/4)");
+        extendedGcd_helper("0", "x^2-7/4*x+1/3", "(x^2-7/4*x+1/3, 0, 1)");
+
+        extendedGcd_helper("1", "0", "(1, 1, 0)");
+        extendedGcd_helper("-4/3", "0", "(1, -3/4, 0)");
+        extendedGcd_helper("1/2*x^10", "0", "(x^10, 2, 0)");
+        extendedGcd_helper("1", "x", "(1, 1, 0)");
+        extendedGcd_helper("-4/3", "-x^3-1", "(1, -3/4, 0)");
+
+        extendedGcd_helper("x", "1/2*x^10", "(x, 1, 0)");
+        extendedGcd_helper("x^2-7/4*x+1/3", "-x^3-1",
+                "(1, 4716/8029*x^2-720/8029*x-2832/8029, 4716/8029*x-8973/8029)");
+        extendedGcd_helper("-x^3-1", "x^2-7/4*x+1/3",
+                "(1, 4716/8029*x-8973/8029, 4716/8029*x^2-720/8029*x-2832/8029)");
+        extendedGcd_helper("x^2-7/4*x+1/3", "3*x^2-21/4*x+1", "(x^2-7/4*x+1/3, 0, 1/3)");
+        extendedGcd_helper("-x^3-1", "x^2+7/3*x+4/3", "(x+1, -9/37, -9/37*x+21/37)");
+        extendedGcd_helper("1/2*x^10", "2/3*x^9-4/3*x^8", "(x^8, 1/2, -3/8*x-3/4)");
+        extendedGcd_helper("x^12-1", "1/5*x^10+1/5*x^8+1/5*x^6+1/5*x^4+1/5*x^2+1/5",
+                "(x^10+x^8+x^6+x^4+x^2+1, 0, 5)");
+        extendedGcd_helper("x^8+x^6-3*x^4-3*x^3+8*x^2+2*x-5", "3*x^6+5*x^4-4*x^2-9*x+21",
+                "(1, 13989/130354*x^5+9225/65177*x^4+20281/65177*x^3+67125/130354*x^2+5149/130354*x-1391/18622," +
+                " -4663/130354*x^7-3075/65177*x^6-5206/65177*x^5-18275/130354*x^4+4944/65177*x^3+21579/130354*x^2+" +
+                "1910/65177*x+3889/130354)");
+        extendedGcd_helper("x^11-x^10+1", "11*x^10-10*x^9",
+                "(1, 23579476910/275311670611*x^9+1, -2143588810/275311670611*x^10+194871710/275311670611*x^9+" +
+                "177156100/275311670611*x^8+161051000/275311670611*x^7+146410000/275311670611*x^6+" +
+                "133100000/275311670611*x^5+121000000/275311670611*x^4+110000000/275311670611*x^3+" +
+                "100000000/275311670611*x^2-24937424601/275311670611*x+2357947691/275311670611)");
+
+        extendedGcd_fail_helper("0", "0");
+    }
+
     private static void powerSums_helper(@NotNull String input, @NotNull String output) {
         aeq(readStrict(input).get().powerSums(), output);
     }
@@ -2464,6 +2672,10 @@ public class RationalPolynomialTest {
         return Readers.readListWithNullsStrict(RationalPolynomial::readStrict).apply(s).get();
     }
 
+    private static @NotNull List<Integer> readIntegerList(@NotNull String s) {
+        return Readers.readListStrict(Readers::readIntegerStrict).apply(s).get();
+    }
+
     private static @NotNull List<Pair<Rational, Rational>> readRationalPairList(@NotNull String s) {
         return Readers.readListStrict(
                 t -> Pair.readStrict(
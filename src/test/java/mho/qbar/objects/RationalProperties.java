@@ -10,6 +10,7 @@ import mho.wheels.numberUtils.BigDecimalUtils;
 import mho.wheels.numberUtils.IntegerUtils;
 import mho.wheels.ordering.Ordering;
 import mho.wheels.structures.Pair;
+import mho.wheels.structures.Quadruple;
 import mho.wheels.structures.Triple;
 import org.jetbrains.annotations.NotNull;
 
@@ -150,6 +151,7 @@ public class RationalProperties extends QBarTestProperties {
         propertiesToStringBase_BigInteger_int();
         propertiesFromStringBase();
         propertiesCancelDenominators();
+        propertiesReconstruct();
         propertiesEquals();
         propertiesHashCode();
         propertiesCompareTo();
@@ -3897,6 +3899,51 @@ public class RationalProperties extends QBarTestProperties {
         }
     }
 
+    private void propertiesReconstruct() {
+        initialize("reconstruct(BigInteger, BigInteger, BigInteger, BigInteger)");
+        Iterable<Quadruple<BigInteger, BigInteger, BigInteger, BigInteger>> qs = P.quadruples(
+                P.bigIntegers(),
+                P.positiveBigIntegers(),
+                P.naturalBigIntegers(),
+                P.positiveBigIntegers()
+        );
+        for (Quadruple<BigInteger, BigInteger, BigInteger, BigInteger> q : take(LIMIT, qs)) {
+            Optional<Rational> or = reconstruct(q.a, q.b, q.c, q.d);
+            if (or.isPresent()) {
+                Rational r = or.get();
+                r.validate();
+                assertTrue(q, le(r.getNumerator().abs(), q.c));
+                assertTrue(q, le(r.getDenominator(), q.d));
+                assertEquals(q, r.getNumerator().mod(q.b), r.getDenominator().multiply(q.a).mod(q.b));
+            }
+            assertEquals(q, or, reconstruct(q.a.add(q.b), q.b, q.c, q.d));
+        }
+
+        for (Rational r : take(LIMIT, P.rationals())) {
+            BigInteger numeratorBound = r.getNumerator().abs();
+            BigInteger denominatorBound = r.getDenominator();
+            BigInteger modulus = numeratorBound.shiftLeft(1).add(BigInteger.ONE).multiply(denominatorBound)
+                    .add(BigInteger.ONE);
+            BigInteger residue = r.getNumerator().multiply(denominatorBound.modInverse(modulus)).mod(modulus);
+            assertEquals(r, reconstruct(residue, modulus, numeratorBound, denominatorBound).get(), r);
+        }
+
+        for (Quadruple<BigInteger, BigInteger, BigInteger, BigInteger> q : take(LIMIT, qs)) {
+            try {
+                reconstruct(q.a, q.b.negate(), q.c, q.d);
+                fail(q);
+            } catch (ArithmeticException ignored) {}
+            try {
+                reconstruct(q.a, q.b, q.c.negate().subtract(BigInteger.ONE), q.d);
+                fail(q);
+            } catch (ArithmeticException ignored) {}
+            try {
+                reconstruct(q.a, q.b, q.c, q.d.negate());
+                fail(q);
+            } catch (ArithmeticException ignored) {}
+        }
+    }
+
     private void propertiesEquals() {
         initialize("equals(Object)");
         propertiesEqualsHelper(LIMIT, P, QBarIterableProvider::rationals);
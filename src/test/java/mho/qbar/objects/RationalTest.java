@@ -4613,6 +4613,68 @@ public class RationalTest {
         cancelDenominators_fail_helper("[1, null, 0]");
     }
 
+    private static void reconstruct_helper(
+            @NotNull String residue,
+            @NotNull String modulus,
+            @NotNull String numeratorBound,
+            @NotNull String denominatorBound,
+            @NotNull String output
+    ) {
+        aeq(
+                reconstruct(
+                        new BigInteger(residue),
+                        new BigInteger(modulus),
+                        new BigInteger(numeratorBound),
+                        new BigInteger(denominatorBound)
+                ),
+                output
+        );
+    }
+
+    private static void reconstruct_fail_helper(
+            @NotNull String residue,
+            @NotNull String modulus,
+            @NotNull String numeratorBound,
+            @NotNull String denominatorBound
+    ) {
+        try {
+            reconstruct(
+                    new BigInteger(residue),
+                    new BigInteger(modulus),
+                    new BigInteger(numeratorBound),
+                    new BigInteger(denominatorBound)
+            );
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
+    @Test
+    public void testReconstruct() {
+        reconstruct_helper("0", "1", "0", "1", "Optional[0]");
+        reconstruct_helper("5", "7", "3", "1", "Optional[-2]");
+        reconstruct_helper("4", "7", "1", "3", "Optional[1/2]");
+        reconstruct_helper("-3", "7", "1", "3", "Optional[1/2]");
+        reconstruct_helper("3", "7", "1", "3", "Optional[-1/2]");
+        reconstruct_helper("4", "7", "1", "2", "Optional[1/2]");
+        reconstruct_helper("10", "101", "7", "7", "Optional.empty");
+        reconstruct_helper("91", "101", "7", "7", "Optional.empty");
+        reconstruct_helper("33", "101", "7", "7", "Optional[-2/3]");
+        reconstruct_helper("12345", "100000", "10", "10", "Optional.empty");
+        reconstruct_helper("6", "10", "2", "2", "Optional.empty");
+        reconstruct_helper(
+                "333333333333333333333333333336",
+                "1000000000000000000000000000007",
+                "1000000000000",
+                "1000000000000",
+                "Optional[1/3]"
+        );
+
+        reconstruct_fail_helper("1", "0", "1", "1");
+        reconstruct_fail_helper("1", "-7", "1", "1");
+        reconstruct_fail_helper("1", "7", "-1", "1");
+        reconstruct_fail_helper("1", "7", "1", "0");
+    }
+
     @Test
     public void testEquals() {
         testEqualsHelper(
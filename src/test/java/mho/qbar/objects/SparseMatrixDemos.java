@@ -0,0 +1,116 @@
+package mho.qbar.objects;
+
+import mho.qbar.testing.QBarDemos;
+import mho.wheels.iterables.ExhaustiveProvider;
+import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
+import org.jetbrains.annotations.NotNull;
+
+import static mho.qbar.objects.SparseMatrix.*;
+import static mho.wheels.iterables.IterableUtils.*;
+import static mho.wheels.testing.Testing.*;
+
+@SuppressWarnings("UnusedDeclaration")
+public class SparseMatrixDemos extends QBarDemos {
+    public SparseMatrixDemos(boolean useRandom) {
+        super(useRandom);
+    }
+
+    private @NotNull Iterable<SparseMatrix> sparseMatrices() {
+        return map(SparseMatrix::of, P.withScale(4).matrices());
+    }
+
+    private void demoOf() {
+        for (Matrix m : take(LIMIT, P.withScale(4).matrices())) {
+            System.out.println("of(" + m + ") = " + of(m));
+        }
+    }
+
+    private void demoZero() {
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.withScale(4).naturalIntegersGeometric()))) {
+            System.out.println("zero(" + p.a + ", " + p.b + ") = " + zero(p.a, p.b));
+        }
+    }
+
+    private void demoIdentity() {
+        for (int i : take(SMALL_LIMIT, P.withScale(4).naturalIntegersGeometric())) {
+            System.out.println("identity(" + i + ") = " + identity(i));
+        }
+    }
+
+    private void demoToMatrix() {
+        for (SparseMatrix m : take(LIMIT, sparseMatrices())) {
+            System.out.println("toMatrix(" + m + ") = " + m.toMatrix());
+        }
+    }
+
+    private void demoToSparseRationalMatrix() {
+        for (SparseMatrix m : take(LIMIT, sparseMatrices())) {
+            System.out.println("toSparseRationalMatrix(" + m + ") = " + m.toSparseRationalMatrix());
+        }
+    }
+
+    private void demoNonzeroCount() {
+        for (SparseMatrix m : take(LIMIT, sparseMatrices())) {
+            System.out.println("nonzeroCount(" + m + ") = " + m.nonzeroCount());
+        }
+    }
+
+    private void demoGet() {
+        Iterable<Triple<Matrix, Integer, Integer>> ts = map(
+                p -> new Triple<>(p.a, p.b.a, p.b.b),
+                P.dependentPairs(
+                        filterInfinite(m -> m.height() > 0 && m.width() > 0, P.withScale(4).matrices()),
+                        m -> P.uniformSample(
+                                toList(
+                                        EP.pairsLex(
+                                                ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.height() - 1),
+                                                toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.width() - 1))
+                                        )
+                                )
+                        )
+                )
+        );
+        for (Triple<Matrix, Integer, Integer> t : take(LIMIT, ts)) {
+            System.out.println("get(" + t.a + ", " + t.b + ", " + t.c + ") = " + of(t.a).get(t.b, t.c));
+        }
+    }
+
+    private void demoTranspose() {
+        for (SparseMatrix m : take(LIMIT, sparseMatrices())) {
+            System.out.println("transpose(" + m + ") = " + m.transpose());
+        }
+    }
+
+    private void demoMultiply() {
+        Iterable<Pair<Matrix, Vector>> ps = P.dependentPairs(
+                P.withScale(4).matrices(),
+                m -> P.withScale(4).vectors(m.width())
+        );
+        for (Pair<Matrix, Vector> p : take(LIMIT, ps)) {
+            System.out.println(p.a + " * " + p.b + " = " + of(p.a).multiply(p.b));
+        }
+    }
+
+    private void demoRank() {
+        for (SparseMatrix m : take(LIMIT, sparseMatrices())) {
+            System.out.println("rank(" + m + ") = " + m.rank());
+        }
+    }
+
+    private void demoDeterminant() {
+        for (Matrix m : take(LIMIT, P.withScale(4).squareMatrices())) {
+            System.out.println("determinant(" + m + ") = " + of(m).determinant());
+        }
+    }
+
+    private void demoSolveLinearSystem() {
+        Iterable<Pair<Matrix, Vector>> ps = P.dependentPairs(
+                P.withScale(4).squareMatrices(),
+                m -> P.withScale(4).vectors(m.height())
+        );
+        for (Pair<Matrix, Vector> p : take(LIMIT, ps)) {
+            System.out.println("solveLinearSystem(" + p.a + ", " + p.b + ") = " + of(p.a).solveLinearSystem(p.b));
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package mho.qbar.objects;
+
+import mho.qbar.testing.QBarTestProperties;
+import mho.qbar.testing.QBarTesting;
+import mho.wheels.iterables.ExhaustiveProvider;
+import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static mho.qbar.objects.SparseMatrix.*;
+import static mho.wheels.iterables.IterableUtils.*;
+import static mho.wheels.testing.Testing.*;
+
+public class SparseMatrixProperties extends QBarTestProperties {
+    private static final @NotNull String MATRIX_CHARS = " #,-0123456789[]";
+
+    public SparseMatrixProperties() {
+        super("SparseMatrix");
+    }
+
+    @Override
+    protected void testBothModes() {
+        propertiesOf();
+        propertiesFromRows();
+        propertiesZero();
+        propertiesIdentity();
+        propertiesToMatrix();
+        propertiesToSparseRationalMatrix();
+        propertiesHeight();
+        propertiesWidth();
+        propertiesNonzeroCount();
+        propertiesGet();
+        propertiesRow();
+        propertiesTranspose();
+        propertiesMultiply();
+        propertiesRank();
+        propertiesDeterminant();
+        propertiesSolveLinearSystem();
+        propertiesEquals();
+        propertiesHashCode();
+        propertiesReadStrict();
+        propertiesToString();
+    }
+
+    private static @NotNull List<SortedMap<Integer, BigInteger>> sparseRows(@NotNull Matrix m) {
+        List<SortedMap<Integer, BigInteger>> rows = new ArrayList<>();
+        for (Vector row : m.rows()) {
+            SortedMap<Integer, BigInteger> sparseRow = new TreeMap<>();
+            for (int j = 0; j < m.width(); j++) {
+                BigInteger x = row.get(j);
+                if (x.signum() != 0) {
+                    sparseRow.put(j, x);
+                }
+            }
+            rows.add(sparseRow);
+        }
+        return rows;
+    }
+
+    private void propertiesOf() {
+        initialize("of(Matrix)");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            SparseMatrix sparse = of(m);
+            sparse.validate();
+            assertEquals(m, sparse.toMatrix(), m);
+            assertEquals(m, sparse.height(), m.height());
+            assertEquals(m, sparse.width(), m.width());
+        }
+    }
+
+    private void propertiesFromRows() {
+        initialize("fromRows(int, List<SortedMap<Integer, BigInteger>>)");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            SparseMatrix sparse = fromRows(m.width(), sparseRows(m));
+            sparse.validate();
+            assertEquals(m, sparse, of(m));
+        }
+
+        for (int i : take(LIMIT, P.negativeIntegers())) {
+            try {
+                fromRows(i, Collections.emptyList());
+                fail(i);
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        Iterable<Matrix> msFail = filterInfinite(
+                m -> m.width() > 0 && !m.column(m.width() - 1).isZero(),
+                P.matrices()
+        );
+        for (Matrix m : take(LIMIT, msFail)) {
+            try {
+                fromRows(m.width() - 1, sparseRows(m));
+                fail(m);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesZero() {
+        initialize("zero(int, int)");
+        for (Pair<Integer, Integer> p : take(LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            SparseMatrix zero = zero(p.a, p.b);
+            zero.validate();
+            assertEquals(p, zero, of(Matrix.zero(p.a, p.b)));
+            assertEquals(p, zero.nonzeroCount(), 0);
+        }
+
+        for (Pair<Integer, Integer> p : take(LIMIT, filterInfinite(q -> q.a < 0 || q.b < 0, P.pairs(P.integers())))) {
+            try {
+                zero(p.a, p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesIdentity() {
+        initialize("identity(int)");
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            SparseMatrix identity = identity(i);
+            identity.validate();
+            assertEquals(i, identity, of(Matrix.identity(i)));
+            assertEquals(i, identity.nonzeroCount(), i);
+        }
+
+        for (int i : take(LIMIT, P.negativeIntegers())) {
+            try {
+                identity(i);
+                fail(i);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesToMatrix() {
+        initialize("toMatrix()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            SparseMatrix sparse = of(m);
+            Matrix dense = sparse.toMatrix();
+            dense.validate();
+            assertEquals(m, of(dense), sparse);
+        }
+    }
+
+    private void propertiesToSparseRationalMatrix() {
+        initialize("toSparseRationalMatrix()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            SparseRationalMatrix sparse = of(m).toSparseRationalMatrix();
+            sparse.validate();
+            assertEquals(m, sparse, SparseRationalMatrix.of(m.toRationalMatrix()));
+        }
+    }
+
+    private void propertiesHeight() {
+        initialize("height()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            assertEquals(m, of(m).height(), m.height());
+        }
+    }
+
+    private void propertiesWidth() {
+        initialize("width()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            assertEquals(m, of(m).width(), m.width());
+        }
+    }
+
+    private void propertiesNonzeroCount() {
+        initialize("nonzeroCount()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            int nonzeroCount = of(m).nonzeroCount();
+            assertTrue(m, nonzeroCount >= 0);
+            assertTrue(m, nonzeroCount <= m.height() * m.width());
+            assertEquals(m, nonzeroCount, of(m).transpose().nonzeroCount());
+            assertEquals(m, nonzeroCount == 0, m.isZero());
+        }
+    }
+
+    private void propertiesGet() {
+        initialize("get(int, int)");
+        Iterable<Triple<Matrix, Integer, Integer>> ts = map(
+                p -> new Triple<>(p.a, p.b.a, p.b.b),
+                P.dependentPairs(
+                        filterInfinite(m -> m.height() > 0 && m.width() > 0, P.matrices()),
+                        m -> P.uniformSample(
+                                toList(
+                                        EP.pairsLex(
+                                                ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.height() - 1),
+                                                toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.width() - 1))
+                                        )
+                                )
+                        )
+                )
+        );
+        for (Triple<Matrix, Integer, Integer> t : take(LIMIT, ts)) {
+            assertEquals(t, of(t.a).get(t.b, t.c), t.a.get(t.b, t.c));
+        }
+
+        Iterable<Triple<Matrix, Integer, Integer>> tsFail = filterInfinite(
+                t -> t.b < 0 || t.b >= t.a.height() || t.c < 0 || t.c >= t.a.width(),
+                P.triples(P.matrices(), P.integers(), P.integers())
+        );
+        for (Triple<Matrix, Integer, Integer> t : take(LIMIT, tsFail)) {
+            try {
+                of(t.a).get(t.b, t.c);
+                fail(t);
+            } catch (IndexOutOfBoundsException ignored) {}
+        }
+    }
+
+    private void propertiesRow() {
+        initialize("row(int)");
+        Iterable<Pair<Matrix, Integer>> ps = P.dependentPairs(
+                filterInfinite(m -> m.height() > 0, P.matrices()),
+                m -> P.uniformSample(toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.height() - 1)))
+        );
+        for (Pair<Matrix, Integer> p : take(LIMIT, ps)) {
+            Vector row = of(p.a).row(p.b);
+            assertEquals(p, row, p.a.row(p.b));
+        }
+
+        Iterable<Pair<Matrix, Integer>> psFail = filterInfinite(
+                p -> p.b < 0 || p.b >= p.a.height(),
+                P.pairs(P.matrices(), P.integers())
+        );
+        for (Pair<Matrix, Integer> p : take(LIMIT, psFail)) {
+            try {
+                of(p.a).row(p.b);
+                fail(p);
+            } catch (IndexOutOfBoundsException ignored) {}
+        }
+    }
+
+    private void propertiesTranspose() {
+        initialize("transpose()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            SparseMatrix transposed = of(m).transpose();
+            transposed.validate();
+            assertEquals(m, transposed, of(m.transpose()));
+            assertEquals(m, transposed.transpose(), of(m));
+        }
+    }
+
+    private void propertiesMultiply() {
+        initialize("multiply(Vector)");
+        Iterable<Pair<Matrix, Vector>> ps = P.dependentPairs(P.matrices(), m -> P.vectors(m.width()));
+        for (Pair<Matrix, Vector> p : take(LIMIT, ps)) {
+            Vector product = of(p.a).multiply(p.b);
+            assertEquals(p, product, p.a.multiply(p.b));
+        }
+
+        Iterable<Pair<Matrix, Vector>> psFail = filterInfinite(
+                p -> p.a.width() != p.b.dimension(),
+                P.pairs(P.matrices(), P.vectors())
+        );
+        for (Pair<Matrix, Vector> p : take(LIMIT, psFail)) {
+            try {
+                of(p.a).multiply(p.b);
+                fail(p);
+            } catch (ArithmeticException ignored) {}
+        }
+    }
+
+    private void propertiesRank() {
+        initialize("rank()");
+        for (Matrix m : take(LIMIT, P.matrices())) {
+            SparseMatrix sparse = of(m);
+            int rank = sparse.rank();
+            assertEquals(m, rank, m.rank());
+            assertEquals(m, sparse.transpose().rank(), rank);
+        }
+
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            assertEquals(p, zero(p.a, p.b).rank(), 0);
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            assertEquals(i, identity(i).rank(), i);
+        }
+    }
+
+    private void propertiesDeterminant() {
+        initialize("determinant()");
+        for (Matrix m : take(LIMIT, P.withScale(4).withSecondaryScale(4).squareMatrices())) {
+            SparseMatrix sparse = of(m);
+            BigInteger determinant = sparse.determinant();
+            assertEquals(m, determinant, m.determinant());
+            assertEquals(m, determinant, sparse.transpose().determinant());
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            assertEquals(i, identity(i).determinant(), BigInteger.ONE);
+        }
+
+        for (Matrix m : take(LIMIT, filterInfinite(n -> n.height() != n.width(), P.matrices()))) {
+            try {
+                of(m).determinant();
+                fail(m);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesSolveLinearSystem() {
+        initialize("solveLinearSystem(Vector)");
+        Iterable<Pair<Matrix, Vector>> ps = P.dependentPairs(
+                P.withScale(4).withSecondaryScale(4).squareMatrices(),
+                m -> P.vectors(m.height())
+        );
+        for (Pair<Matrix, Vector> p : take(LIMIT, ps)) {
+            Optional<RationalVector> solution = of(p.a).solveLinearSystem(p.b);
+            assertEquals(p, solution.isPresent(), p.a.rank() == p.a.width());
+            if (solution.isPresent()) {
+                assertEquals(p, p.a.toRationalMatrix().multiply(solution.get()), p.b.toRationalVector());
+                assertEquals(p, solution, p.a.solveLinearSystem(p.b));
+            }
+        }
+
+        Iterable<Pair<Matrix, Vector>> psFail = filterInfinite(
+                p -> p.a.height() != p.a.width() || p.a.height() != p.b.dimension(),
+                P.pairs(P.matrices(), P.vectors())
+        );
+        for (Pair<Matrix, Vector> p : take(LIMIT, psFail)) {
+            try {
+                of(p.a).solveLinearSystem(p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesEquals() {
+        initialize("equals(Object)");
+        QBarTesting.propertiesEqualsHelper(LIMIT, P, ip -> map(SparseMatrix::of, ip.matrices()));
+    }
+
+    private void propertiesHashCode() {
+        initialize("hashCode()");
+        QBarTesting.propertiesHashCodeHelper(LIMIT, P, ip -> map(SparseMatrix::of, ip.matrices()));
+    }
+
+    private void propertiesReadStrict() {
+        initialize("readStrict(String)");
+        QBarTesting.propertiesReadHelper(
+                LIMIT,
+                P,
+                MATRIX_CHARS,
+                map(SparseMatrix::of, P.matrices()),
+                SparseMatrix::readStrict,
+                SparseMatrix::validate,
+                false,
+                true
+        );
+    }
+
+    private void propertiesToString() {
+        initialize("toString()");
+        propertiesToStringHelper(LIMIT, MATRIX_CHARS, map(SparseMatrix::of, P.matrices()), SparseMatrix::readStrict);
+    }
+}
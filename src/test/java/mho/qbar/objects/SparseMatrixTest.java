@@ -0,0 +1,437 @@
+package mho.qbar.objects;
+
+import mho.wheels.io.Readers;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static mho.qbar.objects.SparseMatrix.*;
+import static mho.wheels.testing.Testing.*;
+import static org.junit.Assert.fail;
+
+public class SparseMatrixTest {
+    private static void of_helper(@NotNull String input) {
+        SparseMatrix m = of(Matrix.readStrict(input).get());
+        m.validate();
+        aeq(m, input);
+    }
+
+    @Test
+    public void testOf() {
+        of_helper("[]#0");
+        of_helper("[]#1");
+        of_helper("[]#3");
+        of_helper("[[]]");
+        of_helper("[[], [], []]");
+        of_helper("[[-3]]");
+        of_helper("[[-3, -8], [0, 7]]");
+        of_helper("[[1, 9, -13], [20, 5, -6]]");
+        of_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]");
+        of_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]");
+    }
+
+    private static void fromRows_helper(int width, @NotNull String input, @NotNull String output) {
+        List<SortedMap<Integer, BigInteger>> rows = new ArrayList<>();
+        for (Vector row : Matrix.readStrict(input).get().rows()) {
+            SortedMap<Integer, BigInteger> sparseRow = new TreeMap<>();
+            for (int j = 0; j < width; j++) {
+                if (row.get(j).signum() != 0) {
+                    sparseRow.put(j, row.get(j));
+                }
+            }
+            rows.add(sparseRow);
+        }
+        SparseMatrix m = fromRows(width, rows);
+        m.validate();
+        aeq(m, output);
+    }
+
+    private static void fromRows_fail_helper(int width, int column, @NotNull BigInteger element) {
+        SortedMap<Integer, BigInteger> row = new TreeMap<>();
+        row.put(column, element);
+        try {
+            fromRows(width, Collections.singletonList(row));
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testFromRows() {
+        fromRows_helper(0, "[]#0", "[]#0");
+        fromRows_helper(3, "[]#0", "[]#3");
+        fromRows_helper(0, "[[]]", "[[]]");
+        fromRows_helper(2, "[[-3, -8], [0, 7]]", "[[-3, -8], [0, 7]]");
+        fromRows_helper(3, "[[1, 9, -13], [20, 5, -6]]", "[[1, 9, -13], [20, 5, -6]]");
+
+        fromRows_fail_helper(-1, 0, BigInteger.ONE);
+        fromRows_fail_helper(2, 2, BigInteger.ONE);
+        fromRows_fail_helper(2, -1, BigInteger.ONE);
+        fromRows_fail_helper(2, 0, BigInteger.ZERO);
+    }
+
+    private static void zero_helper(int height, int width, @NotNull String output) {
+        SparseMatrix m = zero(height, width);
+        m.validate();
+        aeq(m, output);
+    }
+
+    private static void zero_fail_helper(int height, int width) {
+        try {
+            zero(height, width);
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testZero() {
+        zero_helper(0, 0, "[]#0");
+        zero_helper(0, 3, "[]#3");
+        zero_helper(3, 0, "[[], [], []]");
+        zero_helper(1, 1, "[[0]]");
+        zero_helper(3, 4, "[[0, 0, 0, 0], [0, 0, 0, 0], [0, 0, 0, 0]]");
+
+        zero_fail_helper(-1, 0);
+        zero_fail_helper(0, -1);
+    }
+
+    private static void identity_helper(int dimension, @NotNull String output) {
+        SparseMatrix m = identity(dimension);
+        m.validate();
+        aeq(m, output);
+    }
+
+    private static void identity_fail_helper(int dimension) {
+        try {
+            identity(dimension);
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testIdentity() {
+        identity_helper(0, "[]#0");
+        identity_helper(1, "[[1]]");
+        identity_helper(3, "[[1, 0, 0], [0, 1, 0], [0, 0, 1]]");
+
+        identity_fail_helper(-1);
+    }
+
+    private static void toMatrix_helper(@NotNull String input) {
+        Matrix m = readStrict(input).get().toMatrix();
+        m.validate();
+        aeq(m, input);
+    }
+
+    @Test
+    public void testToMatrix() {
+        toMatrix_helper("[]#0");
+        toMatrix_helper("[]#1");
+        toMatrix_helper("[]#3");
+        toMatrix_helper("[[]]");
+        toMatrix_helper("[[], [], []]");
+        toMatrix_helper("[[-3]]");
+        toMatrix_helper("[[-3, -8], [0, 7]]");
+        toMatrix_helper("[[1, 9, -13], [20, 5, -6]]");
+        toMatrix_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]");
+        toMatrix_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]");
+    }
+
+    private static void toSparseRationalMatrix_helper(@NotNull String input, @NotNull String output) {
+        SparseRationalMatrix m = readStrict(input).get().toSparseRationalMatrix();
+        m.validate();
+        aeq(m, output);
+    }
+
+    @Test
+    public void testToSparseRationalMatrix() {
+        toSparseRationalMatrix_helper("[]#0", "[]#0");
+        toSparseRationalMatrix_helper("[]#1", "[]#1");
+        toSparseRationalMatrix_helper("[]#3", "[]#3");
+        toSparseRationalMatrix_helper("[[]]", "[[]]");
+        toSparseRationalMatrix_helper("[[], [], []]", "[[], [], []]");
+        toSparseRationalMatrix_helper("[[-3]]", "[[-3]]");
+        toSparseRationalMatrix_helper("[[-3, -8], [0, 7]]", "[[-3, -8], [0, 7]]");
+        toSparseRationalMatrix_helper("[[1, 9, -13], [20, 5, -6]]", "[[1, 9, -13], [20, 5, -6]]");
+        toSparseRationalMatrix_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", "[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]");
+        toSparseRationalMatrix_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]", "[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]");
+    }
+
+    private static void height_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().height(), output);
+    }
+
+    @Test
+    public void testHeight() {
+        height_helper("[]#0", 0);
+        height_helper("[]#3", 0);
+        height_helper("[[], [], []]", 3);
+        height_helper("[[1, 9, -13], [20, 5, -6]]", 2);
+    }
+
+    private static void width_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().width(), output);
+    }
+
+    @Test
+    public void testWidth() {
+        width_helper("[]#0", 0);
+        width_helper("[]#3", 3);
+        width_helper("[[], [], []]", 0);
+        width_helper("[[1, 9, -13], [20, 5, -6]]", 3);
+    }
+
+    private static void nonzeroCount_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().nonzeroCount(), output);
+    }
+
+    @Test
+    public void testNonzeroCount() {
+        nonzeroCount_helper("[]#0", 0);
+        nonzeroCount_helper("[]#1", 0);
+        nonzeroCount_helper("[]#3", 0);
+        nonzeroCount_helper("[[]]", 0);
+        nonzeroCount_helper("[[], [], []]", 0);
+        nonzeroCount_helper("[[-3]]", 1);
+        nonzeroCount_helper("[[-3, -8], [0, 7]]", 3);
+        nonzeroCount_helper("[[1, 9, -13], [20, 5, -6]]", 6);
+        nonzeroCount_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 2);
+        nonzeroCount_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]", 8);
+    }
+
+    private static void get_helper(@NotNull String input, int i, int j, @NotNull String output) {
+        aeq(readStrict(input).get().get(i, j), output);
+    }
+
+    private static void get_fail_helper(@NotNull String input, int i, int j) {
+        try {
+            readStrict(input).get().get(i, j);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {}
+    }
+
+    @Test
+    public void testGet() {
+        get_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 0, 0, "0");
+        get_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 0, 2, "5");
+        get_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 1, 1, "0");
+        get_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 2, 0, "-2");
+
+        get_fail_helper("[]#0", 0, 0);
+        get_fail_helper("[]#1", 0, 0);
+        get_fail_helper("[[]]", 0, 0);
+        get_fail_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 3, 0);
+        get_fail_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 0, 3);
+        get_fail_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", -1, 0);
+    }
+
+    private static void row_helper(@NotNull String input, int i, @NotNull String output) {
+        aeq(readStrict(input).get().row(i), output);
+    }
+
+    private static void row_fail_helper(@NotNull String input, int i) {
+        try {
+            readStrict(input).get().row(i);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {}
+    }
+
+    @Test
+    public void testRow() {
+        row_helper("[[], [], []]", 1, "[]");
+        row_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 0, "[0, 0, 5]");
+        row_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 1, "[0, 0, 0]");
+        row_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 2, "[-2, 0, 0]");
+
+        row_fail_helper("[]#0", 0);
+        row_fail_helper("[]#3", 0);
+        row_fail_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 3);
+        row_fail_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", -1);
+    }
+
+    private static void transpose_helper(@NotNull String input, @NotNull String output) {
+        SparseMatrix m = readStrict(input).get().transpose();
+        m.validate();
+        aeq(m, output);
+    }
+
+    @Test
+    public void testTranspose() {
+        transpose_helper("[]#0", "[]#0");
+        transpose_helper("[]#1", "[[]]");
+        transpose_helper("[]#3", "[[], [], []]");
+        transpose_helper("[[]]", "[]#1");
+        transpose_helper("[[], [], []]", "[]#3");
+        transpose_helper("[[-3]]", "[[-3]]");
+        transpose_helper("[[-3, -8], [0, 7]]", "[[-3, 0], [-8, 7]]");
+        transpose_helper("[[1, 9, -13], [20, 5, -6]]", "[[1, 20], [9, 5], [-13, -6]]");
+        transpose_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", "[[0, 0, -2], [0, 0, 0], [5, 0, 0]]");
+        transpose_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]", "[[1, -2, 3], [2, -3, 5], [1, 1, 0]]");
+    }
+
+    private static void multiply_helper(@NotNull String a, @NotNull String b, @NotNull String output) {
+        aeq(readStrict(a).get().multiply(Vector.readStrict(b).get()), output);
+    }
+
+    private static void multiply_fail_helper(@NotNull String a, @NotNull String b) {
+        try {
+            readStrict(a).get().multiply(Vector.readStrict(b).get());
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
+    @Test
+    public void testMultiply() {
+        multiply_helper("[[2, 0, 0, 3], [0, 0, -1, 0], [0, 7, 0, 0], [1, 0, 0, 4]]", "[1, 2, -1, 0]", "[2, 1, 14, 1]");
+        multiply_helper("[[1, 2], [2, 4]]", "[1, 2]", "[5, 10]");
+        multiply_helper("[[1, 2], [3, 4]]", "[5, 6]", "[17, 39]");
+        multiply_helper("[[-3]]", "[5]", "[-15]");
+        multiply_helper("[]#0", "[]", "[]");
+        multiply_helper("[[0, 0], [0, 0]]", "[0, 0]", "[0, 0]");
+        multiply_helper("[[1, 0, 0], [0, 1, 0], [0, 0, 0]]", "[1, 1, 0]", "[1, 1, 0]");
+
+        multiply_fail_helper("[]#0", "[0]");
+        multiply_fail_helper("[]#3", "[1, 2]");
+        multiply_fail_helper("[[1, 0], [0, 1]]", "[1, 2, 3]");
+    }
+
+    private static void rank_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().rank(), output);
+    }
+
+    @Test
+    public void testRank() {
+        rank_helper("[]#0", 0);
+        rank_helper("[]#1", 0);
+        rank_helper("[]#3", 0);
+        rank_helper("[[]]", 0);
+        rank_helper("[[], [], []]", 0);
+        rank_helper("[[-3]]", 1);
+        rank_helper("[[-3, -8], [0, 7]]", 2);
+        rank_helper("[[1, 9, -13], [20, 5, -6]]", 2);
+        rank_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 2);
+        rank_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]", 2);
+        rank_helper("[[2, 0, 0, 3], [0, 0, -1, 0], [0, 7, 0, 0], [1, 0, 0, 4]]", 4);
+        rank_helper("[[1, 2], [2, 4]]", 1);
+        rank_helper("[[1, 2], [3, 4]]", 2);
+        rank_helper("[[-3]]", 1);
+        rank_helper("[]#0", 0);
+        rank_helper("[[0, 0], [0, 0]]", 0);
+        rank_helper("[[1, 0, 0], [0, 1, 0], [0, 0, 0]]", 2);
+    }
+
+    private static void determinant_helper(@NotNull String input, @NotNull String output) {
+        aeq(readStrict(input).get().determinant(), output);
+    }
+
+    private static void determinant_fail_helper(@NotNull String input) {
+        try {
+            readStrict(input).get().determinant();
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testDeterminant() {
+        determinant_helper("[]#0", "1");
+        determinant_helper("[[-3]]", "-3");
+        determinant_helper("[[-3, -8], [0, 7]]", "-21");
+        determinant_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", "0");
+        determinant_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]", "0");
+        determinant_helper("[[2, 0, 0, 3], [0, 0, -1, 0], [0, 7, 0, 0], [1, 0, 0, 4]]", "35");
+        determinant_helper("[[1, 2], [2, 4]]", "0");
+        determinant_helper("[[1, 2], [3, 4]]", "-2");
+        determinant_helper("[[-3]]", "-3");
+        determinant_helper("[]#0", "1");
+        determinant_helper("[[0, 0], [0, 0]]", "0");
+        determinant_helper("[[1, 0, 0], [0, 1, 0], [0, 0, 0]]", "0");
+
+        determinant_fail_helper("[]#3");
+        determinant_fail_helper("[[], [], []]");
+        determinant_fail_helper("[[1, 9, -13], [20, 5, -6]]");
+    }
+
+    private static void solveLinearSystem_helper(@NotNull String m, @NotNull String v, @NotNull String output) {
+        aeq(readStrict(m).get().solveLinearSystem(Vector.readStrict(v).get()), output);
+    }
+
+    private static void solveLinearSystem_fail_helper(@NotNull String m, @NotNull String v) {
+        try {
+            readStrict(m).get().solveLinearSystem(Vector.readStrict(v).get());
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testSolveLinearSystem() {
+        solveLinearSystem_helper(
+                "[[2, 0, 0, 3], [0, 0, -1, 0], [0, 7, 0, 0], [1, 0, 0, 4]]",
+                "[1, 2, -1, 0]",
+                "Optional[[4/5, -1/7, -2, -1/5]]"
+        );
+        solveLinearSystem_helper("[[1, 2], [2, 4]]", "[1, 2]", "Optional.empty");
+        solveLinearSystem_helper("[[1, 2], [3, 4]]", "[5, 6]", "Optional[[-4, 9/2]]");
+        solveLinearSystem_helper("[[-3]]", "[5]", "Optional[[-5/3]]");
+        solveLinearSystem_helper("[]#0", "[]", "Optional[[]]");
+        solveLinearSystem_helper("[[0, 0], [0, 0]]", "[0, 0]", "Optional.empty");
+        solveLinearSystem_helper("[[1, 0, 0], [0, 1, 0], [0, 0, 0]]", "[1, 1, 0]", "Optional.empty");
+
+        solveLinearSystem_fail_helper("[[1, 9, -13], [20, 5, -6]]", "[1, 2]");
+        solveLinearSystem_fail_helper("[[-3, -8], [0, 7]]", "[1, 2, 3]");
+        solveLinearSystem_fail_helper("[[], [], []]", "[1, 2, 3]");
+    }
+
+    @Test
+    public void testEquals() {
+        testEqualsHelper(
+                readSparseMatrixList("[[]#0, []#1, []#3, [[]], [[], [], []], [[-3]], [[-3, -8], [0, 7]]," +
+                        " [[1, 9, -13], [20, 5, -6]]]"),
+                readSparseMatrixList("[[]#0, []#1, []#3, [[]], [[], [], []], [[-3]], [[-3, -8], [0, 7]]," +
+                        " [[1, 9, -13], [20, 5, -6]]]")
+        );
+    }
+
+    private static void hashCode_helper(@NotNull String input, int hashCode) {
+        aeq(readStrict(input).get().hashCode(), hashCode);
+    }
+
+    @Test
+    public void testHashCode() {
+        hashCode_helper("[]#0", 924513);
+        hashCode_helper("[]#1", 924514);
+        hashCode_helper("[]#3", 924516);
+        hashCode_helper("[[]]", 28630143);
+        hashCode_helper("[[], [], []]", 1742811327);
+        hashCode_helper("[[-3]]", 28689602);
+        hashCode_helper("[[-3, -8], [0, 7]]", 918926678);
+        hashCode_helper("[[1, 9, -13], [20, 5, -6]]", -1390604029);
+        hashCode_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", 1773440229);
+        hashCode_helper("[[1, 2, 1], [-2, -3, 1], [3, 5, 0]]", -239637702);
+    }
+
+    private static void readStrict_helper(@NotNull String input, @NotNull String output) {
+        Optional<SparseMatrix> om = readStrict(input);
+        om.ifPresent(SparseMatrix::validate);
+        aeq(om, output);
+    }
+
+    @Test
+    public void testReadStrict() {
+        readStrict_helper("[]#0", "Optional[[]#0]");
+        readStrict_helper("[]#3", "Optional[[]#3]");
+        readStrict_helper("[[], [], []]", "Optional[[[], [], []]]");
+        readStrict_helper("[[-3, -8], [0, 7]]", "Optional[[[-3, -8], [0, 7]]]");
+        readStrict_helper("[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]", "Optional[[[0, 0, 5], [0, 0, 0], [-2, 0, 0]]]");
+
+        readStrict_helper("", "Optional.empty");
+        readStrict_helper("[]", "Optional.empty");
+        readStrict_helper("[]#-1", "Optional.empty");
+        readStrict_helper("[[3], [3, 3]]", "Optional.empty");
+        readStrict_helper("hello", "Optional.empty");
+    }
+
+    private static @NotNull List<SparseMatrix> readSparseMatrixList(@NotNull String s) {
+        return Readers.readListStrict(SparseMatrix::readStrict).apply(s).get();
+    }
+}
@@ -0,0 +1,110 @@
+package mho.qbar.objects;
+
+import mho.qbar.testing.QBarDemos;
+import mho.wheels.iterables.ExhaustiveProvider;
+import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
+import org.jetbrains.annotations.NotNull;
+
+import static mho.qbar.objects.SparseRationalMatrix.*;
+import static mho.wheels.iterables.IterableUtils.*;
+import static mho.wheels.testing.Testing.*;
+
+@SuppressWarnings("UnusedDeclaration")
+public class SparseRationalMatrixDemos extends QBarDemos {
+    public SparseRationalMatrixDemos(boolean useRandom) {
+        super(useRandom);
+    }
+
+    private @NotNull Iterable<SparseRationalMatrix> sparseRationalMatrices() {
+        return map(SparseRationalMatrix::of, P.withScale(4).rationalMatrices());
+    }
+
+    private void demoOf() {
+        for (RationalMatrix m : take(LIMIT, P.withScale(4).rationalMatrices())) {
+            System.out.println("of(" + m + ") = " + of(m));
+        }
+    }
+
+    private void demoZero() {
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.withScale(4).naturalIntegersGeometric()))) {
+            System.out.println("zero(" + p.a + ", " + p.b + ") = " + zero(p.a, p.b));
+        }
+    }
+
+    private void demoIdentity() {
+        for (int i : take(SMALL_LIMIT, P.withScale(4).naturalIntegersGeometric())) {
+            System.out.println("identity(" + i + ") = " + identity(i));
+        }
+    }
+
+    private void demoToRationalMatrix() {
+        for (SparseRationalMatrix m : take(LIMIT, sparseRationalMatrices())) {
+            System.out.println("toRationalMatrix(" + m + ") = " + m.toRationalMatrix());
+        }
+    }
+
+    private void demoNonzeroCount() {
+        for (SparseRationalMatrix m : take(LIMIT, sparseRationalMatrices())) {
+            System.out.println("nonzeroCount(" + m + ") = " + m.nonzeroCount());
+        }
+    }
+
+    private void demoGet() {
+        Iterable<Triple<RationalMatrix, Integer, Integer>> ts = map(
+                p -> new Triple<>(p.a, p.b.a, p.b.b),
+                P.dependentPairs(
+                        filterInfinite(m -> m.height() > 0 && m.width() > 0, P.withScale(4).rationalMatrices()),
+                        m -> P.uniformSample(
+                                toList(
+                                        EP.pairsLex(
+                                                ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.height() - 1),
+                                                toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.width() - 1))
+                                        )
+                                )
+                        )
+                )
+        );
+        for (Triple<RationalMatrix, Integer, Integer> t : take(LIMIT, ts)) {
+            System.out.println("get(" + t.a + ", " + t.b + ", " + t.c + ") = " + of(t.a).get(t.b, t.c));
+        }
+    }
+
+    private void demoTranspose() {
+        for (SparseRationalMatrix m : take(LIMIT, sparseRationalMatrices())) {
+            System.out.println("transpose(" + m + ") = " + m.transpose());
+        }
+    }
+
+    private void demoMultiply() {
+        Iterable<Pair<RationalMatrix, RationalVector>> ps = P.dependentPairs(
+                P.withScale(4).rationalMatrices(),
+                m -> P.withScale(4).rationalVectors(m.width())
+        );
+        for (Pair<RationalMatrix, RationalVector> p : take(LIMIT, ps)) {
+            System.out.println(p.a + " * " + p.b + " = " + of(p.a).multiply(p.b));
+        }
+    }
+
+    private void demoRank() {
+        for (SparseRationalMatrix m : take(LIMIT, sparseRationalMatrices())) {
+            System.out.println("rank(" + m + ") = " + m.rank());
+        }
+    }
+
+    private void demoDeterminant() {
+        for (RationalMatrix m : take(LIMIT, P.withScale(4).squareRationalMatrices())) {
+            System.out.println("determinant(" + m + ") = " + of(m).determinant());
+        }
+    }
+
+    private void demoSolveLinearSystem() {
+        Iterable<Pair<RationalMatrix, RationalVector>> ps = P.dependentPairs(
+                P.withScale(4).squareRationalMatrices(),
+                m -> P.withScale(4).rationalVectors(m.height())
+        );
+        for (Pair<RationalMatrix, RationalVector> p : take(LIMIT, ps)) {
+            System.out.println("solveLinearSystem(" + p.a + ", " + p.b + ") = " + of(p.a).solveLinearSystem(p.b));
+        }
+    }
+}
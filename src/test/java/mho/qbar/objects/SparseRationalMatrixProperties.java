@@ -0,0 +1,355 @@
+package mho.qbar.objects;
+
+import mho.qbar.testing.QBarTestProperties;
+import mho.qbar.testing.QBarTesting;
+import mho.wheels.iterables.ExhaustiveProvider;
+import mho.wheels.structures.Pair;
+import mho.wheels.structures.Triple;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+import static mho.qbar.objects.SparseRationalMatrix.*;
+import static mho.wheels.iterables.IterableUtils.*;
+import static mho.wheels.testing.Testing.*;
+
+public class SparseRationalMatrixProperties extends QBarTestProperties {
+    private static final @NotNull String RATIONAL_MATRIX_CHARS = " #,-/0123456789[]";
+
+    public SparseRationalMatrixProperties() {
+        super("SparseRationalMatrix");
+    }
+
+    @Override
+    protected void testBothModes() {
+        propertiesOf();
+        propertiesFromRows();
+        propertiesZero();
+        propertiesIdentity();
+        propertiesToRationalMatrix();
+        propertiesHeight();
+        propertiesWidth();
+        propertiesNonzeroCount();
+        propertiesGet();
+        propertiesRow();
+        propertiesTranspose();
+        propertiesMultiply();
+        propertiesRank();
+        propertiesDeterminant();
+        propertiesSolveLinearSystem();
+        propertiesEquals();
+        propertiesHashCode();
+        propertiesReadStrict();
+        propertiesToString();
+    }
+
+    private static @NotNull List<SortedMap<Integer, Rational>> sparseRows(@NotNull RationalMatrix m) {
+        List<SortedMap<Integer, Rational>> rows = new ArrayList<>();
+        for (RationalVector row : m.rows()) {
+            SortedMap<Integer, Rational> sparseRow = new TreeMap<>();
+            for (int j = 0; j < m.width(); j++) {
+                Rational x = row.get(j);
+                if (x != Rational.ZERO) {
+                    sparseRow.put(j, x);
+                }
+            }
+            rows.add(sparseRow);
+        }
+        return rows;
+    }
+
+    private void propertiesOf() {
+        initialize("of(RationalMatrix)");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            SparseRationalMatrix sparse = of(m);
+            sparse.validate();
+            assertEquals(m, sparse.toRationalMatrix(), m);
+            assertEquals(m, sparse.height(), m.height());
+            assertEquals(m, sparse.width(), m.width());
+        }
+    }
+
+    private void propertiesFromRows() {
+        initialize("fromRows(int, List<SortedMap<Integer, Rational>>)");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            SparseRationalMatrix sparse = fromRows(m.width(), sparseRows(m));
+            sparse.validate();
+            assertEquals(m, sparse, of(m));
+        }
+
+        for (int i : take(LIMIT, P.negativeIntegers())) {
+            try {
+                fromRows(i, Collections.emptyList());
+                fail(i);
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        Iterable<RationalMatrix> msFail = filterInfinite(
+                m -> m.width() > 0 && !m.column(m.width() - 1).isZero(),
+                P.rationalMatrices()
+        );
+        for (RationalMatrix m : take(LIMIT, msFail)) {
+            try {
+                fromRows(m.width() - 1, sparseRows(m));
+                fail(m);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesZero() {
+        initialize("zero(int, int)");
+        for (Pair<Integer, Integer> p : take(LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            SparseRationalMatrix zero = zero(p.a, p.b);
+            zero.validate();
+            assertEquals(p, zero, of(RationalMatrix.zero(p.a, p.b)));
+            assertEquals(p, zero.nonzeroCount(), 0);
+        }
+
+        for (Pair<Integer, Integer> p : take(LIMIT, filterInfinite(q -> q.a < 0 || q.b < 0, P.pairs(P.integers())))) {
+            try {
+                zero(p.a, p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesIdentity() {
+        initialize("identity(int)");
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            SparseRationalMatrix identity = identity(i);
+            identity.validate();
+            assertEquals(i, identity, of(RationalMatrix.identity(i)));
+            assertEquals(i, identity.nonzeroCount(), i);
+        }
+
+        for (int i : take(LIMIT, P.negativeIntegers())) {
+            try {
+                identity(i);
+                fail(i);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesToRationalMatrix() {
+        initialize("toRationalMatrix()");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            SparseRationalMatrix sparse = of(m);
+            RationalMatrix dense = sparse.toRationalMatrix();
+            dense.validate();
+            assertEquals(m, of(dense), sparse);
+        }
+    }
+
+    private void propertiesHeight() {
+        initialize("height()");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            assertEquals(m, of(m).height(), m.height());
+        }
+    }
+
+    private void propertiesWidth() {
+        initialize("width()");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            assertEquals(m, of(m).width(), m.width());
+        }
+    }
+
+    private void propertiesNonzeroCount() {
+        initialize("nonzeroCount()");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            int nonzeroCount = of(m).nonzeroCount();
+            assertTrue(m, nonzeroCount >= 0);
+            assertTrue(m, nonzeroCount <= m.height() * m.width());
+            assertEquals(m, nonzeroCount, of(m).transpose().nonzeroCount());
+            assertEquals(m, nonzeroCount == 0, m.isZero());
+        }
+    }
+
+    private void propertiesGet() {
+        initialize("get(int, int)");
+        Iterable<Triple<RationalMatrix, Integer, Integer>> ts = map(
+                p -> new Triple<>(p.a, p.b.a, p.b.b),
+                P.dependentPairs(
+                        filterInfinite(m -> m.height() > 0 && m.width() > 0, P.rationalMatrices()),
+                        m -> P.uniformSample(
+                                toList(
+                                        EP.pairsLex(
+                                                ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.height() - 1),
+                                                toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.width() - 1))
+                                        )
+                                )
+                        )
+                )
+        );
+        for (Triple<RationalMatrix, Integer, Integer> t : take(LIMIT, ts)) {
+            assertEquals(t, of(t.a).get(t.b, t.c), t.a.get(t.b, t.c));
+        }
+
+        Iterable<Triple<RationalMatrix, Integer, Integer>> tsFail = filterInfinite(
+                t -> t.b < 0 || t.b >= t.a.height() || t.c < 0 || t.c >= t.a.width(),
+                P.triples(P.rationalMatrices(), P.integers(), P.integers())
+        );
+        for (Triple<RationalMatrix, Integer, Integer> t : take(LIMIT, tsFail)) {
+            try {
+                of(t.a).get(t.b, t.c);
+                fail(t);
+            } catch (IndexOutOfBoundsException ignored) {}
+        }
+    }
+
+    private void propertiesRow() {
+        initialize("row(int)");
+        Iterable<Pair<RationalMatrix, Integer>> ps = P.dependentPairs(
+                filterInfinite(m -> m.height() > 0, P.rationalMatrices()),
+                m -> P.uniformSample(toList(ExhaustiveProvider.INSTANCE.rangeIncreasing(0, m.height() - 1)))
+        );
+        for (Pair<RationalMatrix, Integer> p : take(LIMIT, ps)) {
+            RationalVector row = of(p.a).row(p.b);
+            assertEquals(p, row, p.a.row(p.b));
+        }
+
+        Iterable<Pair<RationalMatrix, Integer>> psFail = filterInfinite(
+                p -> p.b < 0 || p.b >= p.a.height(),
+                P.pairs(P.rationalMatrices(), P.integers())
+        );
+        for (Pair<RationalMatrix, Integer> p : take(LIMIT, psFail)) {
+            try {
+                of(p.a).row(p.b);
+                fail(p);
+            } catch (IndexOutOfBoundsException ignored) {}
+        }
+    }
+
+    private void propertiesTranspose() {
+        initialize("transpose()");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            SparseRationalMatrix transposed = of(m).transpose();
+            transposed.validate();
+            assertEquals(m, transposed, of(m.transpose()));
+            assertEquals(m, transposed.transpose(), of(m));
+        }
+    }
+
+    private void propertiesMultiply() {
+        initialize("multiply(RationalVector)");
+        Iterable<Pair<RationalMatrix, RationalVector>> ps = P.dependentPairs(
+                P.rationalMatrices(),
+                m -> P.rationalVectors(m.width())
+        );
+        for (Pair<RationalMatrix, RationalVector> p : take(LIMIT, ps)) {
+            RationalVector product = of(p.a).multiply(p.b);
+            assertEquals(p, product, p.a.multiply(p.b));
+        }
+
+        Iterable<Pair<RationalMatrix, RationalVector>> psFail = filterInfinite(
+                p -> p.a.width() != p.b.dimension(),
+                P.pairs(P.rationalMatrices(), P.rationalVectors())
+        );
+        for (Pair<RationalMatrix, RationalVector> p : take(LIMIT, psFail)) {
+            try {
+                of(p.a).multiply(p.b);
+                fail(p);
+            } catch (ArithmeticException ignored) {}
+        }
+    }
+
+    private void propertiesRank() {
+        initialize("rank()");
+        for (RationalMatrix m : take(LIMIT, P.rationalMatrices())) {
+            SparseRationalMatrix sparse = of(m);
+            int rank = sparse.rank();
+            assertEquals(m, rank, m.rank());
+            assertEquals(m, sparse.transpose().rank(), rank);
+        }
+
+        for (Pair<Integer, Integer> p : take(SMALL_LIMIT, P.pairs(P.naturalIntegersGeometric()))) {
+            assertEquals(p, zero(p.a, p.b).rank(), 0);
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            assertEquals(i, identity(i).rank(), i);
+        }
+    }
+
+    private void propertiesDeterminant() {
+        initialize("determinant()");
+        for (RationalMatrix m : take(LIMIT, P.withScale(4).withSecondaryScale(4).squareRationalMatrices())) {
+            SparseRationalMatrix sparse = of(m);
+            Rational determinant = sparse.determinant();
+            assertEquals(m, determinant, m.determinant());
+            assertEquals(m, determinant, sparse.transpose().determinant());
+        }
+
+        for (int i : take(SMALL_LIMIT, P.naturalIntegersGeometric())) {
+            assertEquals(i, identity(i).determinant(), Rational.ONE);
+        }
+
+        for (RationalMatrix m : take(LIMIT, filterInfinite(n -> n.height() != n.width(), P.rationalMatrices()))) {
+            try {
+                of(m).determinant();
+                fail(m);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesSolveLinearSystem() {
+        initialize("solveLinearSystem(RationalVector)");
+        Iterable<Pair<RationalMatrix, RationalVector>> ps = P.dependentPairs(
+                P.withScale(4).withSecondaryScale(4).squareRationalMatrices(),
+                m -> P.rationalVectors(m.height())
+        );
+        for (Pair<RationalMatrix, RationalVector> p : take(LIMIT, ps)) {
+            Optional<RationalVector> solution = of(p.a).solveLinearSystem(p.b);
+            assertEquals(p, solution.isPresent(), p.a.rank() == p.a.width());
+            if (solution.isPresent()) {
+                assertEquals(p, p.a.multiply(solution.get()), p.b);
+                assertEquals(p, solution, p.a.solveLinearSystem(p.b));
+            }
+        }
+
+        Iterable<Pair<RationalMatrix, RationalVector>> psFail = filterInfinite(
+                p -> p.a.height() != p.a.width() || p.a.height() != p.b.dimension(),
+                P.pairs(P.rationalMatrices(), P.rationalVectors())
+        );
+        for (Pair<RationalMatrix, RationalVector> p : take(LIMIT, psFail)) {
+            try {
+                of(p.a).solveLinearSystem(p.b);
+                fail(p);
+            } catch (IllegalArgumentException ignored) {}
+        }
+    }
+
+    private void propertiesEquals() {
+        initialize("equals(Object)");
+        QBarTesting.propertiesEqualsHelper(LIMIT, P, ip -> map(SparseRationalMatrix::of, ip.rationalMatrices()));
+    }
+
+    private void propertiesHashCode() {
+        initialize("hashCode()");
+        QBarTesting.propertiesHashCodeHelper(LIMIT, P, ip -> map(SparseRationalMatrix::of, ip.rationalMatrices()));
+    }
+
+    private void propertiesReadStrict() {
+        initialize("readStrict(String)");
+        QBarTesting.propertiesReadHelper(
+                LIMIT,
+                P,
+                RATIONAL_MATRIX_CHARS,
+                map(SparseRationalMatrix::of, P.rationalMatrices()),
+                SparseRationalMatrix::readStrict,
+                SparseRationalMatrix::validate,
+                false,
+                true
+        );
+    }
+
+    private void propertiesToString() {
+        initialize("toString()");
+        propertiesToStringHelper(
+                LIMIT,
+                RATIONAL_MATRIX_CHARS,
+                map(SparseRationalMatrix::of, P.rationalMatrices()),
+                SparseRationalMatrix::readStrict
+        );
+    }
+}
@@ -0,0 +1,407 @@
+package mho.qbar.objects;
+
+import mho.wheels.io.Readers;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.*;
+
+import static mho.qbar.objects.SparseRationalMatrix.*;
+import static mho.wheels.testing.Testing.*;
+import static org.junit.Assert.fail;
+
+public class SparseRationalMatrixTest {
+    private static void of_helper(@NotNull String input) {
+        SparseRationalMatrix m = of(RationalMatrix.readStrict(input).get());
+        m.validate();
+        aeq(m, input);
+    }
+
+    @Test
+    public void testOf() {
+        of_helper("[]#0");
+        of_helper("[]#1");
+        of_helper("[]#3");
+        of_helper("[[]]");
+        of_helper("[[], [], []]");
+        of_helper("[[-3/2]]");
+        of_helper("[[-3/2, -8], [0, 7]]");
+        of_helper("[[1/3, 9, -13], [20, 5, -6]]");
+        of_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]");
+        of_helper("[[1/2, 2, 1], [-2, -3, 1], [3, 5, 0]]");
+    }
+
+    private static void fromRows_helper(int width, @NotNull String input, @NotNull String output) {
+        List<SortedMap<Integer, Rational>> rows = new ArrayList<>();
+        for (RationalVector row : RationalMatrix.readStrict(input).get().rows()) {
+            SortedMap<Integer, Rational> sparseRow = new TreeMap<>();
+            for (int j = 0; j < width; j++) {
+                if (row.get(j) != Rational.ZERO) {
+                    sparseRow.put(j, row.get(j));
+                }
+            }
+            rows.add(sparseRow);
+        }
+        SparseRationalMatrix m = fromRows(width, rows);
+        m.validate();
+        aeq(m, output);
+    }
+
+    private static void fromRows_fail_helper(int width, int column, @NotNull Rational element) {
+        SortedMap<Integer, Rational> row = new TreeMap<>();
+        row.put(column, element);
+        try {
+            fromRows(width, Collections.singletonList(row));
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testFromRows() {
+        fromRows_helper(0, "[]#0", "[]#0");
+        fromRows_helper(3, "[]#0", "[]#3");
+        fromRows_helper(0, "[[]]", "[[]]");
+        fromRows_helper(2, "[[-3/2, -8], [0, 7]]", "[[-3/2, -8], [0, 7]]");
+        fromRows_helper(3, "[[1/3, 9, -13], [20, 5, -6]]", "[[1/3, 9, -13], [20, 5, -6]]");
+
+        fromRows_fail_helper(-1, 0, Rational.ONE);
+        fromRows_fail_helper(2, 2, Rational.ONE);
+        fromRows_fail_helper(2, -1, Rational.ONE);
+        fromRows_fail_helper(2, 0, Rational.ZERO);
+    }
+
+    private static void zero_helper(int height, int width, @NotNull String output) {
+        SparseRationalMatrix m = zero(height, width);
+        m.validate();
+        aeq(m, output);
+    }
+
+    private static void zero_fail_helper(int height, int width) {
+        try {
+            zero(height, width);
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testZero() {
+        zero_helper(0, 0, "[]#0");
+        zero_helper(0, 3, "[]#3");
+        zero_helper(3, 0, "[[], [], []]");
+        zero_helper(1, 1, "[[0]]");
+        zero_helper(3, 4, "[[0, 0, 0, 0], [0, 0, 0, 0], [0, 0, 0, 0]]");
+
+        zero_fail_helper(-1, 0);
+        zero_fail_helper(0, -1);
+    }
+
+    private static void identity_helper(int dimension, @NotNull String output) {
+        SparseRationalMatrix m = identity(dimension);
+        m.validate();
+        aeq(m, output);
+    }
+
+    private static void identity_fail_helper(int dimension) {
+        try {
+            identity(dimension);
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testIdentity() {
+        identity_helper(0, "[]#0");
+        identity_helper(1, "[[1]]");
+        identity_helper(3, "[[1, 0, 0], [0, 1, 0], [0, 0, 1]]");
+
+        identity_fail_helper(-1);
+    }
+
+    private static void toRationalMatrix_helper(@NotNull String input) {
+        RationalMatrix m = readStrict(input).get().toRationalMatrix();
+        m.validate();
+        aeq(m, input);
+    }
+
+    @Test
+    public void testToRationalMatrix() {
+        toRationalMatrix_helper("[]#0");
+        toRationalMatrix_helper("[]#1");
+        toRationalMatrix_helper("[]#3");
+        toRationalMatrix_helper("[[]]");
+        toRationalMatrix_helper("[[], [], []]");
+        toRationalMatrix_helper("[[-3/2]]");
+        toRationalMatrix_helper("[[-3/2, -8], [0, 7]]");
+        toRationalMatrix_helper("[[1/3, 9, -13], [20, 5, -6]]");
+        toRationalMatrix_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]");
+        toRationalMatrix_helper("[[1/2, 2, 1], [-2, -3, 1], [3, 5, 0]]");
+    }
+
+    private static void height_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().height(), output);
+    }
+
+    @Test
+    public void testHeight() {
+        height_helper("[]#0", 0);
+        height_helper("[]#3", 0);
+        height_helper("[[], [], []]", 3);
+        height_helper("[[1/3, 9, -13], [20, 5, -6]]", 2);
+    }
+
+    private static void width_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().width(), output);
+    }
+
+    @Test
+    public void testWidth() {
+        width_helper("[]#0", 0);
+        width_helper("[]#3", 3);
+        width_helper("[[], [], []]", 0);
+        width_helper("[[1/3, 9, -13], [20, 5, -6]]", 3);
+    }
+
+    private static void nonzeroCount_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().nonzeroCount(), output);
+    }
+
+    @Test
+    public void testNonzeroCount() {
+        nonzeroCount_helper("[]#0", 0);
+        nonzeroCount_helper("[]#1", 0);
+        nonzeroCount_helper("[]#3", 0);
+        nonzeroCount_helper("[[]]", 0);
+        nonzeroCount_helper("[[], [], []]", 0);
+        nonzeroCount_helper("[[-3/2]]", 1);
+        nonzeroCount_helper("[[-3/2, -8], [0, 7]]", 3);
+        nonzeroCount_helper("[[1/3, 9, -13], [20, 5, -6]]", 6);
+        nonzeroCount_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 2);
+        nonzeroCount_helper("[[1/2, 2, 1], [-2, -3, 1], [3, 5, 0]]", 8);
+    }
+
+    private static void get_helper(@NotNull String input, int i, int j, @NotNull String output) {
+        aeq(readStrict(input).get().get(i, j), output);
+    }
+
+    private static void get_fail_helper(@NotNull String input, int i, int j) {
+        try {
+            readStrict(input).get().get(i, j);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {}
+    }
+
+    @Test
+    public void testGet() {
+        get_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 0, 0, "0");
+        get_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 0, 2, "5/4");
+        get_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 1, 1, "0");
+        get_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 2, 0, "-2");
+
+        get_fail_helper("[]#0", 0, 0);
+        get_fail_helper("[]#1", 0, 0);
+        get_fail_helper("[[]]", 0, 0);
+        get_fail_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 3, 0);
+        get_fail_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 0, 3);
+        get_fail_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", -1, 0);
+    }
+
+    private static void row_helper(@NotNull String input, int i, @NotNull String output) {
+        aeq(readStrict(input).get().row(i), output);
+    }
+
+    private static void row_fail_helper(@NotNull String input, int i) {
+        try {
+            readStrict(input).get().row(i);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {}
+    }
+
+    @Test
+    public void testRow() {
+        row_helper("[[], [], []]", 1, "[]");
+        row_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 0, "[0, 0, 5/4]");
+        row_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 1, "[0, 0, 0]");
+        row_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 2, "[-2, 0, 0]");
+
+        row_fail_helper("[]#0", 0);
+        row_fail_helper("[]#3", 0);
+        row_fail_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 3);
+        row_fail_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", -1);
+    }
+
+    private static void transpose_helper(@NotNull String input, @NotNull String output) {
+        SparseRationalMatrix m = readStrict(input).get().transpose();
+        m.validate();
+        aeq(m, output);
+    }
+
+    @Test
+    public void testTranspose() {
+        transpose_helper("[]#0", "[]#0");
+        transpose_helper("[]#1", "[[]]");
+        transpose_helper("[]#3", "[[], [], []]");
+        transpose_helper("[[]]", "[]#1");
+        transpose_helper("[[], [], []]", "[]#3");
+        transpose_helper("[[-3/2]]", "[[-3/2]]");
+        transpose_helper("[[-3/2, -8], [0, 7]]", "[[-3/2, 0], [-8, 7]]");
+        transpose_helper("[[1/3, 9, -13], [20, 5, -6]]", "[[1/3, 20], [9, 5], [-13, -6]]");
+        transpose_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", "[[0, 0, -2], [0, 0, 0], [5/4, 0, 0]]");
+        transpose_helper("[[1/2, 2, 1], [-2, -3, 1], [3, 5, 0]]", "[[1/2, -2, 3], [2, -3, 5], [1, 1, 0]]");
+    }
+
+    private static void multiply_helper(@NotNull String a, @NotNull String b, @NotNull String output) {
+        aeq(readStrict(a).get().multiply(RationalVector.readStrict(b).get()), output);
+    }
+
+    private static void multiply_fail_helper(@NotNull String a, @NotNull String b) {
+        try {
+            readStrict(a).get().multiply(RationalVector.readStrict(b).get());
+            fail();
+        } catch (ArithmeticException ignored) {}
+    }
+
+    @Test
+    public void testMultiply() {
+        multiply_helper(
+                "[[1/2, 0, 0, 3], [0, 0, -1/3, 0], [0, 7, 0, 0], [1, 0, 0, 4/5]]",
+                "[1, 2/3, -1, 0]",
+                "[1/2, 1/3, 14/3, 1]"
+        );
+        multiply_helper("[[1/2, 1/3], [1/4, 1/6]]", "[1, 1]", "[5/6, 5/12]");
+        multiply_helper("[[1/2, 1/3], [1/4, 1/5]]", "[1/7, 0]", "[1/14, 1/28]");
+        multiply_helper("[[-3/2]]", "[5]", "[-15/2]");
+        multiply_helper("[]#0", "[]", "[]");
+
+        multiply_fail_helper("[]#0", "[0]");
+        multiply_fail_helper("[]#3", "[1, 2]");
+        multiply_fail_helper("[[1, 0], [0, 1]]", "[1, 2, 3]");
+    }
+
+    private static void rank_helper(@NotNull String input, int output) {
+        aeq(readStrict(input).get().rank(), output);
+    }
+
+    @Test
+    public void testRank() {
+        rank_helper("[]#0", 0);
+        rank_helper("[]#1", 0);
+        rank_helper("[]#3", 0);
+        rank_helper("[[]]", 0);
+        rank_helper("[[], [], []]", 0);
+        rank_helper("[[-3/2]]", 1);
+        rank_helper("[[-3/2, -8], [0, 7]]", 2);
+        rank_helper("[[1/3, 9, -13], [20, 5, -6]]", 2);
+        rank_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 2);
+        rank_helper("[[1/2, 2, 1], [-2, -3, 1], [3, 5, 0]]", 3);
+    }
+
+    private static void determinant_helper(@NotNull String input, @NotNull String output) {
+        aeq(readStrict(input).get().determinant(), output);
+    }
+
+    private static void determinant_fail_helper(@NotNull String input) {
+        try {
+            readStrict(input).get().determinant();
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testDeterminant() {
+        determinant_helper("[]#0", "1");
+        determinant_helper("[[-3/2]]", "-3/2");
+        determinant_helper("[[-3/2, -8], [0, 7]]", "-21/2");
+        determinant_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", "0");
+        determinant_helper("[[1/2, 2, 1], [-2, -3, 1], [3, 5, 0]]", "5/2");
+        determinant_helper("[[1/2, 0, 0, 3], [0, 0, -1/3, 0], [0, 7, 0, 0], [1, 0, 0, 4/5]]", "-91/15");
+        determinant_helper("[[1/2, 1/3], [1/4, 1/6]]", "0");
+        determinant_helper("[[1/2, 1/3], [1/4, 1/5]]", "1/60");
+        determinant_helper("[[-3/2]]", "-3/2");
+        determinant_helper("[]#0", "1");
+
+        determinant_fail_helper("[]#3");
+        determinant_fail_helper("[[], [], []]");
+        determinant_fail_helper("[[1/3, 9, -13], [20, 5, -6]]");
+    }
+
+    private static void solveLinearSystem_helper(@NotNull String m, @NotNull String v, @NotNull String output) {
+        aeq(readStrict(m).get().solveLinearSystem(RationalVector.readStrict(v).get()), output);
+    }
+
+    private static void solveLinearSystem_fail_helper(@NotNull String m, @NotNull String v) {
+        try {
+            readStrict(m).get().solveLinearSystem(RationalVector.readStrict(v).get());
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testSolveLinearSystem() {
+        solveLinearSystem_helper(
+                "[[1/2, 0, 0, 3], [0, 0, -1/3, 0], [0, 7, 0, 0], [1, 0, 0, 4/5]]",
+                "[1, 2/3, -1, 0]",
+                "Optional[[-4/13, -1/7, -2, 5/13]]"
+        );
+        solveLinearSystem_helper("[[1/2, 1/3], [1/4, 1/6]]", "[1, 1]", "Optional.empty");
+        solveLinearSystem_helper("[[1/2, 1/3], [1/4, 1/5]]", "[1/7, 0]", "Optional[[12/7, -15/7]]");
+        solveLinearSystem_helper("[[-3/2]]", "[5]", "Optional[[-10/3]]");
+        solveLinearSystem_helper("[]#0", "[]", "Optional[[]]");
+
+        solveLinearSystem_fail_helper("[[1/3, 9, -13], [20, 5, -6]]", "[1, 2]");
+        solveLinearSystem_fail_helper("[[-3/2, -8], [0, 7]]", "[1, 2, 3]");
+        solveLinearSystem_fail_helper("[[], [], []]", "[1, 2, 3]");
+    }
+
+    @Test
+    public void testEquals() {
+        testEqualsHelper(
+                readSparseRationalMatrixList("[[]#0, []#1, []#3, [[]], [[], [], []], [[-3/2]], [[-3/2, -8], [0, 7]]," +
+                        " [[1/3, 9, -13], [20, 5, -6]]]"),
+                readSparseRationalMatrixList("[[]#0, []#1, []#3, [[]], [[], [], []], [[-3/2]], [[-3/2, -8], [0, 7]]," +
+                        " [[1/3, 9, -13], [20, 5, -6]]]")
+        );
+    }
+
+    private static void hashCode_helper(@NotNull String input, int hashCode) {
+        aeq(readStrict(input).get().hashCode(), hashCode);
+    }
+
+    @Test
+    public void testHashCode() {
+        hashCode_helper("[]#0", 924513);
+        hashCode_helper("[]#1", 924514);
+        hashCode_helper("[]#3", 924516);
+        hashCode_helper("[[]]", 28630143);
+        hashCode_helper("[[], [], []]", 1742811327);
+        hashCode_helper("[[-3/2]]", 28686874);
+        hashCode_helper("[[-3/2, -8], [0, 7]]", 916081932);
+        hashCode_helper("[[1/3, 9, -13], [20, 5, -6]]", 954573281);
+        hashCode_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", 1773586394);
+        hashCode_helper("[[1/2, 2, 1], [-2, -3, 1], [3, 5, 0]]", 961122371);
+    }
+
+    private static void readStrict_helper(@NotNull String input, @NotNull String output) {
+        Optional<SparseRationalMatrix> om = readStrict(input);
+        om.ifPresent(SparseRationalMatrix::validate);
+        aeq(om, output);
+    }
+
+    @Test
+    public void testReadStrict() {
+        readStrict_helper("[]#0", "Optional[[]#0]");
+        readStrict_helper("[]#3", "Optional[[]#3]");
+        readStrict_helper("[[], [], []]", "Optional[[[], [], []]]");
+        readStrict_helper("[[-3/2, -8], [0, 7]]", "Optional[[[-3/2, -8], [0, 7]]]");
+        readStrict_helper("[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]", "Optional[[[0, 0, 5/4], [0, 0, 0], [-2, 0, 0]]]");
+
+        readStrict_helper("", "Optional.empty");
+        readStrict_helper("[]", "Optional.empty");
+        readStrict_helper("[]#-1", "Optional.empty");
+        readStrict_helper("[[3], [3, 3]]", "Optional.empty");
+        readStrict_helper("hello", "Optional.empty");
+    }
+
+    private static @NotNull List<SparseRationalMatrix> readSparseRationalMatrixList(@NotNull String s) {
+        return Readers.readListStrict(SparseRationalMatrix::readStrict).apply(s).get();
+    }
+}